@@ -0,0 +1,109 @@
+package gov.nasa.jpl.aerie.benchmarks;
+
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirective;
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.merlin.driver.DirectiveTypeRegistry;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModelBuilder;
+import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOUR;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MICROSECONDS;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+
+/**
+ * The example mission models that benchmarks simulate, together with synthetic plans of any size for each of them.
+ *
+ * <p>
+ * A synthetic plan cycles through a handful of the model's activity types, starting one activity every
+ * {@link #SPACING}, so that the simulated duration grows in proportion to the number of activities.
+ * </p>
+ */
+public enum BenchmarkModel {
+  BANANANATION {
+    @Override
+    public MissionModel<?> instantiate() {
+      // Any file that exists will do for the data path; its lines are only counted.
+      final var config = new gov.nasa.jpl.aerie.banananation.Configuration(
+          gov.nasa.jpl.aerie.banananation.Configuration.DEFAULT_PLANT_COUNT,
+          gov.nasa.jpl.aerie.banananation.Configuration.DEFAULT_PRODUCER,
+          Path.of("/etc/hosts"),
+          gov.nasa.jpl.aerie.banananation.Configuration.DEFAULT_INITIAL_CONDITIONS);
+      final var factory = new gov.nasa.jpl.aerie.banananation.generated.GeneratedModelType();
+      final var registry = DirectiveTypeRegistry.extract(factory);
+      final var builder = new MissionModelBuilder();
+      final var model = factory.instantiate(PLAN_START, config, builder);
+      return builder.build(model, registry);
+    }
+
+    @Override
+    protected SerializedActivity activity(final int index) {
+      return switch (index % 4) {
+        case 0 -> new SerializedActivity("GrowBanana", Map.of(
+            "quantity", SerializedValue.of(1),
+            "growingDuration", SerializedValue.of(Duration.of(30, SECONDS).in(MICROSECONDS))));
+        case 1 -> new SerializedActivity("BiteBanana", Map.of("biteSize", SerializedValue.of(0.5)));
+        case 2 -> new SerializedActivity("PeelBanana", Map.of("peelDirection", SerializedValue.of("fromTip")));
+        default -> new SerializedActivity("PickBanana", Map.of("quantity", SerializedValue.of(1)));
+      };
+    }
+  },
+
+  FOO {
+    @Override
+    public MissionModel<?> instantiate() {
+      final var config = new gov.nasa.jpl.aerie.foomissionmodel.Configuration();
+      final var factory = new gov.nasa.jpl.aerie.foomissionmodel.generated.GeneratedModelType();
+      final var registry = DirectiveTypeRegistry.extract(factory);
+      final var builder = new MissionModelBuilder();
+      final var model = factory.instantiate(PLAN_START, config, builder);
+      return builder.build(model, registry);
+    }
+
+    @Override
+    protected SerializedActivity activity(final int index) {
+      return switch (index % 4) {
+        case 0 -> new SerializedActivity("BasicFooActivity", Map.of(
+            "duration", SerializedValue.of(Duration.of(2, SECONDS).in(MICROSECONDS))));
+        case 1 -> new SerializedActivity("ControllableDurationActivity", Map.of(
+            "duration", SerializedValue.of(Duration.of(5, SECONDS).in(MICROSECONDS))));
+        case 2 -> new SerializedActivity("SolarPanelNonLinear", Map.of());
+        default -> new SerializedActivity("BasicActivity", Map.of());
+      };
+    }
+  };
+
+  public static final Instant PLAN_START = Instant.EPOCH;
+
+  /** The time between the starts of consecutive activities in a synthetic plan. */
+  public static final Duration SPACING = Duration.of(10, SECONDS);
+
+  /** Build a fresh instance of this mission model. */
+  public abstract MissionModel<?> instantiate();
+
+  /** The activity at the given position of a synthetic plan. */
+  protected abstract SerializedActivity activity(int index);
+
+  /** Build a synthetic plan of the given number of activities. */
+  public Map<ActivityDirectiveId, ActivityDirective> plan(final int activities) {
+    final var schedule = new HashMap<ActivityDirectiveId, ActivityDirective>(activities);
+    for (var i = 0; i < activities; i += 1) {
+      schedule.put(
+          new ActivityDirectiveId(i),
+          new ActivityDirective(SPACING.times(i), this.activity(i), null, true));
+    }
+    return schedule;
+  }
+
+  /** The duration of a synthetic plan of the given number of activities, leaving time for the last of them to finish. */
+  public static Duration planDuration(final int activities) {
+    return SPACING.times(activities).plus(HOUR);
+  }
+}
@@ -0,0 +1,95 @@
+package gov.nasa.jpl.aerie.benchmarks;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.util.List;
+
+/**
+ * Constraints over the resources of {@link BenchmarkModel#BANANANATION}, in the JSON form in which they reach the services.
+ */
+public final class SyntheticConstraints {
+  private SyntheticConstraints() {}
+
+  /** Whether the amount of fruit exceeds a threshold. */
+  public static JsonObject fruitAbove(final double threshold) {
+    return comparison("RealProfileGreaterThan", realResource("/fruit"), realValue(threshold));
+  }
+
+  /** Whether one and a half times the amount of fruit, computed by profile arithmetic, is below a bound. */
+  public static JsonObject scaledFruitBelow(final double bound) {
+    return comparison(
+        "RealProfileLessThan",
+        Json.createObjectBuilder()
+            .add("kind", "RealProfilePlus")
+            .add("left", realResource("/fruit"))
+            .add("right", Json
+                .createObjectBuilder()
+                .add("kind", "RealProfileTimes")
+                .add("profile", realResource("/fruit"))
+                .add("multiplier", 0.5))
+            .build(),
+        realValue(bound));
+  }
+
+  /** Whether the number of plants differs from a given count. */
+  public static JsonObject plantsOtherThan(final long count) {
+    return comparison(
+        "ExpressionNotEqual",
+        Json.createObjectBuilder()
+            .add("kind", "DiscreteProfileResource")
+            .add("name", "/plant")
+            .build(),
+        Json.createObjectBuilder()
+            .add("kind", "DiscreteProfileValue")
+            .add("value", count)
+            .build());
+  }
+
+  /**
+   * A disjunction of the given number of terms, each the conjunction of a real and a discrete comparison.
+   * Every term has its own thresholds, so that no two terms evaluate to the same windows.
+   */
+  public static JsonObject thresholds(final int terms) {
+    final var disjuncts = Json.createArrayBuilder();
+    for (var i = 0; i < terms; i += 1) {
+      disjuncts.add(junction("WindowsExpressionAnd", List.of(fruitAbove(i), plantsOtherThan(200 + i))));
+    }
+    return Json.createObjectBuilder()
+        .add("kind", "WindowsExpressionOr")
+        .add("expressions", disjuncts)
+        .build();
+  }
+
+  private static JsonObject junction(final String kind, final List<JsonObject> expressions) {
+    final var array = Json.createArrayBuilder();
+    for (final var expression : expressions) array.add(expression);
+    return Json.createObjectBuilder()
+        .add("kind", kind)
+        .add("expressions", array)
+        .build();
+  }
+
+  private static JsonObject comparison(final String kind, final JsonValue left, final JsonValue right) {
+    return Json.createObjectBuilder()
+        .add("kind", kind)
+        .add("left", left)
+        .add("right", right)
+        .build();
+  }
+
+  private static JsonObject realResource(final String name) {
+    return Json.createObjectBuilder()
+        .add("kind", "RealProfileResource")
+        .add("name", name)
+        .build();
+  }
+
+  private static JsonObject realValue(final double value) {
+    return Json.createObjectBuilder()
+        .add("kind", "RealProfileValue")
+        .add("value", value)
+        .add("rate", 0.0)
+        .build();
+  }
+}
@@ -0,0 +1,104 @@
+package gov.nasa.jpl.aerie.benchmarks.constraints;
+
+import gov.nasa.jpl.aerie.benchmarks.BenchmarkModel;
+import gov.nasa.jpl.aerie.benchmarks.SyntheticConstraints;
+import gov.nasa.jpl.aerie.constraints.model.SimulationResults;
+import gov.nasa.jpl.aerie.constraints.model.Violation;
+import gov.nasa.jpl.aerie.constraints.tree.Expression;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationDriver;
+import gov.nasa.jpl.aerie.scheduler.simulation.SimulationResultsConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.json.JsonValue;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.benchmarks.BenchmarkModel.PLAN_START;
+import static gov.nasa.jpl.aerie.constraints.json.ConstraintParsers.constraintP;
+
+/**
+ * Measures the evaluation of constraints over the results of simulating a synthetic plan,
+ * exercising the {@code Windows}, {@code IntervalMap} and profile operations underneath.
+ *
+ * <p>
+ * The finer-grained benchmarks of those operations live alongside them, in the constraints module.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstraintEvaluationBenchmark {
+  @Param({"1000", "100000"})
+  public int activities;
+
+  private SimulationResults results;
+  private Expression<List<Violation>> fruitAbove;
+  private Expression<List<Violation>> scaledFruitBelow;
+  private Expression<List<Violation>> plantsOtherThan;
+  private Expression<List<Violation>> thresholds;
+
+  @Setup
+  public void setup() {
+    final var model = BenchmarkModel.BANANANATION;
+    final var planDuration = BenchmarkModel.planDuration(this.activities);
+    final var driverResults = SimulationDriver.simulate(
+        model.instantiate(),
+        model.plan(this.activities),
+        PLAN_START,
+        planDuration,
+        PLAN_START,
+        planDuration);
+
+    // The converter maps profiles lazily, on every access; convert them once up front so only evaluation is measured.
+    final var results = SimulationResultsConverter.convertToConstraintModelResults(driverResults, planDuration);
+    this.results = new SimulationResults(
+        results.planStart,
+        results.bounds,
+        results.activities,
+        Map.copyOf(results.realProfiles),
+        Map.copyOf(results.discreteProfiles));
+
+    this.fruitAbove = parse(SyntheticConstraints.fruitAbove(2.0));
+    this.scaledFruitBelow = parse(SyntheticConstraints.scaledFruitBelow(6.0));
+    this.plantsOtherThan = parse(SyntheticConstraints.plantsOtherThan(200));
+    this.thresholds = parse(SyntheticConstraints.thresholds(8));
+  }
+
+  @Benchmark
+  public List<Violation> realComparison() {
+    return this.fruitAbove.evaluate(this.results);
+  }
+
+  @Benchmark
+  public List<Violation> realArithmetic() {
+    return this.scaledFruitBelow.evaluate(this.results);
+  }
+
+  @Benchmark
+  public List<Violation> discreteComparison() {
+    return this.plantsOtherThan.evaluate(this.results);
+  }
+
+  @Benchmark
+  public List<Violation> booleanCombination() {
+    return this.thresholds.evaluate(this.results);
+  }
+
+  private static Expression<List<Violation>> parse(final JsonValue json) {
+    return constraintP.parse(json).getSuccessOrThrow();
+  }
+}
@@ -0,0 +1,110 @@
+package gov.nasa.jpl.aerie.benchmarks.parsing;
+
+import gov.nasa.jpl.aerie.benchmarks.SyntheticConstraints;
+import gov.nasa.jpl.aerie.constraints.model.Violation;
+import gov.nasa.jpl.aerie.constraints.tree.Expression;
+import gov.nasa.jpl.aerie.json.JsonParseResult;
+import gov.nasa.jpl.aerie.json.JsonParser;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.json.Json;
+import javax.json.JsonValue;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.constraints.json.ConstraintParsers.constraintP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.boolP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.doubleP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.listP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.longP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.mapP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.productP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.stringP;
+import static gov.nasa.jpl.aerie.json.Uncurry.tuple;
+import static gov.nasa.jpl.aerie.json.Uncurry.untuple;
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+
+/**
+ * Measures the combinator parsers of {@code parsing-utilities} on documents shaped like those the services receive:
+ * lists of records with arbitrary arguments, and large constraint expressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParsingBenchmark {
+  @Param({"100", "10000"})
+  public int elements;
+
+  public record Entry(String name, long start, double rate, boolean enabled, List<String> tags, Map<String, SerializedValue> arguments) {}
+
+  private static final JsonParser<Entry> entryP =
+      productP
+          .field("name", stringP)
+          .field("start", longP)
+          .field("rate", doubleP)
+          .field("enabled", boolP)
+          .field("tags", listP(stringP))
+          .field("arguments", mapP(serializedValueP))
+          .map(
+              untuple(Entry::new),
+              $ -> tuple($.name, $.start, $.rate, $.enabled, $.tags, $.arguments));
+
+  private static final JsonParser<List<Entry>> entriesP = listP(entryP);
+
+  private JsonValue entries;
+  private JsonValue constraint;
+
+  @Setup
+  public void setup() {
+    final var entries = Json.createArrayBuilder();
+    for (var i = 0; i < this.elements; i += 1) {
+      entries.add(Json
+          .createObjectBuilder()
+          .add("name", "entry-" + i)
+          .add("start", i * 1_000_000L)
+          .add("rate", i * 0.5)
+          .add("enabled", i % 2 == 0)
+          .add("tags", Json.createArrayBuilder().add("tag-" + (i % 7)).add("tag-" + (i % 11)))
+          .add("arguments", Json
+              .createObjectBuilder()
+              .add("count", i)
+              .add("label", "label-" + i)
+              .add("vector", Json.createArrayBuilder().add(1.0).add(2.0).add(3.0))
+              .add("nested", Json.createObjectBuilder().add("flag", true).add("amount", i * 0.25))));
+    }
+    this.entries = entries.build();
+
+    // A constraint of comparable size, with a handful of JSON values per term.
+    this.constraint = SyntheticConstraints.thresholds(this.elements / 10);
+  }
+
+  @Benchmark
+  public JsonParseResult<List<Entry>> records() {
+    return entriesP.parse(this.entries);
+  }
+
+  @Benchmark
+  public JsonParseResult<SerializedValue> serializedValue() {
+    return serializedValueP.parse(this.entries);
+  }
+
+  @Benchmark
+  public JsonParseResult<Expression<List<Violation>>> constraint() {
+    return constraintP.parse(this.constraint);
+  }
+}
@@ -0,0 +1,125 @@
+package gov.nasa.jpl.aerie.benchmarks.scheduler;
+
+import gov.nasa.jpl.aerie.benchmarks.BenchmarkModel;
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.constraints.time.Windows;
+import gov.nasa.jpl.aerie.constraints.tree.SpansFromWindows;
+import gov.nasa.jpl.aerie.constraints.tree.WindowsWrapperExpression;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.scheduler.constraints.activities.ActivityCreationTemplate;
+import gov.nasa.jpl.aerie.scheduler.constraints.timeexpressions.TimeExpression;
+import gov.nasa.jpl.aerie.scheduler.goals.CoexistenceGoal;
+import gov.nasa.jpl.aerie.scheduler.goals.Goal;
+import gov.nasa.jpl.aerie.scheduler.goals.RecurrenceGoal;
+import gov.nasa.jpl.aerie.scheduler.model.Plan;
+import gov.nasa.jpl.aerie.scheduler.model.PlanningHorizon;
+import gov.nasa.jpl.aerie.scheduler.model.Problem;
+import gov.nasa.jpl.aerie.scheduler.simulation.SimulationFacade;
+import gov.nasa.jpl.aerie.scheduler.solver.PrioritySolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.benchmarks.BenchmarkModel.PLAN_START;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.HOUR;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MINUTE;
+
+/**
+ * Measures {@link PrioritySolver} on synthetic sets of goals over {@link BenchmarkModel#FOO}.
+ *
+ * <p>
+ * The goals alternate between recurrence goals, each with its own period, and coexistence goals anchored to
+ * windows that recur every few hours. Every goal is satisfied by creating activities, so that the solver
+ * simulates the plan as it grows.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrioritySolverBenchmark {
+  @Param({"2", "10"})
+  public int goals;
+
+  @Param({"12", "72"})
+  public int horizonHours;
+
+  private MissionModel<?> missionModel;
+  private PrioritySolver solver;
+
+  @Setup
+  public void setupTrial() {
+    this.missionModel = BenchmarkModel.FOO.instantiate();
+  }
+
+  // A solver produces a single solution, so each measurement needs a fresh one.
+  @Setup(Level.Iteration)
+  public void setupIteration() {
+    final var horizon = new PlanningHorizon(PLAN_START, PLAN_START.plusSeconds(this.horizonHours * 3600L));
+    final var problem = new Problem(
+        this.missionModel,
+        horizon,
+        new SimulationFacade(horizon, this.missionModel),
+        new gov.nasa.jpl.aerie.foomissionmodel.generated.GeneratedSchedulerModel());
+
+    final var goals = new ArrayList<Goal>(this.goals);
+    for (var i = 0; i < this.goals; i += 1) {
+      goals.add((i % 2 == 0) ? recurrenceGoal(problem, horizon, i) : coexistenceGoal(problem, horizon, i));
+    }
+    problem.setGoals(goals);
+
+    this.solver = new PrioritySolver(problem);
+  }
+
+  @Benchmark
+  public Optional<Plan> solve() {
+    return this.solver.getNextSolution();
+  }
+
+  private static Goal recurrenceGoal(final Problem problem, final PlanningHorizon horizon, final int index) {
+    return new RecurrenceGoal.Builder()
+        .named("recurrence " + index)
+        .forAllTimeIn(new WindowsWrapperExpression(new Windows(false).set(horizon.getHor(), true)))
+        .thereExistsOne(new ActivityCreationTemplate.Builder()
+                            .ofType(problem.getActivityType("ControllableDurationActivity"))
+                            .duration(Duration.of(1, MINUTE))
+                            .build())
+        .repeatingEvery(HOUR.plus(Duration.of(index, MINUTE)))
+        .build();
+  }
+
+  private static Goal coexistenceGoal(final Problem problem, final PlanningHorizon horizon, final int index) {
+    final var anchors = Windows.builder();
+    final var period = HOUR.times(3).plus(Duration.of(index, MINUTE));
+    for (var start = Duration.ZERO; start.shorterThan(horizon.getEndAerie()); start = start.plus(period)) {
+      anchors.set(Interval.between(start, start.plus(Duration.of(10, MINUTE))), true);
+    }
+
+    return new CoexistenceGoal.Builder()
+        .named("coexistence " + index)
+        .forAllTimeIn(new WindowsWrapperExpression(new Windows(false).set(horizon.getHor(), true)))
+        .thereExistsOne(new ActivityCreationTemplate.Builder()
+                            .ofType(problem.getActivityType("OtherControllableDurationActivity"))
+                            .duration(Duration.of(1, MINUTE))
+                            .build())
+        .forEach(new SpansFromWindows(new WindowsWrapperExpression(anchors.build())))
+        .startsAt(TimeExpression.atStart())
+        .build();
+  }
+}
@@ -0,0 +1,143 @@
+package gov.nasa.jpl.aerie.benchmarks.simulation;
+
+import gov.nasa.jpl.aerie.benchmarks.BenchmarkModel;
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModel.SerializableTopic;
+import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.LiveCells;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.TemporalEventSource;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.InstantiationException;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.benchmarks.BenchmarkModel.PLAN_START;
+
+/**
+ * Measures {@link SimulationEngine#computeResults} on its own, over the state left behind by simulating a synthetic plan.
+ *
+ * <p>
+ * The engine is driven the same way as by {@code SimulationDriver}, but is kept open after simulation
+ * so that results can be extracted from it repeatedly.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComputeResultsBenchmark {
+  @Param({"BANANANATION", "FOO"})
+  public BenchmarkModel model;
+
+  @Param({"10", "1000", "100000"})
+  public int activities;
+
+  private SimulationEngine engine;
+  private TemporalEventSource timeline;
+  private Topic<ActivityDirectiveId> activityTopic;
+  private Iterable<SerializableTopic<?>> topics;
+  private Duration elapsedTime;
+
+  @Setup
+  public void setup() {
+    final var missionModel = this.model.instantiate();
+    final var schedule = this.model.plan(this.activities);
+    final var planDuration = BenchmarkModel.planDuration(this.activities);
+
+    this.engine = new SimulationEngine();
+    this.timeline = new TemporalEventSource(missionModel.getTopicIds());
+    this.activityTopic = new Topic<>();
+    this.topics = missionModel.getTopics();
+    final var cells = new LiveCells(this.timeline, missionModel.getInitialCells());
+    var elapsedTime = Duration.ZERO;
+
+    for (final var entry : missionModel.getResources().entrySet()) {
+      this.engine.trackResource(entry.getKey(), entry.getValue(), elapsedTime);
+    }
+
+    // Start daemon task(s) immediately, before anything else happens.
+    this.engine.scheduleTask(Duration.ZERO, missionModel.getDaemon());
+    {
+      final var batch = this.engine.extractNextJobs(Duration.MAX_VALUE);
+      final var commit = this.engine.performJobs(batch.jobs(), cells, elapsedTime, Duration.MAX_VALUE);
+      this.timeline.add(commit);
+    }
+
+    for (final var entry : schedule.entrySet()) {
+      this.engine.scheduleTask(
+          entry.getValue().startOffset(),
+          emittingDirective(entry.getKey(), taskFactory(missionModel, entry.getValue().serializedActivity())));
+    }
+
+    while (true) {
+      final var batch = this.engine.extractNextJobs(planDuration);
+
+      final var delta = batch.offsetFromStart().minus(elapsedTime);
+      elapsedTime = batch.offsetFromStart();
+      this.timeline.add(delta);
+
+      if (batch.jobs().isEmpty() && batch.offsetFromStart().isEqualTo(planDuration)) break;
+
+      final var commit = this.engine.performJobs(batch.jobs(), cells, elapsedTime, planDuration);
+      this.timeline.add(commit);
+    }
+
+    this.elapsedTime = elapsedTime;
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.engine.close();
+  }
+
+  @Benchmark
+  public SimulationResults computeResults() {
+    return SimulationEngine.computeResults(
+        this.engine,
+        PLAN_START,
+        this.elapsedTime,
+        this.activityTopic,
+        this.timeline,
+        this.topics);
+  }
+
+  private static TaskFactory<?> taskFactory(
+      final MissionModel<?> missionModel,
+      final SerializedActivity activity
+  ) {
+    try {
+      return missionModel.getTaskFactory(activity);
+    } catch (final InstantiationException ex) {
+      throw new Error("Synthetic activity %s failed to instantiate: %s".formatted(activity.getTypeName(), ex));
+    }
+  }
+
+  // Mark the task as the one carrying out the given directive, as `SimulationDriver` does.
+  private <Output> TaskFactory<Unit> emittingDirective(final ActivityDirectiveId directiveId, final TaskFactory<Output> task) {
+    return executor -> scheduler -> TaskStatus.calling((TaskFactory<Output>) (executor1 -> scheduler1 -> {
+      scheduler1.emit(directiveId, this.activityTopic);
+      return task.create(executor1).step(scheduler1);
+    }), scheduler2 -> TaskStatus.completed(Unit.UNIT));
+  }
+}
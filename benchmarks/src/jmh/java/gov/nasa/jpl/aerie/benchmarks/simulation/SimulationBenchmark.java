@@ -0,0 +1,68 @@
+package gov.nasa.jpl.aerie.benchmarks.simulation;
+
+import gov.nasa.jpl.aerie.benchmarks.BenchmarkModel;
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirective;
+import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.merlin.driver.MissionModel;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationDriver;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.benchmarks.BenchmarkModel.PLAN_START;
+
+/**
+ * Measures end-to-end simulation of synthetic plans through {@link SimulationDriver#simulate}, results included.
+ *
+ * <p>
+ * A single simulation of the larger plans takes long enough that each one is timed on its own.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SimulationBenchmark {
+  @Param({"BANANANATION", "FOO"})
+  public BenchmarkModel model;
+
+  @Param({"10", "1000", "100000"})
+  public int activities;
+
+  private MissionModel<?> missionModel;
+  private Map<ActivityDirectiveId, ActivityDirective> schedule;
+  private Duration planDuration;
+
+  @Setup
+  public void setup() {
+    this.missionModel = this.model.instantiate();
+    this.schedule = this.model.plan(this.activities);
+    this.planDuration = BenchmarkModel.planDuration(this.activities);
+  }
+
+  @Benchmark
+  public SimulationResults simulate() {
+    return SimulationDriver.simulate(
+        this.missionModel,
+        this.schedule,
+        PLAN_START,
+        this.planDuration,
+        PLAN_START,
+        this.planDuration);
+  }
+}
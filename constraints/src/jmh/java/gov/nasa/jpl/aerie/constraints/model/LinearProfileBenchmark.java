@@ -0,0 +1,137 @@
+package gov.nasa.jpl.aerie.constraints.model;
+
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.constraints.time.Segment;
+import gov.nasa.jpl.aerie.constraints.time.Windows;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+
+/**
+ * Measures the operators of {@link LinearProfile}, as evaluated by constraints over real resources.
+ *
+ * <p>
+ * Both profiles repeat a twenty-second pattern of ramps and plateaus whose segments do not line up,
+ * so that the profiles cross one another and their pieces split on every repetition.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinearProfileBenchmark {
+  // Duration in seconds of one repetition of each pattern.
+  private static final long PATTERN_LENGTH = 20;
+
+  @Param({"1000", "20000"})
+  public int repetitions;
+
+  private LinearProfile left;
+  private LinearProfile right;
+
+  @Setup
+  public void setup() {
+    final var leftSegments = new ArrayList<Segment<LinearEquation>>();
+    final var rightSegments = new ArrayList<Segment<LinearEquation>>();
+    for (var i = 0; i < this.repetitions; i += 1) {
+      leftSegments.addAll(leftPattern(i * PATTERN_LENGTH));
+      rightSegments.addAll(rightPattern(i * PATTERN_LENGTH));
+    }
+
+    this.left = new LinearProfile(leftSegments);
+    this.right = new LinearProfile(rightSegments);
+  }
+
+  @Benchmark
+  public Windows lessThan() {
+    return this.left.lessThan(this.right);
+  }
+
+  @Benchmark
+  public Windows lessThanOrEqualTo() {
+    return this.left.lessThanOrEqualTo(this.right);
+  }
+
+  @Benchmark
+  public Windows greaterThan() {
+    return this.left.greaterThan(this.right);
+  }
+
+  @Benchmark
+  public Windows greaterThanOrEqualTo() {
+    return this.left.greaterThanOrEqualTo(this.right);
+  }
+
+  @Benchmark
+  public Windows equalTo() {
+    return this.left.equalTo(this.right);
+  }
+
+  @Benchmark
+  public Windows notEqualTo() {
+    return this.left.notEqualTo(this.right);
+  }
+
+  @Benchmark
+  public LinearProfile plus() {
+    return this.left.plus(this.right);
+  }
+
+  @Benchmark
+  public Windows plusThenGreaterThan() {
+    return this.left.plus(this.right).greaterThan(this.right);
+  }
+
+  private static List<Segment<LinearEquation>> leftPattern(final long start) {
+    return List.of(
+        segment(start,      Inclusive, start +  4, Exclusive,  0,  1),
+        segment(start +  4, Inclusive, start +  8, Exclusive,  4,  0),
+        segment(start +  8, Inclusive, start + 12, Exclusive,  4, -1),
+        segment(start + 12, Inclusive, start + 16, Exclusive,  0,  1),
+        segment(start + 16, Inclusive, start + 20, Exclusive,  0,  0)
+    );
+  }
+
+  private static List<Segment<LinearEquation>> rightPattern(final long start) {
+    return List.of(
+        segment(start,      Inclusive, start +  2, Exclusive,  0,  1),
+        segment(start +  2, Inclusive, start +  4, Exclusive,  2,  0),
+        segment(start +  4, Inclusive, start +  6, Exclusive,  2,  1),
+        segment(start +  6, Inclusive, start + 12, Exclusive,  4,  0),
+        segment(start + 12, Inclusive, start + 16, Exclusive,  4, -1),
+        segment(start + 16, Inclusive, start + 20, Exclusive,  0,  0)
+    );
+  }
+
+  private static Segment<LinearEquation> segment(
+      final long start,
+      final Interval.Inclusivity startInclusivity,
+      final long end,
+      final Interval.Inclusivity endInclusivity,
+      final double initialValue,
+      final double rate
+  ) {
+    return Segment.of(
+        Interval.between(start, startInclusivity, end, endInclusivity, SECONDS),
+        new LinearEquation(Duration.of(start, SECONDS), initialValue, rate));
+  }
+}
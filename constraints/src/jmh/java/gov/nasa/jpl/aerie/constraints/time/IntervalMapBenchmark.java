@@ -0,0 +1,95 @@
+package gov.nasa.jpl.aerie.constraints.time;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+
+/**
+ * Measures the construction of large {@link IntervalMap}s, as produced from long simulations.
+ *
+ * <p>
+ * The segments are one second long and abut one another, with a handful of distinct values so that few of them coalesce.
+ * They are given to the builder in order (as when profiles are sampled), in random order,
+ * and in order but each overlapping its successor (as when a profile is reconstructed from overlapping sources).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalMapBenchmark {
+  @Param({"100000", "1000000"})
+  public int segments;
+
+  private List<Segment<Integer>> sorted;
+  private List<Segment<Integer>> shuffled;
+  private List<Segment<Integer>> overlapping;
+  private IntervalMap<Integer> map;
+
+  @Setup
+  public void setup() {
+    this.sorted = new ArrayList<>(this.segments);
+    this.overlapping = new ArrayList<>(this.segments);
+    for (var i = 0; i < this.segments; i += 1) {
+      this.sorted.add(Segment.of(
+          Interval.between(Duration.of(i, SECONDS), Inclusive, Duration.of(i + 1, SECONDS), Exclusive),
+          i % 7));
+      this.overlapping.add(Segment.of(
+          Interval.between(Duration.of(i, SECONDS), Inclusive, Duration.of(i + 2, SECONDS), Exclusive),
+          i % 7));
+    }
+
+    this.shuffled = new ArrayList<>(this.sorted);
+    Collections.shuffle(this.shuffled, new Random(0));
+
+    this.map = IntervalMap.of(this.sorted);
+  }
+
+  @Benchmark
+  public IntervalMap<Integer> buildFromSortedSegments() {
+    return IntervalMap.of(this.sorted);
+  }
+
+  @Benchmark
+  public IntervalMap<Integer> buildFromShuffledSegments() {
+    return IntervalMap.of(this.shuffled);
+  }
+
+  @Benchmark
+  public IntervalMap<Integer> buildFromOverlappingSegments() {
+    return IntervalMap.of(this.overlapping);
+  }
+
+  @Benchmark
+  public IntervalMap<Integer> buildIncrementally() {
+    final var builder = IntervalMap.<Integer>builder();
+    for (final var segment : this.sorted) builder.set(segment.interval(), segment.value());
+    return builder.build();
+  }
+
+  @Benchmark
+  public IntervalMap<Integer> mapValues() {
+    return this.map.map($ -> $ % 3);
+  }
+}
@@ -0,0 +1,110 @@
+package gov.nasa.jpl.aerie.constraints.time;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+
+/**
+ * Measures the boolean interval algebra of {@link Windows}, as used by scheduling goals and constraints.
+ *
+ * <p>
+ * Each operand alternates between true and false segments of random lengths, with occasional gaps.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WindowsBenchmark {
+  @Param({"1000", "100000"})
+  public int segments;
+
+  private Windows left;
+  private Windows right;
+
+  @Setup
+  public void setup() {
+    final var random = new Random(0);
+    this.left = randomWindows(random, this.segments);
+    this.right = randomWindows(random, this.segments);
+  }
+
+  @Benchmark
+  public Windows and() {
+    return this.left.and(this.right);
+  }
+
+  @Benchmark
+  public Windows or() {
+    return this.left.or(this.right);
+  }
+
+  @Benchmark
+  public Windows chain() {
+    return this.left.and(this.right).or(this.right.not()).shiftBy(Duration.of(1, SECONDS), Duration.of(-1, SECONDS));
+  }
+
+  @Benchmark
+  public Windows filterByDuration() {
+    return this.left.filterByDuration(Duration.of(2, SECONDS), Duration.of(5, SECONDS));
+  }
+
+  @Benchmark
+  public Windows starts() {
+    return this.left.starts();
+  }
+
+  @Benchmark
+  public Windows rejectEveryOtherWindow() {
+    // The pattern of the scheduler's filters, which set some of the true segments they iterate over to false.
+    final var builder = this.left.toBuilder();
+    var index = 0;
+    for (final var interval : this.left.iterateEqualTo(true)) {
+      if (index++ % 2 == 0) builder.set(interval, false);
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public int andThenIterate() {
+    var count = 0;
+    for (final var segment : this.left.and(this.right)) {
+      if (segment.value()) count += 1;
+    }
+    return count;
+  }
+
+  private static Windows randomWindows(final Random random, final int count) {
+    final var segments = new ArrayList<Segment<Boolean>>(count);
+    var time = 0L;
+    for (var i = 0; i < count; i += 1) {
+      final var end = time + 1 + random.nextInt(10);
+      if (random.nextInt(20) != 0) {
+        segments.add(Segment.of(
+            Interval.between(Duration.of(time, SECONDS), Inclusive, Duration.of(end, SECONDS), Exclusive),
+            (i % 2 == 0)));
+      }
+      time = end;
+    }
+    return new Windows(segments);
+  }
+}
@@ -16,6 +16,9 @@ import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive
  * A linear equation in point-slope form.
  */
 public final class LinearEquation {
+  private static final double ZERO_SECONDS = Duration.ZERO.ratioOver(Duration.SECOND);
+  private static final double MINUTE_SECONDS = Duration.MINUTE.ratioOver(Duration.SECOND);
+
   public final Duration initialTime;
   public final double initialValue;
   public final double rate;
@@ -27,7 +30,11 @@ public final class LinearEquation {
   }
 
   public double valueAt(final Duration time) {
-    final var change = this.rate*time.ratioOver(Duration.SECOND) - this.rate*this.initialTime.ratioOver(Duration.SECOND);
+    return this.valueAt(time.ratioOver(Duration.SECOND), this.initialTime.ratioOver(Duration.SECOND));
+  }
+
+  private double valueAt(final double timeSeconds, final double initialTimeSeconds) {
+    final var change = this.rate*timeSeconds - this.rate*initialTimeSeconds;
     return this.initialValue + change;
   }
 
@@ -177,8 +184,12 @@ public final class LinearEquation {
   public boolean equals(final Object obj) {
     if(!(obj instanceof final LinearEquation other)) return false;
 
-    return this.valueAt(Duration.ZERO) == other.valueAt(Duration.ZERO)
-        && this.valueAt(Duration.MINUTE) == other.valueAt(Duration.MINUTE);
+    // Equivalent to comparing `valueAt(Duration.ZERO)` and `valueAt(Duration.MINUTE)`,
+    // but converting each initial time to seconds only once.
+    final var initialTimeSeconds = this.initialTime.ratioOver(Duration.SECOND);
+    final var otherInitialTimeSeconds = other.initialTime.ratioOver(Duration.SECOND);
+    return this.valueAt(ZERO_SECONDS, initialTimeSeconds) == other.valueAt(ZERO_SECONDS, otherInitialTimeSeconds)
+        && this.valueAt(MINUTE_SECONDS, initialTimeSeconds) == other.valueAt(MINUTE_SECONDS, otherInitialTimeSeconds);
   }
 
   @Override
@@ -13,14 +13,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
 import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
 
 public final class LinearProfile implements Profile<LinearProfile>, Iterable<Segment<LinearEquation>> {
-  public final IntervalMap<LinearEquation> profilePieces;
+  // INVARIANT: At least one of these is non-null, and they represent the same profile.
+  // Both are immutable, so threads racing to derive one from the other at worst duplicate work.
+  private IntervalMap<LinearEquation> profilePieces;
+  private LinearSegments segments;
 
   public LinearProfile(final IntervalMap<LinearEquation> profilePieces) {
     this.profilePieces = Objects.requireNonNull(profilePieces);
@@ -35,86 +37,77 @@ public final class LinearProfile implements Profile<LinearProfile>, Iterable<Seg
     this(IntervalMap.of(profilePieces));
   }
 
+  private LinearProfile(final LinearSegments segments) {
+    this.segments = segments;
+  }
+
+  public IntervalMap<LinearEquation> profilePieces() {
+    var profilePieces = this.profilePieces;
+    if (profilePieces == null) this.profilePieces = profilePieces = this.segments.toIntervalMap();
+    return profilePieces;
+  }
+
   @Override
   public Windows equalTo(final LinearProfile other) {
-    return this.getWindowsSatisfying(other, LinearEquation::equalTo);
+    return this.segments().compare(other.segments(), LinearSegments.Comparison.EQUAL_TO);
   }
 
   @Override
   public Windows notEqualTo(final LinearProfile other) {
-    return this.getWindowsSatisfying(other, LinearEquation::notEqualTo);
+    return this.segments().compare(other.segments(), LinearSegments.Comparison.NOT_EQUAL_TO);
   }
 
   public Windows lessThan(final LinearProfile other) {
-    return this.getWindowsSatisfying(other, LinearEquation::lessThan);
+    return this.segments().compare(other.segments(), LinearSegments.Comparison.LESS_THAN);
   }
 
   public Windows lessThanOrEqualTo(final LinearProfile other) {
-    return this.getWindowsSatisfying(other, LinearEquation::lessThanOrEqualTo);
+    return this.segments().compare(other.segments(), LinearSegments.Comparison.LESS_THAN_OR_EQUAL_TO);
   }
 
   public Windows greaterThan(final LinearProfile other) {
-    return this.getWindowsSatisfying(other, LinearEquation::greaterThan);
+    return this.segments().compare(other.segments(), LinearSegments.Comparison.GREATER_THAN);
   }
 
   public Windows greaterThanOrEqualTo(final LinearProfile other) {
-    return this.getWindowsSatisfying(other, LinearEquation::greaterThanOrEqualTo);
+    return this.segments().compare(other.segments(), LinearSegments.Comparison.GREATER_THAN_OR_EQUAL_TO);
   }
 
   public LinearProfile plus(final LinearProfile other) {
-    return new LinearProfile(
-        IntervalMap.map2(
-            this.profilePieces, other.profilePieces,
-            (l, r) -> {
-              if (l.isPresent() && r.isPresent()) {
-                final var left = l.get();
-                final var right = r.get();
-                final var shiftedRight = right.shiftInitialTime(left.initialTime);
-                return Optional.of(new LinearEquation(left.initialTime, left.initialValue + shiftedRight.initialValue, left.rate + right.rate));
-              } else {
-                return Optional.empty();
-              }
-            }
-        )
-    );
+    return new LinearProfile(this.segments().plus(other.segments()));
   }
 
   public LinearProfile times(final double multiplier) {
-    return new LinearProfile(this.profilePieces.map(
+    return new LinearProfile(this.profilePieces().map(
         $ -> new LinearEquation($.initialTime, $.initialValue * multiplier, $.rate * multiplier)
     ));
   }
 
   public LinearProfile rate() {
-    return new LinearProfile(this.profilePieces.map(
+    return new LinearProfile(this.profilePieces().map(
         $ -> new LinearEquation($.initialTime, $.rate, 0.0)
     ));
   }
 
-  private Windows getWindowsSatisfying(final LinearProfile other, final BiFunction<LinearEquation, LinearEquation, Windows> condition) {
-    return new Windows(
-        IntervalMap.map2(this.profilePieces, other.profilePieces, (l, r) -> {
-          if (l.isPresent() && r.isPresent()) {
-            return Optional.of(condition.apply(l.get(), r.get()));
-          } else {
-            return Optional.empty();
-          }
-        }).flatMap((windows, interval) -> windows.select(interval).stream())
-    );
+  private LinearSegments segments() {
+    var segments = this.segments;
+    if (segments == null) this.segments = segments = LinearSegments.of(this.profilePieces);
+    return segments;
   }
 
     @Override
     public Windows changePoints() {
-      final var result = IntervalMap.<Boolean>builder().set(this.profilePieces.map(LinearEquation::changing));
-      for (int i = 0; i < this.profilePieces.size(); i++) {
-        final var segment = this.profilePieces.get(i);
+      final var profilePieces = this.profilePieces();
+      final var result = IntervalMap.<Boolean>builder().set(profilePieces.map(LinearEquation::changing));
+      for (int i = 0; i < profilePieces.size(); i++) {
+        final var segment = profilePieces.get(i);
         final var startTime = segment.interval().start;
         if (i == 0) {
           if (!segment.interval().contains(Duration.MIN_VALUE)) {
             result.unset(Interval.at(startTime));
           }
         } else {
-          final var previousSegment = this.profilePieces.get(i-1);
+          final var previousSegment = profilePieces.get(i-1);
 
           if (Interval.meets(previousSegment.interval(), segment.interval())) {
             if (previousSegment.value().valueAt(startTime) != segment.value().valueAt(startTime)) {
@@ -132,6 +125,7 @@ public final class LinearProfile implements Profile<LinearProfile>, Iterable<Seg
 
   @Override
   public boolean isConstant() {
+    final var profilePieces = this.profilePieces();
     return profilePieces.isEmpty() ||
            (profilePieces.size() == 1 && !profilePieces.get(0).value().changing());
   }
@@ -141,7 +135,7 @@ public final class LinearProfile implements Profile<LinearProfile>, Iterable<Seg
   public LinearProfile assignGaps(final LinearProfile def) {
     return new LinearProfile(
         IntervalMap.map2(
-            this.profilePieces, def.profilePieces,
+            this.profilePieces(), def.profilePieces(),
             (original, defaultSegment) -> original.isPresent() ? original : defaultSegment
         )
     );
@@ -149,7 +143,7 @@ public final class LinearProfile implements Profile<LinearProfile>, Iterable<Seg
 
   @Override
   public Optional<SerializedValue> valueAt(final Duration timepoint) {
-    return profilePieces
+    return this.profilePieces()
         .stream()
         .filter($ -> $.interval().contains(timepoint))
         .findFirst()
@@ -195,22 +189,22 @@ public final class LinearProfile implements Profile<LinearProfile>, Iterable<Seg
 
   @Override
   public Iterator<Segment<LinearEquation>> iterator() {
-    return this.profilePieces.iterator();
+    return this.profilePieces().iterator();
   }
 
   public String toString() {
-    return this.profilePieces.toString();
+    return this.profilePieces().toString();
   }
 
   @Override
   public boolean equals(final Object obj) {
     if (!(obj instanceof final LinearProfile other)) return false;
 
-    return Objects.equals(this.profilePieces, other.profilePieces);
+    return Objects.equals(this.profilePieces(), other.profilePieces());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.profilePieces);
+    return Objects.hash(this.profilePieces());
   }
 }
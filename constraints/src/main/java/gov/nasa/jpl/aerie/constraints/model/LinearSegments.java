@@ -0,0 +1,369 @@
+package gov.nasa.jpl.aerie.constraints.model;
+
+import gov.nasa.jpl.aerie.constraints.time.Interval;
+import gov.nasa.jpl.aerie.constraints.time.IntervalMap;
+import gov.nasa.jpl.aerie.constraints.time.Segment;
+import gov.nasa.jpl.aerie.constraints.time.Windows;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+import java.util.ArrayList;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+
+/**
+ * The segments of a {@link LinearProfile}, stored as parallel arrays of primitives so that
+ * operations over two profiles are evaluated by tight loops rather than per-segment objects.
+ *
+ * Times are microsecond offsets. Each segment is the interval from {@code starts[i]} to {@code ends[i]},
+ * whose inclusivity is packed into {@code bounds[i]}, carrying the line through {@code initials[i]}
+ * at {@code origins[i]} with slope {@code rates[i]} per second.
+ *
+ * The arithmetic below follows that of {@link LinearEquation} and {@link Duration} exactly,
+ * so that results agree to the bit with evaluating the equations one at a time.
+ */
+/*package-local*/ final class LinearSegments {
+  private static final byte INCLUDES_START = 0b01;
+  private static final byte INCLUDES_END = 0b10;
+
+  private static final long SECOND = Duration.SECOND.in(Duration.MICROSECONDS);
+  private static final double ZERO_SECONDS = seconds(0);
+  private static final double MINUTE_SECONDS = seconds(Duration.MINUTE.in(Duration.MICROSECONDS));
+  // Matches the bound in `LinearEquation#intersectionPointWith`.
+  private static final double MAX_CROSSING_SECONDS = ((double) Long.MAX_VALUE) / SECOND;
+
+  public enum Comparison { LESS_THAN, LESS_THAN_OR_EQUAL_TO, GREATER_THAN, GREATER_THAN_OR_EQUAL_TO, EQUAL_TO, NOT_EQUAL_TO }
+
+  // INVARIANT: The same invariants as `IntervalMap`: segments are non-empty and in ascending order,
+  //   and segments that meet carry different lines (per `LinearEquation#equals`).
+  private final int size;
+  private final long[] starts;
+  private final long[] ends;
+  private final byte[] bounds;
+  private final long[] origins;
+  private final double[] initials;
+  private final double[] rates;
+
+  private LinearSegments(
+      final int size,
+      final long[] starts,
+      final long[] ends,
+      final byte[] bounds,
+      final long[] origins,
+      final double[] initials,
+      final double[] rates
+  ) {
+    this.size = size;
+    this.starts = starts;
+    this.ends = ends;
+    this.bounds = bounds;
+    this.origins = origins;
+    this.initials = initials;
+    this.rates = rates;
+  }
+
+  public static LinearSegments of(final IntervalMap<LinearEquation> pieces) {
+    final var size = pieces.size();
+    final var starts = new long[size];
+    final var ends = new long[size];
+    final var bounds = new byte[size];
+    final var origins = new long[size];
+    final var initials = new double[size];
+    final var rates = new double[size];
+
+    for (var i = 0; i < size; i += 1) {
+      final var segment = pieces.get(i);
+      final var interval = segment.interval();
+      final var equation = segment.value();
+
+      starts[i] = micros(interval.start);
+      ends[i] = micros(interval.end);
+      bounds[i] = bounds(interval.includesStart(), interval.includesEnd());
+      origins[i] = micros(equation.initialTime);
+      initials[i] = equation.initialValue;
+      rates[i] = equation.rate;
+    }
+
+    return new LinearSegments(size, starts, ends, bounds, origins, initials, rates);
+  }
+
+  public IntervalMap<LinearEquation> toIntervalMap() {
+    final var segments = new ArrayList<Segment<LinearEquation>>(this.size);
+    for (var i = 0; i < this.size; i += 1) {
+      segments.add(Segment.of(
+          interval(this.starts[i], this.includesStart(i), this.ends[i], this.includesEnd(i)),
+          new LinearEquation(Duration.of(this.origins[i], Duration.MICROSECONDS), this.initials[i], this.rates[i])));
+    }
+    return IntervalMap.of(segments);
+  }
+
+  /** Sums the two profiles wherever both are defined, expressing each sum from the origin of the left equation. */
+  public LinearSegments plus(final LinearSegments other) {
+    final var overlaps = Overlaps.of(this, other);
+    final var n = overlaps.size;
+    final var l = overlaps.lefts;
+    final var r = overlaps.rights;
+
+    final var initials = new double[n];
+    final var rates = new double[n];
+    for (var i = 0; i < n; i += 1) {
+      // Matches `LinearEquation#shiftInitialTime`.
+      final var offset = seconds(Math.subtractExact(this.origins[l[i]], other.origins[r[i]]));
+      initials[i] = this.initials[l[i]] + (other.initials[r[i]] + offset * other.rates[r[i]]);
+      rates[i] = this.rates[l[i]] + other.rates[r[i]];
+    }
+
+    // Two equations are the same line when they agree at two instants; see `LinearEquation#equals`.
+    final var atZero = new double[n];
+    final var atMinute = new double[n];
+    for (var i = 0; i < n; i += 1) {
+      final var origin = seconds(this.origins[l[i]]);
+      atZero[i] = valueAt(origin, initials[i], rates[i], ZERO_SECONDS);
+      atMinute[i] = valueAt(origin, initials[i], rates[i], MINUTE_SECONDS);
+    }
+
+    // Abutting sums of the same line are joined, keeping the later equation, as `IntervalMap#map2` would.
+    final var starts = overlaps.starts;
+    final var ends = overlaps.ends;
+    final var bounds = overlaps.bounds;
+    final var origins = new long[n];
+    var size = 0;
+    for (var i = 0; i < n; i += 1) {
+      final var joined = (size > 0)
+          && meets(ends[size - 1], bounds[size - 1], starts[i], bounds[i])
+          && atZero[size - 1] == atZero[i]
+          && atMinute[size - 1] == atMinute[i];
+
+      if (joined) {
+        ends[size - 1] = ends[i];
+        bounds[size - 1] = (byte) ((bounds[size - 1] & INCLUDES_START) | (bounds[i] & INCLUDES_END));
+      } else {
+        starts[size] = starts[i];
+        ends[size] = ends[i];
+        bounds[size] = bounds[i];
+        size += 1;
+      }
+      origins[size - 1] = this.origins[l[i]];
+      initials[size - 1] = initials[i];
+      rates[size - 1] = rates[i];
+      atZero[size - 1] = atZero[i];
+      atMinute[size - 1] = atMinute[i];
+    }
+
+    return new LinearSegments(size, starts, ends, bounds, origins, initials, rates);
+  }
+
+  /** Compares the two profiles wherever both are defined. */
+  public Windows compare(final LinearSegments other, final Comparison comparison) {
+    final var overlaps = Overlaps.of(this, other);
+    final var n = overlaps.size;
+    final var l = overlaps.lefts;
+    final var r = overlaps.rights;
+
+    // The value of the right line at the origin of the left line, and the seconds from there until they cross.
+    // Matches `LinearEquation#intersectionPointWith`.
+    final var rightAtOrigins = new double[n];
+    final var crossingSeconds = new double[n];
+    for (var i = 0; i < n; i += 1) {
+      final var rightRate = other.rates[r[i]];
+      rightAtOrigins[i] = other.initials[r[i]] + (rightRate * seconds(this.origins[l[i]]) - rightRate * seconds(other.origins[r[i]]));
+      crossingSeconds[i] = (rightAtOrigins[i] - this.initials[l[i]]) / (this.rates[l[i]] - rightRate);
+    }
+
+    final var crosses = new boolean[n];
+    final var crossings = new long[n];
+    for (var i = 0; i < n; i += 1) {
+      crosses[i] = (this.rates[l[i]] != other.rates[r[i]]) && !(Math.abs(crossingSeconds[i]) > MAX_CROSSING_SECONDS);
+      if (crosses[i]) crossings[i] = Math.addExact(this.origins[l[i]], roundNearestSeconds(crossingSeconds[i]));
+    }
+
+    // Each overlap is divided into the parts before, at, and after the crossing, sampled at `3*i + part`.
+    // Lines that never cross compare the same way in all three parts.
+    // Matches `LinearEquation#getInequalityIntervals`.
+    final var isEquality = (comparison == Comparison.EQUAL_TO || comparison == Comparison.NOT_EQUAL_TO);
+    final var lefts = new double[3 * n];
+    final var rights = new double[3 * n];
+    for (var i = 0; i < n; i += 1) {
+      if (!crosses[i]) {
+        lefts[3*i] = lefts[3*i + 1] = lefts[3*i + 2] = this.initials[l[i]];
+        rights[3*i] = rights[3*i + 1] = rights[3*i + 2] = rightAtOrigins[i];
+      } else if (!isEquality) {
+        final var before = seconds(Math.subtractExact(crossings[i], SECOND));
+        final var at = seconds(crossings[i]);
+        final var after = seconds(Math.addExact(crossings[i], SECOND));
+        lefts[3*i] = this.valueAt(l[i], before);
+        lefts[3*i + 1] = this.valueAt(l[i], at);
+        lefts[3*i + 2] = this.valueAt(l[i], after);
+        rights[3*i] = other.valueAt(r[i], before);
+        rights[3*i + 1] = other.valueAt(r[i], at);
+        rights[3*i + 2] = other.valueAt(r[i], after);
+      }
+    }
+
+    final var results = new boolean[3 * n];
+    switch (comparison) {
+      case LESS_THAN -> { for (var k = 0; k < 3 * n; k += 1) results[k] = (lefts[k] < rights[k]); }
+      case LESS_THAN_OR_EQUAL_TO -> { for (var k = 0; k < 3 * n; k += 1) results[k] = (lefts[k] <= rights[k]); }
+      case GREATER_THAN -> { for (var k = 0; k < 3 * n; k += 1) results[k] = (lefts[k] > rights[k]); }
+      case GREATER_THAN_OR_EQUAL_TO -> { for (var k = 0; k < 3 * n; k += 1) results[k] = (lefts[k] >= rights[k]); }
+      case EQUAL_TO -> { for (var k = 0; k < 3 * n; k += 1) results[k] = (lefts[k] == rights[k]); }
+      case NOT_EQUAL_TO -> { for (var k = 0; k < 3 * n; k += 1) results[k] = (lefts[k] != rights[k]); }
+    }
+
+    // Crossing lines are equal exactly at the crossing, however the rounding of its time falls.
+    // Matches `LinearEquation#intervalsEqualTo`.
+    if (isEquality) {
+      final var atCrossing = (comparison == Comparison.EQUAL_TO);
+      for (var i = 0; i < n; i += 1) {
+        if (!crosses[i]) continue;
+        results[3*i] = results[3*i + 2] = !atCrossing;
+        results[3*i + 1] = atCrossing;
+      }
+    }
+
+    final var result = Windows.builder();
+    for (var i = 0; i < n; i += 1) {
+      final var start = overlaps.starts[i];
+      final var end = overlaps.ends[i];
+      final var includesStart = (overlaps.bounds[i] & INCLUDES_START) != 0;
+      final var includesEnd = (overlaps.bounds[i] & INCLUDES_END) != 0;
+
+      if (!crosses[i]) {
+        result.set(interval(start, includesStart, end, includesEnd), results[3*i]);
+        continue;
+      }
+
+      final var crossing = crossings[i];
+      if (crossing > start || (crossing == start && !includesStart)) {
+        final var before = (crossing <= end)
+            ? interval(start, includesStart, crossing, false)
+            : interval(start, includesStart, end, includesEnd);
+        result.set(before, results[3*i]);
+      }
+      if ((crossing > start || (crossing == start && includesStart)) && (crossing < end || (crossing == end && includesEnd))) {
+        result.set(interval(crossing, true, crossing, true), results[3*i + 1]);
+      }
+      if (crossing < end || (crossing == end && !includesEnd)) {
+        final var after = (crossing >= start)
+            ? interval(crossing, false, end, includesEnd)
+            : interval(start, includesStart, end, includesEnd);
+        result.set(after, results[3*i + 2]);
+      }
+    }
+    return result.build();
+  }
+
+  // Matches `LinearEquation#valueAt`.
+  private double valueAt(final int index, final double time) {
+    return valueAt(seconds(this.origins[index]), this.initials[index], this.rates[index], time);
+  }
+
+  private boolean includesStart(final int index) {
+    return (this.bounds[index] & INCLUDES_START) != 0;
+  }
+
+  private boolean includesEnd(final int index) {
+    return (this.bounds[index] & INCLUDES_END) != 0;
+  }
+
+  /**
+   * The non-empty intersections of the segments of two profiles, in order,
+   * with the index of the segment on either side that each lies within.
+   */
+  private static final class Overlaps {
+    private int size = 0;
+    private final long[] starts;
+    private final long[] ends;
+    private final byte[] bounds;
+    private final int[] lefts;
+    private final int[] rights;
+
+    private Overlaps(final int capacity) {
+      this.starts = new long[capacity];
+      this.ends = new long[capacity];
+      this.bounds = new byte[capacity];
+      this.lefts = new int[capacity];
+      this.rights = new int[capacity];
+    }
+
+    // Two sorted sequences of disjoint intervals intersect in at most one fewer pieces than they have between them.
+    public static Overlaps of(final LinearSegments left, final LinearSegments right) {
+      final var result = new Overlaps(Math.max(left.size + right.size - 1, 0));
+
+      var l = 0;
+      var r = 0;
+      while (l < left.size && r < right.size) {
+        final long start;
+        final boolean includesStart;
+        if (left.starts[l] != right.starts[r]) {
+          final var fromLeft = (left.starts[l] > right.starts[r]);
+          start = (fromLeft) ? left.starts[l] : right.starts[r];
+          includesStart = (fromLeft) ? left.includesStart(l) : right.includesStart(r);
+        } else {
+          start = left.starts[l];
+          includesStart = left.includesStart(l) && right.includesStart(r);
+        }
+
+        // The segment ending first is the one to advance past; on a tie, both are.
+        final int order;
+        if (left.ends[l] != right.ends[r]) {
+          order = Long.compare(left.ends[l], right.ends[r]);
+        } else {
+          order = Boolean.compare(left.includesEnd(l), right.includesEnd(r));
+        }
+        final var end = (order <= 0) ? left.ends[l] : right.ends[r];
+        final var includesEnd = (order <= 0) ? left.includesEnd(l) : right.includesEnd(r);
+
+        if (start < end || (start == end && includesStart && includesEnd)) {
+          final var i = result.size++;
+          result.starts[i] = start;
+          result.ends[i] = end;
+          result.bounds[i] = bounds(includesStart, includesEnd);
+          result.lefts[i] = l;
+          result.rights[i] = r;
+        }
+
+        if (order <= 0) l += 1;
+        if (order >= 0) r += 1;
+      }
+
+      return result;
+    }
+  }
+
+  private static byte bounds(final boolean includesStart, final boolean includesEnd) {
+    return (byte) (((includesStart) ? INCLUDES_START : 0) | ((includesEnd) ? INCLUDES_END : 0));
+  }
+
+  // Matches `Interval#meets`: one segment ends exactly where the next begins, with no instant shared or skipped.
+  private static boolean meets(final long end, final byte endBounds, final long start, final byte startBounds) {
+    return (end == start) && (((endBounds & INCLUDES_END) != 0) != ((startBounds & INCLUDES_START) != 0));
+  }
+
+  private static Interval interval(final long start, final boolean includesStart, final long end, final boolean includesEnd) {
+    return Interval.between(
+        Duration.of(start, Duration.MICROSECONDS), (includesStart) ? Inclusive : Exclusive,
+        Duration.of(end, Duration.MICROSECONDS), (includesEnd) ? Inclusive : Exclusive);
+  }
+
+  // Matches `LinearEquation#valueAt`, with both instants in seconds.
+  private static double valueAt(final double origin, final double initial, final double rate, final double time) {
+    return initial + (rate * time - rate * origin);
+  }
+
+  private static long micros(final Duration duration) {
+    return duration.in(Duration.MICROSECONDS);
+  }
+
+  // Matches `Duration#ratioOver(Duration.SECOND)`.
+  private static double seconds(final long micros) {
+    return (micros / SECOND) + ((double) (micros % SECOND)) / ((double) SECOND);
+  }
+
+  // Matches `Duration.roundNearest(seconds, Duration.SECONDS)`, in microseconds.
+  private static long roundNearestSeconds(final double seconds) {
+    return Math.addExact(
+        Math.multiplyExact((long) Math.floor(seconds), SECOND),
+        (long) Math.rint((seconds % 1) * SECOND));
+  }
+}
@@ -0,0 +1,476 @@
+package gov.nasa.jpl.aerie.constraints.time;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+import java.util.Arrays;
+
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
+import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
+
+/**
+ * A compact representation of a boolean profile (with gaps), over which the interval algebra of {@link Windows}
+ * is evaluated without allocating per segment.
+ *
+ * The timeline is divided into pieces by a sorted sequence of bounds. Each bound lies either just before
+ * an instant (so that the piece starting there includes that instant), or just after it (so that it excludes it),
+ * and carries the state of the piece starting at it: true, false, or a gap. The piece extends to the next bound,
+ * or to the end of time. The first bound is always just before {@link Duration#MIN_VALUE}.
+ *
+ * Bounds are stored in two parallel arrays: the instants as microsecond offsets in a {@code long[]},
+ * and the side of the instant and the state packed into a {@code byte[]}.
+ */
+/*package-local*/ final class BooleanTimeline {
+  public static final byte GAP = 0;
+  public static final byte FALSE = 1;
+  public static final byte TRUE = 2;
+  /** Only used by the edits given to {@link #overlay}, where a piece leaves the state beneath it unchanged. */
+  public static final byte KEEP = 3;
+
+  private static final byte STATE = 0b011;
+  private static final byte AFTER = 0b100;
+
+  // Truth tables for binary operations, indexed by `3 * left + right`.
+  public static final byte[] AND = {
+      GAP,   FALSE, GAP,
+      FALSE, FALSE, FALSE,
+      GAP,   FALSE, TRUE,
+  };
+  public static final byte[] OR = {
+      GAP,  GAP,   TRUE,
+      GAP,  FALSE, TRUE,
+      TRUE, TRUE,  TRUE,
+  };
+  public static final byte[] ADD = {
+      GAP,   FALSE, TRUE,
+      FALSE, FALSE, TRUE,
+      TRUE,  TRUE,  TRUE,
+  };
+  public static final byte[] EQUAL_TO = {
+      GAP, GAP,   GAP,
+      GAP, TRUE,  FALSE,
+      GAP, FALSE, TRUE,
+  };
+  public static final byte[] ASSIGN_GAPS = {
+      GAP,   FALSE, TRUE,
+      FALSE, FALSE, FALSE,
+      TRUE,  TRUE,  TRUE,
+  };
+  /** False wherever the right operand is true but the left operand is not. */
+  public static final byte[] INCLUDES = {
+      GAP, TRUE, FALSE,
+      GAP, TRUE, FALSE,
+      GAP, TRUE, TRUE,
+  };
+
+  // INVARIANT: bounds are in strictly ascending order, and the first bound is just before `Long.MIN_VALUE`.
+  // INVARIANT: consecutive bounds have different states.
+  private final long[] times;
+  private final byte[] flags;
+  private final int size;
+
+  private BooleanTimeline(final long[] times, final byte[] flags, final int size) {
+    this.times = times;
+    this.flags = flags;
+    this.size = size;
+  }
+
+  public static BooleanTimeline constant(final byte state) {
+    return new BooleanTimeline(new long[] {Long.MIN_VALUE}, new byte[] {state}, 1);
+  }
+
+  public static BooleanTimeline of(final IntervalMap<Boolean> map) {
+    final var builder = new Builder(map.size(), GAP);
+    for (final var segment : map) {
+      builder.paint(segment.interval(), (segment.value()) ? TRUE : FALSE);
+    }
+    return builder.build();
+  }
+
+  public IntervalMap<Boolean> toIntervalMap() {
+    final var builder = IntervalMap.<Boolean>builder();
+    for (var i = 0; i < this.size; i += 1) {
+      final var state = this.state(i);
+      if (state == GAP) continue;
+
+      builder.set(this.interval(i), state == TRUE);
+    }
+    return builder.build();
+  }
+
+  /** The number of pieces that are not gaps. */
+  public int definedPieces() {
+    var count = 0;
+    for (var i = 0; i < this.size; i += 1) {
+      if (this.state(i) != GAP) count += 1;
+    }
+    return count;
+  }
+
+  public boolean hasState(final byte state) {
+    for (var i = 0; i < this.size; i += 1) {
+      if (this.state(i) == state) return true;
+    }
+    return false;
+  }
+
+  public byte stateAt(final Duration time) {
+    // The last bound no later than just before the instant.
+    var low = 0;
+    var high = this.size - 1;
+    final var t = micros(time);
+    while (low < high) {
+      final var middle = (low + high + 1) >>> 1;
+      if (compare(this.times[middle], this.side(middle), t, 0) <= 0) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return this.state(low);
+  }
+
+  public BooleanTimeline not() {
+    final var flags = new byte[this.size];
+    for (var i = 0; i < this.size; i += 1) {
+      final var state = this.state(i);
+      final var negated = (state == TRUE) ? FALSE : (state == FALSE) ? TRUE : GAP;
+      flags[i] = (byte) (this.side(i) | negated);
+    }
+    return new BooleanTimeline(Arrays.copyOf(this.times, this.size), flags, this.size);
+  }
+
+  /** Merges two timelines, giving each piece of the result the state `table[3 * left + right]`. */
+  public static BooleanTimeline combine(final BooleanTimeline left, final BooleanTimeline right, final byte[] table) {
+    return merge(left, right, (leftState, rightState) -> table[3 * leftState + rightState]);
+  }
+
+  /** Applies edits to a timeline: wherever the edits are not {@link #KEEP}, they replace the state of the base. */
+  public static BooleanTimeline overlay(final BooleanTimeline base, final BooleanTimeline edits) {
+    return merge(base, edits, (baseState, editState) -> (editState == KEEP) ? baseState : editState);
+  }
+
+  private interface StateOperator {
+    byte apply(byte left, byte right);
+  }
+
+  private static BooleanTimeline merge(final BooleanTimeline left, final BooleanTimeline right, final StateOperator operator) {
+    final var builder = new Builder(left.size + right.size, GAP);
+
+    // Both timelines have a bound at the start of time, so every position is covered by a piece of each.
+    var i = 0;
+    var j = 0;
+    var leftState = GAP;
+    var rightState = GAP;
+    while (i < left.size || j < right.size) {
+      final int order;
+      if (i == left.size) order = 1;
+      else if (j == right.size) order = -1;
+      else order = compare(left.times[i], left.side(i), right.times[j], right.side(j));
+
+      final long time;
+      final int side;
+      if (order <= 0) {
+        time = left.times[i];
+        side = left.side(i);
+        leftState = left.state(i);
+        i += 1;
+      } else {
+        time = right.times[j];
+        side = right.side(j);
+      }
+      if (order >= 0) {
+        rightState = right.state(j);
+        j += 1;
+      }
+
+      builder.append(time, side, operator.apply(leftState, rightState));
+    }
+
+    return builder.build();
+  }
+
+  /** Sets true pieces whose duration lies outside the given range to false. */
+  public BooleanTimeline filterByDuration(final Duration min, final Duration max) {
+    final var minMicros = micros(min);
+    final var maxMicros = micros(max);
+    final var builder = new Builder(this.size, GAP);
+    for (var i = 0; i < this.size; i += 1) {
+      var state = this.state(i);
+      if (state == TRUE) {
+        final var duration = Math.subtractExact(this.endTime(i), this.times[i]);
+        if (duration < minMicros || duration > maxMicros) state = FALSE;
+      }
+      builder.append(this.times[i], this.side(i), state);
+    }
+    return builder.build();
+  }
+
+  /** See {@link Windows#shiftBy}. Later pieces take precedence over earlier pieces wherever they overlap once shifted. */
+  public BooleanTimeline shiftBy(final Duration fromStart, final Duration fromEnd) {
+    final var startShift = micros(fromStart);
+    final var endShift = micros(fromEnd);
+    final var builder = new Builder(this.size, GAP);
+    for (var i = 0; i < this.size; i += 1) {
+      final var state = this.state(i);
+      if (state == GAP) continue;
+
+      final var leading = (state == TRUE) ? startShift : endShift;
+      final var trailing = (state == TRUE) ? endShift : startShift;
+      builder.paint(
+          saturatingAdd(this.times[i], leading), this.side(i),
+          saturatingAdd(this.endTime(i), trailing), this.endSide(i),
+          state);
+    }
+    return builder.build();
+  }
+
+  /** See {@link Windows#starts}. */
+  public BooleanTimeline starts() {
+    final var builder = new Builder(this.size + 2, GAP);
+    for (var i = 0; i < this.size; i += 1) {
+      final var state = this.state(i);
+      final var start = this.times[i];
+      builder.paint(start, this.side(i), this.endTime(i), this.endSide(i), (state == TRUE) ? FALSE : state);
+      if (state != TRUE || i == 0) continue;
+
+      if (this.state(i - 1) == FALSE) {
+        // The true piece meets a false piece, so its start is known (even if it belongs to the false piece).
+        builder.paint(start, 0, start, AFTER, TRUE);
+      } else {
+        builder.paint(start, 0, start, AFTER, GAP);
+      }
+    }
+    return builder.build();
+  }
+
+  /** See {@link Windows#ends}. */
+  public BooleanTimeline ends() {
+    final var builder = new Builder(this.size + 2, GAP);
+    // A point placed at the end of a true piece may lie in the next piece, and takes precedence over it.
+    var paintedTime = Long.MIN_VALUE;
+    var paintedSide = 0;
+    for (var i = 0; i < this.size; i += 1) {
+      final var state = this.state(i);
+      final var end = this.endTime(i);
+      if (compare(this.times[i], this.side(i), paintedTime, paintedSide) >= 0) {
+        builder.paint(this.times[i], this.side(i), end, this.endSide(i), (state == TRUE) ? FALSE : state);
+      } else {
+        builder.paint(paintedTime, paintedSide, end, this.endSide(i), (state == TRUE) ? FALSE : state);
+      }
+      if (state != TRUE || i == this.size - 1) continue;
+
+      if (this.state(i + 1) == FALSE) {
+        // The true piece meets a false piece, so its end is known (even if it belongs to the false piece).
+        builder.paint(end, 0, end, AFTER, TRUE);
+      } else {
+        builder.paint(end, 0, end, AFTER, GAP);
+      }
+      paintedTime = end;
+      paintedSide = AFTER;
+    }
+    return builder.build();
+  }
+
+  /** See {@link Windows#changePoints}. */
+  public BooleanTimeline changePoints() {
+    final var builder = new Builder(this.size + 2, GAP);
+    for (var i = 0; i < this.size; i += 1) {
+      final var state = this.state(i);
+      final var start = this.times[i];
+      builder.paint(start, this.side(i), this.endTime(i), this.endSide(i), (state == GAP) ? GAP : FALSE);
+      if (state == GAP || i == 0) continue;
+
+      // Consecutive pieces always differ, so a defined piece that meets another defined piece is a change.
+      builder.paint(start, 0, start, AFTER, (this.state(i - 1) != GAP) ? TRUE : GAP);
+    }
+    return builder.build();
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof final BooleanTimeline o)) return false;
+    return Arrays.equals(this.times, 0, this.size, o.times, 0, o.size)
+        && Arrays.equals(this.flags, 0, this.size, o.flags, 0, o.size);
+  }
+
+  @Override
+  public int hashCode() {
+    var result = 1;
+    for (var i = 0; i < this.size; i += 1) {
+      result = 31 * result + Long.hashCode(this.times[i]);
+      result = 31 * result + this.flags[i];
+    }
+    return result;
+  }
+
+  private byte state(final int index) {
+    return (byte) (this.flags[index] & STATE);
+  }
+
+  private int side(final int index) {
+    return this.flags[index] & AFTER;
+  }
+
+  // The last piece runs through the end of time, which is just after `Long.MAX_VALUE`.
+  private long endTime(final int index) {
+    return (index + 1 < this.size) ? this.times[index + 1] : Long.MAX_VALUE;
+  }
+
+  private int endSide(final int index) {
+    return (index + 1 < this.size) ? this.side(index + 1) : AFTER;
+  }
+
+  private Interval interval(final int index) {
+    return Interval.between(
+        Duration.of(this.times[index], Duration.MICROSECONDS), (this.side(index) == 0) ? Inclusive : Exclusive,
+        Duration.of(this.endTime(index), Duration.MICROSECONDS), (this.endSide(index) == 0) ? Exclusive : Inclusive);
+  }
+
+  private static int compare(final long leftTime, final int leftSide, final long rightTime, final int rightSide) {
+    final var byTime = Long.compare(leftTime, rightTime);
+    return (byTime != 0) ? byTime : Integer.compare(leftSide, rightSide);
+  }
+
+  private static long micros(final Duration duration) {
+    return duration.in(Duration.MICROSECONDS);
+  }
+
+  // Matches `Duration#saturatingPlus`.
+  private static long saturatingAdd(final long left, final long right) {
+    final var result = left + right;
+    if (((result ^ left) & (result ^ right)) < 0) return Long.MIN_VALUE - (result >>> (Long.SIZE - 1));
+    return result;
+  }
+
+  /**
+   * Builds a timeline by painting states over ranges of positions, later ranges taking precedence.
+   *
+   * Ranges painted in ascending order are appended in constant time.
+   */
+  /*package-local*/ static final class Builder {
+    private long[] times;
+    private byte[] flags;
+    private int size;
+
+    /** Starts from a timeline in the given state at all times. */
+    public Builder(final int capacity, final byte initialState) {
+      this.times = new long[Math.max(capacity, 1) + 1];
+      this.flags = new byte[this.times.length];
+      this.times[0] = Long.MIN_VALUE;
+      this.flags[0] = initialState;
+      this.size = 1;
+    }
+
+    public void paint(final Interval interval, final byte state) {
+      this.paint(
+          micros(interval.start), (interval.includesStart()) ? 0 : AFTER,
+          micros(interval.end), (interval.includesEnd()) ? AFTER : 0,
+          state);
+    }
+
+    /** Paints every piece of a timeline that is not a gap. */
+    public void paintDefined(final BooleanTimeline timeline) {
+      for (var i = 0; i < timeline.size; i += 1) {
+        final var state = timeline.state(i);
+        if (state == GAP) continue;
+
+        this.paint(timeline.times[i], timeline.side(i), timeline.endTime(i), timeline.endSide(i), state);
+      }
+    }
+
+    /**
+     * Gives the state to every position from one bound up to (but excluding) another.
+     * The end of time is just after {@code Long.MAX_VALUE}. Does nothing if the range is empty.
+     */
+    public void paint(final long fromTime, final int fromSide, final long toTime, final int toSide, final byte state) {
+      if (compare(fromTime, fromSide, toTime, toSide) >= 0) return;
+
+      final var toEnd = (toTime == Long.MAX_VALUE && toSide == AFTER);
+      // Bounds in [first, last) lie within the painted range, and are replaced.
+      final var first = this.indexNotBefore(fromTime, fromSide);
+      var last = (toEnd) ? this.size : this.indexNotBefore(toTime, toSide);
+      final var trailingState = this.state(last - 1);
+
+      final var keepFrom = (first == 0) || (this.state(first - 1) != state);
+      final boolean keepTo;
+      if (toEnd) {
+        keepTo = false;
+      } else if (last < this.size && this.times[last] == toTime && this.side(last) == toSide) {
+        keepTo = false;
+        if (this.state(last) == state) last += 1;
+      } else {
+        keepTo = (trailingState != state);
+      }
+
+      final var inserted = ((keepFrom) ? 1 : 0) + ((keepTo) ? 1 : 0);
+      final var newSize = this.size - (last - first) + inserted;
+      this.ensureCapacity(newSize);
+      System.arraycopy(this.times, last, this.times, first + inserted, this.size - last);
+      System.arraycopy(this.flags, last, this.flags, first + inserted, this.size - last);
+
+      var index = first;
+      if (keepFrom) this.set(index++, fromTime, fromSide, state);
+      if (keepTo) this.set(index, toTime, toSide, trailingState);
+      this.size = newSize;
+    }
+
+    /** Gives the state to every position from the given bound onward, which must not precede the last bound. */
+    public void append(final long time, final int side, final byte state) {
+      final var last = this.size - 1;
+      if (this.times[last] == time && this.side(last) == side) {
+        if (last > 0 && this.state(last - 1) == state) {
+          this.size -= 1;
+        } else {
+          this.set(last, time, side, state);
+        }
+      } else if (this.state(last) != state) {
+        this.ensureCapacity(this.size + 1);
+        this.set(this.size++, time, side, state);
+      }
+    }
+
+    public BooleanTimeline build() {
+      return new BooleanTimeline(this.times, this.flags, this.size);
+    }
+
+    // The first bound no earlier than the given one; bounds are usually painted near the end, so look there first.
+    private int indexNotBefore(final long time, final int side) {
+      final var last = compare(this.times[this.size - 1], this.side(this.size - 1), time, side);
+      if (last < 0) return this.size;
+      if (last == 0) return this.size - 1;
+
+      var low = 0;
+      var high = this.size - 1;
+      while (low < high) {
+        final var middle = (low + high) >>> 1;
+        if (compare(this.times[middle], this.side(middle), time, side) < 0) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    private void set(final int index, final long time, final int side, final byte state) {
+      this.times[index] = time;
+      this.flags[index] = (byte) (side | state);
+    }
+
+    private byte state(final int index) {
+      return (byte) (this.flags[index] & STATE);
+    }
+
+    private int side(final int index) {
+      return this.flags[index] & AFTER;
+    }
+
+    private void ensureCapacity(final int capacity) {
+      if (capacity <= this.times.length) return;
+
+      final var newCapacity = Math.max(capacity, 2 * this.times.length);
+      this.times = Arrays.copyOf(this.times, newCapacity);
+      this.flags = Arrays.copyOf(this.flags, newCapacity);
+    }
+  }
+}
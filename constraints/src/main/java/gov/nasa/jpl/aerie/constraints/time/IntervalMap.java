@@ -6,10 +6,12 @@ import org.apache.commons.lang3.function.TriFunction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -53,6 +55,14 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
    * overwrites the former.
    */
   public static <V> IntervalMap<V> of(final List<Segment<V>> segments) {
+    // Segments taken from an existing map or profile usually meet the invariants of the class already.
+    final var canonical = canonicalSegments(segments);
+    if (canonical != null) return new IntervalMap<>(canonical);
+
+    // Ordered segments are each appended after the last in constant time,
+    // but inserting unordered segments one at a time would shift the segments after each of them.
+    if (!isOrdered(segments)) return sweep(segments);
+
     final var builder = new Builder<V>(segments.size());
     for (final var segment : segments) {
       builder.set(segment.interval(), segment.value());
@@ -61,6 +71,117 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
     return builder.build();
   }
 
+  /** The non-empty segments, if they meet the invariants of the class without being combined; otherwise null. */
+  private static <V> List<Segment<V>> canonicalSegments(final List<Segment<V>> segments) {
+    final var result = new ArrayList<Segment<V>>(segments.size());
+    Segment<V> previous = null;
+    for (final var segment : segments) {
+      if (segment.interval().isEmpty()) continue;
+      if (previous != null) {
+        if (!previous.interval().isStrictlyBefore(segment.interval())) return null;
+        if (Interval.meets(previous.interval(), segment.interval()) && Objects.equals(previous.value(), segment.value())) return null;
+      }
+      result.add(segment);
+      previous = segment;
+    }
+    return result;
+  }
+
+  /** Whether every non-empty segment ends before or meets the next, as when taken from an existing map or profile. */
+  private static <V> boolean isOrdered(final List<Segment<V>> segments) {
+    Interval previous = null;
+    for (final var segment : segments) {
+      final var interval = segment.interval();
+      if (interval.isEmpty()) continue;
+      if (previous != null && !IntervalAlgebra.endsBefore(previous, interval)) return false;
+      previous = interval;
+    }
+    return true;
+  }
+
+  /**
+   * Builds an IntervalMap from unordered, overlapping segments in O(n log n) time.
+   *
+   * Sweeps across the bounds of every segment in order, keeping the segments that cover the sweep line in a heap,
+   * so that the value between any two consecutive bounds is that of the latest segment in the list covering it.
+   */
+  private static <V> IntervalMap<V> sweep(final List<Segment<V>> segments) {
+    final var starts = new Bound[segments.size()];
+    final var ends = new Bound[segments.size()];
+    final var indices = new ArrayList<Integer>(segments.size());
+    for (var i = 0; i < segments.size(); i += 1) {
+      final var interval = segments.get(i).interval();
+      if (interval.isEmpty()) continue;
+
+      starts[i] = Bound.startOf(interval);
+      ends[i] = Bound.endOf(interval);
+      indices.add(i);
+    }
+
+    final var byStart = new ArrayList<>(indices);
+    byStart.sort(Comparator.comparing(i -> starts[i]));
+    final var byEnd = new ArrayList<>(indices);
+    byEnd.sort(Comparator.comparing(i -> ends[i]));
+
+    // Later segments take precedence; segments that have ended are only discarded once they reach the top.
+    final var covering = new PriorityQueue<Integer>(Comparator.reverseOrder());
+    final var ended = new boolean[segments.size()];
+    final var builder = new Builder<V>();
+
+    var nextStart = 0;
+    var nextEnd = 0;
+    Bound previous = null;
+    while (nextEnd < byEnd.size()) {
+      final var endBound = ends[byEnd.get(nextEnd)];
+      final var bound = (nextStart < byStart.size() && starts[byStart.get(nextStart)].compareTo(endBound) < 0)
+          ? starts[byStart.get(nextStart)]
+          : endBound;
+
+      if (previous != null && !covering.isEmpty()) {
+        builder.set(Bound.between(previous, bound), segments.get(covering.peek()).value());
+      }
+
+      while (nextEnd < byEnd.size() && ends[byEnd.get(nextEnd)].equals(bound)) {
+        ended[byEnd.get(nextEnd++)] = true;
+      }
+      while (nextStart < byStart.size() && starts[byStart.get(nextStart)].equals(bound)) {
+        covering.add(byStart.get(nextStart++));
+      }
+      while (!covering.isEmpty() && ended[covering.peek()]) covering.poll();
+
+      previous = bound;
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * A position on the timeline between instants: either just before an instant, or just after it.
+   *
+   * An interval covers every instant between its start bound and its end bound.
+   */
+  private record Bound(Duration time, boolean isAfter) implements Comparable<Bound> {
+    static Bound startOf(final Interval interval) {
+      return new Bound(interval.start, !interval.includesStart());
+    }
+
+    static Bound endOf(final Interval interval) {
+      return new Bound(interval.end, interval.includesEnd());
+    }
+
+    static Interval between(final Bound start, final Bound end) {
+      return Interval.between(
+          start.time, (start.isAfter) ? Exclusive : Inclusive,
+          end.time, (end.isAfter) ? Inclusive : Exclusive);
+    }
+
+    @Override
+    public int compareTo(final Bound other) {
+      final var byTime = this.time.compareTo(other.time);
+      return (byTime != 0) ? byTime : Boolean.compare(this.isAfter, other.isAfter);
+    }
+  }
+
   /** Creates an IntervalMap with a single segment. */
   public static <V> IntervalMap<V> of(final Interval interval, final V value) {
     return IntervalMap.of(List.of(Segment.of(interval, value)));
@@ -469,10 +590,7 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
 
       // <> is `interval`, the interval to apply; [] is the currently-indexed interval in the map.
       // Cases: --[---]---<--->--
-      int index = 0;
-      while (index < this.segments.size() && IntervalAlgebra.endsStrictlyBefore(this.getInterval(index), interval)) {
-        index += 1;
-      }
+      int index = this.indexOfFirstSegmentNotStrictlyBefore(interval);
 
       // Cases: --[---<---]--->-- and --[---<--->---]--
       if (index < this.segments.size() && IntervalAlgebra.startsBefore(this.getInterval(index), interval)) {
@@ -492,9 +610,12 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
       }
 
       // Cases: --<---[---]--->--
-      while (index < this.segments.size() && !IntervalAlgebra.endsAfter(this.getInterval(index), interval)) {
-        this.segments.remove(index);
+      // Remove every covered segment at once, so that the segments after them are only shifted once.
+      int coveredEnd = index;
+      while (coveredEnd < this.segments.size() && !IntervalAlgebra.endsAfter(this.getInterval(coveredEnd), interval)) {
+        coveredEnd += 1;
       }
+      this.segments.subList(index, coveredEnd).clear();
 
       // Cases: --<---[--->---]--
       if (index < this.segments.size() && !IntervalAlgebra.startsStrictlyAfter(this.getInterval(index), interval)) {
@@ -522,7 +643,7 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
 
       if (interval.isEmpty()) return this;
 
-      for (int i = 0; i < this.segments.size(); i++) {
+      for (int i = this.indexOfFirstSegmentNotStrictlyBefore(interval); i < this.segments.size(); i++) {
         final var existingInterval = this.segments.get(i).interval();
 
         if (IntervalAlgebra.endsStrictlyBefore(existingInterval, interval)) continue;
@@ -574,6 +695,32 @@ public final class IntervalMap<V> implements Iterable<Segment<V>> {
       return new IntervalMap<>(segments);
     }
 
+    /**
+     * Finds the first segment that does not end strictly before an interval.
+     *
+     * Since segments are ordered and non-overlapping, every segment before it ends strictly before the interval,
+     * and it can be found by binary search. Intervals set in ascending order (the common case when building
+     * from an existing map or profile) land after every segment, which is checked first.
+     */
+    private int indexOfFirstSegmentNotStrictlyBefore(final Interval interval) {
+      final var size = this.segments.size();
+      if (size == 0 || IntervalAlgebra.endsStrictlyBefore(this.getInterval(size - 1), interval)) return size;
+
+      // INVARIANT: the segment at `high` does not end strictly before `interval`; every segment before `low` does.
+      int low = 0;
+      int high = size - 1;
+      while (low < high) {
+        final var middle = (low + high) >>> 1;
+        if (IntervalAlgebra.endsStrictlyBefore(this.getInterval(middle), interval)) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+
+      return low;
+    }
+
     private Interval getInterval(final int index) {
       return this.segments.get(index).interval();
     }
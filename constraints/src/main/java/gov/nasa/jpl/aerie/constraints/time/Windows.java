@@ -12,16 +12,22 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * A boolean profile, which can contain gaps (a.k.a. nulls).
  *
  * Backed by an {@link IntervalMap} of type {@link Boolean}. This class provides additional operations
  * which are only valid on bools.
+ *
+ * The boolean operations are evaluated over a {@link BooleanTimeline}, a primitive encoding of the same profile.
+ * Each encoding is derived from the other when first needed, so that chains of boolean operations never build
+ * the segments of their intermediate results.
  */
 public final class Windows implements Iterable<Segment<Boolean>>, IntervalContainer<Windows>, Profile<Windows> {
-  private final IntervalMap<Boolean> segments;
+  // INVARIANT: At least one of these is non-null, and they represent the same profile.
+  // Both are immutable, so threads racing to derive one from the other at worst duplicate work.
+  private IntervalMap<Boolean> segments;
+  private BooleanTimeline timeline;
 
   /** Creates an empty Windows */
   public Windows() {
@@ -46,7 +52,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   /** Creates a Windows that is equal to a given value for all representable times */
   public Windows(final boolean bool) {
-    this.segments = IntervalMap.of(bool);
+    this.timeline = BooleanTimeline.constant((bool) ? BooleanTimeline.TRUE : BooleanTimeline.FALSE);
   }
 
   /** Wraps an IntervalMap of Booleans in Windows. */
@@ -54,6 +60,32 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
     this.segments = segments;
   }
 
+  private Windows(final BooleanTimeline timeline) {
+    this.timeline = timeline;
+  }
+
+  /** Creates a builder for Windows, starting from an empty Windows */
+  public static Builder builder() {
+    return new Builder(BooleanTimeline.constant(BooleanTimeline.GAP));
+  }
+
+  /** Creates a builder for Windows, starting from this Windows */
+  public Builder toBuilder() {
+    return new Builder(this.timeline());
+  }
+
+  private IntervalMap<Boolean> segments() {
+    var segments = this.segments;
+    if (segments == null) this.segments = segments = this.timeline.toIntervalMap();
+    return segments;
+  }
+
+  private BooleanTimeline timeline() {
+    var timeline = this.timeline;
+    if (timeline == null) this.timeline = timeline = BooleanTimeline.of(this.segments);
+    return timeline;
+  }
+
   /**
    * Perform the and operation on two Windows.
    *
@@ -74,20 +106,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows and(final Windows other) {
-    return new Windows(IntervalMap.map2(
-        this.segments, other.segments,
-        (l, r) -> {
-          if (l.isPresent() && r.isPresent()) {
-            return Optional.of(l.get() && r.get());
-          } else if (l.isPresent()) {
-            return l.get() ? Optional.empty() : Optional.of(Boolean.FALSE);
-          } else if (r.isPresent()) {
-            return r.get() ? Optional.empty() : Optional.of(Boolean.FALSE);
-          } else {
-            return Optional.empty();
-          }
-        }
-    ));
+    return new Windows(BooleanTimeline.combine(this.timeline(), other.timeline(), BooleanTimeline.AND));
   }
 
   /**
@@ -110,20 +129,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows or(final Windows other) {
-    return new Windows(IntervalMap.map2(
-        this.segments, other.segments,
-        (l, r) -> {
-          if (l.isPresent() && r.isPresent()) {
-            return Optional.of(l.get() || r.get());
-          } else if (l.isPresent()) {
-            return l.get() ? Optional.of(true) : Optional.empty();
-          } else if (r.isPresent()) {
-            return r.get() ? Optional.of(true) : Optional.empty();
-          } else {
-            return Optional.empty();
-          }
-        }
-    ));
+    return new Windows(BooleanTimeline.combine(this.timeline(), other.timeline(), BooleanTimeline.OR));
   }
 
   /**
@@ -146,16 +152,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows add(final Windows other) {
-    return new Windows(IntervalMap.map2(
-        this.segments, other.segments,
-        (l, r) -> {
-          if (l.isPresent() && r.isPresent()) {
-            return Optional.of(l.get() || r.get());
-          } else if (l.isPresent()) {
-            return l;
-          } else return r;
-        }
-    ));
+    return new Windows(BooleanTimeline.combine(this.timeline(), other.timeline(), BooleanTimeline.ADD));
   }
 
   /**
@@ -169,12 +166,12 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
     //should not be a subtraction because then if it was null originally, then subtracting original from forever
     //  yields true where once was null, which isn't good. we want a simple inversion of true and false here, without
     //  filling nulls.
-    return new Windows(this.segments.map(b -> !b));
+    return new Windows(this.timeline().not());
   }
 
   /** Gets the time and inclusivity of the leading edge of the first true segment */
   public Optional<Pair<Duration, Interval.Inclusivity>> minTrueTimePoint(){
-    for (final var segment: this.segments) {
+    for (final var segment: this.segments()) {
       if (segment.value()) {
         final var window = segment.interval();
         return Optional.of(Pair.of(window.start, window.startInclusivity));
@@ -185,8 +182,8 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   /** Gets the time and inclusivity of the trailing edge of the last true segment */
   public Optional<Pair<Duration, Interval.Inclusivity>> maxTrueTimePoint(){
-    for (int i = this.segments.size() - 1; i >= 0; i--) {
-      final var segment = this.segments.get(i);
+    for (int i = this.segments().size() - 1; i >= 0; i--) {
+      final var segment = this.segments().get(i);
       if (segment.value()) {
         final var window = segment.interval();
         return Optional.of(Pair.of(window.end, window.endInclusivity));
@@ -201,13 +198,13 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows trueSubsetContainedIn(final Interval interval) {
-    var result = new Windows(interval, false);
-    for (final var segment: this.segments) {
+    final var result = new Windows(interval, false).toBuilder();
+    for (final var segment: this.segments()) {
       if (segment.value() && interval.contains(segment.interval())) {
-        result = result.set(segment.interval(), true);
+        result.set(segment.interval(), true);
       }
     }
-    return result;
+    return result.build();
   }
 
   /**
@@ -221,20 +218,20 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
   public Windows removeTrueSegment(final int indexToRemove) {
     if (indexToRemove >= 0) {
       int index = 0;
-      for (final var interval : this.segments.iterateEqualTo(true)) {
+      for (final var interval : this.segments().iterateEqualTo(true)) {
         if (index == indexToRemove) {
-          return new Windows(this.segments.set(interval, false));
+          return new Windows(this.segments().set(interval, false));
         } else {
           index += 1;
         }
       }
     } else {
       int index = -1;
-      for (int i = this.segments.size() - 1; i >= 0; i--) {
-        final var segment = this.segments.get(i);
+      for (int i = this.segments().size() - 1; i >= 0; i--) {
+        final var segment = this.segments().get(i);
         if (segment.value()) {
           if (index == indexToRemove) {
-            return new Windows(this.segments.set(segment.interval(), false));
+            return new Windows(this.segments().set(segment.interval(), false));
           } else {
             index -= 1;
           }
@@ -253,29 +250,29 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows keepTrueSegment(final int indexToKeep) {
-    final var builder = IntervalMap.<Boolean>builder().set(this.segments);
+    final var builder = this.toBuilder();
     if (indexToKeep >= 0) {
       int index = 0;
-      for (final var interval : this.segments.iterateEqualTo(true)) {
+      for (final var interval : this.segments().iterateEqualTo(true)) {
         if (index != indexToKeep) {
-          builder.set(Segment.of(interval, false));
+          builder.set(interval, false);
         }
         index += 1;
       }
     } else {
       int index = -1;
-      for (int i = this.segments.size() - 1; i >= 0; i--) {
-        final var segment = this.segments.get(i);
+      for (int i = this.segments().size() - 1; i >= 0; i--) {
+        final var segment = this.segments().get(i);
         if (segment.value()) {
           if (index != indexToKeep) {
-            builder.set(Segment.of(segment.interval(), false));
+            builder.set(segment.interval(), false);
           }
           index -= 1;
         }
       }
     }
 
-    return new Windows(builder.build());
+    return builder.build();
   }
 
   /** Whether all the true segments of the given Windows are contained in the true segments of this. */
@@ -298,13 +295,10 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
     //  N    |    F     |   N
     //  N    |    N     |   N
 
-    final var inclusion = IntervalMap.map2(
-        this.segments, other.segments,
-        ($original, $other) -> $other.map($ -> !$ || ($original.isPresent() && $original.get()))
-    );
+    final var inclusion = BooleanTimeline.combine(this.timeline(), other.timeline(), BooleanTimeline.INCLUDES);
 
     //anywhere where the above has false means inclusion wasn't perfect, so squash and get a truth value:
-    return StreamSupport.stream(inclusion.spliterator(), false).allMatch(Segment::value);
+    return !inclusion.hasState(BooleanTimeline.FALSE);
   }
 
   /** Whether the given interval is contained in a true segment in this. */
@@ -322,12 +316,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
       throw new IllegalArgumentException("MaxDur %s must be greater than MinDur %s".formatted(minDur.toString(), maxDur.toString()));
     }
 
-    return new Windows(this.segments.map((value, interval) -> {
-      if (!value) return false;
-
-      final var duration = interval.duration();
-      return !(duration.shorterThan(minDur) || duration.longerThan(maxDur));
-    }));
+    return new Windows(this.timeline().filterByDuration(minDur, maxDur));
   }
 
   /**
@@ -343,24 +332,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows shiftBy(Duration fromStart, Duration fromEnd) {
-    final var builder = IntervalMap.<Boolean>builder();
-
-    for (final var segment : this.segments) {
-      final var interval = segment.interval();
-
-      final var shiftedInterval = (segment.value()) ? (
-          Interval.between(
-              interval.start.saturatingPlus(fromStart), interval.startInclusivity,
-              interval.end.saturatingPlus(fromEnd),     interval.endInclusivity)
-      ) : (
-          Interval.between(
-              interval.start.saturatingPlus(fromEnd), interval.startInclusivity,
-              interval.end.saturatingPlus(fromStart), interval.endInclusivity)
-      );
-
-      builder.set(Segment.of(shiftedInterval, segment.value()));
-    }
-    return new Windows(builder.build());
+    return new Windows(this.timeline().shiftBy(fromStart, fromEnd));
   }
 
   /**
@@ -384,7 +356,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
     final var builder = IntervalMap.<LinearEquation>builder();
 
     double accumulator = 0.0;
-    for (final var segment: this.segments) {
+    for (final var segment: this.segments()) {
       final var interval = segment.interval();
       final var rate = segment.value() ? Duration.SECOND.ratioOver(unit) : 0.0;
       final var line = new LinearEquation(
@@ -412,32 +384,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    * @return a new Windows
    */
   public Windows starts() {
-    var result = IntervalMap.<Boolean>builder().set(this.segments).build();
-    for (int i = 0; i < result.size(); i++) {
-      final var segment = result.get(i);
-      if (segment.value()) {
-        final boolean meetsFalse;
-        if (i == 0) {
-          meetsFalse = false;
-        } else {
-          meetsFalse = Interval.meets(this.segments.get(i - 1).interval(), segment.interval());
-        }
-        if (meetsFalse) {
-          result = result.set(Interval.at(segment.interval().start), true);
-          result = result.set(Interval.between(
-              segment.interval().start,
-              Inclusivity.Exclusive,
-              segment.interval().end,
-              segment.interval().endInclusivity), false);
-        } else {
-          result = result.set(segment.interval(), false);
-          if (!segment.interval().contains(Duration.MIN_VALUE)) {
-            result = result.unset(Interval.at(segment.interval().start));
-          }
-        }
-      }
-    }
-    return new Windows(result);
+    return new Windows(this.timeline().starts());
   }
 
   /**
@@ -454,32 +401,7 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
    */
   @Override
   public Windows ends() {
-    var result = IntervalMap.<Boolean>builder().set(this.segments).build();
-    for (int i = 0; i < this.segments.size(); i++) {
-      final var segment = this.segments.get(i);
-      if (segment.value()) {
-        final boolean meetsFalse;
-        if (i == this.segments.size()-1) {
-          meetsFalse = false;
-        } else {
-          meetsFalse = Interval.meets(segment.interval(), this.segments.get(i + 1).interval());
-        }
-        if (meetsFalse) {
-          result = result.set(Interval.between(
-              segment.interval().start,
-              segment.interval().startInclusivity,
-              segment.interval().end,
-              Inclusivity.Exclusive), false);
-          result = result.set(Interval.at(segment.interval().end), true);
-        } else {
-          result = result.set(segment.interval(), false);
-          if (!segment.interval().contains(Duration.MAX_VALUE)) {
-            result = result.unset(Interval.at(segment.interval().end));
-          }
-        }
-      }
-    }
-    return new Windows(result);
+    return new Windows(this.timeline().ends());
   }
 
   /**
@@ -490,13 +412,13 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
   public Spans intoSpans(final Interval bounds) {
     boolean boundsStartContained = false;
     boolean boundsEndContained = false;
-    if(this.segments.size() == 1){
-      if (segments.get(0).interval().contains(bounds.start)) boundsStartContained = true;
-      if (segments.get(0).interval().contains(bounds.end)) boundsEndContained = true;
+    if(this.segments().size() == 1){
+      if (this.segments().get(0).interval().contains(bounds.start)) boundsStartContained = true;
+      if (this.segments().get(0).interval().contains(bounds.end)) boundsEndContained = true;
     }
-    for (int i = 0; i < this.segments.size() - 1; i++) {
-      final var leftInterval = this.segments.get(i).interval();
-      final var rightInterval = this.segments.get(i+1).interval();
+    for (int i = 0; i < this.segments().size() - 1; i++) {
+      final var leftInterval = this.segments().get(i).interval();
+      final var rightInterval = this.segments().get(i+1).interval();
       if (leftInterval.contains(bounds.start) || rightInterval.contains(bounds.start)) boundsStartContained = true;
       if (leftInterval.contains(bounds.end) || rightInterval.contains(bounds.end)) boundsEndContained = true;
       if (leftInterval.isStrictlyBefore(bounds)) continue;
@@ -520,40 +442,26 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   @Override
   public boolean isConstant() {
-    return segments.size() <= 1;
+    final var segments = this.segments;
+    return (segments != null) ? segments.size() <= 1 : this.timeline.definedPieces() <= 1;
   }
 
   /** Assigns a default value to all gaps in the profile. */
   @Override
   public Windows assignGaps(final Windows def) {
-    return new Windows(
-        IntervalMap.map2(
-            this.segments, def.segments,
-            (original, defaultSegment) -> original.isPresent() ? original : defaultSegment
-        )
-    );
+    return new Windows(BooleanTimeline.combine(this.timeline(), def.timeline(), BooleanTimeline.ASSIGN_GAPS));
   }
 
   @Override
   public Optional<SerializedValue> valueAt(final Duration timepoint) {
-    final var matchPiece = segments
-        .stream()
-        .filter($ -> $.interval().contains(timepoint))
-        .findFirst();
-    return matchPiece
-        .map(a -> SerializedValue.of(a.value()));
+    final var state = this.timeline().stateAt(timepoint);
+    if (state == BooleanTimeline.GAP) return Optional.empty();
+    return Optional.of(SerializedValue.of(state == BooleanTimeline.TRUE));
   }
 
   @Override
   public Windows equalTo(final Windows other) {
-    return new Windows(
-        IntervalMap.map2(
-            this.segments, other.segments,
-            (left, right) -> left.isPresent() && right.isPresent()
-                ? Optional.of(left.get() == right.get())
-                : Optional.empty()
-        )
-    );
+    return new Windows(BooleanTimeline.combine(this.timeline(), other.timeline(), BooleanTimeline.EQUAL_TO));
   }
 
   @Override
@@ -563,104 +471,136 @@ public final class Windows implements Iterable<Segment<Boolean>>, IntervalContai
 
   @Override
   public Windows changePoints() {
-    final var result = IntervalMap.<Boolean>builder().set(this.segments.map($ -> false));
-    for (int i = 0; i < this.segments.size(); i++) {
-      final var segment = this.segments.get(i);
-      if (i == 0) {
-        if (!segment.interval().contains(Duration.MIN_VALUE)) {
-          result.unset(Interval.at(segment.interval().start));
-        }
-      } else {
-        final var previousSegment = this.segments.get(i-1);
-        if (Interval.meets(previousSegment.interval(), segment.interval())) {
-          if (!previousSegment.value().equals(segment.value())) {
-            result.set(Interval.at(segment.interval().start), true);
-          }
-        } else {
-          result.unset(Interval.at(segment.interval().start));
-        }
-      }
-    }
-
-    return new Windows(result.build());
+    return new Windows(this.timeline().changePoints());
   }
 
   ////// DELEGATED METHODS
 
   /** Delegated to {@link IntervalMap#set(Interval, Object)} */
   public Windows set(final Interval interval, final boolean value) {
-    return new Windows(segments.set(interval, value));
+    return new Windows(this.segments().set(interval, value));
   }
 
   /** Delegated to {@link IntervalMap#set(List, Object)} */
   public Windows set(final List<Interval> intervals, final boolean value) {
-    return new Windows(segments.set(intervals, value));
+    return new Windows(this.segments().set(intervals, value));
   }
 
   /** Delegated to {@link IntervalMap#set(IntervalMap)} */
   public Windows set(final Windows other) {
-    return new Windows(segments.set(other.segments));
+    return new Windows(this.segments().set(other.segments()));
   }
 
   /** Delegated to {@link IntervalMap#unset(Interval...)} */
   public Windows unset(final Interval... intervals) {
-    return new Windows(segments.unset(intervals));
+    return new Windows(this.segments().unset(intervals));
   }
 
   /** Delegated to {@link IntervalMap#unset(List)} */
   public Windows unset(final List<Interval> intervals) {
-    return new Windows(segments.unset(intervals));
+    return new Windows(this.segments().unset(intervals));
   }
 
   /** Delegated to {@link IntervalMap#select(Interval...)} */
   public Windows select(final Interval... intervals) {
-    return new Windows(segments.select(intervals));
+    return new Windows(this.segments().select(intervals));
   }
 
   /** Delegated to {@link IntervalMap#select(List)} */
   public Windows select(final List<Interval> intervals) {
-    return new Windows(segments.select(intervals));
+    return new Windows(this.segments().select(intervals));
   }
 
   /** Delegated to {@link IntervalMap#get(int)} */
   public Segment<Boolean> get(final int index) {
-    return segments.get(index);
+    return this.segments().get(index);
   }
 
   /** Delegated to {@link IntervalMap#size()} */
   public int size() {
-    return segments.size();
+    return this.segments().size();
   }
 
   /** Delegated to {@link IntervalMap#isEmpty()} */
   public boolean isEmpty() {
-    return segments.isEmpty();
+    return this.segments().isEmpty();
   }
 
   /** Delegated to {@link IntervalMap#iterator()} */
   @Override
   public Iterator<Segment<Boolean>> iterator() {
-    return segments.iterator();
+    return this.segments().iterator();
   }
 
   /** Delegated to {@link IntervalMap#iterateEqualTo(Object)} */
   public Iterable<Interval> iterateEqualTo(final boolean value) {
-    return segments.iterateEqualTo(value);
+    return this.segments().iterateEqualTo(value);
   }
 
   /** Delegated to {@link IntervalMap#stream} */
   public Stream<Segment<Boolean>> stream() {
-    return segments.stream();
+    return this.segments().stream();
   }
 
   @Override
   public boolean equals(final Object other) {
     if (!(other instanceof final Windows w)) return false;
-    return segments.equals(w.segments);
+    return this.timeline().equals(w.timeline());
   }
 
   @Override
   public String toString() {
-    return segments.toString();
+    return this.segments().toString();
+  }
+
+  /**
+   * Applies many edits to a Windows at once.
+   *
+   * Where {@link Windows#set} and {@link Windows#unset} each copy the whole Windows, a builder records its edits
+   * and applies them all in a single linear pass when built. Later edits take precedence over earlier ones,
+   * and edits made in ascending order (such as while iterating over the Windows being edited) are recorded in constant time.
+   */
+  public static final class Builder {
+    private final BooleanTimeline base;
+    private final BooleanTimeline.Builder edits = new BooleanTimeline.Builder(16, BooleanTimeline.KEEP);
+    private boolean built = false;
+
+    private Builder(final BooleanTimeline base) {
+      this.base = base;
+    }
+
+    public Builder set(final Interval interval, final boolean value) {
+      if (this.built) throw new IllegalStateException();
+
+      this.edits.paint(interval, (value) ? BooleanTimeline.TRUE : BooleanTimeline.FALSE);
+      return this;
+    }
+
+    public Builder set(final List<Interval> intervals, final boolean value) {
+      for (final var interval : intervals) this.set(interval, value);
+      return this;
+    }
+
+    /** Sets every defined segment of the given Windows, like {@link Windows#set(Windows)}. */
+    public Builder set(final Windows other) {
+      if (this.built) throw new IllegalStateException();
+
+      this.edits.paintDefined(other.timeline());
+      return this;
+    }
+
+    public Builder unset(final Interval interval) {
+      if (this.built) throw new IllegalStateException();
+
+      this.edits.paint(interval, BooleanTimeline.GAP);
+      return this;
+    }
+
+    public Windows build() {
+      if (this.built) throw new IllegalStateException();
+      this.built = true;
+
+      return new Windows(BooleanTimeline.overlay(this.base, this.edits.build()));
+    }
   }
 }
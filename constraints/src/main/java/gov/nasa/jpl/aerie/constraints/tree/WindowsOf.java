@@ -19,12 +19,12 @@ public final class WindowsOf implements Expression<Windows> {
 
   @Override
   public Windows evaluate(SimulationResults results, final Interval bounds, EvaluationEnvironment environment) {
-    var ret = new Windows(bounds, false);
+    final var ret = new Windows(bounds, false).toBuilder();
     final var unsatisfiedWindows = this.expression.evaluate(results, bounds, environment);
     for(var unsatisfiedWindow : unsatisfiedWindows){
-      ret = ret.set(unsatisfiedWindow.violationWindows, true);
+      ret.set(unsatisfiedWindow.violationWindows, true);
     }
-    return ret.not();
+    return ret.build().not();
   }
 
   @Override
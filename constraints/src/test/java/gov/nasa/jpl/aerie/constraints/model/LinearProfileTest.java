@@ -71,6 +71,35 @@ public class LinearProfileTest {
     assertEquivalent(expected, result);
   }
 
+  @Test
+  public void testAdditionJoinsAbuttingSegmentsOfTheSameLine() {
+    final var profile = new LinearProfile(
+        Segment.of(Interval.between(0, Inclusive, 10, Exclusive, SECONDS), new LinearEquation(Duration.of(0, SECONDS), 0, 1)),
+        Segment.of(Interval.between(10, Inclusive, 20, Inclusive, SECONDS), new LinearEquation(Duration.of(10, SECONDS), 10, 0))
+    );
+
+    final var other = new LinearProfile(
+        Segment.of(Interval.between(0, Inclusive, 10, Exclusive, SECONDS), new LinearEquation(Duration.of(0, SECONDS), 5, 0)),
+        Segment.of(Interval.between(10, Inclusive, 20, Inclusive, SECONDS), new LinearEquation(Duration.of(10, SECONDS), 5, 1))
+    );
+
+    // Both halves of the sum lie on the line through 5 at time 0 with a slope of 1.
+    final var result = profile.plus(other);
+
+    final var expected = new LinearProfile(
+        Segment.of(Interval.between(0, Inclusive, 20, Inclusive, SECONDS), new LinearEquation(Duration.of(10, SECONDS), 15, 1))
+    );
+
+    assertEquivalent(expected, result);
+    assertEquivalent(
+        new Windows(
+            Segment.of(Interval.between(0, Inclusive, 5, Inclusive, SECONDS), false),
+            Segment.of(Interval.between(5, Exclusive, 20, Inclusive, SECONDS), true)
+        ),
+        result.greaterThan(new LinearProfile(Segment.of(Interval.FOREVER, new LinearEquation(Duration.ZERO, 10, 0))))
+    );
+  }
+
   @Test
   public void testMultiplication() {
     final var profile = new LinearProfile(
@@ -337,7 +366,7 @@ public class LinearProfileTest {
     );
 
     assertIterableEquals(
-        expected.profilePieces, profile.profilePieces
+        expected.profilePieces(), profile.profilePieces()
     );
   }
 }
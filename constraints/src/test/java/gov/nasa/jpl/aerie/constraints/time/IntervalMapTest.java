@@ -3,11 +3,18 @@ package gov.nasa.jpl.aerie.constraints.time;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
 import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Exclusive;
 import static gov.nasa.jpl.aerie.constraints.time.Interval.Inclusivity.Inclusive;
 import static gov.nasa.jpl.aerie.constraints.time.Interval.interval;
 import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 
 public class IntervalMapTest {
@@ -274,4 +281,89 @@ public class IntervalMapTest {
 
     assertIterableEquals(expected, left);
   }
+
+  @Test
+  public void buildFromManySortedSegments() {
+    // Runs of ten abutting one-second segments share a value, and coalesce into one ten-second segment each.
+    final var segments = new ArrayList<Segment<Integer>>();
+    for (var i = 0; i < 100_000; i += 1) {
+      segments.add(Segment.of(interval(i, Inclusive, i + 1, Exclusive, SECONDS), i / 10));
+    }
+
+    final var result = IntervalMap.of(segments);
+
+    assertEquals(10_000, result.size());
+    for (var i = 0; i < 10_000; i += 1) {
+      assertEquals(Segment.of(interval(10 * i, Inclusive, 10 * (i + 1), Exclusive, SECONDS), i), result.get(i));
+    }
+
+    final var shuffled = new ArrayList<>(segments);
+    Collections.shuffle(shuffled, new Random(0));
+    assertIterableEquals(result, IntervalMap.of(shuffled));
+  }
+
+  @Test
+  public void buildFromUnorderedOverlappingSegments() {
+    IntervalMap<String> result = IntervalMap.of(List.of(
+        Segment.of(interval(5, 10, SECONDS), "a"),
+        Segment.of(interval(0, Inclusive, 3, Exclusive, SECONDS), "b"),
+        Segment.of(interval(2, 6, SECONDS), "c"),
+        Segment.of(interval(8, Exclusive, 9, Exclusive, SECONDS), "d"),
+        Segment.of(interval(7, Exclusive, 8, Inclusive, SECONDS), "a"),
+        Segment.of(interval(3, Exclusive, 3, Exclusive, SECONDS), "e")
+    ));
+
+    IntervalMap<String> expected = IntervalMap.of(
+        Segment.of(interval(0, Inclusive, 2, Exclusive, SECONDS), "b"),
+        Segment.of(interval(2, 6, SECONDS), "c"),
+        Segment.of(interval(6, Exclusive, 8, Inclusive, SECONDS), "a"),
+        Segment.of(interval(8, Exclusive, 9, Exclusive, SECONDS), "d"),
+        Segment.of(interval(9, 10, SECONDS), "a")
+    );
+
+    assertIterableEquals(expected, result);
+  }
+
+  @Test
+  public void buildFromRandomSegments() {
+    // Later segments take precedence wherever they overlap earlier ones, whichever way the map is built.
+    final var random = new Random(0);
+    for (var trial = 0; trial < 1000; trial += 1) {
+      final var segments = new ArrayList<Segment<Integer>>();
+      final var count = random.nextInt(30);
+      for (var i = 0; i < count; i += 1) {
+        final var start = random.nextInt(40);
+        segments.add(Segment.of(
+            interval(
+                start, (random.nextBoolean()) ? Inclusive : Exclusive,
+                start + random.nextInt(10), (random.nextBoolean()) ? Inclusive : Exclusive,
+                SECONDS),
+            random.nextInt(3)));
+      }
+
+      final var builder = IntervalMap.<Integer>builder();
+      for (final var segment : segments) builder.set(segment);
+      final var incremental = builder.build();
+      final var bulk = IntervalMap.of(segments);
+
+      assertIterableEquals(incremental, bulk);
+      for (var i = 1; i < bulk.size(); i += 1) {
+        final var previous = bulk.get(i - 1);
+        final var next = bulk.get(i);
+        assertFalse(Interval.meets(previous.interval(), next.interval()) && previous.value().equals(next.value()));
+      }
+      for (var halfSeconds = -2; halfSeconds < 100; halfSeconds += 1) {
+        final var time = Duration.of(500, Duration.MILLISECONDS).times(halfSeconds);
+        assertEquals(valueAt(segments, time), valueAt(bulk, time));
+      }
+    }
+  }
+
+  private static <V> Optional<V> valueAt(final Iterable<Segment<V>> segments, final Duration time) {
+    Optional<V> result = Optional.empty();
+    for (final var segment : segments) {
+      if (segment.interval().contains(time)) result = Optional.of(segment.value());
+    }
+    return result;
+  }
 }
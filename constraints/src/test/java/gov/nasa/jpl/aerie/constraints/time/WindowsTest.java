@@ -466,6 +466,114 @@ public class WindowsTest {
     );
   }
 
+  @Test
+  public void startsOfSeveralTrueSegments() {
+    final var windows = new Windows(
+        Segment.of(interval(0, 1, SECONDS), true),
+        Segment.of(interval(1, Exclusive, 5, Exclusive, SECONDS), false),
+        Segment.of(interval(5, 8, SECONDS), true),
+        Segment.of(interval(8, Exclusive, 10, Exclusive, SECONDS), false),
+        Segment.of(interval(10, 12, SECONDS), true)
+    );
+
+    // The first true segment comes after a gap, so its start is unknown; the others come after falses.
+    final var expected = new Windows(
+        Segment.of(interval(0, Exclusive, 5, Exclusive, SECONDS), false),
+        Segment.of(at(5, SECONDS), true),
+        Segment.of(interval(5, Exclusive, 10, Exclusive, SECONDS), false),
+        Segment.of(at(10, SECONDS), true),
+        Segment.of(interval(10, Exclusive, 12, Inclusive, SECONDS), false)
+    );
+
+    assertIterableEquals(expected, windows.starts());
+    assertIterableEquals(expected.not().not(), windows.starts());
+  }
+
+  @Test
+  public void chainedBooleanOperations() {
+    final var a = new Windows(interval(0, 10, SECONDS), true).set(interval(2, 4, SECONDS), false);
+    final var b = new Windows(interval(3, 12, SECONDS), true);
+    final var c = new Windows(false).set(interval(11, 15, SECONDS), true);
+
+    final var result = a.and(b).or(c).not();
+
+    // F and N = F, but F or N = N, so only the falses of `a` within the windows of `c` survive.
+    final var expected = new Windows(
+        Segment.of(interval(2, 4, SECONDS), true),
+        Segment.of(interval(4, Exclusive, 10, Inclusive, SECONDS), false),
+        Segment.of(interval(11, 15, SECONDS), false)
+    );
+
+    assertEquals(3, result.size());
+    assertEquals(Segment.of(interval(4, Exclusive, 10, Inclusive, SECONDS), false), result.get(1));
+    assertIterableEquals(expected, result);
+  }
+
+  @Test
+  public void builderAppliesEditsInOrder() {
+    final var windows = new Windows(interval(0, 10, SECONDS), true);
+
+    final var result = windows.toBuilder()
+        .set(interval(2, 4, SECONDS), false)
+        .unset(interval(3, 5, SECONDS))
+        .set(interval(8, 12, SECONDS), false)
+        .set(at(9, SECONDS), true)
+        .set(new Windows(interval(-2, Inclusive, 0, Exclusive, SECONDS), false))
+        .build();
+
+    final var expected = windows
+        .set(interval(2, 4, SECONDS), false)
+        .unset(interval(3, 5, SECONDS))
+        .set(interval(8, 12, SECONDS), false)
+        .set(at(9, SECONDS), true)
+        .set(new Windows(interval(-2, Inclusive, 0, Exclusive, SECONDS), false));
+
+    assertEquals(expected, result);
+    assertIterableEquals(
+        List.of(
+            Segment.of(interval(-2, Inclusive, 0, Exclusive, SECONDS), false),
+            Segment.of(interval(0, Inclusive, 2, Exclusive, SECONDS), true),
+            Segment.of(interval(2, Inclusive, 3, Exclusive, SECONDS), false),
+            Segment.of(interval(5, Exclusive, 8, Exclusive, SECONDS), true),
+            Segment.of(interval(8, Inclusive, 9, Exclusive, SECONDS), false),
+            Segment.of(at(9, SECONDS), true),
+            Segment.of(interval(9, Exclusive, 12, Inclusive, SECONDS), false)
+        ),
+        result
+    );
+  }
+
+  @Test
+  public void builderRejectsManyWindows() {
+    final var builder = Windows.builder();
+    for (var i = 0; i < 100_000; i += 1) {
+      builder.set(interval(2 * i, Inclusive, 2 * i + 1, Exclusive, SECONDS), true);
+    }
+    final var windows = builder.build();
+
+    final var filtered = windows.toBuilder();
+    var index = 0;
+    for (final var interval : windows.iterateEqualTo(true)) {
+      if (index++ % 2 == 1) filtered.set(interval, false);
+    }
+    final var result = filtered.build();
+
+    assertEquals(100_000, windows.size());
+    assertEquals(100_000, result.size());
+    assertEquals(Segment.of(interval(0, Inclusive, 1, Exclusive, SECONDS), true), result.get(0));
+    assertEquals(Segment.of(interval(2, Inclusive, 3, Exclusive, SECONDS), false), result.get(1));
+    assertEquals(50_000, StreamSupport.stream(result.iterateEqualTo(true).spliterator(), false).count());
+  }
+
+  @Test
+  public void builderCannotBeReused() {
+    final var builder = Windows.builder().set(interval(0, 1, SECONDS), true);
+    builder.build();
+
+    assertThrows(IllegalStateException.class, () -> builder.set(interval(1, 2, SECONDS), true));
+    assertThrows(IllegalStateException.class, builder::build);
+  }
+
   @Test
   public void includes() {
 
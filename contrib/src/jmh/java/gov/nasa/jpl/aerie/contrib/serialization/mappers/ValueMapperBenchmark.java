@@ -0,0 +1,132 @@
+package gov.nasa.jpl.aerie.contrib.serialization.mappers;
+
+import gov.nasa.jpl.aerie.merlin.framework.ValueMapper;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Measures serialization, deserialization, and equality of {@link SerializedValue}s through the numeric value mappers.
+ *
+ * <p>
+ * The {@code bigDecimal} representation rebuilds every serialized number as an arbitrary-precision
+ * {@link SerializedValue.NumericValue}, as all numbers were stored before the primitive {@code RealValue} and
+ * {@code IntValue} variants were introduced, to serve as a baseline for the {@code primitive} representation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueMapperBenchmark {
+  @Param({"double", "long", "duration", "doubleArray", "doubleList"})
+  public String mapper;
+
+  @Param({"primitive", "bigDecimal"})
+  public String representation;
+
+  @Param({"1000"})
+  public int count;
+
+  private ValueMapper<Object> valueMapper;
+  private Function<SerializedValue, SerializedValue> represent;
+  private final List<Object> values = new ArrayList<>();
+  private final List<SerializedValue> serialized = new ArrayList<>();
+  private final List<SerializedValue> copies = new ArrayList<>();
+
+  @Setup
+  public void setup() {
+    final var random = new Random(0);
+    final Supplier<?> generator = switch (this.mapper) {
+      case "double" -> random::nextDouble;
+      case "long" -> random::nextLong;
+      case "duration" -> () -> Duration.of(random.nextInt(), Duration.MICROSECONDS);
+      case "doubleArray" -> () -> random.doubles(16).toArray();
+      case "doubleList" -> () -> random.doubles(16).boxed().toList();
+      default -> throw new IllegalArgumentException("Unknown mapper " + this.mapper);
+    };
+    this.valueMapper = mapperFor(this.mapper);
+    this.represent = switch (this.representation) {
+      case "primitive" -> $ -> $;
+      case "bigDecimal" -> ValueMapperBenchmark::toBigDecimal;
+      default -> throw new IllegalArgumentException("Unknown representation " + this.representation);
+    };
+
+    for (var i = 0; i < this.count; i += 1) {
+      final var value = generator.get();
+      this.values.add(value);
+      // Serialize twice, so that equality can't short-circuit on identity.
+      this.serialized.add(this.represent.apply(this.valueMapper.serializeValue(value)));
+      this.copies.add(this.represent.apply(this.valueMapper.serializeValue(value)));
+    }
+  }
+
+  @Benchmark
+  public void serialize(final Blackhole blackhole) {
+    for (final var value : this.values) {
+      blackhole.consume(this.represent.apply(this.valueMapper.serializeValue(value)));
+    }
+  }
+
+  @Benchmark
+  public void deserialize(final Blackhole blackhole) {
+    for (final var value : this.serialized) {
+      blackhole.consume(this.valueMapper.deserializeValue(value));
+    }
+  }
+
+  @Benchmark
+  public int equality() {
+    var equal = 0;
+    for (var i = 0; i < this.count; i += 1) {
+      if (this.serialized.get(i).equals(this.copies.get(i))) equal += 1;
+    }
+    return equal;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ValueMapper<Object> mapperFor(final String name) {
+    final ValueMapper<?> mapper = switch (name) {
+      case "double" -> new DoubleValueMapper();
+      case "long" -> new LongValueMapper();
+      case "duration" -> new DurationValueMapper();
+      case "doubleArray" -> new PrimitiveDoubleArrayValueMapper();
+      case "doubleList" -> new ListValueMapper<>(new DoubleValueMapper());
+      default -> throw new IllegalArgumentException("Unknown mapper " + name);
+    };
+    return (ValueMapper<Object>) mapper;
+  }
+
+  private static SerializedValue toBigDecimal(final SerializedValue value) {
+    if (value instanceof SerializedValue.RealValue $) {
+      return new SerializedValue.NumericValue(BigDecimal.valueOf($.value()));
+    } else if (value instanceof SerializedValue.IntValue $) {
+      return new SerializedValue.NumericValue(BigDecimal.valueOf($.value()));
+    } else if (value instanceof SerializedValue.ListValue $) {
+      return new SerializedValue.ListValue($.list().stream().map(ValueMapperBenchmark::toBigDecimal).toList());
+    } else {
+      return value;
+    }
+  }
+}
@@ -39,6 +39,22 @@ public final class CounterCell<T> {
     return this.duplicator.apply(this.value);
   }
 
+  // Counters in the same state are equal, so that simulations can tell when they have arrived at the same state.
+  // The hash code is consistent with this, so it changes whenever the cell does:
+  // a cell must never be used as a key in a hashed collection while effects may still be applied to it.
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (!(o instanceof CounterCell<?> other)) return false;
+
+    return Objects.equals(this.value, other.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(this.value);
+  }
+
   public static final class CounterCellType<T> implements CellType<T, CounterCell<T>> {
     private final EffectTrait<T> monoid;
 
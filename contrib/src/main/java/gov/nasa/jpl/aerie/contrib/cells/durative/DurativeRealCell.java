@@ -10,24 +10,41 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.PriorityQueue;
 import java.util.function.Function;
 
+/**
+ * A cell holding the sum of a set of real-valued contributions, each of which lasts for a limited time.
+ *
+ * <p>
+ * The sum is maintained as contributions are added and expire, so reading it does not depend on how many contributions
+ * are active. The contributions themselves are kept in a persistent heap ordered by expiry, which is shared
+ * between a cell and its duplicates until either one changes.
+ * </p>
+ */
 public final class DurativeRealCell {
-  private final PriorityQueue<Pair<Duration, RealDynamics>> activeEffects;
+  // INVARIANT: `initial` and `rate` are the sums of the initial values and rates of every dynamics in `activeEffects`.
+  private ExpiryHeap activeEffects;
+  private final CompensatedSum initial;
+  private final CompensatedSum rate;
   private Duration elapsedTime;
 
-  private DurativeRealCell(final PriorityQueue<Pair<Duration, RealDynamics>> activeEffects, final Duration elapsedTime) {
-    this.activeEffects = new PriorityQueue<>(activeEffects);
+  private DurativeRealCell(
+      final ExpiryHeap activeEffects,
+      final CompensatedSum initial,
+      final CompensatedSum rate,
+      final Duration elapsedTime
+  ) {
+    this.activeEffects = activeEffects;
+    this.initial = initial;
+    this.rate = rate;
     this.elapsedTime = Objects.requireNonNull(elapsedTime);
   }
 
   public DurativeRealCell() {
-    this(new PriorityQueue<>(Comparator.comparing(Pair::getLeft)), Duration.ZERO);
+    this(null, new CompensatedSum(), new CompensatedSum(), Duration.ZERO);
   }
 
   public static <Event>
@@ -36,13 +53,20 @@ public final class DurativeRealCell {
   }
 
   public RealDynamics getValue() {
-    var dynamics = RealDynamics.constant(0.0);
+    return RealDynamics.linear(this.initial.get(), this.rate.get());
+  }
 
-    for (final var entry : this.activeEffects) {
-      dynamics = dynamics.plus(entry.getRight());
-    }
+  private void add(final Duration expiry, final RealDynamics dynamics) {
+    this.activeEffects = ExpiryHeap.merge(this.activeEffects, ExpiryHeap.singleton(expiry, dynamics));
+    this.initial.add(dynamics.initial);
+    this.rate.add(dynamics.rate);
+  }
 
-    return dynamics;
+  private void removeEarliest() {
+    final var dynamics = this.activeEffects.dynamics();
+    this.activeEffects = ExpiryHeap.merge(this.activeEffects.left(), this.activeEffects.right());
+    this.initial.add(-dynamics.initial);
+    this.rate.add(-dynamics.rate);
   }
 
   public static final class DurativeCellType
@@ -67,15 +91,14 @@ public final class DurativeRealCell {
 
     @Override
     public DurativeRealCell duplicate(final DurativeRealCell cell) {
-      return new DurativeRealCell(cell.activeEffects, cell.elapsedTime);
+      // The heap is never mutated in place, so the duplicate may share it.
+      return new DurativeRealCell(cell.activeEffects, cell.initial.copy(), cell.rate.copy(), cell.elapsedTime);
     }
 
     @Override
     public void apply(final DurativeRealCell cell, final Collection<Pair<Duration, RealDynamics>> effects) {
       for (final var effect : effects) {
-        cell.activeEffects.add(Pair.of(
-            cell.elapsedTime.plus(effect.getLeft()),
-            effect.getRight()));
+        cell.add(cell.elapsedTime.plus(effect.getLeft()), effect.getRight());
       }
     }
 
@@ -83,23 +106,92 @@ public final class DurativeRealCell {
     public void step(final DurativeRealCell cell, final Duration duration) {
       cell.elapsedTime = cell.elapsedTime.plus(duration);
 
-      final var iter = cell.activeEffects.iterator();
-      while (iter.hasNext()) {
-        final var entry = iter.next();
-        if (cell.elapsedTime.shorterThan(entry.getLeft())) break;
-        iter.remove();
+      while (cell.activeEffects != null && !cell.elapsedTime.shorterThan(cell.activeEffects.expiry())) {
+        cell.removeEarliest();
       }
 
-      if (cell.activeEffects.isEmpty()) {
+      if (cell.activeEffects == null) {
         cell.elapsedTime = Duration.ZERO;
+        // Discard any rounding error left over from the contributions that have expired.
+        cell.initial.clear();
+        cell.rate.clear();
       }
     }
 
     @Override
     public Optional<Duration> getExpiry(final DurativeRealCell cell) {
-      if (cell.activeEffects.isEmpty()) return Optional.empty();
+      if (cell.activeEffects == null) return Optional.empty();
+
+      return Optional.of(cell.activeEffects.expiry().minus(cell.elapsedTime));
+    }
+  }
+
+  /**
+   * A persistent leftist heap of dynamics, ordered by expiry. The empty heap is represented by `null`.
+   *
+   * @param rank The length of the rightmost path from this node to an empty heap.
+   */
+  private record ExpiryHeap(Duration expiry, RealDynamics dynamics, int rank, ExpiryHeap left, ExpiryHeap right) {
+    public static ExpiryHeap singleton(final Duration expiry, final RealDynamics dynamics) {
+      return new ExpiryHeap(expiry, dynamics, 1, null, null);
+    }
+
+    // The rightmost path of a leftist heap has logarithmic length, and merging only descends along rightmost paths.
+    public static ExpiryHeap merge(final ExpiryHeap a, final ExpiryHeap b) {
+      if (a == null) return b;
+      if (b == null) return a;
+      if (b.expiry.shorterThan(a.expiry)) return merge(b, a);
+
+      final var merged = merge(a.right, b);
+      return (rank(a.left) >= merged.rank)
+          ? new ExpiryHeap(a.expiry, a.dynamics, merged.rank + 1, a.left, merged)
+          : new ExpiryHeap(a.expiry, a.dynamics, rank(a.left) + 1, merged, a.left);
+    }
+
+    private static int rank(final ExpiryHeap heap) {
+      return (heap == null) ? 0 : heap.rank;
+    }
+  }
+
+  /**
+   * A running sum which compensates for the rounding error of each addition,
+   * so that removing a contribution restores the sum of the others even when their magnitudes differ greatly.
+   */
+  private static final class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    public CompensatedSum() {
+      this(0.0, 0.0);
+    }
+
+    private CompensatedSum(final double sum, final double compensation) {
+      this.sum = sum;
+      this.compensation = compensation;
+    }
+
+    public void add(final double value) {
+      // Neumaier's variant of Kahan summation.
+      final var total = this.sum + value;
+      if (Math.abs(this.sum) >= Math.abs(value)) {
+        this.compensation += (this.sum - total) + value;
+      } else {
+        this.compensation += (value - total) + this.sum;
+      }
+      this.sum = total;
+    }
+
+    public double get() {
+      return this.sum + this.compensation;
+    }
+
+    public void clear() {
+      this.sum = 0.0;
+      this.compensation = 0.0;
+    }
 
-      return Optional.of(cell.activeEffects.peek().getLeft().minus(cell.elapsedTime));
+    public CompensatedSum copy() {
+      return new CompensatedSum(this.sum, this.compensation);
     }
   }
 }
@@ -42,6 +42,22 @@ public final class RegisterCell<T> {
     return "{value=%s, conflicted=%s}".formatted(this.getValue(), this.isConflicted());
   }
 
+  // Registers in the same state are equal, so that simulations can tell when they have arrived at the same state.
+  // The hash code is consistent with this, so it changes whenever the cell does:
+  // a cell must never be used as a key in a hashed collection while effects may still be applied to it.
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (!(o instanceof RegisterCell<?> other)) return false;
+
+    return (this.conflicted == other.conflicted) && Objects.equals(this.value, other.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.value, this.conflicted);
+  }
+
   public static final class RegisterCellType<T> implements CellType<RegisterEffect<T>, RegisterCell<T>> {
     @Override
     public EffectTrait<RegisterEffect<T>> getEffectType() {
@@ -0,0 +1,105 @@
+package gov.nasa.jpl.aerie.contrib.cells.durative;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class DurativeRealCellTest {
+  private final DurativeRealCell.DurativeCellType cellType = new DurativeRealCell.DurativeCellType();
+
+  @Test
+  @DisplayName("Contributions are summed until they expire")
+  public void contributionsExpire() {
+    final var cell = new DurativeRealCell();
+    cellType.apply(cell, List.of(
+        Pair.of(SECONDS.times(3), RealDynamics.linear(1.0, 0.5)),
+        Pair.of(SECONDS.times(1), RealDynamics.constant(2.0)),
+        Pair.of(SECONDS.times(2), RealDynamics.linear(4.0, -1.0))));
+
+    assertEquals(RealDynamics.linear(7.0, -0.5), cell.getValue());
+    assertEquals(Optional.of(SECONDS.times(1)), cellType.getExpiry(cell));
+
+    cellType.step(cell, SECONDS.times(1));
+    assertEquals(RealDynamics.linear(5.0, -0.5), cell.getValue());
+    assertEquals(Optional.of(SECONDS.times(1)), cellType.getExpiry(cell));
+
+    // Contributions applied later last relative to when they were applied.
+    cellType.apply(cell, List.of(Pair.of(SECONDS.times(1), RealDynamics.constant(8.0))));
+    cellType.step(cell, SECONDS.times(1));
+    assertEquals(RealDynamics.linear(1.0, 0.5), cell.getValue());
+
+    cellType.step(cell, SECONDS.times(1));
+    assertEquals(RealDynamics.constant(0.0), cell.getValue());
+    assertEquals(Optional.empty(), cellType.getExpiry(cell));
+  }
+
+  @Test
+  @DisplayName("Duplicates evolve independently of the cell they were duplicated from")
+  public void duplicatesAreIndependent() {
+    final var cell = new DurativeRealCell();
+    cellType.apply(cell, List.of(
+        Pair.of(SECONDS.times(1), RealDynamics.constant(1.0)),
+        Pair.of(SECONDS.times(2), RealDynamics.constant(2.0))));
+
+    final var duplicate = cellType.duplicate(cell);
+    cellType.step(duplicate, SECONDS.times(1));
+    cellType.apply(duplicate, List.of(Pair.of(SECONDS.times(5), RealDynamics.constant(4.0))));
+
+    assertEquals(RealDynamics.constant(3.0), cell.getValue());
+    assertEquals(Optional.of(SECONDS.times(1)), cellType.getExpiry(cell));
+    assertEquals(RealDynamics.constant(6.0), duplicate.getValue());
+    assertEquals(Optional.of(SECONDS.times(1)), cellType.getExpiry(duplicate));
+  }
+
+  @Test
+  @DisplayName("Expired contributions no longer affect the sum, whatever their magnitude")
+  public void expiryRestoresSmallContributions() {
+    final var cell = new DurativeRealCell();
+    cellType.apply(cell, List.of(
+        Pair.of(SECONDS.times(1), RealDynamics.constant(1e17)),
+        Pair.of(SECONDS.times(2), RealDynamics.constant(1.0))));
+
+    cellType.step(cell, SECONDS.times(1));
+    assertEquals(RealDynamics.constant(1.0), cell.getValue());
+  }
+
+  @Test
+  @DisplayName("The sum matches a direct summation of the contributions still active")
+  public void sumMatchesActiveContributions() {
+    final var random = new Random(0);
+    final var cell = new DurativeRealCell();
+    final var active = new ArrayList<Pair<Duration, RealDynamics>>();
+
+    var now = Duration.ZERO;
+    for (var i = 0; i < 200; i += 1) {
+      final var duration = SECONDS.times(1 + random.nextInt(50));
+      final var dynamics = RealDynamics.linear(random.nextInt(100), random.nextInt(10));
+      cellType.apply(cell, List.of(Pair.of(duration, dynamics)));
+      active.add(Pair.of(now.plus(duration), dynamics));
+
+      final var step = SECONDS.times(random.nextInt(3));
+      cellType.step(cell, step);
+      now = now.plus(step);
+
+      final var time = now;
+      active.removeIf($ -> !time.shorterThan($.getLeft()));
+
+      var expected = RealDynamics.constant(0.0);
+      for (final var entry : active) expected = expected.plus(entry.getRight());
+      assertEquals(expected, cell.getValue());
+
+      final var earliest = active.stream().map(Pair::getLeft).min(Duration::compareTo).map($ -> $.minus(time));
+      assertEquals(earliest, cellType.getExpiry(cell));
+    }
+  }
+}
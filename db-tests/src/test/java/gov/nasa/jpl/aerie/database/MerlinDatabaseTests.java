@@ -882,7 +882,7 @@ class MerlinDatabaseTests {
           .executeUpdate(
               """
                   INSERT INTO event (dataset_id, real_time, transaction_index, causal_time, value, topic_index)
-                  VALUES (%d, '0 seconds', 0, '.1', '{}', 1234);
+                  VALUES (%d, '0 seconds', 0, '\\x01', '{}', 1234);
                   """.formatted(datasetId)
           );
       fail();
@@ -1202,7 +1202,7 @@ class MerlinDatabaseTests {
           .executeUpdate(
               """
                   INSERT INTO event (dataset_id, real_time, transaction_index, causal_time, value, topic_index)
-                  VALUES (%d, '0 seconds', 0, '.1', '{}', %d);
+                  VALUES (%d, '0 seconds', 0, '\\x01', '{}', %d);
                   """.formatted(datasetId, topicIndex)
           );
     }
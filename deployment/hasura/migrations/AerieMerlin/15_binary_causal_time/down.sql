@@ -0,0 +1,37 @@
+-- Decode the binary causal time paths back into dotted strings (e.g. '.1.2.3').
+create function pg_temp.decode_causal_time(causal_time bytea)
+  returns text
+  immutable
+  language plpgsql as $$
+declare
+  result text := '';
+  header integer;
+  path_index bigint;
+  offset_ integer := 0;
+begin
+  while offset_ < length(causal_time) loop
+    header := get_byte(causal_time, offset_);
+    offset_ := offset_ + 1;
+    if header <= 247 then
+      path_index := header;
+    else
+      path_index := 0;
+      for i in 1 .. header - 247 loop
+        path_index := (path_index << 8) | get_byte(causal_time, offset_);
+        offset_ := offset_ + 1;
+      end loop;
+    end if;
+    result := result || '.' || path_index;
+  end loop;
+  return result;
+end
+$$;
+
+alter table event
+  alter column causal_time type text
+  using pg_temp.decode_causal_time(causal_time);
+
+comment on column event.causal_time is e''
+  'A string that allows any two events at the same real time to be compared for causal relationships.';
+
+call migrations.mark_migration_rolled_back('15');
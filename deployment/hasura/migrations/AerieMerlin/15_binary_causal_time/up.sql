@@ -0,0 +1,42 @@
+-- Encode the dotted causal time strings (e.g. '.1.2.3') as order-preserving varint paths.
+-- Indices up to 247 take a single byte; larger indices take a header byte of 247 + n followed by n big-endian bytes.
+create function pg_temp.encode_causal_time(causal_time text)
+  returns bytea
+  immutable
+  language plpgsql as $$
+declare
+  result bytea := ''::bytea;
+  component text;
+  path_index bigint;
+  width integer;
+begin
+  foreach component in array string_to_array(substr(causal_time, 2), '.') loop
+    path_index := component::bigint;
+    if path_index <= 247 then
+      result := result || set_byte('\x00'::bytea, 0, path_index::integer);
+    else
+      width := 1;
+      while path_index >= (1::bigint << (8 * width)) loop
+        width := width + 1;
+      end loop;
+
+      result := result || set_byte('\x00'::bytea, 0, 247 + width);
+      for i in reverse width - 1 .. 0 loop
+        result := result || set_byte('\x00'::bytea, 0, ((path_index >> (8 * i)) & 255)::integer);
+      end loop;
+    end if;
+  end loop;
+  return result;
+end
+$$;
+
+alter table event
+  alter column causal_time type bytea
+  using pg_temp.encode_causal_time(causal_time);
+
+comment on column event.causal_time is e''
+  'A binary path that allows any two events at the same real time to be compared for causal relationships.'
+  'Each index of the path is encoded as an order-preserving variable-length integer, so comparing two causal times'
+  'byte-by-byte orders them as comparing their paths index-by-index would.';
+
+call migrations.mark_migration_applied('15');
@@ -0,0 +1,11 @@
+drop trigger notify_simulation_status_on_update on simulation_dataset;
+drop trigger notify_simulation_status_on_insert on simulation_dataset;
+drop function notify_simulation_status();
+
+comment on column simulation_dataset.progress is null;
+
+alter table simulation_dataset
+  drop constraint progress_is_percentage,
+  drop column progress;
+
+call migrations.mark_migration_rolled_back('16');
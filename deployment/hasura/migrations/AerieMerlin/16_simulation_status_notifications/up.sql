@@ -0,0 +1,36 @@
+alter table simulation_dataset
+  add column progress real null,
+  add constraint progress_is_percentage
+    check (progress between 0 and 100);
+
+comment on column simulation_dataset.progress is e''
+  'The percentage of the simulation horizon simulated so far, as last reported by the worker.'
+'\n'
+  'NULL if the worker has not reported any progress.';
+
+create function notify_simulation_status()
+returns trigger
+security definer
+language plpgsql as $$
+begin
+  perform pg_notify('simulation_status', json_strip_nulls(json_build_object(
+    'simulation_dataset_id', new.id,
+    'plan_id', (select plan_id from simulation where id = new.simulation_id),
+    'status', new.status,
+    'progress', new.progress
+  ))::text);
+  return null;
+end$$;
+
+create trigger notify_simulation_status_on_insert
+  after insert on simulation_dataset
+  for each row
+  execute function notify_simulation_status();
+
+create trigger notify_simulation_status_on_update
+  after update of status, progress on simulation_dataset
+  for each row
+  when (old.status is distinct from new.status or old.progress is distinct from new.progress)
+  execute function notify_simulation_status();
+
+call migrations.mark_migration_applied('16');
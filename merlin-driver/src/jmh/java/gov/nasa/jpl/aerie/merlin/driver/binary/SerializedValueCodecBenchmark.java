@@ -0,0 +1,117 @@
+package gov.nasa.jpl.aerie.merlin.driver.binary;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.json.Json;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+
+/**
+ * Compares the binary {@link SerializedValueCodec} against the JSON encoding of {@link SerializedValue}s.
+ *
+ * <p>
+ * Each benchmark round-trips a series of records shaped like typical activity arguments and discrete resource values:
+ * a duration, a flag, a mode drawn from an enumeration, a short label and a handful of real samples.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializedValueCodecBenchmark {
+  private static final ValueSchema RECORD_SCHEMA = ValueSchema.ofStruct(Map.of(
+      "duration", ValueSchema.DURATION,
+      "enabled", ValueSchema.BOOLEAN,
+      "label", ValueSchema.STRING,
+      "mode", ValueSchema.ofVariant(List.of(
+          new ValueSchema.Variant("Idle", "Idle"),
+          new ValueSchema.Variant("Active", "Active"),
+          new ValueSchema.Variant("Safe", "Safe"))),
+      "samples", ValueSchema.ofSeries(ValueSchema.REAL)));
+
+  @Param({"1", "1000"})
+  public int records;
+
+  private SerializedValue value;
+  private SerializedValueCodec schemaCodec;
+  private byte[] schemaBytes;
+  private byte[] schemalessBytes;
+  private String json;
+
+  @Setup
+  public void setup() {
+    final var random = new Random(0);
+    final var modes = List.of("Idle", "Active", "Safe");
+
+    final var elements = new ArrayList<SerializedValue>(this.records);
+    for (var i = 0; i < this.records; i += 1) {
+      final var samples = new ArrayList<SerializedValue>(4);
+      for (var j = 0; j < 4; j += 1) samples.add(SerializedValue.of(random.nextGaussian()));
+
+      elements.add(SerializedValue.of(Map.of(
+          "duration", SerializedValue.of(random.nextLong(3_600_000_000L)),
+          "enabled", SerializedValue.of(random.nextBoolean()),
+          "label", SerializedValue.of("record-" + i),
+          "mode", SerializedValue.of(modes.get(random.nextInt(modes.size()))),
+          "samples", SerializedValue.of(samples))));
+    }
+
+    this.value = SerializedValue.of(elements);
+    this.schemaCodec = SerializedValueCodec.forSchema(ValueSchema.ofSeries(RECORD_SCHEMA));
+    this.schemaBytes = this.schemaCodec.encode(this.value);
+    this.schemalessBytes = SerializedValueCodec.SCHEMALESS.encode(this.value);
+    this.json = serializedValueP.unparse(this.value).toString();
+  }
+
+  @Benchmark
+  public byte[] encodeWithSchema() {
+    return this.schemaCodec.encode(this.value);
+  }
+
+  @Benchmark
+  public byte[] encodeWithoutSchema() {
+    return SerializedValueCodec.SCHEMALESS.encode(this.value);
+  }
+
+  @Benchmark
+  public String encodeJson() {
+    return serializedValueP.unparse(this.value).toString();
+  }
+
+  @Benchmark
+  public SerializedValue decodeWithSchema() throws SerializedValueCodec.InvalidEncodingException {
+    return this.schemaCodec.decode(this.schemaBytes);
+  }
+
+  @Benchmark
+  public SerializedValue decodeWithoutSchema() throws SerializedValueCodec.InvalidEncodingException {
+    return SerializedValueCodec.SCHEMALESS.decode(this.schemalessBytes);
+  }
+
+  @Benchmark
+  public SerializedValue decodeJson() {
+    try (final var reader = Json.createReader(new StringReader(this.json))) {
+      return serializedValueP.parse(reader.readValue()).getSuccessOrThrow();
+    }
+  }
+}
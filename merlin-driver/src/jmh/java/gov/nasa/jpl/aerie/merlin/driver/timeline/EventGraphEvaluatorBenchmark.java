@@ -0,0 +1,109 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.TaskId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the event graph evaluators on commits shaped like those produced by {@code TaskFrame}:
+ * long sequential chains of events, with concurrent branches spawned along the way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventGraphEvaluatorBenchmark {
+  @Param({"100", "10000"})
+  public int eventsPerBranch;
+
+  @Param({"1", "16"})
+  public int branches;
+
+  @Param({"8"})
+  public int topicCount;
+
+  private EventGraph<Event> graph;
+  private FlatEventGraph flattened;
+  private Selector<Long> selector;
+
+  private final EffectTrait<Long> trait = new SumTrait();
+  private final EventGraphEvaluator recursive = new RecursiveEventGraphEvaluator();
+  private final EventGraphEvaluator iterative = new IterativeEventGraphEvaluator();
+  private final EventGraphEvaluator flat = new FlatEventGraphEvaluator();
+
+  @Setup
+  public void setup() {
+    final var origin = TaskId.generate();
+
+    final var topics = new ArrayList<Topic<Long>>();
+    for (var i = 0; i < this.topicCount; i += 1) topics.add(new Topic<>());
+
+    // Each branch emits on a single topic, so a selector interested in one topic can skip most of the graph.
+    final var branchGraphs = new ArrayList<EventGraph<Event>>();
+    for (var b = 0; b < this.branches; b += 1) {
+      final var topic = topics.get(b % this.topicCount);
+
+      final var events = new CausalEventSource();
+      for (var i = 0; i < this.eventsPerBranch; i += 1) events.add(Event.create(topic, (long) i, origin));
+      branchGraphs.add(events.commit(EventGraph.empty()));
+    }
+
+    this.graph = EventGraph.concurrently(branchGraphs);
+    this.flattened = FlatEventGraph.of(this.graph);
+    this.selector = new Selector<>(topics.get(0), $ -> $);
+  }
+
+  @Benchmark
+  public Optional<Long> recursive() {
+    return this.recursive.evaluate(this.trait, this.selector, this.graph);
+  }
+
+  @Benchmark
+  public Optional<Long> iterative() {
+    return this.iterative.evaluate(this.trait, this.selector, this.graph);
+  }
+
+  @Benchmark
+  public Optional<Long> flat() {
+    return this.flat.evaluate(this.trait, this.selector, this.flattened);
+  }
+
+  @Benchmark
+  public FlatEventGraph flatten() {
+    return FlatEventGraph.of(this.graph);
+  }
+
+  private static final class SumTrait implements EffectTrait<Long> {
+    @Override
+    public Long empty() {
+      return 0L;
+    }
+
+    @Override
+    public Long sequentially(final Long prefix, final Long suffix) {
+      return prefix + suffix;
+    }
+
+    @Override
+    public Long concurrently(final Long left, final Long right) {
+      return left + right;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package gov.nasa.jpl.aerie.merlin.driver;
 
 import gov.nasa.jpl.aerie.merlin.driver.timeline.LiveCells;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.TopicIds;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
@@ -17,6 +18,7 @@ import java.util.Objects;
 public final class MissionModel<Model> {
   private final Model model;
   private final LiveCells initialCells;
+  private final TopicIds topicIds;
   private final Map<String, Resource<?>> resources;
   private final List<SerializableTopic<?>> topics;
   private final DirectiveTypeRegistry<Model> directiveTypes;
@@ -29,9 +31,22 @@ public final class MissionModel<Model> {
       final List<SerializableTopic<?>> topics,
       final List<TaskFactory<?>> daemons,
       final DirectiveTypeRegistry<Model> directiveTypes)
+  {
+    this(model, initialCells, new TopicIds(), resources, topics, daemons, directiveTypes);
+  }
+
+  public MissionModel(
+      final Model model,
+      final LiveCells initialCells,
+      final TopicIds topicIds,
+      final Map<String, Resource<?>> resources,
+      final List<SerializableTopic<?>> topics,
+      final List<TaskFactory<?>> daemons,
+      final DirectiveTypeRegistry<Model> directiveTypes)
   {
     this.model = Objects.requireNonNull(model);
     this.initialCells = Objects.requireNonNull(initialCells);
+    this.topicIds = Objects.requireNonNull(topicIds);
     this.resources = Collections.unmodifiableMap(resources);
     this.topics = Collections.unmodifiableList(topics);
     this.directiveTypes = Objects.requireNonNull(directiveTypes);
@@ -68,6 +83,10 @@ public final class MissionModel<Model> {
     return this.initialCells;
   }
 
+  public TopicIds getTopicIds() {
+    return this.topicIds;
+  }
+
   public Iterable<SerializableTopic<?>> getTopics() {
     return this.topics;
   }
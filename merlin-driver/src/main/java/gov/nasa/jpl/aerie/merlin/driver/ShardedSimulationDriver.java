@@ -0,0 +1,390 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.LiveCells;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.TemporalEventSource;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates a schedule speculatively in parallel, by splitting the simulation horizon into shards.
+ *
+ * <p>
+ * Every shard but the first is simulated from a prediction: that when the shard begins, every task before it has
+ * finished, and every cell is back in its initial state. A shard is only kept if the simulation before it bears its
+ * prediction out, as judged by {@link Object#equals} on the states of the cells. Otherwise, the simulation before it
+ * carries on through the shard instead, just as if it were simulated serially. Either way, the results are those of
+ * {@link SimulationDriver#simulate}, except that profile segments may be split where shards meet.
+ * </p>
+ *
+ * <p>
+ * Speculation only pays off for models which regularly come to rest: any daemon task that never finishes, or any
+ * cell whose state does not implement {@link Object#equals}, forces every shard to be simulated serially.
+ * </p>
+ */
+public final class ShardedSimulationDriver {
+  private ShardedSimulationDriver() {}
+
+  /**
+   * Simulate a schedule, in shards of the given duration.
+   *
+   * @param shardDuration The length of simulation time covered by each shard.
+   * @param parallelism The number of shards to simulate at once.
+   */
+  public static <Model>
+  SimulationResults simulate(
+      final MissionModel<Model> missionModel,
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Instant simulationStartTime,
+      final Duration simulationDuration,
+      final Instant planStartTime,
+      final Duration planDuration,
+      final Duration shardDuration,
+      final int parallelism
+  ) {
+    if (!shardDuration.isPositive()) throw new IllegalArgumentException("Shards must have a positive duration");
+    if (parallelism < 1) throw new IllegalArgumentException("At least one shard must be simulated at a time");
+
+    final var resolved = SimulationDriver.resolveStartOffsets(schedule, simulationStartTime, planStartTime, planDuration);
+
+    // Shard `i` covers the simulation time from `boundaries[i]` up to `boundaries[i + 1]`.
+    final var boundaries = new ArrayList<Duration>();
+    for (var time = Duration.ZERO; time.shorterThan(simulationDuration); time = time.saturatingPlus(shardDuration)) {
+      boundaries.add(time);
+    }
+    if (boundaries.isEmpty()) boundaries.add(Duration.ZERO);
+    boundaries.add(simulationDuration);
+    final var shardCount = boundaries.size() - 1;
+
+    // Directives anchored to other directives are spawned by them, so only unanchored directives need be divided up.
+    final var directivesByShard = new ArrayList<List<Pair<ActivityDirectiveId, Duration>>>(shardCount);
+    for (var i = 0; i < shardCount; i += 1) directivesByShard.add(new ArrayList<>());
+    for (final var directive : resolved.getOrDefault(null, List.of())) {
+      var shard = shardCount - 1;
+      while (shard > 0 && directive.getRight().shorterThan(boundaries.get(shard))) shard -= 1;
+      directivesByShard.get(shard).add(directive);
+    }
+
+    final var executor = Executors.newFixedThreadPool(Math.min(parallelism, shardCount));
+    final var speculations = new ArrayList<Future<Shard<Model>>>(shardCount);
+    final var keptShards = new ArrayList<Shard<Model>>();
+    try {
+      for (var i = 0; i < shardCount; i += 1) {
+        final var index = i;
+        speculations.add(executor.submit(() -> {
+          final var shard = new Shard<>(missionModel, schedule, resolved, boundaries.get(index), index == 0);
+          try {
+            shard.schedule(directivesByShard.get(index));
+            shard.simulateUntil(boundaries.get(index + 1), index == shardCount - 1);
+            return shard;
+          } catch (final Throwable ex) {
+            // No one will ever get hold of this shard to close it.
+            shard.close();
+            throw ex;
+          }
+        }));
+      }
+
+      var current = await(speculations.get(0));
+      for (var i = 1; i < shardCount; i += 1) {
+        final var speculation = await(speculations.get(i));
+
+        if (current.failure == null && current.isAtRest()) {
+          keptShards.add(current);
+          current = speculation;
+        } else {
+          // The prediction did not hold, so carry on from where the simulation actually got to.
+          current.schedule(directivesByShard.get(i));
+          current.simulateUntil(boundaries.get(i + 1), i == shardCount - 1);
+        }
+      }
+      keptShards.add(current);
+
+      for (final var shard : keptShards) {
+        if (shard.failure != null) {
+          throw new SimulationException(shard.startOffset.plus(shard.elapsedTime), simulationStartTime, shard.failure);
+        }
+      }
+
+      final var results = new ArrayList<Pair<Duration, SimulationResults>>(keptShards.size());
+      for (final var shard : keptShards) {
+        results.add(Pair.of(shard.startOffset, shard.computeResults(simulationStartTime)));
+      }
+      return stitch(results, schedule.keySet(), simulationStartTime, simulationDuration);
+    } finally {
+      // Every shard, kept or not, was simulated by one of these speculations. Any speculation still running
+      // (for instance, if an earlier shard failed) must finish before its shard can be closed; those not yet
+      // started never will be, and so have no shard to close.
+      executor.shutdownNow();
+      awaitTermination(executor);
+      for (final var speculation : speculations) {
+        if (speculation.isDone() && !speculation.isCancelled()) {
+          try {
+            speculation.get().close();
+          } catch (final ExecutionException | InterruptedException ignored) {
+            // The shard never got as far as having an engine to close.
+          }
+        }
+      }
+    }
+  }
+
+  private static void awaitTermination(final ExecutorService executor) {
+    var interrupted = false;
+    while (true) {
+      try {
+        if (executor.awaitTermination(1, TimeUnit.MINUTES)) break;
+      } catch (final InterruptedException ex) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+  }
+
+  private static <T> T await(final Future<T> future) {
+    try {
+      return future.get();
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(ex);
+    } catch (final ExecutionException ex) {
+      throw new RuntimeException(ex.getCause());
+    }
+  }
+
+  /** Join the results of consecutive shards, each paired with the offset at which it begins, into one set of results. */
+  private static SimulationResults stitch(
+      final List<Pair<Duration, SimulationResults>> shards,
+      final Set<ActivityDirectiveId> directiveIds,
+      final Instant startTime,
+      final Duration duration
+  ) {
+    final var realProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>>();
+    final var discreteProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<SerializedValue>>>>();
+    final var simulatedActivities = new HashMap<SimulatedActivityId, SimulatedActivity>();
+    final var unfinishedActivities = new HashMap<SimulatedActivityId, UnfinishedActivity>();
+    final var events = new TreeMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>>();
+
+    // Activities not planned by a directive are numbered afresh by each shard, so they must be renumbered
+    // to keep them apart. Directive IDs are never used for them, just as in a serial simulation.
+    final var reservedIds = new HashSet<Long>();
+    for (final var id : directiveIds) reservedIds.add(id.id());
+    var nextId = 1L;
+
+    for (final var entry : shards) {
+      final var offset = entry.getLeft();
+      final var results = entry.getRight();
+
+      results.realProfiles.forEach((name, profile) -> appendProfile(realProfiles, name, profile));
+      results.discreteProfiles.forEach((name, profile) -> appendProfile(discreteProfiles, name, profile));
+
+      final var renumbering = new HashMap<SimulatedActivityId, SimulatedActivityId>();
+      final var ids = new ArrayList<SimulatedActivityId>();
+      ids.addAll(results.simulatedActivities.keySet());
+      ids.addAll(results.unfinishedActivities.keySet());
+      ids.sort((a, b) -> Long.compare(a.id(), b.id()));
+      for (final var id : ids) {
+        final var isDirective =
+            (results.simulatedActivities.containsKey(id))
+                ? results.simulatedActivities.get(id).directiveId().isPresent()
+                : results.unfinishedActivities.get(id).directiveId().isPresent();
+        if (isDirective) {
+          renumbering.put(id, id);
+        } else {
+          while (reservedIds.contains(nextId)) nextId += 1;
+          renumbering.put(id, new SimulatedActivityId(nextId));
+          nextId += 1;
+        }
+      }
+
+      results.simulatedActivities.forEach((id, activity) -> simulatedActivities.put(
+          renumbering.get(id),
+          new SimulatedActivity(
+              activity.type(),
+              activity.arguments(),
+              activity.start(),
+              activity.duration(),
+              (activity.parentId() != null) ? renumbering.get(activity.parentId()) : null,
+              activity.childIds().stream().map(renumbering::get).toList(),
+              activity.directiveId(),
+              activity.computedAttributes())));
+      results.unfinishedActivities.forEach((id, activity) -> unfinishedActivities.put(
+          renumbering.get(id),
+          new UnfinishedActivity(
+              activity.type(),
+              activity.arguments(),
+              activity.start(),
+              (activity.parentId() != null) ? renumbering.get(activity.parentId()) : null,
+              activity.childIds().stream().map(renumbering::get).toList(),
+              activity.directiveId())));
+
+      results.events.forEach((time, graphs) ->
+          events.computeIfAbsent(offset.plus(time), $ -> new ArrayList<>()).addAll(graphs));
+    }
+
+    return new SimulationResults(
+        realProfiles,
+        discreteProfiles,
+        simulatedActivities,
+        unfinishedActivities,
+        startTime,
+        duration,
+        shards.get(0).getRight().topics,
+        events);
+  }
+
+  private static <Dynamics> void appendProfile(
+      final Map<String, Pair<ValueSchema, List<ProfileSegment<Dynamics>>>> profiles,
+      final String name,
+      final Pair<ValueSchema, List<ProfileSegment<Dynamics>>> profile
+  ) {
+    final var segments = profiles.computeIfAbsent(name, $ -> Pair.of(profile.getLeft(), new ArrayList<>())).getRight();
+
+    for (final var segment : profile.getRight()) {
+      // Where shards meet, a segment carrying on with the same dynamics is joined to the segment before it.
+      final var last = segments.size() - 1;
+      if (segments.isEmpty() || !segments.get(last).dynamics().equals(segment.dynamics())) {
+        segments.add(segment);
+      } else {
+        segments.set(last, new ProfileSegment<>(segments.get(last).extent().plus(segment.extent()), segment.dynamics()));
+      }
+    }
+  }
+
+  /** The simulation of one or more consecutive shards, driven by its own engine. */
+  private static final class Shard<Model> implements AutoCloseable {
+    private final MissionModel<Model> missionModel;
+    private final Map<ActivityDirectiveId, ActivityDirective> schedule;
+    private final HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolved;
+
+    /** The offset from the simulation start at which this shard begins. All other times are relative to it. */
+    private final Duration startOffset;
+
+    private final SimulationEngine engine = new SimulationEngine();
+    private final TemporalEventSource timeline;
+    private final LiveCells cells;
+    private final Topic<ActivityDirectiveId> activityTopic = new Topic<>();
+    private Duration elapsedTime = Duration.ZERO;
+
+    /** The exception thrown while simulating this shard, or null if there has been none. */
+    private Throwable failure = null;
+
+    public Shard(
+        final MissionModel<Model> missionModel,
+        final Map<ActivityDirectiveId, ActivityDirective> schedule,
+        final HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolved,
+        final Duration startOffset,
+        final boolean startDaemons
+    ) {
+      this.missionModel = missionModel;
+      this.schedule = schedule;
+      this.resolved = resolved;
+      this.startOffset = startOffset;
+      this.timeline = new TemporalEventSource(missionModel.getTopicIds());
+      this.cells = new LiveCells(this.timeline, missionModel.getInitialCells());
+
+      for (final var entry : missionModel.getResources().entrySet()) {
+        this.engine.trackResource(entry.getKey(), entry.getValue(), Duration.ZERO);
+      }
+
+      if (startDaemons) {
+        try {
+          this.engine.scheduleTask(Duration.ZERO, missionModel.getDaemon());
+          final var batch = this.engine.extractNextJobs(Duration.MAX_VALUE);
+          final var commit = this.engine.performJobs(batch.jobs(), this.cells, this.elapsedTime, Duration.MAX_VALUE);
+          this.timeline.add(commit);
+        } catch (final Throwable ex) {
+          this.failure = ex;
+        }
+      }
+    }
+
+    /** Schedule directives given with their offsets from the simulation start. */
+    public void schedule(final List<Pair<ActivityDirectiveId, Duration>> directives) {
+      if (this.failure != null) return;
+
+      final var shifted = new HashMap<>(this.resolved);
+      shifted.put(null, StartOffsetReducer.adjustStartOffset(directives, this.startOffset));
+      SimulationDriver.scheduleActivities(this.schedule, shifted, this.missionModel, this.engine, this.activityTopic);
+    }
+
+    /**
+     * Simulate up to the given offset from the simulation start.
+     *
+     * @param inclusive Whether to perform the jobs scheduled at that offset, as a simulation does at its end.
+     *   Otherwise, they are left for whichever shard carries on from there.
+     */
+    public void simulateUntil(final Duration endOffset, final boolean inclusive) {
+      if (this.failure != null) return;
+
+      final var endTime = endOffset.minus(this.startOffset);
+      final var lastJobTime = (inclusive) ? endTime : endTime.minus(Duration.EPSILON);
+      try {
+        while (true) {
+          final var batch = this.engine.extractNextJobs(lastJobTime);
+
+          final var delta = batch.offsetFromStart().minus(this.elapsedTime);
+          this.elapsedTime = batch.offsetFromStart();
+          this.timeline.add(delta);
+
+          if (batch.jobs().isEmpty() && batch.offsetFromStart().isEqualTo(lastJobTime)) break;
+
+          final var commit = this.engine.performJobs(batch.jobs(), this.cells, this.elapsedTime, lastJobTime);
+          this.timeline.add(commit);
+        }
+
+        this.timeline.add(endTime.minus(this.elapsedTime));
+        this.elapsedTime = endTime;
+      } catch (final Throwable ex) {
+        this.failure = ex;
+      }
+    }
+
+    /** Determine whether every task has finished, and every cell is back in its initial state. */
+    public boolean isAtRest() {
+      if (!this.engine.isQuiescent()) return false;
+
+      final var initialCells = this.missionModel.getInitialCells();
+      for (final var query : initialCells.getQueries()) {
+        if (!Objects.equals(this.cells.getState(query), initialCells.getState(query))) return false;
+      }
+      return true;
+    }
+
+    public SimulationResults computeResults(final Instant simulationStartTime) {
+      return SimulationEngine.computeResults(
+          this.engine,
+          Duration.addToInstant(simulationStartTime, this.startOffset),
+          this.elapsedTime,
+          this.activityTopic,
+          this.timeline,
+          this.missionModel.getTopics());
+    }
+
+    @Override
+    public void close() {
+      this.engine.close();
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package gov.nasa.jpl.aerie.merlin.driver;
 
 import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationInstrumentation;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventSource;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.LiveCells;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.TemporalEventSource;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
@@ -16,8 +18,14 @@ import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 public final class SimulationDriver {
+  /** The least wall-clock time between reports to a {@link SimulationProgressListener}, in nanoseconds. */
+  public static final long PROGRESS_INTERVAL_NANOS = 1_000_000_000L;
+
   public static <Model>
   SimulationResults simulate(
       final MissionModel<Model> missionModel,
@@ -27,17 +35,110 @@ public final class SimulationDriver {
       final Instant planStartTime,
       final Duration planDuration
   ) {
-    try (final var engine = new SimulationEngine()) {
+    return simulate(missionModel, schedule, simulationStartTime, simulationDuration, planStartTime, planDuration, $ -> true);
+  }
+
+  /**
+   * Simulate a schedule, profiling only the selected resources.
+   *
+   * <p>
+   * Resources which are not selected are never queried, and are absent from the results. Since simulation is
+   * deterministic, their profiles can be recovered later by simulating the same schedule again with a selection
+   * including them.
+   * </p>
+   *
+   * @param isResourceSelected Whether the resource with the given name should be profiled.
+   */
+  public static <Model>
+  SimulationResults simulate(
+      final MissionModel<Model> missionModel,
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Instant simulationStartTime,
+      final Duration simulationDuration,
+      final Instant planStartTime,
+      final Duration planDuration,
+      final Predicate<String> isResourceSelected
+  ) {
+    return simulate(
+        missionModel,
+        schedule,
+        simulationStartTime,
+        simulationDuration,
+        planStartTime,
+        planDuration,
+        isResourceSelected,
+        Optional.empty());
+  }
+
+  /**
+   * Simulate a schedule, profiling only the selected resources, and optionally recording what the simulation spent its
+   * effort on.
+   *
+   * @param isResourceSelected Whether the resource with the given name should be profiled.
+   * @param instrumentation A recorder for the work done by the engine. If present, the results carry the recorded
+   *   {@link SimulationResults#metrics}.
+   */
+  public static <Model>
+  SimulationResults simulate(
+      final MissionModel<Model> missionModel,
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Instant simulationStartTime,
+      final Duration simulationDuration,
+      final Instant planStartTime,
+      final Duration planDuration,
+      final Predicate<String> isResourceSelected,
+      final Optional<SimulationInstrumentation> instrumentation
+  ) {
+    return simulate(
+        missionModel,
+        schedule,
+        simulationStartTime,
+        simulationDuration,
+        planStartTime,
+        planDuration,
+        isResourceSelected,
+        instrumentation,
+        Optional.empty());
+  }
+
+  /**
+   * Simulate a schedule, profiling only the selected resources, optionally recording what the simulation spent its
+   * effort on, and optionally reporting progress as simulation goes.
+   *
+   * @param isResourceSelected Whether the resource with the given name should be profiled.
+   * @param instrumentation A recorder for the work done by the engine. If present, the results carry the recorded
+   *   {@link SimulationResults#metrics}.
+   * @param progressListener An observer to be told periodically how far simulation has got.
+   */
+  public static <Model>
+  SimulationResults simulate(
+      final MissionModel<Model> missionModel,
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Instant simulationStartTime,
+      final Duration simulationDuration,
+      final Instant planStartTime,
+      final Duration planDuration,
+      final Predicate<String> isResourceSelected,
+      final Optional<SimulationInstrumentation> instrumentation,
+      final Optional<SimulationProgressListener> progressListener
+  ) {
+    final var startNanos = System.nanoTime();
+    var lastReportNanos = startNanos;
+
+    try (final var engine = instrumentation.map(SimulationEngine::new).orElseGet(SimulationEngine::new)) {
       /* The top-level simulation timeline. */
-      var timeline = new TemporalEventSource();
-      var cells = new LiveCells(timeline, missionModel.getInitialCells());
+      var timeline = new TemporalEventSource(missionModel.getTopicIds());
+      var cells = new LiveCells(
+          instrumentation.<EventSource>map($ -> $.observe(timeline)).orElse(timeline),
+          missionModel.getInitialCells());
       /* The current real time. */
       var elapsedTime = Duration.ZERO;
 
-      // Begin tracking all resources.
+      // Begin tracking all selected resources.
       for (final var entry : missionModel.getResources().entrySet()) {
         final var name = entry.getKey();
         final var resource = entry.getValue();
+        if (!isResourceSelected.test(name)) continue;
 
         engine.trackResource(name, resource, elapsedTime);
       }
@@ -54,23 +155,8 @@ public final class SimulationDriver {
           timeline.add(commit);
         }
 
-        // Get all activities as close as possible to absolute time
         // Schedule all activities.
-        // Using HashMap explicitly because it allows `null` as a key.
-        // `null` key means that an activity is not waiting on another activity to finish to know its start time
-        HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolved = new StartOffsetReducer(planDuration, schedule).compute();
-        if(resolved.size() != 0) {
-          resolved.put(
-              null,
-              StartOffsetReducer.adjustStartOffset(
-                  resolved.get(null),
-                  Duration.of(
-                      planStartTime.until(simulationStartTime, ChronoUnit.MICROS),
-                      Duration.MICROSECONDS)));
-        }
-        // Filter out activities that are before simulationStartTime
-        resolved = StartOffsetReducer.filterOutNegativeStartOffset(resolved);
-
+        final var resolved = resolveStartOffsets(schedule, simulationStartTime, planStartTime, planDuration);
         scheduleActivities(
             schedule,
             resolved,
@@ -98,6 +184,18 @@ public final class SimulationDriver {
           // Run the jobs in this batch.
           final var commit = engine.performJobs(batch.jobs(), cells, elapsedTime, simulationDuration);
           timeline.add(commit);
+
+          if (progressListener.isPresent()) {
+            final var now = System.nanoTime();
+            if (now - lastReportNanos >= PROGRESS_INTERVAL_NANOS) {
+              reportProgress(progressListener.get(), engine, simulationStartTime, elapsedTime, simulationDuration, now - startNanos);
+              lastReportNanos = now;
+            }
+          }
+        }
+
+        if (progressListener.isPresent()) {
+          reportProgress(progressListener.get(), engine, simulationStartTime, elapsedTime, simulationDuration, System.nanoTime() - startNanos);
         }
       } catch (Throwable ex) {
         throw new SimulationException(elapsedTime, simulationStartTime, ex);
@@ -108,11 +206,24 @@ public final class SimulationDriver {
     }
   }
 
+  private static void reportProgress(
+      final SimulationProgressListener listener,
+      final SimulationEngine engine,
+      final Instant simulationStartTime,
+      final Duration elapsedTime,
+      final Duration simulationDuration,
+      final long wallClockNanos
+  ) {
+    listener.onProgress(
+        new SimulationProgress(elapsedTime, simulationDuration, engine.getEmittedEventCount(), wallClockNanos),
+        () -> SimulationEngine.computePartialResults(engine, simulationStartTime, elapsedTime));
+  }
+
   public static <Model, Return>
   void simulateTask(final MissionModel<Model> missionModel, final TaskFactory<Return> task) {
     try (final var engine = new SimulationEngine()) {
       /* The top-level simulation timeline. */
-      var timeline = new TemporalEventSource();
+      var timeline = new TemporalEventSource(missionModel.getTopicIds());
       var cells = new LiveCells(timeline, missionModel.getInitialCells());
       /* The current real time. */
       var elapsedTime = Duration.ZERO;
@@ -156,7 +267,37 @@ public final class SimulationDriver {
   }
 
 
-  private static <Model> void scheduleActivities(
+  /**
+   * Resolve the start offsets of every directive in a schedule.
+   *
+   * @return The directives depending on each directive, with their offsets from its end.
+   *   The `null` key holds the directives depending on no other directive, with their offsets from the simulation start.
+   *   Directives which would start before the simulation start are left out, along with any depending on them.
+   */
+  /*package-local*/ static HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolveStartOffsets(
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final Instant simulationStartTime,
+      final Instant planStartTime,
+      final Duration planDuration
+  ) {
+    // Get all activities as close as possible to absolute time
+    // Using HashMap explicitly because it allows `null` as a key.
+    // `null` key means that an activity is not waiting on another activity to finish to know its start time
+    HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolved = ForkJoinPool.commonPool().invoke(new StartOffsetReducer(planDuration, schedule));
+    if(resolved.size() != 0) {
+      resolved.put(
+          null,
+          StartOffsetReducer.adjustStartOffset(
+              resolved.get(null),
+              Duration.of(
+                  planStartTime.until(simulationStartTime, ChronoUnit.MICROS),
+                  Duration.MICROSECONDS)));
+    }
+    // Filter out activities that are before simulationStartTime
+    return StartOffsetReducer.filterOutNegativeStartOffset(resolved);
+  }
+
+  /*package-local*/ static <Model> void scheduleActivities(
       final Map<ActivityDirectiveId, ActivityDirective> schedule,
       final HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolved,
       final MissionModel<Model> missionModel,
@@ -0,0 +1,27 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+
+/**
+ * How far a running simulation has got.
+ *
+ * @param elapsedTime The simulation time simulated so far.
+ * @param simulationDuration The simulation time to be simulated in total.
+ * @param events The number of events emitted so far.
+ * @param wallClockNanos The real time spent simulating so far, in nanoseconds.
+ */
+public record SimulationProgress(Duration elapsedTime, Duration simulationDuration, long events, long wallClockNanos) {
+  /** The fraction of the simulation duration simulated so far, between 0 and 1. */
+  public double fraction() {
+    if (!this.simulationDuration.isPositive()) return 1.0;
+
+    return Math.min(1.0, Duration.ratio(this.elapsedTime, this.simulationDuration));
+  }
+
+  /** The number of events emitted per second of real time, on average over the simulation so far. */
+  public double eventsPerSecond() {
+    if (this.wallClockNanos <= 0) return 0.0;
+
+    return this.events / (this.wallClockNanos / 1e9);
+  }
+}
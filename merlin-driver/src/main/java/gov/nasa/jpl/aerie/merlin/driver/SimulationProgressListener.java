@@ -0,0 +1,17 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import java.util.function.Supplier;
+
+/** An observer of a simulation as it runs. */
+@FunctionalInterface
+public interface SimulationProgressListener {
+  /**
+   * Called on the simulating thread between batches of simulation work, at most about once per
+   * {@link SimulationDriver#PROGRESS_INTERVAL_NANOS}, and once more when simulation finishes.
+   *
+   * @param partialResults Computes the results settled so far, as by
+   *   {@link gov.nasa.jpl.aerie.merlin.driver.engine.SimulationEngine#computePartialResults}.
+   *   This takes time proportional to the size of the profiles so far, so should not be called on every report.
+   */
+  void onProgress(SimulationProgress progress, Supplier<SimulationResults> partialResults);
+}
@@ -1,6 +1,7 @@
 package gov.nasa.jpl.aerie.merlin.driver;
 
 import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationMetrics;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
@@ -12,6 +13,7 @@ import org.apache.commons.lang3.tuple.Triple;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.SortedMap;
 
 public final class SimulationResults {
@@ -23,6 +25,8 @@ public final class SimulationResults {
   public final Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities;
   public final List<Triple<Integer, String, ValueSchema>> topics;
   public final Map<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> events;
+  /** What the simulation spent its effort on, if it was instrumented. */
+  public final Optional<SimulationMetrics> metrics;
 
     public SimulationResults(
         final Map<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>> realProfiles,
@@ -33,6 +37,20 @@ public final class SimulationResults {
         final Duration duration,
         final List<Triple<Integer, String, ValueSchema>> topics,
         final SortedMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> events)
+  {
+    this(realProfiles, discreteProfiles, simulatedActivities, unfinishedActivities, startTime, duration, topics, events, Optional.empty());
+  }
+
+    public SimulationResults(
+        final Map<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>> realProfiles,
+        final Map<String, Pair<ValueSchema, List<ProfileSegment<SerializedValue>>>> discreteProfiles,
+        final Map<SimulatedActivityId, SimulatedActivity> simulatedActivities,
+        final Map<SimulatedActivityId, UnfinishedActivity> unfinishedActivities,
+        final Instant startTime,
+        final Duration duration,
+        final List<Triple<Integer, String, ValueSchema>> topics,
+        final SortedMap<Duration, List<EventGraph<Pair<Integer, SerializedValue>>>> events,
+        final Optional<SimulationMetrics> metrics)
   {
     this.startTime = startTime;
     this.duration = duration;
@@ -42,6 +60,7 @@ public final class SimulationResults {
     this.simulatedActivities = simulatedActivities;
     this.unfinishedActivities = unfinishedActivities;
     this.events = events;
+    this.metrics = metrics;
   }
 
   @Override
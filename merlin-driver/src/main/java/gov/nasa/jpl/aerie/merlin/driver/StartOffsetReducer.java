@@ -7,45 +7,65 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RecursiveTask;
 
 
 public class StartOffsetReducer extends RecursiveTask<HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>>> {
+  // Reductions of at most this many directives are not worth splitting across the fork-join pool.
+  private static final int SEQUENTIAL_THRESHOLD = 400;
+
   private final Duration planDuration;
   private final Map<ActivityDirectiveId, ActivityDirective> completeMapOfDirectives;
   private final Map<ActivityDirectiveId, ActivityDirective> activityDirectivesToProcess;
 
+  // The net offset of every directive resolved so far, shared by all subtasks of a reduction
+  //   so that each link of an anchor chain is only walked once, whichever subtask reaches it first.
+  private final Map<ActivityDirectiveId, Pair<ActivityDirectiveId, Duration>> netOffsets;
+
   public StartOffsetReducer(Duration planDuration, Map<ActivityDirectiveId, ActivityDirective> activityDirectives){
-    this.planDuration = planDuration;
-    if(activityDirectives == null) {
-      this.completeMapOfDirectives = Map.of();
-      this.activityDirectivesToProcess = Map.of();
-    } else {
-      this.completeMapOfDirectives = activityDirectives;
-      this.activityDirectivesToProcess = activityDirectives;
-    }
+    this(planDuration, activityDirectives, activityDirectives);
   }
 
-  private StartOffsetReducer(
+  /**
+   * Reduces only some of the directives of a plan, such as those just added to a simulation which is already underway.
+   *
+   * @param activityDirectives The directives to reduce.
+   * @param allActivityDirectives Every directive of the plan, which the anchors of `activityDirectives` are resolved against.
+   */
+  public StartOffsetReducer(
       Duration planDuration,
       Map<ActivityDirectiveId, ActivityDirective> activityDirectives,
       Map<ActivityDirectiveId, ActivityDirective> allActivityDirectives){
+    this(
+        planDuration,
+        (activityDirectives == null) ? Map.of() : activityDirectives,
+        (allActivityDirectives == null) ? Map.of() : allActivityDirectives,
+        new ConcurrentHashMap<>());
+  }
+
+  private StartOffsetReducer(
+      Duration planDuration,
+      Map<ActivityDirectiveId, ActivityDirective> activityDirectives,
+      Map<ActivityDirectiveId, ActivityDirective> allActivityDirectives,
+      Map<ActivityDirectiveId, Pair<ActivityDirectiveId, Duration>> netOffsets){
     this.planDuration = planDuration;
     this.activityDirectivesToProcess = activityDirectives;
     this.completeMapOfDirectives = allActivityDirectives;
+    this.netOffsets = netOffsets;
   }
 
   /**
-   * The complexity of compute() is ~O(NL), where N is the number of activities and L is the length of the longest chain
-   * In general, we expect L to be small.
+   * The complexity of compute() is ~O(N), where N is the number of activities,
+   * as the net offset of each directive along a chain is remembered once resolved.
    */
   @Override
   public HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> compute() {
     final var toReturn = new HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>>();
     // If we have 400 or fewer activities to process, process them directly
-    if(activityDirectivesToProcess.size() <= 400) {
+    if(activityDirectivesToProcess.size() <= SEQUENTIAL_THRESHOLD) {
       for (final var entry : activityDirectivesToProcess.entrySet()){
-        final var dependingActivity = getNetOffset(entry.getValue());
+        final var dependingActivity = getNetOffset(entry.getKey(), entry.getValue());
         toReturn.putIfAbsent(dependingActivity.getLeft(), new ArrayList<>());
         toReturn.get(dependingActivity.getLeft()).add(Pair.of(entry.getKey(), dependingActivity.getValue()));
       }
@@ -59,8 +79,8 @@ public class StartOffsetReducer extends RecursiveTask<HashMap<ActivityDirectiveI
       (count<(activityDirectivesToProcess.size()/2) ? leftDirectivesToProcess : rightDirectivesToProcess).put(entry.getKey(), entry.getValue());
       count++;
     }
-    final var left = new StartOffsetReducer(planDuration, leftDirectivesToProcess, completeMapOfDirectives);
-    final var right = new StartOffsetReducer(planDuration, rightDirectivesToProcess, completeMapOfDirectives);
+    final var left = new StartOffsetReducer(planDuration, leftDirectivesToProcess, completeMapOfDirectives, netOffsets);
+    final var right = new StartOffsetReducer(planDuration, rightDirectivesToProcess, completeMapOfDirectives, netOffsets);
     right.fork();
     // join step
     final var leftReturn = left.compute();
@@ -91,28 +111,59 @@ public class StartOffsetReducer extends RecursiveTask<HashMap<ActivityDirectiveI
    * Base cases:
    *    1) Activity is anchored to plan
    *    2) Activity is anchored to the end time of another activity
+   *    3) Activity is anchored to the start time of an activity whose net offset is already known
+   * The net offset of every directive walked along the way is remembered, for any other directives anchored to them.
+   * @param id The ID of the ActivityDirective currently under consideration
    * @param ad The ActivityDirective currently under consideration
    * @return A Pair containing:
    *   ActivityDirectiveID: the ID of the activity that must finish being simulated before we can simulate the specified activity
    *   Duration: the net start offset from that ID
    */
-  private Pair<ActivityDirectiveId, Duration> getNetOffset(ActivityDirective ad){
-    ActivityDirective currentActivityDirective;
-    ActivityDirectiveId currentAnchorId = ad.anchorId();
-    boolean anchoredToStart = ad.anchoredToStart();
-    Duration netOffset = ad.startOffset();
-
-    while(currentAnchorId != null && anchoredToStart){
-      currentActivityDirective = completeMapOfDirectives.get(currentAnchorId);
-      currentAnchorId = currentActivityDirective.anchorId();
-      anchoredToStart = currentActivityDirective.anchoredToStart();
-      netOffset = netOffset.plus(currentActivityDirective.startOffset());
+  private Pair<ActivityDirectiveId, Duration> getNetOffset(ActivityDirectiveId id, ActivityDirective ad){
+    // Walk up the chain of start-time anchors, collecting every directive whose net offset is not yet known.
+    final var chain = new ArrayList<ActivityDirective>();
+    final var chainIds = new ArrayList<ActivityDirectiveId>();
+    ActivityDirectiveId currentId = id;
+    ActivityDirective currentActivityDirective = ad;
+    Pair<ActivityDirectiveId, Duration> base;
+
+    while(true){
+      final var known = netOffsets.get(currentId);
+      if(known != null) {
+        base = known;
+        break;
+      }
+
+      chain.add(currentActivityDirective);
+      chainIds.add(currentId);
+
+      final var anchorId = currentActivityDirective.anchorId();
+      if(anchorId == null) {
+        // Add plan duration if anchored to plan end for net
+        base = Pair.of(null, currentActivityDirective.anchoredToStart() ? Duration.ZERO : planDuration);
+        break;
+      } else if(!currentActivityDirective.anchoredToStart()) {
+        base = Pair.of(anchorId, Duration.ZERO);
+        break;
+      } else if(chain.size() > completeMapOfDirectives.size()) {
+        throw new IllegalArgumentException("Activity directive %s is part of an anchor cycle".formatted(id.id()));
+      }
+
+      currentId = anchorId;
+      currentActivityDirective = completeMapOfDirectives.get(anchorId);
+      if(currentActivityDirective == null) {
+        throw new IllegalArgumentException("Activity directive %s is anchored to unknown activity directive %s"
+                                               .formatted(chainIds.get(chainIds.size() - 1).id(), anchorId.id()));
+      }
     }
 
-    if(currentAnchorId == null && !anchoredToStart) {
-      return Pair.of(null, planDuration.plus(netOffset)); // Add plan duration if anchored to plan end for net
+    // Unwind the chain from its root, so that each directive's net offset builds on the one it is anchored to.
+    var netOffset = base.getRight();
+    for(int i = chain.size() - 1; i >= 0; i--) {
+      netOffset = netOffset.plus(chain.get(i).startOffset());
+      netOffsets.put(chainIds.get(i), Pair.of(base.getLeft(), netOffset));
     }
-    return Pair.of(currentAnchorId, netOffset);
+    return netOffsets.get(id);
   }
 
   /**
@@ -0,0 +1,577 @@
+package gov.nasa.jpl.aerie.merlin.driver.binary;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A compact binary encoding of {@link SerializedValue}s, directed by the {@link ValueSchema} they are expected to follow.
+ *
+ * <p>
+ * When a value follows the schema of its codec, only its contents are encoded: struct fields are written in a fixed
+ * order without their names, variants by their index, integers as variable-length integers and reals as IEEE doubles.
+ * Values which stray from the schema (or whose representation the schema-directed form would not preserve, such as an
+ * integer given for a real) are instead written in a self-describing form, in the style of MessagePack, so that every
+ * value can be encoded and decodes to exactly the value it was encoded from.
+ * </p>
+ *
+ * <p>
+ * Codecs are immutable, and may be shared between threads.
+ * </p>
+ */
+public final class SerializedValueCodec {
+  /** The media type of bodies made of values encoded by codecs of this class, for use in content negotiation. */
+  public static final String MEDIA_TYPE = "application/x-aerie-serialized-value";
+
+  /** A codec for values of any shape, which always uses the self-describing form. */
+  public static final SerializedValueCodec SCHEMALESS = new SerializedValueCodec(null);
+
+  private static final byte SCHEMA_DIRECTED = 0;
+  private static final byte SELF_DESCRIBING = 1;
+
+  private static final byte TAG_NULL = 0;
+  private static final byte TAG_FALSE = 1;
+  private static final byte TAG_TRUE = 2;
+  private static final byte TAG_INT = 3;
+  private static final byte TAG_REAL = 4;
+  private static final byte TAG_NUMERIC = 5;
+  private static final byte TAG_STRING = 6;
+  private static final byte TAG_LIST = 7;
+  private static final byte TAG_MAP = 8;
+
+  private final Slot slot;
+
+  private SerializedValueCodec(final Slot slot) {
+    this.slot = slot;
+  }
+
+  public static SerializedValueCodec forSchema(final ValueSchema schema) {
+    return new SerializedValueCodec(compile(Objects.requireNonNull(schema)));
+  }
+
+  public byte[] encode(final SerializedValue value) {
+    final var out = new Output();
+    this.encode(value, out);
+    return out.toByteArray();
+  }
+
+  public SerializedValue decode(final byte[] bytes) throws InvalidEncodingException {
+    final var in = new Input(bytes);
+    final var value = this.decode(in);
+    if (in.position != bytes.length) throw new InvalidEncodingException("Unexpected trailing bytes at offset " + in.position);
+    return value;
+  }
+
+  /**
+   * Writes the encoding of a value to a stream, preceded by its length, so that a stream may carry a sequence of values
+   * which are read back one at a time by {@link #decodeDelimited(InputStream)}.
+   *
+   * <p>
+   * To write many values to the same stream, prefer a {@link DelimitedWriter}, which reuses its buffers between values.
+   * </p>
+   */
+  public void encodeDelimited(final SerializedValue value, final OutputStream stream) throws IOException {
+    new DelimitedWriter(stream).write(this, value);
+  }
+
+  /**
+   * Writes a marker to a stream which ends a sequence of delimited values.
+   * No value encodes to nothing, so the marker can never be mistaken for one.
+   */
+  public static void encodeDelimitedEnd(final OutputStream stream) throws IOException {
+    stream.write(0);
+  }
+
+  /**
+   * Writes a sequence of delimited values to one stream, as {@link #encodeDelimited(SerializedValue, OutputStream)}
+   * does, but encoding every value into the same buffer.
+   *
+   * <p>
+   * A writer is not safe for concurrent use.
+   * </p>
+   */
+  public static final class DelimitedWriter {
+    private final OutputStream stream;
+    private final Output body = new Output();
+    private final Output header = new Output();
+
+    public DelimitedWriter(final OutputStream stream) {
+      this.stream = Objects.requireNonNull(stream);
+    }
+
+    /** Writes the encoding of a value by the given codec, preceded by its length. */
+    public void write(final SerializedValueCodec codec, final SerializedValue value) throws IOException {
+      this.body.size = 0;
+      codec.encode(value, this.body);
+
+      this.header.size = 0;
+      this.header.writeVarLong(this.body.size);
+      this.stream.write(this.header.buffer, 0, this.header.size);
+      this.stream.write(this.body.buffer, 0, this.body.size);
+    }
+
+    /** Writes a marker which ends a sequence of delimited values. */
+    public void end() throws IOException {
+      encodeDelimitedEnd(this.stream);
+    }
+  }
+
+  /**
+   * Reads a value written by {@link #encodeDelimited(SerializedValue, OutputStream)} from a stream.
+   *
+   * @return The value read, or empty if the stream is at a marker written by {@link #encodeDelimitedEnd(OutputStream)}.
+   */
+  public Optional<SerializedValue> decodeDelimited(final InputStream stream) throws IOException, InvalidEncodingException {
+    var length = 0L;
+    for (var shift = 0; ; shift += 7) {
+      if (shift >= 64) throw new InvalidEncodingException("Length of delimited value is too long");
+
+      final var b = stream.read();
+      if (b < 0) throw new InvalidEncodingException("Unexpected end of stream");
+      length |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) break;
+    }
+    if (length == 0) return Optional.empty();
+    if (length > Integer.MAX_VALUE) throw new InvalidEncodingException("Invalid length of delimited value " + length);
+
+    final var bytes = stream.readNBytes((int) length);
+    if (bytes.length != length) throw new InvalidEncodingException("Unexpected end of stream");
+    return Optional.of(this.decode(bytes));
+  }
+
+  private void encode(final SerializedValue value, final Output out) {
+    if (this.slot != null) {
+      final var start = out.size;
+      out.writeByte(SCHEMA_DIRECTED);
+      try {
+        this.slot.write(value, out);
+        return;
+      } catch (final SchemaMismatch ex) {
+        out.size = start;
+      }
+    }
+
+    out.writeByte(SELF_DESCRIBING);
+    writeSelfDescribing(value, out);
+  }
+
+  private SerializedValue decode(final Input in) throws InvalidEncodingException {
+    final var form = in.readByte();
+    if (form == SELF_DESCRIBING) return readSelfDescribing(in);
+    if (form == SCHEMA_DIRECTED && this.slot != null) return this.slot.read(in);
+    throw new InvalidEncodingException("Unexpected encoding form " + form);
+  }
+
+
+  /** Thrown when a byte sequence is not the encoding of any value. */
+  public static final class InvalidEncodingException extends Exception {
+    public InvalidEncodingException(final String message) {
+      super(message);
+    }
+  }
+
+  /** Raised while encoding when a value strays from the schema; carries no stack trace, as it is thrown routinely. */
+  private static final class SchemaMismatch extends Exception {
+    private static final SchemaMismatch INSTANCE = new SchemaMismatch();
+
+    private SchemaMismatch() {
+      super(null, null, false, false);
+    }
+  }
+
+
+  private interface Slot {
+    void write(SerializedValue value, Output out) throws SchemaMismatch;
+    SerializedValue read(Input in) throws InvalidEncodingException;
+  }
+
+  private static Slot compile(final ValueSchema schema) {
+    return schema.match(new ValueSchema.Visitor<>() {
+      @Override
+      public Slot onReal() {
+        return new RealSlot();
+      }
+
+      @Override
+      public Slot onInt() {
+        return new IntSlot();
+      }
+
+      @Override
+      public Slot onBoolean() {
+        return new BooleanSlot();
+      }
+
+      @Override
+      public Slot onString() {
+        return new StringSlot();
+      }
+
+      @Override
+      public Slot onDuration() {
+        // Durations are serialized as integral numbers of microseconds.
+        return new IntSlot();
+      }
+
+      @Override
+      public Slot onPath() {
+        return new StringSlot();
+      }
+
+      @Override
+      public Slot onSeries(final ValueSchema value) {
+        return new SeriesSlot(compile(value));
+      }
+
+      @Override
+      public Slot onStruct(final Map<String, ValueSchema> value) {
+        // Struct schemas are unordered, so fix an order for their fields.
+        final var names = value.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+
+        final var fields = new Slot[names.length];
+        for (var i = 0; i < names.length; i += 1) fields[i] = compile(value.get(names[i]));
+
+        return new StructSlot(names, fields);
+      }
+
+      @Override
+      public Slot onVariant(final List<ValueSchema.Variant> variants) {
+        final var keys = new String[variants.size()];
+        final var indices = new HashMap<String, Integer>(variants.size());
+        for (var i = 0; i < keys.length; i += 1) {
+          keys[i] = variants.get(i).key();
+          indices.putIfAbsent(keys[i], i);
+        }
+
+        return new VariantSlot(keys, indices);
+      }
+    });
+  }
+
+  private record RealSlot() implements Slot {
+    @Override
+    public void write(final SerializedValue value, final Output out) throws SchemaMismatch {
+      if (!(value instanceof SerializedValue.RealValue v)) throw SchemaMismatch.INSTANCE;
+      out.writeDouble(v.value());
+    }
+
+    @Override
+    public SerializedValue read(final Input in) throws InvalidEncodingException {
+      return readReal(in);
+    }
+  }
+
+  private record IntSlot() implements Slot {
+    @Override
+    public void write(final SerializedValue value, final Output out) throws SchemaMismatch {
+      if (!(value instanceof SerializedValue.IntValue v)) throw SchemaMismatch.INSTANCE;
+      out.writeSignedVarLong(v.value());
+    }
+
+    @Override
+    public SerializedValue read(final Input in) throws InvalidEncodingException {
+      return SerializedValue.of(in.readSignedVarLong());
+    }
+  }
+
+  private record BooleanSlot() implements Slot {
+    @Override
+    public void write(final SerializedValue value, final Output out) throws SchemaMismatch {
+      if (!(value instanceof SerializedValue.BooleanValue v)) throw SchemaMismatch.INSTANCE;
+      out.writeByte(v.value() ? TAG_TRUE : TAG_FALSE);
+    }
+
+    @Override
+    public SerializedValue read(final Input in) throws InvalidEncodingException {
+      final var tag = in.readByte();
+      if (tag == TAG_TRUE) return SerializedValue.of(true);
+      if (tag == TAG_FALSE) return SerializedValue.of(false);
+      throw new InvalidEncodingException("Invalid boolean " + tag);
+    }
+  }
+
+  private record StringSlot() implements Slot {
+    @Override
+    public void write(final SerializedValue value, final Output out) throws SchemaMismatch {
+      if (!(value instanceof SerializedValue.StringValue v)) throw SchemaMismatch.INSTANCE;
+      out.writeString(v.value());
+    }
+
+    @Override
+    public SerializedValue read(final Input in) throws InvalidEncodingException {
+      return SerializedValue.of(in.readString());
+    }
+  }
+
+  private record SeriesSlot(Slot element) implements Slot {
+    @Override
+    public void write(final SerializedValue value, final Output out) throws SchemaMismatch {
+      if (!(value instanceof SerializedValue.ListValue v)) throw SchemaMismatch.INSTANCE;
+
+      out.writeVarLong(v.list().size());
+      for (final var element : v.list()) this.element.write(element, out);
+    }
+
+    @Override
+    public SerializedValue read(final Input in) throws InvalidEncodingException {
+      final var size = in.readCount();
+      final var list = new ArrayList<SerializedValue>(in.capacityFor(size));
+      for (var i = 0; i < size; i += 1) list.add(this.element.read(in));
+      return SerializedValue.of(list);
+    }
+  }
+
+  private record StructSlot(String[] names, Slot[] fields) implements Slot {
+    @Override
+    public void write(final SerializedValue value, final Output out) throws SchemaMismatch {
+      if (!(value instanceof SerializedValue.MapValue v)) throw SchemaMismatch.INSTANCE;
+
+      final var map = v.map();
+      if (map.size() != this.names.length) throw SchemaMismatch.INSTANCE;
+      for (var i = 0; i < this.names.length; i += 1) {
+        final var field = map.get(this.names[i]);
+        if (field == null) throw SchemaMismatch.INSTANCE;
+        this.fields[i].write(field, out);
+      }
+    }
+
+    @Override
+    public SerializedValue read(final Input in) throws InvalidEncodingException {
+      final var map = new HashMap<String, SerializedValue>(this.names.length);
+      for (var i = 0; i < this.names.length; i += 1) map.put(this.names[i], this.fields[i].read(in));
+      return SerializedValue.of(map);
+    }
+  }
+
+  private record VariantSlot(String[] keys, Map<String, Integer> indices) implements Slot {
+    @Override
+    public void write(final SerializedValue value, final Output out) throws SchemaMismatch {
+      if (!(value instanceof SerializedValue.StringValue v)) throw SchemaMismatch.INSTANCE;
+
+      final var index = this.indices.get(v.value());
+      if (index == null) throw SchemaMismatch.INSTANCE;
+      out.writeVarLong(index);
+    }
+
+    @Override
+    public SerializedValue read(final Input in) throws InvalidEncodingException {
+      final var index = in.readVarLong();
+      if (index < 0 || index >= this.keys.length) throw new InvalidEncodingException("Invalid variant index " + index);
+      return SerializedValue.of(this.keys[(int) index]);
+    }
+  }
+
+
+  private static void writeSelfDescribing(final SerializedValue value, final Output out) {
+    if (value instanceof SerializedValue.NullValue) {
+      out.writeByte(TAG_NULL);
+    } else if (value instanceof SerializedValue.BooleanValue v) {
+      out.writeByte(v.value() ? TAG_TRUE : TAG_FALSE);
+    } else if (value instanceof SerializedValue.IntValue v) {
+      out.writeByte(TAG_INT);
+      out.writeSignedVarLong(v.value());
+    } else if (value instanceof SerializedValue.RealValue v) {
+      out.writeByte(TAG_REAL);
+      out.writeDouble(v.value());
+    } else if (value instanceof SerializedValue.NumericValue v) {
+      final var unscaled = v.value().unscaledValue().toByteArray();
+      out.writeByte(TAG_NUMERIC);
+      out.writeSignedVarLong(v.value().scale());
+      out.writeVarLong(unscaled.length);
+      out.writeBytes(unscaled);
+    } else if (value instanceof SerializedValue.StringValue v) {
+      out.writeByte(TAG_STRING);
+      out.writeString(v.value());
+    } else if (value instanceof SerializedValue.ListValue v) {
+      out.writeByte(TAG_LIST);
+      out.writeVarLong(v.list().size());
+      for (final var element : v.list()) writeSelfDescribing(element, out);
+    } else if (value instanceof SerializedValue.MapValue v) {
+      out.writeByte(TAG_MAP);
+      out.writeVarLong(v.map().size());
+      for (final var entry : v.map().entrySet()) {
+        out.writeString(entry.getKey());
+        writeSelfDescribing(entry.getValue(), out);
+      }
+    } else {
+      throw new IllegalArgumentException("Unexpected subtype of SerializedValue: " + value.getClass());
+    }
+  }
+
+  private static SerializedValue readSelfDescribing(final Input in) throws InvalidEncodingException {
+    final var tag = in.readByte();
+    return switch (tag) {
+      case TAG_NULL -> SerializedValue.NULL;
+      case TAG_FALSE -> SerializedValue.of(false);
+      case TAG_TRUE -> SerializedValue.of(true);
+      case TAG_INT -> SerializedValue.of(in.readSignedVarLong());
+      case TAG_REAL -> readReal(in);
+      case TAG_NUMERIC -> {
+        final var scale = in.readSignedVarLong();
+        if (scale != (int) scale) throw new InvalidEncodingException("Invalid numeric scale " + scale);
+        final var unscaled = in.readBytes(in.readCount());
+        if (unscaled.length == 0) throw new InvalidEncodingException("Empty numeric value");
+        yield new SerializedValue.NumericValue(new BigDecimal(new BigInteger(unscaled), (int) scale));
+      }
+      case TAG_STRING -> SerializedValue.of(in.readString());
+      case TAG_LIST -> {
+        final var size = in.readCount();
+        final var list = new ArrayList<SerializedValue>(in.capacityFor(size));
+        for (var i = 0; i < size; i += 1) list.add(readSelfDescribing(in));
+        yield SerializedValue.of(list);
+      }
+      case TAG_MAP -> {
+        final var size = in.readCount();
+        final var map = new HashMap<String, SerializedValue>(in.capacityFor(size));
+        for (var i = 0; i < size; i += 1) {
+          final var key = in.readString();
+          if (map.put(key, readSelfDescribing(in)) != null) throw new InvalidEncodingException("Duplicate key " + key);
+        }
+        yield SerializedValue.of(map);
+      }
+      default -> throw new InvalidEncodingException("Invalid tag " + tag);
+    };
+  }
+
+  private static SerializedValue readReal(final Input in) throws InvalidEncodingException {
+    final var value = in.readDouble();
+    if (!Double.isFinite(value)) throw new InvalidEncodingException("Non-finite real " + value);
+    return SerializedValue.of(value);
+  }
+
+
+  private static final class Output {
+    private byte[] buffer = new byte[64];
+    private int size = 0;
+
+    private void ensureCapacity(final int extra) {
+      if (this.size + extra > this.buffer.length) {
+        this.buffer = Arrays.copyOf(this.buffer, Math.max(2 * this.buffer.length, this.size + extra));
+      }
+    }
+
+    void writeByte(final byte value) {
+      this.ensureCapacity(1);
+      this.buffer[this.size++] = value;
+    }
+
+    void writeBytes(final byte[] bytes) {
+      this.ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, this.buffer, this.size, bytes.length);
+      this.size += bytes.length;
+    }
+
+    /** Writes a non-negative integer seven bits at a time, least significant first. */
+    void writeVarLong(long value) {
+      this.ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        this.buffer[this.size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      this.buffer[this.size++] = (byte) value;
+    }
+
+    /** Writes an integer of either sign, zig-zag encoded so that small magnitudes take few bytes. */
+    void writeSignedVarLong(final long value) {
+      this.writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeDouble(final double value) {
+      this.ensureCapacity(8);
+      final var bits = Double.doubleToRawLongBits(value);
+      for (var shift = 56; shift >= 0; shift -= 8) this.buffer[this.size++] = (byte) (bits >>> shift);
+    }
+
+    void writeString(final String value) {
+      final var bytes = value.getBytes(StandardCharsets.UTF_8);
+      this.writeVarLong(bytes.length);
+      this.writeBytes(bytes);
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(this.buffer, this.size);
+    }
+  }
+
+  private static final class Input {
+    private final byte[] buffer;
+    private int position = 0;
+
+    Input(final byte[] buffer) {
+      this.buffer = buffer;
+    }
+
+    private void require(final int count) throws InvalidEncodingException {
+      if (count > this.buffer.length - this.position) {
+        throw new InvalidEncodingException("Unexpected end of input at offset " + this.position);
+      }
+    }
+
+    byte readByte() throws InvalidEncodingException {
+      this.require(1);
+      return this.buffer[this.position++];
+    }
+
+    byte[] readBytes(final int count) throws InvalidEncodingException {
+      this.require(count);
+      final var bytes = Arrays.copyOfRange(this.buffer, this.position, this.position + count);
+      this.position += count;
+      return bytes;
+    }
+
+    long readVarLong() throws InvalidEncodingException {
+      var value = 0L;
+      for (var shift = 0; shift < 64; shift += 7) {
+        final var b = this.readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) return value;
+      }
+      throw new InvalidEncodingException("Variable-length integer is too long at offset " + this.position);
+    }
+
+    long readSignedVarLong() throws InvalidEncodingException {
+      final var value = this.readVarLong();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    int readCount() throws InvalidEncodingException {
+      final var count = this.readVarLong();
+      if (count < 0 || count > Integer.MAX_VALUE) throw new InvalidEncodingException("Invalid count " + count);
+      return (int) count;
+    }
+
+    /** Bounds the space to reserve for a number of items, so that a corrupt count cannot exhaust memory up front. */
+    int capacityFor(final int count) {
+      return Math.min(count, this.buffer.length - this.position);
+    }
+
+    double readDouble() throws InvalidEncodingException {
+      this.require(8);
+      var bits = 0L;
+      for (var i = 0; i < 8; i += 1) bits = (bits << 8) | (this.buffer[this.position++] & 0xFFL);
+      return Double.longBitsToDouble(bits);
+    }
+
+    String readString() throws InvalidEncodingException {
+      final var length = this.readCount();
+      this.require(length);
+      final var value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+      this.position += length;
+      return value;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A real profile whose segments are packed into parallel primitive arrays.
+ *
+ * Segments are only materialized as {@link ProfileSegment}s when they are read, so a profile costs three primitives
+ * per segment to hold rather than a segment, a duration, and a dynamics object.
+ */
+/*package-local*/ final class PackedRealProfile extends AbstractList<ProfileSegment<RealDynamics>> implements RandomAccess {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] extents;
+  private double[] initials;
+  private double[] rates;
+  private int size = 0;
+
+  public PackedRealProfile(final int expectedSize) {
+    final var capacity = Math.max(expectedSize, INITIAL_CAPACITY);
+    this.extents = new long[capacity];
+    this.initials = new double[capacity];
+    this.rates = new double[capacity];
+  }
+
+  public void append(final Duration extent, final RealDynamics dynamics) {
+    if (this.size == this.extents.length) {
+      final var capacity = 2 * this.size;
+      this.extents = Arrays.copyOf(this.extents, capacity);
+      this.initials = Arrays.copyOf(this.initials, capacity);
+      this.rates = Arrays.copyOf(this.rates, capacity);
+    }
+
+    this.extents[this.size] = extent.in(Duration.MICROSECONDS);
+    this.initials[this.size] = dynamics.initial;
+    this.rates[this.size] = dynamics.rate;
+    this.size += 1;
+  }
+
+  @Override
+  public ProfileSegment<RealDynamics> get(final int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index %d out of bounds for length %d".formatted(index, this.size));
+    }
+
+    return new ProfileSegment<>(
+        Duration.of(this.extents[index], Duration.MICROSECONDS),
+        RealDynamics.linear(this.initials[index], this.rates[index]));
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+}
@@ -0,0 +1,10 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+/**
+ * Statistics about the profile recorded for a resource.
+ *
+ * @param segments The number of segments in the recorded profile.
+ * @param coalesced The number of times the resource was queried without starting a new segment, because its dynamics
+ *   were equal to (or, for real resources, continued the line of) those of the segment before.
+ */
+public record ProfileStatistics(long segments, long coalesced) {}
@@ -1,17 +1,85 @@
 package gov.nasa.jpl.aerie.merlin.driver.engine;
 
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
+import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.RealResource;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
 
+import java.util.Objects;
+
+/**
+ * The profile accumulated so far for a resource.
+ *
+ * A resource is re-queried whenever anything it depends on may have changed, which often yields the same dynamics as
+ * before. Such dynamics are coalesced into the segment before them rather than starting a new segment, as are the
+ * dynamics of a real resource which carry on along the line of the segment before them.
+ *
+ * Real resources other than {@link RealResource}s only expose their line through their serialized form, so they are
+ * never coalesced: equal dynamics re-queried later describe a line that restarts, not one that carries on.
+ */
 /*package-local*/
-record ProfilingState<Dynamics> (Resource<Dynamics> resource, Profile<Dynamics> profile) {
+final class ProfilingState<Dynamics> {
+  private final Resource<Dynamics> resource;
+  private final OutputType<Dynamics> outputType;
+  private final Profile<Dynamics> profile;
+  private final boolean coalescible;
+
+  private boolean hasLastSegment = false;
+  private Duration lastStartOffset;
+  private Dynamics lastDynamics;
+  private long coalesced = 0;
+
+  private ProfilingState(final Resource<Dynamics> resource, final Profile<Dynamics> profile) {
+    this.resource = Objects.requireNonNull(resource);
+    this.outputType = resource.getOutputType();
+    this.profile = Objects.requireNonNull(profile);
+    this.coalescible = (resource instanceof RealResource) || !"real".equals(resource.getType());
+  }
+
   public static <DynamicsType>
   ProfilingState<DynamicsType> create(final Resource<DynamicsType> resource) {
     return new ProfilingState<>(resource, new Profile<>());
   }
 
+  public Resource<Dynamics> resource() {
+    return this.resource;
+  }
+
+  public Profile<Dynamics> profile() {
+    return this.profile;
+  }
+
+  public ProfileStatistics statistics() {
+    return new ProfileStatistics(this.profile.segments().size(), this.coalesced);
+  }
+
   public void append(final Duration currentTime, final Querier querier) {
-    this.profile.append(currentTime, this.resource.getDynamics(querier));
+    final var dynamics = this.resource.getDynamics(querier);
+
+    if (this.coalescible && this.hasLastSegment && this.continuesLastSegment(currentTime, dynamics)) {
+      this.coalesced += 1;
+      return;
+    }
+
+    this.profile.append(currentTime, dynamics);
+    this.hasLastSegment = true;
+    this.lastStartOffset = currentTime;
+    this.lastDynamics = dynamics;
+  }
+
+  private boolean continuesLastSegment(final Duration currentTime, final Dynamics dynamics) {
+    if (this.resource instanceof RealResource) {
+      // SAFETY: A `RealResource` is a `Resource<RealDynamics>`.
+      final var last = (RealDynamics) this.lastDynamics;
+      final var next = (RealDynamics) dynamics;
+
+      // Only an exact continuation of the line is coalesced, so that the profile describes the same values as before.
+      final var elapsed = currentTime.minus(this.lastStartOffset).ratioOver(Duration.SECOND);
+      return (next.rate == last.rate) && (next.initial == last.initial + last.rate * elapsed);
+    }
+
+    return this.outputType.isEqual(this.lastDynamics, dynamics);
   }
 }
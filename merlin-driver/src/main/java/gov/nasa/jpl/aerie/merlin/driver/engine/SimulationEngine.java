@@ -17,6 +17,7 @@ import gov.nasa.jpl.aerie.merlin.protocol.driver.Scheduler;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Condition;
 import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.RealResource;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
 import gov.nasa.jpl.aerie.merlin.protocol.model.Task;
 import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
@@ -75,6 +76,20 @@ public final class SimulationEngine implements AutoCloseable {
   /** A thread pool that modeled tasks can use to keep track of their state between steps. */
   private final ExecutorService executor = getLoomOrFallback();
 
+  /** The recorder of the work done by this engine, or null if this engine is not instrumented. */
+  private final SimulationInstrumentation instrumentation;
+
+  /** The number of events emitted by tasks so far. */
+  private long emittedEvents = 0;
+
+  public SimulationEngine() {
+    this.instrumentation = null;
+  }
+
+  public SimulationEngine(final SimulationInstrumentation instrumentation) {
+    this.instrumentation = Objects.requireNonNull(instrumentation);
+  }
+
   private static ExecutorService getLoomOrFallback() {
     // Try to use Loom's lightweight virtual threads, if possible. Otherwise, just use a thread pool.
     // This approach is inspired by that of Javalin 5.
@@ -116,6 +131,15 @@ public final class SimulationEngine implements AutoCloseable {
     this.scheduledJobs.schedule(JobId.forResource(id), SubInstant.Resources.at(nextQueryTime));
   }
 
+  /** Get statistics about the profiles recorded so far for every tracked resource, by resource name. */
+  public Map<String, ProfileStatistics> getProfileStatistics() {
+    final var statistics = new HashMap<String, ProfileStatistics>(this.resources.size());
+    for (final var entry : this.resources.entrySet()) {
+      statistics.put(entry.getKey().id(), entry.getValue().statistics());
+    }
+    return statistics;
+  }
+
   /** Schedules any conditions or resources dependent on the given topic to be re-checked at the given time. */
   public void invalidateTopic(final Topic<?> topic, final Duration invalidationTime) {
     final var resources = this.waitingResources.invalidateTopic(topic);
@@ -223,7 +247,9 @@ public final class SimulationEngine implements AutoCloseable {
   ) {
     // Step the modeling state forward.
     final var scheduler = new EngineScheduler(currentTime, task, frame);
+    final var startNanos = (this.instrumentation != null) ? System.nanoTime() : 0L;
     final var status = progress.state().step(scheduler);
+    if (this.instrumentation != null) this.instrumentation.taskStepped(task, System.nanoTime() - startNanos);
 
     // TODO: Report which topics this activity wrote to at this point in time. This is useful insight for any user.
     // TODO: Report which cells this activity read from at this point in time. This is useful insight for any user.
@@ -302,10 +328,12 @@ public final class SimulationEngine implements AutoCloseable {
       final Duration horizonTime
   ) {
     final var querier = new EngineQuerier(frame);
+    final var startNanos = (this.instrumentation != null) ? System.nanoTime() : 0L;
     final var prediction = this.conditions
         .get(condition)
         .nextSatisfied(querier, horizonTime.minus(currentTime))
         .map(currentTime::plus);
+    if (this.instrumentation != null) this.instrumentation.conditionEvaluated(System.nanoTime() - startNanos);
 
     this.waitingConditions.subscribeQuery(condition, querier.referencedTopics);
 
@@ -326,7 +354,9 @@ public final class SimulationEngine implements AutoCloseable {
       final Duration currentTime
   ) {
     final var querier = new EngineQuerier(frame);
+    final var startNanos = (this.instrumentation != null) ? System.nanoTime() : 0L;
     this.resources.get(resource).append(currentTime, querier);
+    if (this.instrumentation != null) this.instrumentation.resourceQueried(resource, System.nanoTime() - startNanos);
 
     this.waitingResources.subscribeQuery(resource, querier.referencedTopics);
 
@@ -348,6 +378,19 @@ public final class SimulationEngine implements AutoCloseable {
     this.executor.shutdownNow();
   }
 
+  /** The number of events emitted by tasks so far. */
+  public long getEmittedEventCount() {
+    return this.emittedEvents;
+  }
+
+  /** Determine whether every task has fully completed, so that nothing but resource profiling remains to be done. */
+  public boolean isQuiescent() {
+    for (final var state : this.tasks.values()) {
+      if (!(state instanceof ExecutionState.Terminated)) return false;
+    }
+    return true;
+  }
+
   /** Determine if a given task has fully completed. */
   public boolean isTaskComplete(final TaskId task) {
     return (this.tasks.get(task) instanceof ExecutionState.Terminated);
@@ -453,32 +496,7 @@ public final class SimulationEngine implements AutoCloseable {
     // Extract profiles for every resource.
     final var realProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>>();
     final var discreteProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<SerializedValue>>>>();
-
-    for (final var entry : engine.resources.entrySet()) {
-      final var id = entry.getKey();
-      final var state = entry.getValue();
-
-      final var name = id.id();
-      final var resource = state.resource();
-
-      switch (resource.getType()) {
-        case "real" -> realProfiles.put(
-            name,
-            Pair.of(
-                resource.getOutputType().getSchema(),
-                serializeProfile(elapsedTime, state, SimulationEngine::extractRealDynamics)));
-
-        case "discrete" -> discreteProfiles.put(
-            name,
-            Pair.of(
-                resource.getOutputType().getSchema(),
-                serializeProfile(elapsedTime, state, SimulationEngine::extractDiscreteDynamics)));
-
-        default ->
-            throw new IllegalArgumentException(
-                "Resource `%s` has unknown type `%s`".formatted(name, resource.getType()));
-      }
-    }
+    extractProfiles(engine, elapsedTime, realProfiles, discreteProfiles);
 
 
     // Give every task corresponding to a child activity an ID that doesn't conflict with any root activity.
@@ -597,6 +615,19 @@ public final class SimulationEngine implements AutoCloseable {
       }
     }
 
+    // Attribute the work of every task to the nearest activity at or above it.
+    final var metrics = Optional.ofNullable(engine.instrumentation).map($ -> $.summarize(
+        task -> {
+          var ancestor = task;
+          while (ancestor != null && !taskInfo.isActivity(ancestor)) ancestor = engine.taskParent.get(ancestor);
+
+          return (ancestor != null)
+              ? taskInfo.input().get(ancestor.id()).getTypeName()
+              : SimulationMetrics.NO_ACTIVITY;
+        },
+        serializableTopics,
+        engine.getProfileStatistics()));
+
     return new SimulationResults(realProfiles,
                                  discreteProfiles,
                                  simulatedActivities,
@@ -604,7 +635,72 @@ public final class SimulationEngine implements AutoCloseable {
                                  startTime,
                                  elapsedTime,
                                  topics,
-                                 serializedTimeline);
+                                 serializedTimeline,
+                                 metrics);
+  }
+
+  /**
+   * Compute the results that are already settled at the given time: the profile of every resource up to that time.
+   *
+   * <p>
+   * Every segment of a profile but the last is final, since later queries of a resource can only extend its last
+   * segment or add segments after it. Activities and events are left out, since simulated activities are only given IDs
+   * once simulation completes.
+   * </p>
+   */
+  public static SimulationResults computePartialResults(
+      final SimulationEngine engine,
+      final Instant startTime,
+      final Duration elapsedTime
+  ) {
+    final var realProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>>();
+    final var discreteProfiles = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<SerializedValue>>>>();
+    extractProfiles(engine, elapsedTime, realProfiles, discreteProfiles);
+
+    return new SimulationResults(
+        realProfiles,
+        discreteProfiles,
+        Map.of(),
+        Map.of(),
+        startTime,
+        elapsedTime,
+        List.of(),
+        new TreeMap<>());
+  }
+
+  private static void extractProfiles(
+      final SimulationEngine engine,
+      final Duration elapsedTime,
+      final Map<String, Pair<ValueSchema, List<ProfileSegment<RealDynamics>>>> realProfiles,
+      final Map<String, Pair<ValueSchema, List<ProfileSegment<SerializedValue>>>> discreteProfiles
+  ) {
+    for (final var entry : engine.resources.entrySet()) {
+      final var id = entry.getKey();
+      final var state = entry.getValue();
+
+      final var name = id.id();
+      final var resource = state.resource();
+
+      switch (resource.getType()) {
+        case "real" -> realProfiles.put(
+            name,
+            Pair.of(
+                resource.getOutputType().getSchema(),
+                (resource instanceof RealResource)
+                    ? packRealProfile(elapsedTime, state)
+                    : serializeProfile(elapsedTime, state, SimulationEngine::extractRealDynamics)));
+
+        case "discrete" -> discreteProfiles.put(
+            name,
+            Pair.of(
+                resource.getOutputType().getSchema(),
+                serializeProfile(elapsedTime, state, SimulationEngine::extractDiscreteDynamics)));
+
+        default ->
+            throw new IllegalArgumentException(
+                "Resource `%s` has unknown type `%s`".formatted(name, resource.getType()));
+      }
+    }
   }
 
   public Optional<Duration> getTaskDuration(TaskId taskId){
@@ -652,6 +748,32 @@ public final class SimulationEngine implements AutoCloseable {
     return profile;
   }
 
+  // Real resources that produce `RealDynamics` natively can be recorded as they are, without a round-trip through
+  // their serialized form.
+  private static List<ProfileSegment<RealDynamics>> packRealProfile(
+      final Duration elapsedTime,
+      final ProfilingState<?> state
+  ) {
+    final var segments = state.profile().segments();
+    final var profile = new PackedRealProfile(segments.size());
+
+    final var iter = segments.iterator();
+    if (iter.hasNext()) {
+      var segment = iter.next();
+      while (iter.hasNext()) {
+        final var nextSegment = iter.next();
+
+        // SAFETY: A `RealResource` is a `Resource<RealDynamics>`, so its profile's dynamics are all `RealDynamics`.
+        profile.append(nextSegment.startOffset().minus(segment.startOffset()), (RealDynamics) segment.dynamics());
+        segment = nextSegment;
+      }
+
+      profile.append(elapsedTime.minus(segment.startOffset()), (RealDynamics) segment.dynamics());
+    }
+
+    return profile;
+  }
+
   private static <Dynamics>
   RealDynamics extractRealDynamics(final Resource<Dynamics> resource, final Dynamics dynamics) {
     final var serializedSegment = resource.getOutputType().serialize(dynamics).asMap().orElseThrow();
@@ -727,6 +849,8 @@ public final class SimulationEngine implements AutoCloseable {
     public <EventType> void emit(final EventType event, final Topic<EventType> topic) {
       // Append this event to the timeline.
       this.frame.emit(Event.create(topic, event, this.activeTask));
+      SimulationEngine.this.emittedEvents += 1;
+      if (SimulationEngine.this.instrumentation != null) SimulationEngine.this.instrumentation.eventEmitted(topic);
 
       SimulationEngine.this.invalidateTopic(topic, this.currentTime);
     }
@@ -0,0 +1,127 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import gov.nasa.jpl.aerie.merlin.driver.MissionModel.SerializableTopic;
+import gov.nasa.jpl.aerie.merlin.driver.timeline.EventSource;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A recorder of the work a {@link SimulationEngine} does on behalf of the model it simulates.
+ *
+ * <p>
+ * Instrumentation is opt-in: an engine constructed without an instrumentation does no recording at all.
+ * An instrumentation should be given to at most one engine, and is not safe for concurrent use;
+ * the engine performs its jobs one at a time, handing control to at most one task at any moment.
+ * </p>
+ */
+public final class SimulationInstrumentation {
+  private final Map<TaskId, Tally> tasks = new HashMap<>();
+  private final Map<ResourceId, Tally> resources = new HashMap<>();
+  private final Map<Topic<?>, Tally> topics = new HashMap<>();
+  private final Tally conditions = new Tally();
+
+  private long cellReads = 0;
+  private long cellCatchUps = 0;
+  private long pointsCaughtUp = 0;
+  private long longestCatchUp = 0;
+
+  /*package-local*/ void taskStepped(final TaskId task, final long nanos) {
+    this.tasks.computeIfAbsent(task, $ -> new Tally()).add(nanos);
+  }
+
+  /*package-local*/ void resourceQueried(final ResourceId resource, final long nanos) {
+    this.resources.computeIfAbsent(resource, $ -> new Tally()).add(nanos);
+  }
+
+  /*package-local*/ void conditionEvaluated(final long nanos) {
+    this.conditions.add(nanos);
+  }
+
+  /*package-local*/ void eventEmitted(final Topic<?> topic) {
+    this.topics.computeIfAbsent(topic, $ -> new Tally()).add(0);
+  }
+
+  /** Observe every read of a cell backed by the given source, recording how far each read had to catch the cell up. */
+  public EventSource observe(final EventSource source) {
+    return () -> {
+      final var cursor = source.cursor();
+      return cell -> {
+        final var points = cursor.stepUp(cell);
+        this.cellRead(points);
+        return points;
+      };
+    };
+  }
+
+  private void cellRead(final int points) {
+    this.cellReads += 1;
+    if (points == 0) return;
+
+    this.cellCatchUps += 1;
+    this.pointsCaughtUp += points;
+    this.longestCatchUp = Math.max(this.longestCatchUp, points);
+  }
+
+  /**
+   * Summarize everything recorded so far.
+   *
+   * @param activityTypeOf The activity type to which the work of a given task should be attributed.
+   * @param serializableTopics The topics whose events should be counted by name.
+   * @param profiles Statistics about the profile recorded for each tracked resource, by resource name.
+   */
+  /*package-local*/ SimulationMetrics summarize(
+      final Function<TaskId, String> activityTypeOf,
+      final Iterable<SerializableTopic<?>> serializableTopics,
+      final Map<String, ProfileStatistics> profiles
+  ) {
+    final var activityTypes = new HashMap<String, SimulationMetrics.TaskMetrics>();
+    this.tasks.forEach((task, tally) -> activityTypes.merge(
+        activityTypeOf.apply(task),
+        new SimulationMetrics.TaskMetrics(1, tally.count, tally.count, tally.nanos),
+        (a, b) -> new SimulationMetrics.TaskMetrics(
+            a.tasks() + b.tasks(),
+            a.steps() + b.steps(),
+            Math.max(a.maxStepsPerTask(), b.maxStepsPerTask()),
+            a.nanos() + b.nanos())));
+
+    final var resources = new HashMap<String, SimulationMetrics.ResourceMetrics>(profiles.size());
+    profiles.forEach((name, profile) -> {
+      final var tally = this.resources.getOrDefault(new ResourceId(name), new Tally());
+      resources.put(name, new SimulationMetrics.ResourceMetrics(
+          tally.count,
+          tally.nanos,
+          profile.segments(),
+          profile.coalesced()));
+    });
+
+    // A topic may be serialized under several names; count its events under the first.
+    final var topicNames = new HashMap<Topic<?>, String>();
+    for (final var topic : serializableTopics) topicNames.putIfAbsent(topic.topic(), topic.name());
+
+    final var eventsPerTopic = new HashMap<String, Long>();
+    this.topics.forEach((topic, tally) -> eventsPerTopic.merge(
+        topicNames.getOrDefault(topic, SimulationMetrics.ANONYMOUS_TOPIC),
+        tally.count,
+        Long::sum));
+
+    return new SimulationMetrics(
+        activityTypes,
+        resources,
+        new SimulationMetrics.ConditionMetrics(this.conditions.count, this.conditions.nanos),
+        new SimulationMetrics.CellMetrics(this.cellReads, this.cellCatchUps, this.pointsCaughtUp, this.longestCatchUp),
+        eventsPerTopic);
+  }
+
+  private static final class Tally {
+    private long count = 0;
+    private long nanos = 0;
+
+    public void add(final long nanos) {
+      this.count += 1;
+      this.nanos += nanos;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import java.util.Map;
+
+/**
+ * Counters and timings describing where a simulation spent its effort, as recorded by a {@link SimulationInstrumentation}.
+ *
+ * <p>
+ * All timings are wall-clock nanoseconds spent by the engine waiting on the model, and so include any time the
+ * model spent reading cells.
+ * </p>
+ *
+ * @param activityTypes The work done by the tasks of each activity type, by type name.
+ *   Tasks spawned by an activity are attributed to the nearest activity above them;
+ *   tasks not descended from any activity are attributed to {@link #NO_ACTIVITY}.
+ * @param resources The queries made of each profiled resource, and the profile they produced, by resource name.
+ * @param conditions The evaluations of conditions that tasks were waiting on.
+ * @param cells The reads of cells by tasks, resources and conditions, and the catch-ups those reads required.
+ * @param eventsPerTopic The number of events emitted on each topic, by topic name.
+ *   Events on topics with no serializable name are counted under {@link #ANONYMOUS_TOPIC}.
+ */
+public record SimulationMetrics(
+    Map<String, TaskMetrics> activityTypes,
+    Map<String, ResourceMetrics> resources,
+    ConditionMetrics conditions,
+    CellMetrics cells,
+    Map<String, Long> eventsPerTopic
+) {
+  public static final String NO_ACTIVITY = "(no activity)";
+  public static final String ANONYMOUS_TOPIC = "(anonymous)";
+
+  /**
+   * @param tasks The number of tasks that stepped at least once.
+   * @param steps The number of times any of those tasks were stepped.
+   * @param maxStepsPerTask The greatest number of times any one of those tasks was stepped.
+   * @param nanos The time spent stepping those tasks.
+   */
+  public record TaskMetrics(long tasks, long steps, long maxStepsPerTask, long nanos) {}
+
+  /**
+   * @param queries The number of times the resource was queried, including re-queries after its dependencies changed.
+   * @param nanos The time spent querying the resource.
+   * @param segments The number of segments in the resource's recorded profile.
+   * @param coalesced The number of queries which extended the segment before rather than starting a new one.
+   */
+  public record ResourceMetrics(long queries, long nanos, long segments, long coalesced) {}
+
+  /**
+   * @param evaluations The number of times any condition was evaluated, including re-evaluations after its
+   *   dependencies changed.
+   * @param nanos The time spent evaluating conditions.
+   */
+  public record ConditionMetrics(long evaluations, long nanos) {}
+
+  /**
+   * @param reads The number of reads of cells on the simulation timeline.
+   * @param catchUps The number of those reads that found the cell behind the timeline.
+   * @param pointsCaughtUp The number of timeline points applied to cells to bring them up to date.
+   * @param longestCatchUp The greatest number of timeline points applied in any one catch-up.
+   */
+  public record CellMetrics(long reads, long catchUps, long pointsCaughtUp, long longestCatchUp) {}
+}
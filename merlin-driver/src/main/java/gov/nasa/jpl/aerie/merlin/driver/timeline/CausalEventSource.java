@@ -36,9 +36,11 @@ public final class CausalEventSource implements EventSource {
     private int index = 0;
 
     @Override
-    public void stepUp(final Cell<?> cell) {
+    public int stepUp(final Cell<?> cell) {
+      final var count = size - this.index;
       cell.apply(points, this.index, size);
       this.index = size;
+      return count;
     }
   }
 }
@@ -39,6 +39,10 @@ public final class Cell<State> {
     this.inner.apply(this.state, events);
   }
 
+  public void apply(final FlatEventGraph events) {
+    this.inner.apply(this.state, events);
+  }
+
   public void apply(final Event event) {
     this.inner.apply(this.state, event);
   }
@@ -55,6 +59,10 @@ public final class Cell<State> {
     return this.inner.cellType.duplicate(this.state);
   }
 
+  public boolean isInterestedIn(final TopicIds.TopicSet topics) {
+    return this.inner.selector.matchesAny(topics);
+  }
+
   public boolean isInterestedIn(final Set<Topic<?>> topics) {
     return this.inner.selector.matchesAny(topics);
   }
@@ -75,11 +83,16 @@ public final class Cell<State> {
       if (effect$.isPresent()) this.cellType.apply(state, effect$.get());
     }
 
-    public void apply(final State state, final Event event) {
-      final var effect$ = this.selector.select(this.algebra, event);
+    public void apply(final State state, final FlatEventGraph events) {
+      final var effect$ = this.evaluator.evaluate(this.algebra, this.selector, events);
       if (effect$.isPresent()) this.cellType.apply(state, effect$.get());
     }
 
+    public void apply(final State state, final Event event) {
+      final var effect = this.selector.selectOrNull(this.algebra, event);
+      if (effect != null) this.cellType.apply(state, effect);
+    }
+
     public void apply(final State state, final Event[] events, int from, final int to) {
       while (from < to) apply(state, events[from++]);
     }
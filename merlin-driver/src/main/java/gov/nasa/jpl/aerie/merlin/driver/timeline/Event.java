@@ -25,6 +25,12 @@ public final class Event {
     return this.inner.extract(topic, transform);
   }
 
+  // Like `extract`, but represents a mismatched topic by `null`, so that no `Optional` need be allocated.
+  <EventType, Target>
+  Target extractOrNull(final Topic<EventType> topic, final Function<EventType, Target> transform) {
+    return this.inner.extractOrNull(topic, transform);
+  }
+
   public <EventType>
   Optional<EventType> extract(final Topic<EventType> topic) {
     return this.inner.extract(topic, $ -> $);
@@ -54,12 +60,19 @@ public final class Event {
     Optional<Target> extract(final Topic<Other> otherTopic, final Function<Other, Target> transform) {
       if (this.topic != otherTopic) return Optional.empty();
 
+      return Optional.of(this.extractOrNull(otherTopic, transform));
+    }
+
+    private <Other, Target>
+    Target extractOrNull(final Topic<Other> otherTopic, final Function<Other, Target> transform) {
+      if (this.topic != otherTopic) return null;
+
       // SAFETY: If `this.topic` and `otherTopic` are identical references, then their types are also equal.
       //  So `Topic<EventType> = Topic<Other>`, and since Java generics are injective families, `EventType = Other`.
       @SuppressWarnings("unchecked")
       final var event = (Other) this.event;
 
-      return Optional.of(transform.apply(event));
+      return transform.apply(event);
     }
   }
 }
@@ -6,4 +6,9 @@ import java.util.Optional;
 
 public interface EventGraphEvaluator {
   <Effect> Optional<Effect> evaluate(EffectTrait<Effect> trait, Selector<Effect> selector, EventGraph<Event> graph);
+
+  // Evaluators which walk the tree representation directly need not make use of the flattened form.
+  default <Effect> Optional<Effect> evaluate(EffectTrait<Effect> trait, Selector<Effect> selector, FlatEventGraph graph) {
+    return this.evaluate(trait, selector, graph.graph());
+  }
 }
@@ -4,6 +4,7 @@ public interface EventSource {
   Cursor cursor();
 
   interface Cursor {
-    void stepUp(Cell<?> cell);
+    /** Bring the given cell up to date with this source, returning the number of points applied to it. */
+    int stepUp(Cell<?> cell);
   }
 }
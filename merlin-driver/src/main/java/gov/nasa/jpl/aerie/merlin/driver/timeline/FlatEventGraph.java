@@ -0,0 +1,223 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, array-backed representation of an {@link EventGraph} over {@link Event}s.
+ *
+ * <p>
+ * The nodes of the tree are laid out in post-order, so that every subgraph occupies a contiguous range of operations
+ * ending at its root. The right child of a combinator at index <code>i</code> is the node at <code>i - 1</code>,
+ * and its left child is the node just before the start of the right child's range.
+ * </p>
+ *
+ * <p>
+ * Empty subgraphs are kept as leaves with no topics, so they are skipped like any other uninteresting subgraph.
+ * Every node also carries a bitmask over the distinct topics of this graph, covering every event in its subgraph.
+ * An evaluator can compare this mask against the set of topics it is interested in to skip whole subgraphs
+ * without visiting any of their events.
+ * </p>
+ *
+ * @see FlatEventGraphEvaluator
+ */
+public final class FlatEventGraph {
+  static final byte EMPTY = 0;
+  static final byte ATOM = 1;
+  static final byte SEQUENTIALLY = 2;
+  static final byte CONCURRENTLY = 3;
+
+  // Topics past the 63rd share the last bit of the mask, which is therefore only a conservative over-approximation.
+  private static final int MAX_TOPIC_BIT = Long.SIZE - 1;
+
+  private final EventGraph<Event> graph;
+
+  // Computed at most once, the first time it is needed. Any thread racing to compute it computes an identical layout.
+  private volatile Layout layout;
+
+  private FlatEventGraph(final EventGraph<Event> graph, final Layout layout) {
+    this.graph = graph;
+    this.layout = layout;
+  }
+
+  /** The arrays making up the flattened graph, indexed by position in the post-order walk. */
+  static final class Layout {
+    final byte[] ops;
+    final Event[] atoms;
+    final int[] parents;
+    final int[] starts;
+    final long[] masks;
+    final Topic<?>[] topics;
+    final int maxStackDepth;
+
+    private Layout(
+        final byte[] ops,
+        final Event[] atoms,
+        final int[] parents,
+        final int[] starts,
+        final long[] masks,
+        final Topic<?>[] topics,
+        final int maxStackDepth
+    ) {
+      this.ops = ops;
+      this.atoms = atoms;
+      this.parents = parents;
+      this.starts = starts;
+      this.masks = masks;
+      this.topics = topics;
+      this.maxStackDepth = maxStackDepth;
+    }
+  }
+
+  /**
+   * Flatten an event graph into its array-backed representation.
+   *
+   * @param graph The event graph to flatten.
+   * @return A flattened representation of the same event graph.
+   */
+  public static FlatEventGraph of(final EventGraph<Event> graph) {
+    return new FlatEventGraph(graph, layOut(graph));
+  }
+
+  /**
+   * Wrap an event graph so that it is flattened only once its flattened form is first needed.
+   *
+   * <p>
+   * Everything evaluating the returned graph shares the one flattened form, while anything only interested in the tree
+   * (such as an evaluator which walks it directly) never pays for flattening at all.
+   * </p>
+   *
+   * @param graph The event graph to flatten.
+   * @return A representation of the same event graph, flattened on first use.
+   */
+  public static FlatEventGraph deferred(final EventGraph<Event> graph) {
+    return new FlatEventGraph(graph, null);
+  }
+
+  private static Layout layOut(final EventGraph<Event> graph) {
+    // Visiting each node before its right subgraph and then its left subgraph yields the reverse of a post-order walk.
+    final var reversed = new ArrayList<EventGraph<Event>>();
+    final var reversedParents = new ArrayList<Integer>();
+    {
+      final var pending = new ArrayDeque<EventGraph<Event>>();
+      final var pendingParents = new ArrayDeque<Integer>();
+      pending.push(graph);
+      pendingParents.push(-1);
+
+      while (!pending.isEmpty()) {
+        final var node = pending.pop();
+        final int parent = pendingParents.pop();
+
+        final var index = reversed.size();
+        reversed.add(node);
+        reversedParents.add(parent);
+
+        if (node instanceof EventGraph.Sequentially<Event> g) {
+          pending.push(g.prefix());
+          pendingParents.push(index);
+          pending.push(g.suffix());
+          pendingParents.push(index);
+        } else if (node instanceof EventGraph.Concurrently<Event> g) {
+          pending.push(g.left());
+          pendingParents.push(index);
+          pending.push(g.right());
+          pendingParents.push(index);
+        }
+      }
+    }
+
+    final var size = reversed.size();
+    final var ops = new byte[size];
+    final var atoms = new Event[size];
+    final var parents = new int[size];
+    final var starts = new int[size];
+    final var masks = new long[size];
+
+    final var topicIndices = new IdentityHashMap<Topic<?>, Integer>();
+    final var topics = new ArrayList<Topic<?>>();
+
+    var depth = 0;
+    var maxStackDepth = 0;
+    for (var i = 0; i < size; i += 1) {
+      final var node = reversed.get(size - 1 - i);
+      final int parent = reversedParents.get(size - 1 - i);
+      parents[i] = (parent < 0) ? -1 : size - 1 - parent;
+
+      if (node instanceof EventGraph.Empty) {
+        ops[i] = EMPTY;
+        starts[i] = i;
+        masks[i] = 0L;
+
+        depth += 1;
+        maxStackDepth = Math.max(maxStackDepth, depth);
+      } else if (node instanceof EventGraph.Atom<Event> g) {
+        ops[i] = ATOM;
+        atoms[i] = g.atom();
+        starts[i] = i;
+        masks[i] = 1L << Math.min(MAX_TOPIC_BIT, indexOf(topicIndices, topics, g.atom().topic()));
+
+        depth += 1;
+        maxStackDepth = Math.max(maxStackDepth, depth);
+      } else {
+        ops[i] = (node instanceof EventGraph.Sequentially) ? SEQUENTIALLY : CONCURRENTLY;
+        final var left = starts[i - 1] - 1;
+        starts[i] = starts[left];
+        masks[i] = masks[left] | masks[i - 1];
+
+        depth -= 1;
+      }
+    }
+
+    return new Layout(
+        ops,
+        atoms,
+        parents,
+        starts,
+        masks,
+        topics.toArray(new Topic<?>[0]),
+        maxStackDepth);
+  }
+
+  /** The tree-shaped event graph this representation was flattened from. */
+  public EventGraph<Event> graph() {
+    return this.graph;
+  }
+
+  /** The distinct topics of the events in this graph. */
+  public List<Topic<?>> topics() {
+    return List.of(this.layout().topics);
+  }
+
+  /** Determine whether this graph contains no events at all. */
+  public boolean isEmpty() {
+    return (this.layout().topics.length == 0);
+  }
+
+  /** The flattened form of this graph, flattening it now if that has not been done yet. */
+  Layout layout() {
+    var layout = this.layout;
+    if (layout == null) this.layout = layout = layOut(this.graph);
+    return layout;
+  }
+
+  /** Compute the mask of topics in this graph which the given selector has some interest in. */
+  static long interestMask(final Layout layout, final Selector<?> selector) {
+    var mask = 0L;
+    for (var i = 0; i < layout.topics.length; i += 1) {
+      if (selector.matches(layout.topics[i])) mask |= 1L << Math.min(MAX_TOPIC_BIT, i);
+    }
+    return mask;
+  }
+
+  private static int indexOf(final Map<Topic<?>, Integer> indices, final List<Topic<?>> topics, final Topic<?> topic) {
+    return indices.computeIfAbsent(topic, $ -> {
+      topics.add($);
+      return topics.size() - 1;
+    });
+  }
+}
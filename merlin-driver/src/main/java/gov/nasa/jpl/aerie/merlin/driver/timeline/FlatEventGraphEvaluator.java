@@ -0,0 +1,82 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+
+import java.util.Optional;
+
+/**
+ * Evaluates event graphs over their {@link FlatEventGraph} representation.
+ *
+ * <p>
+ * The post-order layout lets us evaluate a graph with a single forward pass over its operations and one value stack
+ * per evaluation, rather than a continuation or intermediate {@link Optional} per node. Subgraphs containing no
+ * topics of interest to the selector are skipped wholesale.
+ * </p>
+ *
+ * <p>
+ * A graph given in tree form is flattened anew on every evaluation. Anything evaluating one graph for many cells
+ * should flatten it once (see {@link FlatEventGraph#deferred}) and hand every cell that same flattened graph.
+ * </p>
+ */
+public final class FlatEventGraphEvaluator implements EventGraphEvaluator {
+  @Override
+  public <Effect> Optional<Effect>
+  evaluate(final EffectTrait<Effect> trait, final Selector<Effect> selector, final EventGraph<Event> graph) {
+    return evaluate(trait, selector, FlatEventGraph.of(graph));
+  }
+
+  @Override
+  public <Effect> Optional<Effect>
+  evaluate(final EffectTrait<Effect> trait, final Selector<Effect> selector, final FlatEventGraph graph) {
+    final var layout = graph.layout();
+    final var interest = FlatEventGraph.interestMask(layout, selector);
+    if (interest == 0) return Optional.empty();
+
+    final var ops = layout.ops;
+    final var masks = layout.masks;
+    final var starts = layout.starts;
+    final var parents = layout.parents;
+
+    // An absent effect is represented on the stack by `null`.
+    @SuppressWarnings("unchecked")
+    final var stack = (Effect[]) new Object[layout.maxStackDepth];
+    var depth = 0;
+
+    var i = 0;
+    while (i < ops.length) {
+      switch (ops[i]) {
+        case FlatEventGraph.EMPTY, FlatEventGraph.ATOM -> {
+          // Every subgraph begins with a leaf, so this is the only place we can skip ahead.
+          // Find the largest subgraph starting here which has nothing of interest to us.
+          var root = i;
+          if ((masks[i] & interest) == 0) {
+            while (parents[root] >= 0 && starts[parents[root]] == i && (masks[parents[root]] & interest) == 0) {
+              root = parents[root];
+            }
+            stack[depth++] = null;
+          } else {
+            stack[depth++] = selector.selectOrNull(trait, layout.atoms[i]);
+          }
+          i = root + 1;
+        }
+        case FlatEventGraph.SEQUENTIALLY -> {
+          final var suffix = stack[--depth];
+          final var prefix = stack[depth - 1];
+          if (prefix == null) stack[depth - 1] = suffix;
+          else if (suffix != null) stack[depth - 1] = trait.sequentially(prefix, suffix);
+          i += 1;
+        }
+        case FlatEventGraph.CONCURRENTLY -> {
+          final var right = stack[--depth];
+          final var left = stack[depth - 1];
+          if (left == null) stack[depth - 1] = right;
+          else if (right != null) stack[depth - 1] = trait.concurrently(left, right);
+          i += 1;
+        }
+        default -> throw new IllegalStateException();
+      }
+    }
+
+    return Optional.ofNullable(stack[0]);
+  }
+}
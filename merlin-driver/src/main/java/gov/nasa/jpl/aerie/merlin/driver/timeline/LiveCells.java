@@ -3,8 +3,10 @@ package gov.nasa.jpl.aerie.merlin.driver.timeline;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public final class LiveCells {
   // INVARIANT: Every Query<T> maps to a LiveCell<T>; that is, the type parameters are correlated.
@@ -30,6 +32,13 @@ public final class LiveCells {
     return getCell(query).flatMap(Cell::getExpiry);
   }
 
+  /** Get the queries of every cell available here, whether held here or by an ancestor. */
+  public Set<Query<?>> getQueries() {
+    final var queries = (this.parent != null) ? this.parent.getQueries() : new HashSet<Query<?>>();
+    queries.addAll(this.cells.keySet());
+    return queries;
+  }
+
   public <State> void put(final Query<State> query, final Cell<State> cell) {
     // SAFETY: The query and cell share the same State type parameter.
     this.cells.put(query, new LiveCell<>(cell, this.source.cursor()));
@@ -3,36 +3,76 @@ package gov.nasa.jpl.aerie.merlin.driver.timeline;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Function;
 
-public record Selector<Effect>(SelectorRow<?, Effect>... rows) {
+public final class Selector<Effect> {
+  private final SelectorRow<?, Effect>[] rows;
+
+  // The identifiers of the topics this selector is interested in, if they have been assigned any.
+  private final TopicIds ids;
+  private final long[] interest;
+
   @SafeVarargs
-  public Selector {}
+  public Selector(final SelectorRow<?, Effect>... rows) {
+    this.rows = rows;
+    this.ids = null;
+    this.interest = null;
+  }
 
   public <EventType> Selector(final Topic<EventType> topic, final Function<EventType, Effect> transform) {
     this(new SelectorRow<>(topic, transform));
   }
 
+  private Selector(final TopicIds ids, final SelectorRow<?, Effect>[] rows) {
+    var interest = new long[1];
+    for (final var row : rows) interest = TopicIds.set(interest, ids.assign(row.topic));
+
+    this.rows = rows;
+    this.ids = ids;
+    this.interest = interest;
+  }
+
+  /** Create a selector whose topics of interest are identified by the given topic identifiers. */
+  public static <EventType, Effect>
+  Selector<Effect> of(final TopicIds ids, final Topic<EventType> topic, final Function<EventType, Effect> transform) {
+    @SuppressWarnings("unchecked")
+    final SelectorRow<?, Effect>[] rows = new SelectorRow[] { new SelectorRow<>(topic, transform) };
+    return new Selector<>(ids, rows);
+  }
+
+  public SelectorRow<?, Effect>[] rows() {
+    return this.rows;
+  }
+
   public Optional<Effect> select(final EffectTrait<Effect> trait, final Event event) {
+    return Optional.ofNullable(this.selectOrNull(trait, event));
+  }
+
+  // Like `select`, but represents the absence of an effect by `null`, so that no `Optional` need be allocated.
+  Effect selectOrNull(final EffectTrait<Effect> trait, final Event event) {
     // Bail out as fast as possible if we're in a trivial (and incredibly common) case.
-    if (this.rows.length == 1) return this.rows[0].select(event);
-    else if (this.rows.length == 0) return Optional.empty();
+    if (this.rows.length == 1) return this.rows[0].selectOrNull(event);
 
-    var iter = 0;
-    var accumulator = this.rows[iter++].select(event);
-    while (iter < this.rows.length) {
-      final var effect = this.rows[iter++].select(event);
+    Effect accumulator = null;
+    for (final var row : this.rows) {
+      final var effect = row.selectOrNull(event);
 
-      if (effect.isEmpty()) continue;
-      else if (accumulator.isEmpty()) accumulator = effect;
-      else accumulator = Optional.of(trait.concurrently(accumulator.get(), effect.get()));
+      if (effect == null) continue;
+      else if (accumulator == null) accumulator = effect;
+      else accumulator = trait.concurrently(accumulator, effect);
     }
 
     return accumulator;
   }
 
+  public boolean matchesAny(final TopicIds.TopicSet topics) {
+    if (this.ids == topics.ids()) return TopicIds.intersects(this.interest, topics.mask());
+    else return this.matchesAny(topics.topics());
+  }
+
   public boolean matchesAny(final Collection<Topic<?>> topics) {
     // Bail out as fast as possible if we're in a trivial (and incredibly common) case.
     if (this.rows.length == 1) return topics.contains(this.rows[0].topic());
@@ -43,9 +83,37 @@ public record Selector<Effect>(SelectorRow<?, Effect>... rows) {
     return false;
   }
 
+  public boolean matches(final Topic<?> topic) {
+    for (final var row : this.rows) {
+      if (row.topic == topic) return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (!(o instanceof Selector<?> other)) return false;
+    return Arrays.equals(this.rows, other.rows);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(this.rows);
+  }
+
+  @Override
+  public String toString() {
+    return "Selector" + Arrays.toString(this.rows);
+  }
+
   public record SelectorRow<EventType, Effect>(Topic<EventType> topic, Function<EventType, Effect> transform) {
     public Optional<Effect> select(final Event event$) {
-      return event$.extract(this.topic, this.transform);
+      return Optional.ofNullable(this.selectOrNull(event$));
+    }
+
+    Effect selectOrNull(final Event event$) {
+      return event$.extractOrNull(this.topic, this.transform);
     }
   }
 }
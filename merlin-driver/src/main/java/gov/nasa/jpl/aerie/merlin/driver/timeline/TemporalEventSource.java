@@ -6,11 +6,14 @@ import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
-public record TemporalEventSource(SlabList<TimePoint> points) implements EventSource, Iterable<TemporalEventSource.TimePoint> {
-  public TemporalEventSource() {
-    this(new SlabList<>());
+public record TemporalEventSource(SlabList<TimePoint> points, TopicIds topicIds)
+    implements EventSource, Iterable<TemporalEventSource.TimePoint>
+{
+  public TemporalEventSource(final TopicIds topicIds) {
+    this(new SlabList<>(), topicIds);
   }
 
   public void add(final Duration delta) {
@@ -20,7 +23,11 @@ public record TemporalEventSource(SlabList<TimePoint> points) implements EventSo
 
   public void add(final EventGraph<Event> graph) {
     if (graph instanceof EventGraph.Empty) return;
-    this.points.append(new TimePoint.Commit(graph, extractTopics(graph)));
+    // Every cell interested in this commit evaluates the same flattened form, which is only built if one of them needs it.
+    this.points.append(new TimePoint.Commit(
+        graph,
+        this.topicIds.setOf(extractTopics(graph)),
+        FlatEventGraph.deferred(graph)));
   }
 
   @Override
@@ -39,27 +46,28 @@ public record TemporalEventSource(SlabList<TimePoint> points) implements EventSo
     private TemporalCursor() {}
 
     @Override
-    public void stepUp(final Cell<?> cell) {
+    public int stepUp(final Cell<?> cell) {
+      var points = 0;
       while (this.iterator.hasNext()) {
         final var point = this.iterator.next();
+        points += 1;
 
         if (point instanceof TimePoint.Delta p) {
           cell.step(p.delta());
         } else if (point instanceof TimePoint.Commit p) {
-          if (cell.isInterestedIn(p.topics())) cell.apply(p.events());
+          if (cell.isInterestedIn(p.topics())) cell.apply(p.flattened());
         } else {
           throw new IllegalStateException();
         }
       }
+      return points;
     }
   }
 
-
-  private static Set<Topic<?>> extractTopics(final EventGraph<Event> graph) {
+  private static List<Topic<?>> extractTopics(final EventGraph<Event> graph) {
     final var set = new ReferenceOpenHashSet<Topic<?>>();
     extractTopics(set, graph);
-    set.trim();
-    return set;
+    return List.copyOf(set);
   }
 
   private static void extractTopics(final Set<Topic<?>> accumulator, EventGraph<Event> graph) {
@@ -84,6 +92,6 @@ public record TemporalEventSource(SlabList<TimePoint> points) implements EventSo
 
   public sealed interface TimePoint {
     record Delta(Duration delta) implements TimePoint {}
-    record Commit(EventGraph<Event> events, Set<Topic<?>> topics) implements TimePoint {}
+    record Commit(EventGraph<Event> events, TopicIds.TopicSet topics, FlatEventGraph flattened) implements TimePoint {}
   }
 }
@@ -0,0 +1,72 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assigns small, dense integer identifiers to topics, so that sets of topics can be represented as bitsets.
+ *
+ * <p>
+ * Identifiers are assigned as cells are allocated against a mission model, so every topic that some cell
+ * is interested in has an identifier. Topics without an identifier are of no interest to any cell.
+ * </p>
+ */
+public final class TopicIds {
+  private static final int NO_ID = -1;
+
+  private final Reference2IntOpenHashMap<Topic<?>> ids = new Reference2IntOpenHashMap<>();
+
+  public TopicIds() {
+    this.ids.defaultReturnValue(NO_ID);
+  }
+
+  /** Get the identifier of the given topic, assigning a fresh one if it has none yet. */
+  public int assign(final Topic<?> topic) {
+    final var id = this.ids.getInt(topic);
+    if (id != NO_ID) return id;
+
+    final var fresh = this.ids.size();
+    this.ids.put(topic, fresh);
+    return fresh;
+  }
+
+  /** Build the set of topics among the given ones that have been assigned an identifier. */
+  public TopicSet setOf(final List<Topic<?>> topics) {
+    var mask = new long[1];
+    for (final var topic : topics) {
+      final var id = this.ids.getInt(topic);
+      if (id == NO_ID) continue;
+
+      mask = set(mask, id);
+    }
+    return new TopicSet(this, mask, topics);
+  }
+
+  static long[] set(long[] mask, final int id) {
+    final var word = id >>> 6;
+    if (word >= mask.length) mask = Arrays.copyOf(mask, word + 1);
+    mask[word] |= 1L << id;
+    return mask;
+  }
+
+  static boolean intersects(final long[] a, final long[] b) {
+    // Bail out as fast as possible if we're in a trivial (and incredibly common) case.
+    if ((a[0] & b[0]) != 0) return true;
+
+    final var length = Math.min(a.length, b.length);
+    for (var i = 1; i < length; i += 1) {
+      if ((a[i] & b[i]) != 0) return true;
+    }
+    return false;
+  }
+
+  /**
+   * A set of topics, represented as a bitset over the identifiers assigned by a particular {@link TopicIds}.
+   *
+   * The topics themselves are retained for the benefit of selectors whose topics were never assigned identifiers.
+   */
+  public record TopicSet(TopicIds ids, long[] mask, List<Topic<?>> topics) {}
+}
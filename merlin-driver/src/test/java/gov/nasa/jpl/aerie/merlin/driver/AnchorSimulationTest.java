@@ -289,6 +289,38 @@ public final class AnchorSimulationTest {
       assertEquals(new ActivityDirectiveId(12001), oddReduced.get(null).get(12000).getLeft());
     }
 
+    @Test
+    @DisplayName("Directives added to a plan are reduced against the directives already in it")
+    public void startOffsetReducerAddedDirectives() {
+      final var plan = new HashMap<ActivityDirectiveId, ActivityDirective>(5);
+      plan.put(
+          new ActivityDirectiveId(1),
+          new ActivityDirective(Duration.of(1, Duration.SECONDS), serializedActivity, null, true));
+      plan.put(
+          new ActivityDirectiveId(2),
+          new ActivityDirective(Duration.of(2, Duration.SECONDS), serializedActivity, new ActivityDirectiveId(1), true));
+      plan.put(
+          new ActivityDirectiveId(3),
+          new ActivityDirective(Duration.of(3, Duration.SECONDS), serializedActivity, new ActivityDirectiveId(2), false));
+
+      final var added = Map.of(
+          new ActivityDirectiveId(4),
+          new ActivityDirective(Duration.of(4, Duration.SECONDS), serializedActivity, new ActivityDirectiveId(2), true),
+          new ActivityDirectiveId(5),
+          new ActivityDirective(Duration.of(5, Duration.SECONDS), serializedActivity, new ActivityDirectiveId(3), true));
+      plan.putAll(added);
+
+      final var reducedOffsets = new StartOffsetReducer(tenDays, added, plan).compute();
+
+      assertEquals(2, reducedOffsets.size());
+      assertEquals(
+          List.of(Pair.of(new ActivityDirectiveId(4), Duration.of(7, Duration.SECONDS))),
+          reducedOffsets.get(null));
+      assertEquals(
+          List.of(Pair.of(new ActivityDirectiveId(5), Duration.of(8, Duration.SECONDS))),
+          reducedOffsets.get(new ActivityDirectiveId(2)));
+    }
+
     @Test
     @DisplayName("adjustStartOffset() adjusts start time correctly")
     public void adjustStartOffsetTest() {
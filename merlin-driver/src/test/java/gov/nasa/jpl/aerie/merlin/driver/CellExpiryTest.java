@@ -1,6 +1,7 @@
 package gov.nasa.jpl.aerie.merlin.driver;
 
 import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationInstrumentation;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
 import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
@@ -17,47 +18,79 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.MILLISECONDS;
 import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.duration;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class CellExpiryTest {
   @Test
   @DisplayName("Resource profiles are re-queried by the upstream cells' expiry time")
   public void testResourceProfilingByExpiry() {
-    final var model = makeModel("/key", "value", MILLISECONDS.times(500));
+    final var queries = new AtomicInteger();
+    final var model = makeModel("/key", "value", MILLISECONDS.times(500), queries);
 
     final var now = Instant.now();
     final var results = SimulationDriver.simulate(model, Map.of(), now, Duration.SECONDS.times(5), now, Duration.SECONDS.times(5));
 
     final var actual = results.discreteProfiles.get("/key").getRight();
 
+    // The resource is queried once initially and once per expiry, but it never changes,
+    // so every re-query extends the same segment.
     final var expected = List.of(
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
+        new ProfileSegment<>(duration(5000, MILLISECONDS), SerializedValue.of("value")));
 
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
+    assertEquals(expected, actual);
+    assertEquals(11, queries.get());
+  }
 
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
+  @Test
+  @DisplayName("Resources which are not selected are neither queried nor profiled")
+  public void testUnselectedResourcesAreNotProfiled() {
+    final var queries = new AtomicInteger();
+    final var model = makeModel("/key", "value", MILLISECONDS.times(500), queries);
 
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
+    final var now = Instant.now();
+    final var results = SimulationDriver.simulate(model, Map.of(), now, Duration.SECONDS.times(5), now, Duration.SECONDS.times(5), $ -> false);
 
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
-        new ProfileSegment<>(duration(500, MILLISECONDS), SerializedValue.of("value")),
+    assertEquals(Map.of(), results.discreteProfiles);
+    assertEquals(0, queries.get());
+  }
 
-        new ProfileSegment<>(Duration.ZERO, SerializedValue.of("value")));
+  @Test
+  @DisplayName("Instrumented simulations count every re-query of a resource and every read of its cells")
+  public void testResourceQueriesAreInstrumented() {
+    final var queries = new AtomicInteger();
+    final var model = makeModel("/key", "value", MILLISECONDS.times(500), queries);
 
-    assertEquals(expected, actual);
+    final var now = Instant.now();
+    final var results = SimulationDriver.simulate(
+        model,
+        Map.of(),
+        now,
+        Duration.SECONDS.times(5),
+        now,
+        Duration.SECONDS.times(5),
+        $ -> true,
+        Optional.of(new SimulationInstrumentation()));
+
+    final var metrics = results.metrics.orElseThrow();
+    assertEquals(queries.get(), metrics.resources().get("/key").queries());
+
+    // Every query reads the cell once, and every re-query finds it behind by the time that has passed.
+    final var cells = metrics.cells();
+    assertEquals(queries.get(), cells.reads());
+    assertEquals(queries.get() - 1, cells.catchUps());
+    assertTrue(cells.longestCatchUp() >= 1);
   }
 
   private MissionModel<?> makeModel(
       final String resourceName,
       final String resourceValue,
-      final Duration expiry
+      final Duration expiry,
+      final AtomicInteger queries
   ) {
     final var initializer = new MissionModelBuilder();
 
@@ -134,6 +167,7 @@ public final class CellExpiryTest {
       public String getDynamics(final Querier querier) {
         // Color this resource with the expiry of the cell.
         querier.getState(ref);
+        queries.incrementAndGet();
         return resourceValue;
       }
     };
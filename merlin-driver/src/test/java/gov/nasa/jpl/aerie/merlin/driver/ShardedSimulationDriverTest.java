@@ -0,0 +1,299 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import gov.nasa.jpl.aerie.merlin.protocol.model.CellType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.DirectiveType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.EffectTrait;
+import gov.nasa.jpl.aerie.merlin.protocol.model.InputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.RealResource;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
+import gov.nasa.jpl.aerie.merlin.protocol.model.TaskFactory;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.TaskStatus;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Unit;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static gov.nasa.jpl.aerie.merlin.driver.AnchorSimulationTest.AnchorsSimulationDriverTests.AnchorTestModel;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class ShardedSimulationDriverTest {
+  private final Instant planStart = Instant.parse("2023-01-01T00:00:00Z");
+  private final Duration oneHour = Duration.of(1, Duration.HOURS);
+  private final Duration horizon = Duration.of(6, Duration.HOURS);
+
+  private final SerializedActivity decomposing = new SerializedActivity("DecomposingActivityDirective", Map.of());
+  private final SerializedActivity delay = new SerializedActivity("DelayActivityDirective", Map.of());
+
+  @Test
+  @DisplayName("Sharded simulation agrees with serial simulation")
+  public void testShardsAgreeWithSerialSimulation() {
+    final var plan = Map.of(
+        new ActivityDirectiveId(1), new ActivityDirective(Duration.ZERO, decomposing, null, true),
+        new ActivityDirectiveId(2), new ActivityDirective(Duration.of(30, Duration.MINUTES), delay, null, true),
+        // Still running when the shard it starts in ends.
+        new ActivityDirectiveId(3), new ActivityDirective(Duration.of(119, Duration.MINUTES), decomposing, null, true),
+        new ActivityDirectiveId(4), new ActivityDirective(Duration.of(5, Duration.HOURS), delay, null, true));
+
+    assertSameResults(AnchorTestModel, plan);
+  }
+
+  @Test
+  @DisplayName("Directives anchored across shard boundaries start where they would in a serial simulation")
+  public void testAnchorsAcrossShards() {
+    final var plan = Map.of(
+        new ActivityDirectiveId(1), new ActivityDirective(Duration.of(50, Duration.MINUTES), decomposing, null, true),
+        new ActivityDirectiveId(2), new ActivityDirective(Duration.of(20, Duration.MINUTES), delay, new ActivityDirectiveId(1), false),
+        new ActivityDirectiveId(3), new ActivityDirective(Duration.of(2, Duration.HOURS), delay, new ActivityDirectiveId(2), true));
+
+    assertSameResults(AnchorTestModel, plan);
+  }
+
+  @Test
+  @DisplayName("Resources changing across shard boundaries are profiled as in a serial simulation")
+  public void testProfilesAcrossShards() {
+    final var fill = new SerializedActivity("Fill", Map.of());
+    final var plan = Map.of(
+        // Still filling when the first shard ends, so the second shard's prediction fails.
+        new ActivityDirectiveId(1), new ActivityDirective(Duration.of(50, Duration.MINUTES), fill, null, true),
+        // Entirely within a shard which is kept.
+        new ActivityDirectiveId(2), new ActivityDirective(Duration.of(130, Duration.MINUTES), fill, null, true),
+        // Overlapping fills, starting right where a shard begins.
+        new ActivityDirectiveId(3), new ActivityDirective(Duration.of(4, Duration.HOURS), fill, null, true),
+        new ActivityDirectiveId(4), new ActivityDirective(Duration.of(250, Duration.MINUTES), fill, null, true));
+
+    final var results = assertSameResults(TankModel, plan);
+
+    // Make sure the profiles compared were not trivial.
+    assertEquals(13, results.realProfiles.get("/level").getRight().size());
+    assertEquals(13, results.discreteProfiles.get("/rate").getRight().size());
+  }
+
+  private SimulationResults assertSameResults(
+      final MissionModel<?> model,
+      final Map<ActivityDirectiveId, ActivityDirective> plan
+  ) {
+    final var expected = SimulationDriver.simulate(model, plan, planStart, horizon, planStart, horizon);
+    final var actual = ShardedSimulationDriver.simulate(model, plan, planStart, horizon, planStart, horizon, oneHour, 4);
+
+    // Activities not planned by a directive may be numbered differently, so compare them by what they did.
+    assertEquals(describe(expected.simulatedActivities.values()), describe(actual.simulatedActivities.values()));
+    assertEquals(expected.simulatedActivities.size(), actual.simulatedActivities.size());
+    for (final var id : plan.keySet()) {
+      final var simulatedId = new SimulatedActivityId(id.id());
+      assertEquals(
+          expected.simulatedActivities.get(simulatedId).start(),
+          actual.simulatedActivities.get(simulatedId).start());
+    }
+
+    assertEquals(expected.events, actual.events);
+    assertEquals(expected.duration, actual.duration);
+    assertEquals(expected.realProfiles, actual.realProfiles);
+    assertEquals(expected.discreteProfiles, actual.discreteProfiles);
+
+    return expected;
+  }
+
+  private static List<String> describe(final Collection<SimulatedActivity> activities) {
+    final var descriptions = new ArrayList<String>();
+    for (final var activity : activities) {
+      descriptions.add("%s at %s for %s with %d children".formatted(
+          activity.type(),
+          activity.start(),
+          activity.duration(),
+          activity.childIds().size()));
+    }
+    descriptions.sort(String::compareTo);
+    return descriptions;
+  }
+
+  //region Tank Model
+  /** A tank whose level changes at its current rate of flow. */
+  private static final class Tank {
+    private double level;
+    private double rate;
+
+    public Tank(final double level, final double rate) {
+      this.level = level;
+      this.rate = rate;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Tank other)) return false;
+
+      return (this.level == other.level) && (this.rate == other.rate);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.level, this.rate);
+    }
+  }
+
+  /** Changes to the rate of flow into the tank. */
+  private static final Topic<Double> flowTopic = new Topic<>();
+  private static final Topic<Unit> fillInputTopic = new Topic<>();
+  private static final Topic<Unit> fillOutputTopic = new Topic<>();
+
+  private static final CellType<Double, Tank> tankCellType = new CellType<>() {
+    @Override
+    public EffectTrait<Double> getEffectType() {
+      return new EffectTrait<>() {
+        @Override
+        public Double empty() {
+          return 0.0;
+        }
+
+        @Override
+        public Double sequentially(final Double prefix, final Double suffix) {
+          return prefix + suffix;
+        }
+
+        @Override
+        public Double concurrently(final Double left, final Double right) {
+          return left + right;
+        }
+      };
+    }
+
+    @Override
+    public Tank duplicate(final Tank tank) {
+      return new Tank(tank.level, tank.rate);
+    }
+
+    @Override
+    public void apply(final Tank tank, final Double change) {
+      tank.rate += change;
+    }
+
+    @Override
+    public void step(final Tank tank, final Duration duration) {
+      tank.level += tank.rate * duration.ratioOver(Duration.SECONDS);
+    }
+  };
+
+  private static final InputType<Unit> unitInputType = new InputType<>() {
+    @Override
+    public List<Parameter> getParameters() {
+      return List.of();
+    }
+
+    @Override
+    public List<String> getRequiredParameters() {
+      return List.of();
+    }
+
+    @Override
+    public Unit instantiate(final Map<String, SerializedValue> arguments) {
+      return Unit.UNIT;
+    }
+
+    @Override
+    public Map<String, SerializedValue> getArguments(final Unit value) {
+      return Map.of();
+    }
+
+    @Override
+    public List<ValidationNotice> getValidationFailures(final Unit value) {
+      return List.of();
+    }
+  };
+
+  private static final OutputType<Unit> unitOutputType = new OutputType<>() {
+    @Override
+    public ValueSchema getSchema() {
+      return ValueSchema.ofStruct(Map.of());
+    }
+
+    @Override
+    public SerializedValue serialize(final Unit value) {
+      return SerializedValue.of(Map.of());
+    }
+  };
+
+  /** Fills the tank for twenty minutes, then drains it back to where it was over the next twenty. */
+  private static final DirectiveType<Object, Unit, Unit> fillDirective = new DirectiveType<>() {
+    @Override
+    public InputType<Unit> getInputType() {
+      return unitInputType;
+    }
+
+    @Override
+    public OutputType<Unit> getOutputType() {
+      return unitOutputType;
+    }
+
+    @Override
+    public TaskFactory<Unit> getTaskFactory(final Object model, final Unit arguments) {
+      return executor -> $ -> {
+        $.emit(arguments, fillInputTopic);
+        $.emit(1.0, flowTopic);
+        return TaskStatus.delayed(Duration.of(20, Duration.MINUTES), $$ -> {
+          $$.emit(-2.0, flowTopic);
+          return TaskStatus.delayed(Duration.of(20, Duration.MINUTES), $$$ -> {
+            $$$.emit(1.0, flowTopic);
+            $$$.emit(Unit.UNIT, fillOutputTopic);
+            return TaskStatus.completed(Unit.UNIT);
+          });
+        });
+      };
+    }
+  };
+
+  /*package-local*/ static final MissionModel<Object> TankModel = makeTankModel();
+
+  private static MissionModel<Object> makeTankModel() {
+    final var builder = new MissionModelBuilder();
+    final var tank = builder.allocate(new Tank(0.0, 0.0), tankCellType, $ -> $, flowTopic);
+    builder.topic("ActivityType.Input.Fill", fillInputTopic, unitOutputType);
+    builder.topic("ActivityType.Output.Fill", fillOutputTopic, unitOutputType);
+
+    builder.resource("/level", (RealResource) querier -> {
+      final var state = querier.getState(tank);
+      return RealDynamics.linear(state.level, state.rate);
+    });
+    builder.resource("/rate", new Resource<Double>() {
+      @Override
+      public String getType() {
+        return "discrete";
+      }
+
+      @Override
+      public OutputType<Double> getOutputType() {
+        return new OutputType<>() {
+          @Override
+          public ValueSchema getSchema() {
+            return ValueSchema.REAL;
+          }
+
+          @Override
+          public SerializedValue serialize(final Double value) {
+            return SerializedValue.of(value);
+          }
+        };
+      }
+
+      @Override
+      public Double getDynamics(final Querier querier) {
+        return querier.getState(tank).rate;
+      }
+    });
+
+    return builder.build(new Object(), new DirectiveTypeRegistry<>(Map.of("Fill", fillDirective)));
+  }
+  //endregion
+}
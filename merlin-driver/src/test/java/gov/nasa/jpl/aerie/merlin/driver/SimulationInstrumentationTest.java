@@ -0,0 +1,158 @@
+package gov.nasa.jpl.aerie.merlin.driver;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationInstrumentation;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationMetrics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+
+import static gov.nasa.jpl.aerie.merlin.driver.AnchorSimulationTest.AnchorsSimulationDriverTests.AnchorTestModel;
+import static gov.nasa.jpl.aerie.merlin.driver.ShardedSimulationDriverTest.TankModel;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SimulationInstrumentationTest {
+  private final Instant planStart = Instant.parse("2023-01-01T00:00:00Z");
+  private final Duration oneDay = Duration.of(24, Duration.HOURS);
+
+  // A decomposing activity spawns two delay activities, each of which is stepped twice.
+  private final Map<ActivityDirectiveId, ActivityDirective> plan = Map.of(
+      new ActivityDirectiveId(1),
+      new ActivityDirective(
+          Duration.ZERO,
+          new SerializedActivity("DecomposingActivityDirective", Map.of()),
+          null,
+          true));
+
+  @Test
+  @DisplayName("Uninstrumented simulations report no metrics")
+  public void testUninstrumentedSimulation() {
+    final var results = SimulationDriver.simulate(AnchorTestModel, plan, planStart, oneDay, planStart, oneDay);
+
+    assertEquals(Optional.empty(), results.metrics);
+  }
+
+  @Test
+  @DisplayName("Task steps are attributed to the nearest enclosing activity")
+  public void testTaskAttribution() {
+    final var metrics = simulate().activityTypes();
+
+    final var decomposing = metrics.get("DecomposingActivityDirective");
+    assertEquals(1, decomposing.tasks());
+    assertEquals(3, decomposing.steps());
+    assertEquals(3, decomposing.maxStepsPerTask());
+
+    final var delay = metrics.get("DelayActivityDirective");
+    assertEquals(2, delay.tasks());
+    assertEquals(4, delay.steps());
+    assertEquals(2, delay.maxStepsPerTask());
+
+    // The daemon task, and the task waiting on the directive, belong to no activity.
+    final var other = metrics.get(SimulationMetrics.NO_ACTIVITY);
+    assertEquals(2, other.tasks());
+    assertEquals(3, other.steps());
+
+    assertEquals(3, metrics.size());
+  }
+
+  @Test
+  @DisplayName("Events are counted by the name of their topic")
+  public void testEventCounts() {
+    final var metrics = simulate();
+
+    assertEquals(
+        Map.of(
+            "ActivityType.Input.DecomposingActivityDirective", 1L,
+            "ActivityType.Output.DecomposingActivityDirective", 1L,
+            "ActivityType.Input.DelayActivityDirective", 2L,
+            "ActivityType.Output.DelayActivityDirective", 2L,
+            // The directive ID emitted for the planned activity.
+            SimulationMetrics.ANONYMOUS_TOPIC, 1L),
+        metrics.eventsPerTopic());
+    assertTrue(metrics.resources().isEmpty());
+  }
+
+  @Test
+  @DisplayName("Resources are summarized by their queries and the profiles those queries recorded")
+  public void testResourceMetrics() {
+    final var fill = new SerializedActivity("Fill", Map.of());
+    final var plan = Map.of(
+        new ActivityDirectiveId(1), new ActivityDirective(Duration.of(1, Duration.HOURS), fill, null, true),
+        new ActivityDirectiveId(2), new ActivityDirective(Duration.of(90, Duration.MINUTES), fill, null, true));
+
+    final var results = SimulationDriver.simulate(
+        TankModel,
+        plan,
+        planStart,
+        oneDay,
+        planStart,
+        oneDay,
+        $ -> true,
+        Optional.of(new SimulationInstrumentation()));
+    final var resources = results.metrics.orElseThrow().resources();
+
+    final var level = resources.get("/level");
+    assertEquals(results.realProfiles.get("/level").getRight().size(), level.segments());
+    final var rate = resources.get("/rate");
+    assertEquals(results.discreteProfiles.get("/rate").getRight().size(), rate.segments());
+
+    // Every query either starts a new segment or extends the one before.
+    for (final var resource : resources.values()) {
+      assertEquals(resource.queries(), resource.segments() + resource.coalesced());
+    }
+    assertEquals(2, resources.size());
+  }
+
+  @Test
+  @DisplayName("Progress is reported once more when simulation finishes, along with the settled results")
+  public void testFinalProgressReport() {
+    final var reports = new ArrayList<SimulationProgress>();
+    final var partialResults = new ArrayList<SimulationResults>();
+
+    final var results = SimulationDriver.simulate(
+        AnchorTestModel,
+        plan,
+        planStart,
+        oneDay,
+        planStart,
+        oneDay,
+        $ -> true,
+        Optional.empty(),
+        Optional.of((progress, partial) -> {
+          reports.add(progress);
+          partialResults.add(partial.get());
+        }));
+
+    final var last = reports.get(reports.size() - 1);
+    assertEquals(oneDay, last.elapsedTime());
+    assertEquals(1.0, last.fraction());
+    // The same events counted by topic above.
+    assertEquals(7, last.events());
+    assertTrue(last.wallClockNanos() > 0);
+
+    // Activities are only given IDs once simulation completes, so partial results hold none.
+    final var partial = partialResults.get(partialResults.size() - 1);
+    assertEquals(oneDay, partial.duration);
+    assertTrue(partial.simulatedActivities.isEmpty());
+    assertEquals(results.discreteProfiles, partial.discreteProfiles);
+  }
+
+  private SimulationMetrics simulate() {
+    final var results = SimulationDriver.simulate(
+        AnchorTestModel,
+        plan,
+        planStart,
+        oneDay,
+        planStart,
+        oneDay,
+        $ -> true,
+        Optional.of(new SimulationInstrumentation()));
+
+    return results.metrics.orElseThrow();
+  }
+}
@@ -0,0 +1,219 @@
+package gov.nasa.jpl.aerie.merlin.driver.binary;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SerializedValueCodecTest {
+  private static final ValueSchema SCHEMA = ValueSchema.ofStruct(Map.of(
+      "duration", ValueSchema.DURATION,
+      "enabled", ValueSchema.BOOLEAN,
+      "label", ValueSchema.STRING,
+      "mode", ValueSchema.ofVariant(List.of(
+          new ValueSchema.Variant("Off", "Off"),
+          new ValueSchema.Variant("On", "On"))),
+      "samples", ValueSchema.ofSeries(ValueSchema.REAL)));
+
+  private static final SerializedValueCodec CODEC = SerializedValueCodec.forSchema(SCHEMA);
+
+  @Property
+  @Label("Any value should decode to exactly the value it was encoded from, without a schema")
+  public void valuesRoundTripWithoutSchema(@ForAll("values") SerializedValue value) throws Exception {
+    assertRoundTrips(SerializedValueCodec.SCHEMALESS, value);
+  }
+
+  @Property
+  @Label("Any value should decode to exactly the value it was encoded from, even if it strays from the schema")
+  public void valuesRoundTripWithSchema(@ForAll("values") SerializedValue value) throws Exception {
+    assertRoundTrips(CODEC, value);
+  }
+
+  @Property
+  @Label("Values following the schema should be encoded in the schema-directed form")
+  public void conformingValuesUseSchema(@ForAll("conforming") SerializedValue value) throws Exception {
+    assertEquals(0, CODEC.encode(value)[0]);
+    assertRoundTrips(CODEC, value);
+  }
+
+  @Test
+  public void testSchemaDirectedFormOmitsStructure() throws Exception {
+    final var value = SerializedValue.of(Map.of(
+        "duration", SerializedValue.of(1_000_000),
+        "enabled", SerializedValue.of(true),
+        "label", SerializedValue.of("x"),
+        "mode", SerializedValue.of("On"),
+        "samples", SerializedValue.of(List.of(SerializedValue.of(1.5), SerializedValue.of(-2.0)))));
+
+    // form + duration (3-byte varint) + boolean + label (length + 1) + variant index + samples (count + 2 doubles)
+    final var bytes = CODEC.encode(value);
+    assertEquals(1 + 3 + 1 + 2 + 1 + (1 + 16), bytes.length);
+    assertRoundTrips(CODEC, value);
+
+    // An integer where a real is expected cannot be written as a double without losing its representation.
+    final var stray = SerializedValue.of(Map.of(
+        "duration", SerializedValue.of(1_000_000),
+        "enabled", SerializedValue.of(true),
+        "label", SerializedValue.of("x"),
+        "mode", SerializedValue.of("On"),
+        "samples", SerializedValue.of(List.of(SerializedValue.of(1)))));
+    assertEquals(1, CODEC.encode(stray)[0]);
+    assertRoundTrips(CODEC, stray);
+  }
+
+  @Test
+  public void testInvalidEncodingsAreRejected() {
+    final var bytes = SerializedValueCodec.SCHEMALESS.encode(SerializedValue.of(List.of(SerializedValue.of("abc"))));
+
+    // Truncated input.
+    for (var length = 0; length < bytes.length; length += 1) {
+      final var prefix = Arrays.copyOf(bytes, length);
+      assertThrows(SerializedValueCodec.InvalidEncodingException.class, () -> SerializedValueCodec.SCHEMALESS.decode(prefix));
+    }
+
+    // Trailing bytes.
+    final var extended = Arrays.copyOf(bytes, bytes.length + 1);
+    assertThrows(SerializedValueCodec.InvalidEncodingException.class, () -> SerializedValueCodec.SCHEMALESS.decode(extended));
+
+    // Unknown tag.
+    assertThrows(SerializedValueCodec.InvalidEncodingException.class, () -> SerializedValueCodec.SCHEMALESS.decode(new byte[] {1, 42}));
+
+    // A schema-directed encoding cannot be decoded without its schema.
+    final var directed = CODEC.encode(SerializedValue.of(Map.of(
+        "duration", SerializedValue.of(0),
+        "enabled", SerializedValue.of(false),
+        "label", SerializedValue.of(""),
+        "mode", SerializedValue.of("Off"),
+        "samples", SerializedValue.of(List.of()))));
+    assertThrows(SerializedValueCodec.InvalidEncodingException.class, () -> SerializedValueCodec.SCHEMALESS.decode(directed));
+  }
+
+  @Test
+  public void delimitedValuesAreReadBackInOrderUntilTheEnd() throws Exception {
+    final var first = SerializedValue.of(Map.of(
+        "duration", SerializedValue.of(5),
+        "enabled", SerializedValue.of(true),
+        "label", SerializedValue.of("first"),
+        "mode", SerializedValue.of("On"),
+        "samples", SerializedValue.of(List.of(SerializedValue.of(1.5)))));
+    final var second = SerializedValue.of("not in the schema");
+
+    final var out = new ByteArrayOutputStream();
+    CODEC.encodeDelimited(first, out);
+    CODEC.encodeDelimited(second, out);
+    SerializedValueCodec.encodeDelimitedEnd(out);
+
+    final var in = new ByteArrayInputStream(out.toByteArray());
+    assertEquals(Optional.of(first), CODEC.decodeDelimited(in));
+    assertEquals(Optional.of(second), CODEC.decodeDelimited(in));
+    assertEquals(Optional.empty(), CODEC.decodeDelimited(in));
+    assertThrows(SerializedValueCodec.InvalidEncodingException.class, () -> CODEC.decodeDelimited(in));
+  }
+
+  @Test
+  public void delimitedWriterReusesItsBufferWithoutLeakingBetweenValues() throws Exception {
+    final var longer = SerializedValue.of(Map.of(
+        "duration", SerializedValue.of(5),
+        "enabled", SerializedValue.of(true),
+        "label", SerializedValue.of("a label long enough to grow the buffer past its initial capacity of 64 bytes"),
+        "mode", SerializedValue.of("Off"),
+        "samples", SerializedValue.of(List.of(SerializedValue.of(1.5), SerializedValue.of(2.5)))));
+    final var shorter = SerializedValue.of(List.of(SerializedValue.of("short")));
+
+    final var out = new ByteArrayOutputStream();
+    final var writer = new SerializedValueCodec.DelimitedWriter(out);
+    writer.write(CODEC, longer);
+    writer.write(SerializedValueCodec.SCHEMALESS, shorter);
+    writer.write(CODEC, longer);
+    writer.end();
+
+    final var expected = new ByteArrayOutputStream();
+    CODEC.encodeDelimited(longer, expected);
+    SerializedValueCodec.SCHEMALESS.encodeDelimited(shorter, expected);
+    CODEC.encodeDelimited(longer, expected);
+    SerializedValueCodec.encodeDelimitedEnd(expected);
+    assertArrayEquals(expected.toByteArray(), out.toByteArray());
+
+    final var in = new ByteArrayInputStream(out.toByteArray());
+    assertEquals(Optional.of(longer), CODEC.decodeDelimited(in));
+    assertEquals(Optional.of(shorter), SerializedValueCodec.SCHEMALESS.decodeDelimited(in));
+    assertEquals(Optional.of(longer), CODEC.decodeDelimited(in));
+    assertEquals(Optional.empty(), CODEC.decodeDelimited(in));
+  }
+
+  private static void assertRoundTrips(final SerializedValueCodec codec, final SerializedValue value) throws Exception {
+    final var decoded = codec.decode(codec.encode(value));
+    assertEquals(value, decoded);
+    assertSameRepresentation(value, decoded);
+  }
+
+  /** Numbers are equal across representations, so also check that the decoded value is represented the same way. */
+  private static void assertSameRepresentation(final SerializedValue expected, final SerializedValue actual) {
+    assertEquals(expected.getClass(), actual.getClass());
+
+    if (expected instanceof SerializedValue.NumericValue e) {
+      assertEquals(e.value(), ((SerializedValue.NumericValue) actual).value());
+    } else if (expected instanceof SerializedValue.RealValue e) {
+      assertEquals(Double.doubleToRawLongBits(e.value()), Double.doubleToRawLongBits(((SerializedValue.RealValue) actual).value()));
+    } else if (expected instanceof SerializedValue.ListValue e) {
+      final var list = ((SerializedValue.ListValue) actual).list();
+      assertEquals(e.list().size(), list.size());
+      for (var i = 0; i < list.size(); i += 1) assertSameRepresentation(e.list().get(i), list.get(i));
+    } else if (expected instanceof SerializedValue.MapValue e) {
+      final var map = ((SerializedValue.MapValue) actual).map();
+      assertEquals(e.map().keySet(), map.keySet());
+      for (final var key : map.keySet()) assertSameRepresentation(e.map().get(key), map.get(key));
+    }
+  }
+
+  @Provide("values")
+  public static Arbitrary<SerializedValue> values() {
+    return Arbitraries.lazyOf(
+        () -> Arbitraries.just(SerializedValue.NULL),
+        () -> Arbitraries.of(true, false).map(SerializedValue::of),
+        () -> Arbitraries.longs().map(SerializedValue::of),
+        () -> Arbitraries.doubles().map(SerializedValue::of),
+        () -> Arbitraries.bigDecimals().map(SerializedValue.NumericValue::new),
+        () -> strings().map(SerializedValue::of),
+        () -> values().list().ofMaxSize(4).map(SerializedValue::of),
+        () -> Arbitraries.maps(strings(), values()).ofMaxSize(4).map(SerializedValue::of));
+  }
+
+  @Provide("conforming")
+  public static Arbitrary<SerializedValue> conformingValues() {
+    return Combinators.combine(
+        Arbitraries.longs(),
+        Arbitraries.of(true, false),
+        strings(),
+        Arbitraries.of("Off", "On"),
+        Arbitraries.doubles().map(SerializedValue::of).list().ofMaxSize(16)
+    ).as((duration, enabled, label, mode, samples) -> SerializedValue.of(Map.of(
+        "duration", SerializedValue.of(duration),
+        "enabled", SerializedValue.of(enabled),
+        "label", SerializedValue.of(label),
+        "mode", SerializedValue.of(mode),
+        "samples", SerializedValue.of(samples))));
+  }
+
+  // Strings of well-formed text, with characters of every UTF-8 width up to three bytes.
+  private static Arbitrary<String> strings() {
+    return Arbitraries.strings().alpha().numeric().withCharRange('\u00a0', '\u07ff').withCharRange('\u4e00', '\u4fff').ofMaxLength(16);
+  }
+}
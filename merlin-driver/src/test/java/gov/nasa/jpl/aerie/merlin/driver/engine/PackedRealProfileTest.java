@@ -0,0 +1,39 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PackedRealProfileTest {
+  @Test
+  public void testSegmentsReadBackAsAppended() {
+    final var packed = new PackedRealProfile(0);
+    final var expected = new ArrayList<ProfileSegment<RealDynamics>>();
+
+    // Enough segments to grow past the initial capacity a few times.
+    for (var i = 0; i < 100; i += 1) {
+      final var extent = Duration.of(i, Duration.SECONDS);
+      final var dynamics = RealDynamics.linear(i * 0.5, -i);
+
+      packed.append(extent, dynamics);
+      expected.add(new ProfileSegment<>(extent, dynamics));
+    }
+
+    assertEquals(expected, packed);
+    assertEquals(expected.hashCode(), packed.hashCode());
+  }
+
+  @Test
+  public void testOutOfBoundsAccessFails() {
+    final var packed = new PackedRealProfile(4);
+    packed.append(Duration.SECOND, RealDynamics.constant(1.0));
+
+    assertThrows(IndexOutOfBoundsException.class, () -> packed.get(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> packed.get(-1));
+  }
+}
@@ -0,0 +1,120 @@
+package gov.nasa.jpl.aerie.merlin.driver.engine;
+
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
+import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.RealResource;
+import gov.nasa.jpl.aerie.merlin.protocol.model.Resource;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class ProfilingStateTest {
+  @Test
+  public void testEqualDiscreteDynamicsAreCoalesced() {
+    final var values = new ArrayList<>(List.of("a", "a", "b", "b", "b", "a"));
+    final var serializations = new int[1];
+    final var state = ProfilingState.create(new Resource<String>() {
+      @Override
+      public String getType() {
+        return "discrete";
+      }
+
+      @Override
+      public OutputType<String> getOutputType() {
+        return new OutputType<>() {
+          @Override
+          public ValueSchema getSchema() {
+            return ValueSchema.STRING;
+          }
+
+          @Override
+          public SerializedValue serialize(final String value) {
+            serializations[0] += 1;
+            return SerializedValue.of(value);
+          }
+        };
+      }
+
+      @Override
+      public String getDynamics(final Querier querier) {
+        return values.remove(0);
+      }
+    });
+
+    for (var i = 0; i < 6; i += 1) state.append(Duration.of(i, Duration.SECONDS), null);
+
+    assertEquals(
+        List.of(
+            new Profile.Segment<>(Duration.of(0, Duration.SECONDS), "a"),
+            new Profile.Segment<>(Duration.of(2, Duration.SECONDS), "b"),
+            new Profile.Segment<>(Duration.of(5, Duration.SECONDS), "a")),
+        segments(state));
+    assertEquals(new ProfileStatistics(3, 3), state.statistics());
+    // Dynamics are compared as they are, without being serialized on every query.
+    assertEquals(0, serializations[0]);
+  }
+
+  @Test
+  public void testContinuedLinesAreCoalesced() {
+    final var values = new ArrayList<>(List.of(
+        RealDynamics.linear(0.0, 2.0),
+        RealDynamics.linear(2.0, 2.0),  // continues the line at t = 1s
+        RealDynamics.linear(4.0, 2.0),  // continues the line at t = 2s
+        RealDynamics.linear(5.0, 2.0),  // jumps off the line at t = 3s
+        RealDynamics.linear(7.0, 1.0))); // changes rate at t = 4s
+
+    final var state = ProfilingState.create((RealResource) querier -> values.remove(0));
+
+    for (var i = 0; i < 5; i += 1) state.append(Duration.of(i, Duration.SECONDS), null);
+
+    assertEquals(
+        List.of(
+            new Profile.Segment<>(Duration.of(0, Duration.SECONDS), RealDynamics.linear(0.0, 2.0)),
+            new Profile.Segment<>(Duration.of(3, Duration.SECONDS), RealDynamics.linear(5.0, 2.0)),
+            new Profile.Segment<>(Duration.of(4, Duration.SECONDS), RealDynamics.linear(7.0, 1.0))),
+        segments(state));
+    assertEquals(new ProfileStatistics(3, 2), state.statistics());
+  }
+
+  @Test
+  public void testOpaqueRealDynamicsAreNotCoalesced() {
+    final var values = new ArrayList<>(List.of(
+        RealDynamics.linear(0.0, 2.0),
+        RealDynamics.linear(0.0, 2.0),  // restarts the line at t = 1s
+        RealDynamics.linear(2.0, 2.0))); // continues the restarted line at t = 2s
+
+    final var state = ProfilingState.create(new Resource<RealDynamics>() {
+      @Override
+      public String getType() {
+        return "real";
+      }
+
+      @Override
+      public OutputType<RealDynamics> getOutputType() {
+        return RealResource.OUTPUT_TYPE;
+      }
+
+      @Override
+      public RealDynamics getDynamics(final Querier querier) {
+        return values.remove(0);
+      }
+    });
+
+    for (var i = 0; i < 3; i += 1) state.append(Duration.of(i, Duration.SECONDS), null);
+
+    assertEquals(new ProfileStatistics(3, 0), state.statistics());
+  }
+
+  private static <Dynamics> List<Profile.Segment<Dynamics>> segments(final ProfilingState<Dynamics> state) {
+    final var segments = new ArrayList<Profile.Segment<Dynamics>>();
+    state.profile().forEach(segments::add);
+    return segments;
+  }
+}
@@ -0,0 +1,116 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.TaskId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class FlatEventGraphEvaluatorTest {
+  private static final TaskId ORIGIN = TaskId.generate();
+  private static final List<Topic<Integer>> TOPICS = List.of(new Topic<>(), new Topic<>(), new Topic<>());
+
+  @Test
+  public void skipsUninterestingBranches() {
+    final var graph = EventGraph.sequentially(
+        EventGraph.concurrently(
+            EventGraph.atom(Event.create(TOPICS.get(0), 1, ORIGIN)),
+            EventGraph.atom(Event.create(TOPICS.get(1), 2, ORIGIN))),
+        EventGraph.sequentially(
+            EventGraph.atom(Event.create(TOPICS.get(1), 3, ORIGIN)),
+            EventGraph.atom(Event.create(TOPICS.get(2), 4, ORIGIN))));
+
+    final var selector = new Selector<>(TOPICS.get(1), EventGraph::atom);
+    final var effect = new FlatEventGraphEvaluator().evaluate(new EventGraph.IdentityTrait<>(), selector, graph);
+
+    assertEquals("2; 3", EffectExpressionDisplay.displayGraph(effect.orElseThrow()));
+  }
+
+  @Test
+  public void emptyGraphHasNoEffect() {
+    final var selector = new Selector<>(TOPICS.get(0), EventGraph::atom);
+    final var flattened = FlatEventGraph.of(EventGraph.empty());
+
+    assertTrue(flattened.isEmpty());
+    assertTrue(new FlatEventGraphEvaluator().evaluate(new EventGraph.IdentityTrait<>(), selector, flattened).isEmpty());
+  }
+
+  @Test
+  public void deferredGraphIsFlattenedOnceAndShared() {
+    final var selector = new Selector<>(TOPICS.get(0), EventGraph::atom);
+    final var graph = EventGraph.sequentially(
+        EventGraph.atom(Event.create(TOPICS.get(0), 1, ORIGIN)),
+        EventGraph.atom(Event.create(TOPICS.get(0), 2, ORIGIN)));
+    final var deferred = FlatEventGraph.deferred(graph);
+
+    final var first = new FlatEventGraphEvaluator().evaluate(new EventGraph.IdentityTrait<>(), selector, deferred);
+    final var layout = deferred.layout();
+    final var second = new FlatEventGraphEvaluator().evaluate(new EventGraph.IdentityTrait<>(), selector, deferred);
+
+    assertEquals("1; 2", EffectExpressionDisplay.displayGraph(first.orElseThrow()));
+    assertEquals("1; 2", EffectExpressionDisplay.displayGraph(second.orElseThrow()));
+    assertSame(layout, deferred.layout());
+  }
+
+  @Property
+  @Label("The flat evaluator should agree with the recursive evaluator")
+  public void agreesWithRecursiveEvaluator(
+      @ForAll("events") final EventGraph<Event> graph,
+      @ForAll("selectors") final Selector<EventGraph<Integer>> selector
+  ) {
+    final var trait = new EventGraph.IdentityTrait<Integer>();
+
+    final var expected = new RecursiveEventGraphEvaluator().evaluate(trait, selector, graph);
+    final var actual = new FlatEventGraphEvaluator().evaluate(trait, selector, FlatEventGraph.of(graph));
+
+    // Equivalent graphs have equal string representations.
+    assertEquals(
+        expected.map(EffectExpressionDisplay::displayGraph),
+        actual.map(EffectExpressionDisplay::displayGraph));
+  }
+
+  @Provide("events")
+  public static Arbitrary<EventGraph<Event>> eventGraphs() {
+    final var atoms = Arbitraries
+        .integers()
+        .between(0, TOPICS.size() - 1)
+        .flatMap(topic -> Arbitraries.integers().map(value -> Event.create(TOPICS.get(topic), value, ORIGIN)));
+
+    return eventGraphs(atoms);
+  }
+
+  @Provide("selectors")
+  public static Arbitrary<Selector<EventGraph<Integer>>> selectors() {
+    return Arbitraries
+        .of(TOPICS)
+        .set()
+        .ofMinSize(1)
+        .map(topics -> new Selector<>(topics
+            .stream()
+            .map(topic -> new Selector.SelectorRow<>(topic, EventGraph::atom))
+            .toArray(Selector.SelectorRow[]::new)));
+  }
+
+  // Build graphs through the node constructors as well as the smart constructors,
+  // so that empty subgraphs can appear anywhere in the tree.
+  private static <T> Arbitrary<EventGraph<T>> eventGraphs(final Arbitrary<T> atoms) {
+    return Arbitraries
+        .lazyOf(
+            () -> Arbitraries.just(EventGraph.empty()),
+            () -> atoms.map(EventGraph::atom),
+            () -> eventGraphs(atoms).tuple2().map($ -> EventGraph.concurrently($.get1(), $.get2())),
+            () -> eventGraphs(atoms).tuple2().map($ -> EventGraph.sequentially($.get1(), $.get2())),
+            () -> eventGraphs(atoms).tuple2().map($ -> new EventGraph.Concurrently<>($.get1(), $.get2())),
+            () -> eventGraphs(atoms).tuple2().map($ -> new EventGraph.Sequentially<>($.get1(), $.get2())));
+  }
+}
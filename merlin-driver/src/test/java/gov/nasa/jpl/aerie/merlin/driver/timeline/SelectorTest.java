@@ -0,0 +1,62 @@
+package gov.nasa.jpl.aerie.merlin.driver.timeline;
+
+import gov.nasa.jpl.aerie.merlin.driver.engine.TaskId;
+import gov.nasa.jpl.aerie.merlin.protocol.driver.Topic;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SelectorTest {
+  private static final TaskId ORIGIN = TaskId.generate();
+
+  @Test
+  public void interestIsDecidedByTopicIds() {
+    final var ids = new TopicIds();
+
+    // Allocate enough topics to spill over into a second word of the bitset.
+    final var topics = new ArrayList<Topic<Integer>>();
+    for (var i = 0; i < 100; i += 1) topics.add(new Topic<>());
+
+    final var early = Selector.of(ids, topics.get(3), $ -> $);
+    final var late = Selector.of(ids, topics.get(70), $ -> $);
+    for (final var topic : topics) ids.assign(topic);
+
+    assertTrue(early.matchesAny(ids.setOf(List.of(topics.get(3), topics.get(70)))));
+    assertTrue(late.matchesAny(ids.setOf(List.of(topics.get(70)))));
+    assertFalse(early.matchesAny(ids.setOf(List.of(topics.get(70)))));
+    assertFalse(late.matchesAny(ids.setOf(List.of(topics.get(3), topics.get(99)))));
+  }
+
+  @Test
+  public void unidentifiedTopicsFallBackToIdentity() {
+    final var topic = new Topic<Integer>();
+    final var other = new Topic<Integer>();
+
+    // A selector built without topic identifiers must still see topics from an identified set.
+    final var selector = new Selector<>(topic, (Integer $) -> $);
+    final var ids = new TopicIds();
+    ids.assign(topic);
+
+    assertTrue(selector.matchesAny(ids.setOf(List.of(topic))));
+    assertFalse(selector.matchesAny(ids.setOf(List.of(other))));
+  }
+
+  @Test
+  public void selectionConcatenatesRowsConcurrently() {
+    final var topic = new Topic<Integer>();
+    final var selector = new Selector<EventGraph<Integer>>(
+        new Selector.SelectorRow<>(topic, EventGraph::atom),
+        new Selector.SelectorRow<>(topic, $ -> EventGraph.atom(-$)));
+
+    final var effect = selector.select(new EventGraph.IdentityTrait<>(), Event.create(topic, 1, ORIGIN));
+    assertEquals("1 | -1", EffectExpressionDisplay.displayGraph(effect.orElseThrow()));
+
+    final var none = selector.select(new EventGraph.IdentityTrait<>(), Event.create(new Topic<Integer>(), 1, ORIGIN));
+    assertTrue(none.isEmpty());
+  }
+}
@@ -3,11 +3,11 @@ package gov.nasa.jpl.aerie.merlin.framework;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Initializer;
 import gov.nasa.jpl.aerie.merlin.protocol.driver.Querier;
 import gov.nasa.jpl.aerie.merlin.protocol.model.OutputType;
+import gov.nasa.jpl.aerie.merlin.protocol.model.RealResource;
 import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
 
-import java.util.Map;
 import java.util.Objects;
 
 public final class Registrar {
@@ -70,31 +70,7 @@ public final class Registrar {
       final String name,
       final Resource<RealDynamics> resource
   ) {
-    initializer.resource(name, new gov.nasa.jpl.aerie.merlin.protocol.model.Resource<RealDynamics>() {
-      @Override
-      public OutputType<RealDynamics> getOutputType() {
-        return new OutputType<>() {
-          @Override
-          public ValueSchema getSchema() {
-            return ValueSchema.ofStruct(Map.of(
-                "initial", ValueSchema.REAL,
-                "rate", ValueSchema.REAL));
-          }
-
-          @Override
-          public SerializedValue serialize(final RealDynamics dynamics) {
-            return SerializedValue.of(Map.of(
-                "initial", SerializedValue.of(dynamics.initial),
-                "rate", SerializedValue.of(dynamics.rate)));
-          }
-        };
-      }
-
-      @Override
-      public String getType() {
-        return "real";
-      }
-
+    initializer.resource(name, new RealResource() {
       @Override
       public RealDynamics getDynamics(final Querier querier) {
         try (final var _token = ModelActions.context.set(new QueryContext(querier))) {
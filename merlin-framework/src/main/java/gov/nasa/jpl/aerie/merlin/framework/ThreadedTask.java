@@ -42,8 +42,8 @@ public final class ThreadedTask<Return> implements Task<Return> {
       //   It should be sufficiently long as to allow the user-defined task to do its job.
       //   The `put()` call is fine -- we know the thread will immediately wait
       //   for a new request as soon as it puts a response to the last request.
-      // TODO: Track metrics for how long a task runs before responding.
-      //   This will help to tune the timeout.
+      //   How long tasks run before responding can be measured by instrumenting the simulation engine,
+      //   which will help to tune the timeout.
       this.hostToTask.put(new TaskRequest.Resume(scheduler));
       final var response = this.taskToHost.take();
 
@@ -3,6 +3,8 @@ package gov.nasa.jpl.aerie.merlin.protocol.model;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
 
+import java.util.Objects;
+
 /**
  * A type of data produced as output by a Merlin model.
  *
@@ -24,4 +26,16 @@ public interface OutputType<T> {
 
   /** Extracts a value conforming to this type's {@linkplain #getSchema() schema} from an opaque value of type {@code T}. */
   SerializedValue serialize(T value);
+
+  /**
+   * Determines whether two values of this type are indistinguishable once {@linkplain #serialize(T) serialized}.
+   *
+   * <p> A driver may use this to avoid recording a value that is equal to the one it last recorded, without having to
+   * serialize either of them. The default implementation compares the values with {@link Object#equals(Object)}.
+   * Implementations whose equal values may serialize differently must override it, so that it never considers two
+   * values equal when their serialized forms differ. </p>
+   */
+  default boolean isEqual(final T left, final T right) {
+    return Objects.equals(left, right);
+  }
 }
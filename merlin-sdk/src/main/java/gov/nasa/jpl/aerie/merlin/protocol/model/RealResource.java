@@ -0,0 +1,48 @@
+package gov.nasa.jpl.aerie.merlin.protocol.model;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.RealDynamics;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+
+import java.util.Map;
+
+/**
+ * A resource whose dynamics are natively {@link RealDynamics}.
+ *
+ * <p> Any resource of type {@code "real"} must serialize its dynamics as a struct of {@code "initial"} value and
+ * {@code "rate"} of change. A resource implementing this interface additionally promises that its dynamics are
+ * {@link RealDynamics} themselves, so that a driver may record them directly instead of serializing each one
+ * and reading the two fields back out. </p>
+ *
+ * <p> The default output type is the one every real resource must conform to, so implementations typically only need
+ * to provide {@link #getDynamics(gov.nasa.jpl.aerie.merlin.protocol.driver.Querier)}. </p>
+ */
+public interface RealResource extends Resource<RealDynamics> {
+  ValueSchema SCHEMA = ValueSchema.ofStruct(Map.of(
+      "initial", ValueSchema.REAL,
+      "rate", ValueSchema.REAL));
+
+  OutputType<RealDynamics> OUTPUT_TYPE = new OutputType<>() {
+    @Override
+    public ValueSchema getSchema() {
+      return SCHEMA;
+    }
+
+    @Override
+    public SerializedValue serialize(final RealDynamics dynamics) {
+      return SerializedValue.of(Map.of(
+          "initial", SerializedValue.of(dynamics.initial),
+          "rate", SerializedValue.of(dynamics.rate)));
+    }
+  };
+
+  @Override
+  default String getType() {
+    return "real";
+  }
+
+  @Override
+  default OutputType<RealDynamics> getOutputType() {
+    return OUTPUT_TYPE;
+  }
+}
@@ -24,6 +24,11 @@ import java.util.Optional;
  * freely subclassed, then such ambiguities would be inevitable (not to mention that deserialization
  * code would need to know about all possible subclasses for deserialization). The Visitor
  * pattern on a class closed to extension allows us to guarantee that no ambiguity occurs.
+ *
+ * Numbers are stored as a {@code double} or {@code long} whenever that loses no precision, and as a
+ * {@link BigDecimal} otherwise. All three representations are interchangeable: they are equal whenever
+ * they denote the same number, and visitors which only handle {@link Visitor#onNumeric(BigDecimal)}
+ * see all of them as arbitrary-precision numbers.
  */
 public sealed interface SerializedValue {
   SerializedValue NULL = SerializedValue.ofNull();
@@ -49,6 +54,10 @@ public sealed interface SerializedValue {
    * Most clients will prefer to inherit from {@link OptionalVisitor}, which returns `Optional.empty()`
    * for any unimplemented methods.
    *
+   * Numbers stored as a {@code double} or {@code long} are passed to {@link #onReal(double)} and
+   * {@link #onInt(long)} respectively, which defer to {@link #onNumeric(BigDecimal)} unless overridden.
+   * Visitors may override them to avoid converting such numbers to {@link BigDecimal}.
+   *
    * @param <T> The return type of the operation represented by this {@link Visitor}.
    */
   interface Visitor<T> {
@@ -58,6 +67,14 @@ public sealed interface SerializedValue {
     T onString(String value);
     T onMap(Map<String, SerializedValue> value);
     T onList(List<SerializedValue> value);
+
+    default T onReal(final double value) {
+      return this.onNumeric(BigDecimal.valueOf(value));
+    }
+
+    default T onInt(final long value) {
+      return this.onNumeric(BigDecimal.valueOf(value));
+    }
   }
 
   record NullValue() implements SerializedValue {
@@ -76,13 +93,61 @@ public sealed interface SerializedValue {
     // `BigDecimal#equals` is too strict -- values differing only in representation need to be considered the same.
     @Override
     public boolean equals(final Object obj) {
-      if (!(obj instanceof NumericValue other)) return false;
-      return (this.value.compareTo(other.value) == 0);
+      return numericEquals(this, obj);
+    }
+
+    @Override
+    public int hashCode() {
+      return numericHashCode(this.value);
+    }
+  }
+
+  /**
+   * A number which is exactly the decimal representation of a finite {@code double},
+   * as given by {@link BigDecimal#valueOf(double)}.
+   */
+  record RealValue(double value) implements SerializedValue {
+    public RealValue {
+      // Non-finite values have no decimal representation, and could not be visited as a BigDecimal.
+      if (!Double.isFinite(value)) throw new NumberFormatException("Expected a finite number, got " + value);
+    }
+
+    @Override
+    public <T> T match(final Visitor<T> visitor) {
+      return visitor.onReal(value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (obj instanceof RealValue other) return (this.value == other.value);
+      return numericEquals(this, obj);
+    }
+
+    // Must agree with the hash codes of `IntValue` and `NumericValue` for equal numbers.
+    @Override
+    public int hashCode() {
+      if (!isExact(this.value)) return numericHashCode(BigDecimal.valueOf(this.value));
+      if (this.value == Math.rint(this.value)) return Long.hashCode((long) this.value);
+      return Double.hashCode(this.value);
+    }
+  }
+
+  /** An integral number which fits in a {@code long}. */
+  record IntValue(long value) implements SerializedValue {
+    @Override
+    public <T> T match(final Visitor<T> visitor) {
+      return visitor.onInt(value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (obj instanceof IntValue other) return (this.value == other.value);
+      return numericEquals(this, obj);
     }
 
     @Override
     public int hashCode() {
-      return this.value.stripTrailingZeros().hashCode();
+      return Long.hashCode(this.value);
     }
   }
 
@@ -114,6 +179,32 @@ public sealed interface SerializedValue {
     }
   }
 
+  // Below 2^53 in magnitude, every integer is a double, so the decimal representation of an integral double is exact.
+  // Above it, the decimal representation may round off the trailing digits of the integer.
+  private static boolean isExact(final double value) {
+    return (Math.abs(value) < 0x1p53);
+  }
+
+  private static int numericHashCode(final BigDecimal value) {
+    try {
+      return Long.hashCode(value.longValueExact());
+    } catch (final ArithmeticException ex) {
+      // Not an integer, or too large to be a long.
+    }
+
+    final var real = value.doubleValue();
+    if (Double.isFinite(real) && BigDecimal.valueOf(real).compareTo(value) == 0) return Double.hashCode(real);
+
+    return value.stripTrailingZeros().hashCode();
+  }
+
+  private static boolean numericEquals(final SerializedValue self, final Object obj) {
+    if (!(obj instanceof NumericValue || obj instanceof RealValue || obj instanceof IntValue)) return false;
+
+    final var other = (SerializedValue) obj;
+    return (self.asNumeric().orElseThrow().compareTo(other.asNumeric().orElseThrow()) == 0);
+  }
+
   /**
    * Creates a {@link SerializedValue} containing a null value.
    *
@@ -130,6 +221,16 @@ public sealed interface SerializedValue {
    * @return A new {@link SerializedValue} containing an arbitrary-precision number.
    */
   static SerializedValue of(final BigDecimal value) {
+    // Use a primitive representation when it visits as a BigDecimal equal to this one, down to its scale.
+    if (value.scale() == 0 && value.unscaledValue().bitLength() < Long.SIZE) {
+      return new IntValue(value.longValue());
+    }
+
+    final var real = value.doubleValue();
+    if (Double.isFinite(real) && BigDecimal.valueOf(real).equals(value)) {
+      return new RealValue(real);
+    }
+
     return new NumericValue(value);
   }
 
@@ -140,7 +241,7 @@ public sealed interface SerializedValue {
    * @return A new {@link SerializedValue} containing a real number.
    */
   static SerializedValue of(final double value) {
-    return new NumericValue(BigDecimal.valueOf(value));
+    return new RealValue(value);
   }
 
   /**
@@ -150,7 +251,7 @@ public sealed interface SerializedValue {
    * @return A new {@link SerializedValue} containing an integral number.
    */
   static SerializedValue of(final long value) {
-    return new NumericValue(BigDecimal.valueOf(value));
+    return new IntValue(value);
   }
 
   /**
@@ -299,6 +400,16 @@ public sealed interface SerializedValue {
       public Optional<Double> onNumeric(final BigDecimal value) {
         return Optional.of(value.doubleValue());
       }
+
+      @Override
+      public Optional<Double> onReal(final double value) {
+        return Optional.of(value);
+      }
+
+      @Override
+      public Optional<Double> onInt(final long value) {
+        return Optional.of((double) value);
+      }
     });
   }
 
@@ -318,6 +429,18 @@ public sealed interface SerializedValue {
           return Optional.empty();
         }
       }
+
+      @Override
+      public Optional<Long> onReal(final double value) {
+        if (!isExact(value)) return this.onNumeric(BigDecimal.valueOf(value));
+        if (value != Math.rint(value)) return Optional.empty();
+        return Optional.of((long) value);
+      }
+
+      @Override
+      public Optional<Long> onInt(final long value) {
+        return Optional.of(value);
+      }
     });
   }
 
@@ -0,0 +1,70 @@
+package gov.nasa.jpl.aerie.merlin.protocol.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SerializedValueTest {
+  @Test
+  public void testNumbersEqualAcrossRepresentations() {
+    final var numbers = List.of(
+        List.of(SerializedValue.of(3), SerializedValue.of(3.0), new SerializedValue.NumericValue(new BigDecimal("3.000"))),
+        List.of(SerializedValue.of(0), SerializedValue.of(-0.0), new SerializedValue.NumericValue(new BigDecimal("0.0"))),
+        List.of(SerializedValue.of(0.1), new SerializedValue.NumericValue(new BigDecimal("0.10"))),
+        List.of(SerializedValue.of(1e20), new SerializedValue.NumericValue(new BigDecimal("100000000000000000000"))),
+        // Large doubles denote their (possibly rounded) decimal representation.
+        List.of(SerializedValue.of(0x1p60), new SerializedValue.NumericValue(BigDecimal.valueOf(0x1p60))));
+
+    for (final var group : numbers) {
+      for (final var x : group) {
+        for (final var y : group) {
+          assertEquals(x, y);
+          assertEquals(x.hashCode(), y.hashCode());
+        }
+      }
+    }
+
+    assertEquals(SerializedValue.of(1L << 52), SerializedValue.of(0x1p52));
+    assertNotEquals(SerializedValue.of(0.1), SerializedValue.of(0.1f));
+    assertNotEquals(SerializedValue.of(1), SerializedValue.of("1"));
+  }
+
+  @Test
+  public void testPrimitivesVisitAsBigDecimal() {
+    assertEquals(Optional.of(new BigDecimal("2.5")), SerializedValue.of(2.5).asNumeric());
+    assertEquals(Optional.of(new BigDecimal("7")), SerializedValue.of(7).asNumeric());
+
+    assertEquals(Optional.of(2.0), SerializedValue.of(2).asReal());
+    assertEquals(Optional.of(2L), SerializedValue.of(2.0).asInt());
+    assertEquals(Optional.empty(), SerializedValue.of(2.5).asInt());
+    assertEquals(Optional.empty(), SerializedValue.of(1e20).asInt());
+    assertEquals(Optional.of(1_000_000_000_000_000_000L), SerializedValue.of(1e18).asInt());
+  }
+
+  @Test
+  public void testBigDecimalsUsePrimitivesWithoutLosingPrecision() {
+    assertTrue(SerializedValue.of(new BigDecimal("42")) instanceof SerializedValue.IntValue);
+    assertTrue(SerializedValue.of(new BigDecimal("4.25")) instanceof SerializedValue.RealValue);
+    assertTrue(SerializedValue.of(new BigDecimal("0.1000000000000000000001")) instanceof SerializedValue.NumericValue);
+    assertTrue(SerializedValue.of(new BigDecimal("99999999999999999999")) instanceof SerializedValue.NumericValue);
+
+    // The number must visit exactly as it was given, down to its scale.
+    for (final var literal : List.of("42", "4.25", "4.250", "1E+3", "-0.0")) {
+      final var value = new BigDecimal(literal);
+      assertEquals(Optional.of(value), SerializedValue.of(value).asNumeric());
+    }
+  }
+
+  @Test
+  public void testNonFiniteRealsAreRejected() {
+    assertThrows(NumberFormatException.class, () -> SerializedValue.of(Double.NaN));
+    assertThrows(NumberFormatException.class, () -> SerializedValue.of(Double.POSITIVE_INFINITY));
+  }
+}
@@ -3,7 +3,7 @@ create table event
   dataset_id integer not null,
   real_time interval not null,
   transaction_index integer not null,
-  causal_time text,
+  causal_time bytea,
 
   value jsonb,
   topic_index integer not null,
@@ -22,7 +22,9 @@ comment on column event.real_time is e''
 comment on column event.transaction_index is e''
   'When multiple transactions occur at the same real_time, the transaction index will disambiguate them';
 comment on column event.causal_time is e''
-  'A string that allows any two events at the same real time to be compared for causal relationships.';
+  'A binary path that allows any two events at the same real time to be compared for causal relationships.'
+  'Each index of the path is encoded as an order-preserving variable-length integer, so comparing two causal times'
+  'byte-by-byte orders them as comparing their paths index-by-index would.';
 comment on column event.value is e''
   'The value of this event as a json blob';
 comment on column event.topic_index is e''
@@ -26,6 +26,7 @@ create table simulation_dataset (
   status status_t not null default 'pending',
   reason jsonb null,
   canceled boolean not null default false,
+  progress real null,
 
   -- Additional Metadata
   requested_by text not null default '',
@@ -46,7 +47,9 @@ create table simulation_dataset (
     on update cascade
     on delete cascade,
   constraint start_before_end
-    check (simulation_start_time <= simulation_end_time)
+    check (simulation_start_time <= simulation_end_time),
+  constraint progress_is_percentage
+    check (progress between 0 and 100)
 );
 
 create index simulation_dataset_simulation_has_many_datasets
@@ -76,6 +79,10 @@ comment on column simulation_dataset.reason is e''
   'The reason for failure in the event that simulation fails.';
 comment on column simulation_dataset.canceled is e''
   'Whether the simulation has been marked as canceled.';
+comment on column simulation_dataset.progress is e''
+  'The percentage of the simulation horizon simulated so far, as last reported by the worker.'
+'\n'
+  'NULL if the worker has not reported any progress.';
 comment on column simulation_dataset.offset_from_plan_start is e''
   'The time to judge dataset items against relative to the plan start.'
 '\n'
@@ -275,6 +282,35 @@ create trigger notify_simulation_workers
   execute function notify_simulation_workers();
 end $$;
 
+-- Simulation status NOTIFY triggers
+-- These triggers NOTIFY LISTEN(ing) merlin servers of changes to the status of a simulation,
+-- so that they can push them to subscribed clients.
+
+create function notify_simulation_status()
+returns trigger
+security definer
+language plpgsql as $$
+begin
+  perform pg_notify('simulation_status', json_strip_nulls(json_build_object(
+    'simulation_dataset_id', new.id,
+    'plan_id', (select plan_id from simulation where id = new.simulation_id),
+    'status', new.status,
+    'progress', new.progress
+  ))::text);
+  return null;
+end$$;
+
+create trigger notify_simulation_status_on_insert
+  after insert on simulation_dataset
+  for each row
+  execute function notify_simulation_status();
+
+create trigger notify_simulation_status_on_update
+  after update of status, progress on simulation_dataset
+  for each row
+  when (old.status is distinct from new.status or old.progress is distinct from new.progress)
+  execute function notify_simulation_status();
+
 create function update_offset_from_plan_start()
 returns trigger
 security invoker
@@ -15,12 +15,14 @@ import gov.nasa.jpl.aerie.merlin.server.remotes.ResultsCellRepository;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresMissionModelRepository;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresPlanRepository;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresResultsCellRepository;
+import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresSimulationStatusListener;
 import gov.nasa.jpl.aerie.merlin.server.services.CachedSimulationService;
 import gov.nasa.jpl.aerie.merlin.server.services.ConstraintsDSLCompilationService;
 import gov.nasa.jpl.aerie.merlin.server.services.GenerateConstraintsLibAction;
 import gov.nasa.jpl.aerie.merlin.server.services.GetSimulationResultsAction;
 import gov.nasa.jpl.aerie.merlin.server.services.LocalMissionModelService;
 import gov.nasa.jpl.aerie.merlin.server.services.LocalPlanService;
+import gov.nasa.jpl.aerie.merlin.server.services.SimulationStatusBroadcaster;
 import gov.nasa.jpl.aerie.merlin.server.services.TypescriptCodeGenerationServiceAdapter;
 import gov.nasa.jpl.aerie.merlin.server.services.UnexpectedSubtypeError;
 import io.javalin.Javalin;
@@ -32,9 +34,11 @@ import org.eclipse.jetty.server.handler.StatisticsHandler;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.slf4j.LoggerFactory;
 
+import javax.sql.DataSource;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.concurrent.Executors;
 
 public final class AerieAppDriver {
 
@@ -46,7 +50,8 @@ public final class AerieAppDriver {
     final var missionModelController = new LocalMissionModelService(
         configuration.merlinFileStore(),
         stores.missionModels(),
-        configuration.untruePlanStart());
+        configuration.untruePlanStart(),
+        false);
     final var planController = new LocalPlanService(stores.plans());
 
     final var typescriptCodeGenerationService = new TypescriptCodeGenerationServiceAdapter(missionModelController, planController);
@@ -69,11 +74,19 @@ public final class AerieAppDriver {
         constraintsDSLCompilationService
     );
     final var generateConstraintsLibAction = new GenerateConstraintsLibAction(typescriptCodeGenerationService);
+
+    // A single connection listens for changes to every simulation, and fans them out to subscribed clients.
+    final var simulationStatusBroadcaster = new SimulationStatusBroadcaster<>(
+        Executors.newCachedThreadPool(),
+        MerlinBindings.resolveSimulationStatus(simulationAction));
+    new PostgresSimulationStatusListener(stores.dataSource(), simulationStatusBroadcaster).start();
+
     final var merlinBindings = new MerlinBindings(
         missionModelController,
         planController,
         simulationAction,
-        generateConstraintsLibAction
+        generateConstraintsLibAction,
+        simulationStatusBroadcaster
     );
     // Configure an HTTP server.
     //default javalin jetty server has a QueuedThreadPool with maxThreads to 250
@@ -99,7 +112,11 @@ public final class AerieAppDriver {
     javalin.start(configuration.httpPort());
   }
 
-  private record Stores (PlanRepository plans, MissionModelRepository missionModels, ResultsCellRepository results) {}
+  private record Stores (
+      PlanRepository plans,
+      MissionModelRepository missionModels,
+      ResultsCellRepository results,
+      DataSource dataSource) {}
 
   private static Stores loadStores(final AppConfiguration config) {
     final var store = config.store();
@@ -120,7 +137,8 @@ public final class AerieAppDriver {
       return new Stores(
           new PostgresPlanRepository(hikariDataSource),
           new PostgresMissionModelRepository(hikariDataSource),
-          new PostgresResultsCellRepository(hikariDataSource));
+          new PostgresResultsCellRepository(hikariDataSource),
+          hikariDataSource);
     } else {
       throw new UnexpectedSubtypeError(Store.class, store);
     }
@@ -1,6 +1,7 @@
 package gov.nasa.jpl.aerie.merlin.server;
 
 import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationProgress;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
 
 import java.io.PrintWriter;
@@ -42,6 +43,15 @@ public final class ResultsProtocol {
 
     void failWith(SimulationFailure reason);
 
+    /** Tell readers how far the simulation has got. Writers which cannot share progress may ignore it. */
+    default void reportProgress(final SimulationProgress progress) {}
+
+    /**
+     * Share the results settled so far, ahead of the complete results given to `succeedWith()`.
+     * Writers which cannot share partial results may ignore them.
+     */
+    default void publishPartialResults(final SimulationResults partialResults) {}
+
     default void failWith(final Consumer<SimulationFailure.Builder> builderConsumer) {
       final var builder = new SimulationFailure.Builder();
       builderConsumer.accept(builder);
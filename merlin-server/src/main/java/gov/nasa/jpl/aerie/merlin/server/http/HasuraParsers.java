@@ -9,6 +9,8 @@ import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
 
 import java.util.Optional;
 
+import static gov.nasa.jpl.aerie.json.BasicParsers.intP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.listP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.longP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.mapP;
 import static gov.nasa.jpl.aerie.json.BasicParsers.nullableP;
@@ -18,6 +20,7 @@ import static gov.nasa.jpl.aerie.json.Uncurry.tuple;
 import static gov.nasa.jpl.aerie.json.Uncurry.untuple;
 import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
 import static gov.nasa.jpl.aerie.merlin.server.http.MerlinParsers.datasetIdP;
+import static gov.nasa.jpl.aerie.merlin.server.http.MerlinParsers.durationP;
 import static gov.nasa.jpl.aerie.merlin.server.http.MerlinParsers.planIdP;
 import static gov.nasa.jpl.aerie.merlin.server.http.MerlinParsers.timestampP;
 import static gov.nasa.jpl.aerie.merlin.server.http.ProfileParsers.profileSetP;
@@ -55,6 +58,28 @@ public abstract class HasuraParsers {
                           .field("planId", planIdP)
                           .map(HasuraAction.PlanInput::new, HasuraAction.PlanInput::planId));
 
+  public static final JsonParser<HasuraAction<HasuraAction.ResourceSamplesInput>> hasuraResourceSamplesActionP
+      = hasuraActionF(
+          productP
+              .field("planId", planIdP)
+              .optionalField("resources", nullableP(listP(stringP)))
+              .optionalField("startOffset", nullableP(durationP))
+              .optionalField("endOffset", nullableP(durationP))
+              .optionalField("points", nullableP(intP))
+              .map(
+                  untuple((planId, resources, startOffset, endOffset, points) -> new HasuraAction.ResourceSamplesInput(
+                      planId,
+                      resources.flatMap($ -> $),
+                      startOffset.flatMap($ -> $),
+                      endOffset.flatMap($ -> $),
+                      points.flatMap($ -> $))),
+                  $ -> tuple(
+                      $.planId(),
+                      Optional.of($.resources()),
+                      Optional.of($.startOffset()),
+                      Optional.of($.endOffset()),
+                      Optional.of($.points()))));
+
   public static final JsonParser<HasuraAction<HasuraAction.ConstraintsInput>> hasuraConstraintsCodeAction
       = hasuraActionF(
           productP
@@ -1,24 +1,35 @@
 package gov.nasa.jpl.aerie.merlin.server.http;
 
+import gov.nasa.jpl.aerie.json.JsonParseResult;
 import gov.nasa.jpl.aerie.json.JsonParser;
 import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.binary.SerializedValueCodec;
 import gov.nasa.jpl.aerie.merlin.protocol.types.InstantiationException;
 import gov.nasa.jpl.aerie.merlin.server.exceptions.NoSuchPlanDatasetException;
 import gov.nasa.jpl.aerie.merlin.server.exceptions.NoSuchPlanException;
 import gov.nasa.jpl.aerie.merlin.server.models.ActivityDirectiveForValidation;
+import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
 import gov.nasa.jpl.aerie.merlin.server.services.GenerateConstraintsLibAction;
 import gov.nasa.jpl.aerie.merlin.server.services.GetSimulationResultsAction;
 import gov.nasa.jpl.aerie.merlin.server.services.MissionModelService;
 import gov.nasa.jpl.aerie.merlin.server.services.PlanService;
+import gov.nasa.jpl.aerie.merlin.server.services.SimulationStatusBroadcaster;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
+import io.javalin.http.sse.SseClient;
 import io.javalin.plugin.Plugin;
 
 import javax.json.Json;
 import javax.json.stream.JsonParsingException;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
 import java.io.StringReader;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraActivityActionP;
@@ -29,10 +40,12 @@ import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraMissionM
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraMissionModelArgumentsActionP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraMissionModelEventTriggerP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraPlanActionP;
+import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraResourceSamplesActionP;
 import static gov.nasa.jpl.aerie.merlin.server.http.HasuraParsers.hasuraExtendExternalDatasetActionP;
 import static io.javalin.apibuilder.ApiBuilder.before;
 import static io.javalin.apibuilder.ApiBuilder.path;
 import static io.javalin.apibuilder.ApiBuilder.post;
+import static io.javalin.apibuilder.ApiBuilder.sse;
 import static io.javalin.apibuilder.ApiBuilder.get;
 
 /**
@@ -53,17 +66,23 @@ public final class MerlinBindings implements Plugin {
   private final PlanService planService;
   private final GetSimulationResultsAction simulationAction;
   private final GenerateConstraintsLibAction generateConstraintsLibAction;
+  private final SimulationStatusBroadcaster<SimulationStatusMessage> simulationStatusBroadcaster;
+
+  /** A change in the status of a simulation, as pushed to clients: the server-sent event to send, and whether it ends the stream. */
+  public record SimulationStatusMessage(String event, String data, boolean isLast) {}
 
   public MerlinBindings(
       final MissionModelService missionModelService,
       final PlanService planService,
       final GetSimulationResultsAction simulationAction,
-      final GenerateConstraintsLibAction generateConstraintsLibAction
+      final GenerateConstraintsLibAction generateConstraintsLibAction,
+      final SimulationStatusBroadcaster<SimulationStatusMessage> simulationStatusBroadcaster
   ) {
     this.missionModelService = missionModelService;
     this.planService = planService;
     this.simulationAction = simulationAction;
     this.generateConstraintsLibAction = generateConstraintsLibAction;
+    this.simulationStatusBroadcaster = simulationStatusBroadcaster;
   }
 
   @Override
@@ -73,6 +92,7 @@ public final class MerlinBindings implements Plugin {
 
       path("resourceTypes", () -> post(this::getResourceTypes));
       path("getSimulationResults", () -> post(this::getSimulationResults));
+      path("simulationStatus/{planId}", () -> sse(this::streamSimulationStatus));
       path("resourceSamples", () -> post(this::getResourceSamples));
       path("constraintViolations", () -> post(this::getConstraintViolations));
       path("refreshModelParameters", () -> post(this::postRefreshModelParameters));
@@ -199,13 +219,120 @@ public final class MerlinBindings implements Plugin {
     }
   }
 
-  private void getResourceSamples(final Context ctx) {
+  /**
+   * Push the status of a plan's simulation to the client as server-sent events, until the client disconnects.
+   *
+   * The current status is sent first, exactly as {@code getSimulationResults} would report it
+   * (including requesting a simulation if none exists); every subsequent change to the simulation of the plan's current
+   * revision is then sent as it is announced, in the same shape, with its progress added while it runs.
+   */
+  private void streamSimulationStatus(final SseClient client) {
+    final PlanId planId;
     try {
-      final var planId = parseJson(ctx.body(), hasuraPlanActionP).input().planId();
+      planId = new PlanId(Long.parseLong(client.ctx().pathParam("planId")));
+    } catch (final NumberFormatException ex) {
+      client.sendEvent("error", ResponseSerializers.serializeInvalidEntityException(new InvalidEntityException(List.of(
+          new JsonParseResult.FailureReason("planId must be an integer")))).toString());
+      client.close();
+      return;
+    }
+
+    // Subscribe before reading the current status, so that no change can fall between the two.
+    // Sends are serialized on the client, and the current status is only sent if no change has been pushed already,
+    // since any pushed change is at least as recent.
+    final var hasPushed = new AtomicBoolean(false);
+    final var subscription = this.simulationStatusBroadcaster.subscribe(planId, message -> {
+      synchronized (client) {
+        hasPushed.set(true);
+        client.sendEvent(message.event(), message.data());
+        if (message.isLast()) client.close();
+      }
+    });
+    client.onClose(subscription::close);
+
+    try {
+      final var response = this.simulationAction.run(planId);
+      synchronized (client) {
+        if (!hasPushed.get()) {
+          client.sendEvent("status", ResponseSerializers.serializeSimulationResultsResponse(response).toString());
+        }
+      }
+    } catch (final NoSuchPlanException ex) {
+      client.sendEvent("error", ResponseSerializers.serializeNoSuchPlanException(ex).toString());
+      client.close();
+      return;
+    } catch (final MissionModelService.NoSuchMissionModelException ex) {
+      client.sendEvent("error", ResponseSerializers.serializeNoSuchMissionModelException(ex).toString());
+      client.close();
+      return;
+    }
 
-      final var resourceSamples = this.simulationAction.getResourceSamples(planId);
+    client.keepAlive();
+  }
 
-      ctx.result(ResponseSerializers.serializeResourceSamples(resourceSamples).toString());
+  /**
+   * Describe each change in the status of a simulation as it is to be pushed to the clients streaming it.
+   *
+   * A change is only of interest if it is to the simulation of the plan as it is now, since that is the one
+   * getSimulationResults would report. Its status is reloaded so that it is reported in full, including why it failed;
+   * this happens once per change, however many clients are streaming the plan.
+   */
+  public static Function<SimulationStatusBroadcaster.Event, Optional<SimulationStatusMessage>> resolveSimulationStatus(
+      final GetSimulationResultsAction simulationAction
+  ) {
+    return event -> {
+      final Optional<GetSimulationResultsAction.Response> response;
+      try {
+        response = simulationAction.lookup(event.planId());
+      } catch (final NoSuchPlanException ex) {
+        return Optional.of(new SimulationStatusMessage(
+            "error",
+            ResponseSerializers.serializeNoSuchPlanException(ex).toString(),
+            true));
+      }
+      if (response.isEmpty() || response.get().simulationDatasetId() != event.simulationDatasetId()) return Optional.empty();
+
+      return Optional.of(new SimulationStatusMessage(
+          "status",
+          ResponseSerializers.serializeSimulationStatusEvent(response.get(), event.progress()).toString(),
+          false));
+    };
+  }
+
+  private void getResourceSamples(final Context ctx) throws IOException {
+    try {
+      final var input = parseJson(ctx.body(), hasuraResourceSamplesActionP).input();
+
+      if (input.points().isPresent() && input.points().get() < 1) {
+        throw new InvalidEntityException(List.of(new JsonParseResult.FailureReason("points must be positive")));
+      }
+      if (input.startOffset().isPresent() && input.endOffset().isPresent()
+          && input.startOffset().get().longerThan(input.endOffset().get())) {
+        throw new InvalidEntityException(List.of(new JsonParseResult.FailureReason("startOffset must not follow endOffset")));
+      }
+
+      final var resourceSamples = this.simulationAction.getResourceSamples(
+          input.planId(),
+          input.resources().map(Set::copyOf),
+          input.startOffset(),
+          input.endOffset(),
+          input.points());
+
+      if (accepts(ctx, SerializedValueCodec.MEDIA_TYPE)) {
+        // Clients that understand the binary encoding get the same samples, each encoded against its resource's schema
+        // and streamed out as it is produced.
+        ctx.contentType(SerializedValueCodec.MEDIA_TYPE);
+        try (final var stream = new BufferedOutputStream(ctx.outputStream())) {
+          ResponseSerializers.writeResourceSamples(stream, resourceSamples);
+        }
+      } else {
+        // Stream the samples out as they are produced, rather than building the whole document first.
+        // With no content length known up front, the response is sent with chunked transfer encoding,
+        // and writes block whenever the client falls behind.
+        try (final var generator = Json.createGenerator(ctx.outputStream())) {
+          ResponseSerializers.writeResourceSamples(generator, resourceSamples);
+        }
+      }
     } catch (final InvalidJsonException ex) {
       ctx.status(400).result(ResponseSerializers.serializeInvalidJsonException(ex).toString());
     } catch (final InvalidEntityException ex) {
@@ -433,6 +560,16 @@ public final class MerlinBindings implements Plugin {
     }
   }
 
+  private static boolean accepts(final Context ctx, final String mediaType) {
+    final var accept = ctx.header("Accept");
+    if (accept == null) return false;
+
+    for (final var range : accept.split(",")) {
+      if (range.split(";", 2)[0].trim().equalsIgnoreCase(mediaType)) return true;
+    }
+    return false;
+  }
+
   private <T> T parseJson(final String subject, final JsonParser<T> parser)
   throws InvalidJsonException, InvalidEntityException
   {
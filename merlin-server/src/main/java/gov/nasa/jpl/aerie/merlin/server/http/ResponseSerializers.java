@@ -6,6 +6,8 @@ import gov.nasa.jpl.aerie.json.JsonParseResult.FailureReason;
 import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
 import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.binary.SerializedValueCodec;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationMetrics;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.ValidationNotice;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
@@ -23,12 +25,17 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import javax.json.Json;
 import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
 import javax.json.stream.JsonParsingException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -222,15 +229,138 @@ public final class ResponseSerializers {
         .build();
   }
 
-  public static JsonValue serializeResourceSamples(final Map<String, List<Pair<Duration, SerializedValue>>> resourceSamples) {
+  public static JsonValue serializeResourceSamples(
+      final Map<String, Pair<ValueSchema, Iterable<Pair<Duration, SerializedValue>>>> resourceSamples
+  ) {
     return Json
         .createObjectBuilder()
         .add("resourceSamples", serializeMap(
-            elements -> serializeIterable(ResponseSerializers::serializeSample, elements),
+            profile -> serializeIterable(ResponseSerializers::serializeSample, profile.getRight()),
             resourceSamples))
         .build();
   }
 
+  /**
+   * Writes the same document as {@link #serializeResourceSamples}, sample by sample,
+   * without building the document in memory first.
+   */
+  public static void writeResourceSamples(
+      final JsonGenerator generator,
+      final Map<String, Pair<ValueSchema, Iterable<Pair<Duration, SerializedValue>>>> resourceSamples
+  ) {
+    generator.writeStartObject();
+    generator.writeStartObject("resourceSamples");
+    for (final var entry : resourceSamples.entrySet()) {
+      generator.writeStartArray(entry.getKey());
+      for (final var sample : entry.getValue().getRight()) {
+        if (sample == null) {
+          generator.writeNull();
+          continue;
+        }
+
+        generator.writeStartObject();
+        generator.write("x", sample.getLeft().in(Duration.MICROSECONDS));
+        generator.writeKey("y");
+        writeArgument(generator, sample.getRight());
+        generator.writeEnd();
+      }
+      generator.writeEnd();
+    }
+    generator.writeEnd();
+    generator.writeEnd();
+  }
+
+  /** Writes the same JSON as {@link #serializeArgument}, directly to a generator. */
+  private static void writeArgument(final JsonGenerator generator, final SerializedValue value) {
+    if (value == null) {
+      generator.writeNull();
+      return;
+    }
+
+    value.match(new SerializedValue.Visitor<Void>() {
+      @Override
+      public Void onNull() {
+        generator.writeNull();
+        return null;
+      }
+
+      @Override
+      public Void onNumeric(final BigDecimal value) {
+        generator.write(value);
+        return null;
+      }
+
+      @Override
+      public Void onBoolean(final boolean value) {
+        generator.write(value);
+        return null;
+      }
+
+      @Override
+      public Void onString(final String value) {
+        generator.write(value);
+        return null;
+      }
+
+      @Override
+      public Void onMap(final Map<String, SerializedValue> value) {
+        generator.writeStartObject();
+        for (final var entry : value.entrySet()) {
+          generator.writeKey(entry.getKey());
+          entry.getValue().match(this);
+        }
+        generator.writeEnd();
+        return null;
+      }
+
+      @Override
+      public Void onList(final List<SerializedValue> value) {
+        generator.writeStartArray();
+        for (final var element : value) element.match(this);
+        generator.writeEnd();
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Writes the samples of each resource to a stream in the binary encoding of {@link SerializedValueCodec},
+   * sample by sample, as a sequence of delimited values (see {@link SerializedValueCodec.DelimitedWriter}).
+   *
+   * <p>
+   * Each resource begins with a self-describing header {@code {name, schema}}, followed by its samples and an end marker.
+   * Each sample is a {@code {x, y}} struct as in the JSON document, or null for a gap, encoded by a codec directed by
+   * the resource's schema. A final end marker follows the last resource.
+   * </p>
+   */
+  public static void writeResourceSamples(
+      final OutputStream stream,
+      final Map<String, Pair<ValueSchema, Iterable<Pair<Duration, SerializedValue>>>> resourceSamples
+  ) throws IOException {
+    final var writer = new SerializedValueCodec.DelimitedWriter(stream);
+    for (final var entry : resourceSamples.entrySet()) {
+      final var schema = entry.getValue().getLeft();
+      writer.write(SerializedValueCodec.SCHEMALESS, SerializedValue.of(Map.of(
+          "name", SerializedValue.of(entry.getKey()),
+          "schema", serializedValueP.parse(serializeValueSchema(schema)).getSuccessOrThrow())));
+
+      final var codec = SerializedValueCodec.forSchema(ValueSchema.ofStruct(Map.of(
+          "x", ValueSchema.INT,
+          "y", schema)));
+      for (final var sample : entry.getValue().getRight()) {
+        if (sample == null) {
+          writer.write(codec, SerializedValue.NULL);
+          continue;
+        }
+        writer.write(codec, SerializedValue.of(Map.of(
+            "x", SerializedValue.of(sample.getLeft().in(Duration.MICROSECONDS)),
+            "y", sample.getRight())));
+      }
+      writer.end();
+    }
+    writer.end();
+  }
+
   public static JsonValue serializeConstraintViolations(final List<Violation> violations) {
     final var builder = Json.createArrayBuilder();
 
@@ -273,6 +403,52 @@ public final class ResponseSerializers {
     }
   }
 
+  /**
+   * Serializes a change in the status of a simulation in the same shape as {@link #serializeSimulationResultsResponse},
+   * with the progress of the simulation added while it is still running.
+   */
+  public static JsonValue serializeSimulationStatusEvent(
+      final GetSimulationResultsAction.Response response,
+      final Optional<Double> progress
+  ) {
+    final var builder = Json.createObjectBuilder(serializeSimulationResultsResponse(response).asJsonObject());
+    if (response instanceof GetSimulationResultsAction.Response.Incomplete) {
+      progress.ifPresent($ -> builder.add("progress", $));
+    }
+    return builder.build();
+  }
+
+  public static JsonValue serializeSimulationMetrics(final SimulationMetrics metrics) {
+    return Json
+        .createObjectBuilder()
+        .add("activityTypes", serializeMap($ -> Json
+            .createObjectBuilder()
+            .add("tasks", $.tasks())
+            .add("steps", $.steps())
+            .add("maxStepsPerTask", $.maxStepsPerTask())
+            .add("nanos", $.nanos())
+            .build(), metrics.activityTypes()))
+        .add("resources", serializeMap($ -> Json
+            .createObjectBuilder()
+            .add("queries", $.queries())
+            .add("nanos", $.nanos())
+            .add("segments", $.segments())
+            .add("coalesced", $.coalesced())
+            .build(), metrics.resources()))
+        .add("conditions", Json
+            .createObjectBuilder()
+            .add("evaluations", metrics.conditions().evaluations())
+            .add("nanos", metrics.conditions().nanos()))
+        .add("cells", Json
+            .createObjectBuilder()
+            .add("reads", metrics.cells().reads())
+            .add("catchUps", metrics.cells().catchUps())
+            .add("pointsCaughtUp", metrics.cells().pointsCaughtUp())
+            .add("longestCatchUp", metrics.cells().longestCatchUp()))
+        .add("eventsPerTopic", serializeMap(Json::createValue, metrics.eventsPerTopic()))
+        .build();
+  }
+
   public static JsonValue serializeTimestamp(final TemporalAccessor instant) {
     final var formattedTimestamp = DateTimeFormatter
         .ofPattern("uuuu-DDD'T'HH:mm:ss.SSSSSS")
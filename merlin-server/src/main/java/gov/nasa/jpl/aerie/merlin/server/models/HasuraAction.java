@@ -1,7 +1,9 @@
 package gov.nasa.jpl.aerie.merlin.server.models;
 
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -13,6 +15,11 @@ public record HasuraAction<I extends HasuraAction.Input>(String name, I input, S
 
   public record MissionModelInput(String missionModelId) implements Input { }
   public record PlanInput(PlanId planId) implements Input { }
+  public record ResourceSamplesInput(PlanId planId,
+                                     Optional<List<String>> resources,
+                                     Optional<Duration> startOffset,
+                                     Optional<Duration> endOffset,
+                                     Optional<Integer> points) implements Input {}
   public record ActivityInput(String missionModelId,
                               String activityTypeName,
                               Map<String, SerializedValue> arguments) implements Input {}
@@ -0,0 +1,35 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/*package-local*/ final class DeleteProfilesAction implements AutoCloseable {
+  private static final @Language("SQL") String sql = """
+      with deleted_segments as (
+        delete from profile_segment
+        where dataset_id = ?
+      )
+      delete from profile
+      where dataset_id = ?
+    """;
+
+  private final PreparedStatement statement;
+
+  public DeleteProfilesAction(final Connection connection) throws SQLException {
+    this.statement = connection.prepareStatement(sql);
+  }
+
+  public void apply(final long datasetId) throws SQLException {
+    this.statement.setLong(1, datasetId);
+    this.statement.setLong(2, datasetId);
+    this.statement.executeUpdate();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    this.statement.close();
+  }
+}
@@ -3,6 +3,7 @@ package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -12,7 +13,7 @@ import java.util.TreeMap;
 public final class EventGraphUnflattener {
   private EventGraphUnflattener() {}
 
-  public static <T> EventGraph<T> unflatten(final List<Pair<String, T>> events) throws InvalidTagException {
+  public static <T> EventGraph<T> unflatten(final List<Pair<byte[], T>> events) throws InvalidTagException {
     final var iter = events.iterator();
     if (!iter.hasNext()) return EventGraph.empty();
 
@@ -31,7 +32,7 @@ public final class EventGraphUnflattener {
       try {
         trie.add(Optional.of(tag), event.getValue());
       } catch (final Trie.CollisionException ex) {
-        throw new InvalidTagException("Tag `%s` collides with another.".formatted(tag));
+        throw new InvalidTagException("Tag `%s` collides with another.".formatted(HexFormat.of().formatHex(event.getKey())));
       }
     }
 
@@ -39,7 +40,7 @@ public final class EventGraphUnflattener {
   }
 
   private record Tag(int index, Optional<Tag> suffix) {
-    public static Tag deserialize(final String subject) throws InvalidTagException {
+    public static Tag deserialize(final byte[] subject) throws InvalidTagException {
       return new TagReader(subject).readTag();
     }
   }
@@ -105,61 +106,47 @@ public final class EventGraphUnflattener {
   }
 
 
+  // Reads causal times in the encoding described by `EventGraphFlattener`.
   private static final class TagReader {
-    private final String subject;
+    private final byte[] subject;
     private int offset = 0;
 
-    public TagReader(final String subject) {
+    public TagReader(final byte[] subject) {
       this.subject = Objects.requireNonNull(subject);
     }
 
     public boolean eof() {
-      return this.subject.length() <= this.offset;
+      return this.subject.length <= this.offset;
     }
 
-    public char peek() {
-      return this.subject.charAt(this.offset);
+    public int advance() throws InvalidTagException {
+      if (this.eof()) throw new InvalidTagException("Unexpected end of tag at offset " + this.offset);
+      return Byte.toUnsignedInt(this.subject[this.offset++]);
     }
 
-    public char advance() {
-      return this.subject.charAt(this.offset++);
-    }
-
-    public void readChar(final char ch) throws InvalidTagException {
-      if (this.eof()) throw new InvalidTagException("Expected '" + ch + "' at offset " + this.offset);
-      if (this.peek() != ch) throw new InvalidTagException("Expected '" + ch + "' at offset " + this.offset);
-      this.advance();
-    }
-
-    public int readInt() throws InvalidTagException {
-      int acc;
+    public int readIndex() throws InvalidTagException {
+      final var start = this.offset;
+      final var header = this.advance();
+      if (header <= EventGraphFlattener.MAX_INLINE_INDEX) return header;
 
-      {
-        if (this.eof()) throw new InvalidTagException("Expected a digit at offset " + this.offset);
+      final var width = header - EventGraphFlattener.MAX_INLINE_INDEX;
+      if (width > Integer.BYTES) throw new InvalidTagException("Invalid index header at offset " + start);
 
-        var digit = Character.digit(this.peek(), 10);
-        if (digit == -1) throw new InvalidTagException("Expected a digit at offset " + this.offset);
-        this.advance();
-
-        acc = digit;
+      long acc = 0;
+      for (var i = 0; i < width; i += 1) {
+        acc = (acc << 8) | this.advance();
       }
 
-      while (true) {
-        if (this.eof()) break;
-
-        var digit = Character.digit(this.peek(), 10);
-        if (digit == -1) break;
-        this.advance();
-
-        acc = (acc * 10) + digit;
+      // Every index has exactly one encoding, so that distinct tags never compare equal.
+      if (acc > Integer.MAX_VALUE || acc <= EventGraphFlattener.MAX_INLINE_INDEX || (acc >>> (8 * (width - 1))) == 0) {
+        throw new InvalidTagException("Non-canonical index at offset " + start);
       }
 
-      return acc;
+      return (int) acc;
     }
 
     public Tag readTag() throws InvalidTagException {
-      this.readChar('.');
-      final var index = this.readInt();
+      final var index = this.readIndex();
 
       final var suffix = (!this.eof())
           ? Optional.of(this.readTag())
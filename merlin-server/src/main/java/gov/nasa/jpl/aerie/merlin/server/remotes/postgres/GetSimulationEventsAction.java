@@ -66,14 +66,14 @@ import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresParsers.
     return eventPoints;
   }
 
-  private static Map<Duration, SortedMap<Integer, List<Pair<String, Pair<Integer, SerializedValue>>>>>
+  private static Map<Duration, SortedMap<Integer, List<Pair<byte[], Pair<Integer, SerializedValue>>>>>
   readResultSet(final ResultSet resultSet, final Timestamp simulationStart)
   throws SQLException {
-    final var nodesByTimePoint = new HashMap<Duration, SortedMap<Integer, List<Pair<String, Pair<Integer, SerializedValue>>>>>();
+    final var nodesByTimePoint = new HashMap<Duration, SortedMap<Integer, List<Pair<byte[], Pair<Integer, SerializedValue>>>>>();
     while (resultSet.next()) {
       final var timePoint = parseOffset(resultSet, 1, simulationStart);
       final var transactionIndex = resultSet.getInt(2);
-      final var causalTime = resultSet.getString(3);
+      final var causalTime = resultSet.getBytes(3);
       final var topicIndex = resultSet.getInt(4);
       final var serializedValue = parseSerializedValue(resultSet.getString(5));
 
@@ -51,10 +51,10 @@ import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PreparedStatemen
       final Duration duration,
       final int transactionIndex,
       final Timestamp simulationStart,
-      final List<Pair<String, Pair<Integer, SerializedValue>>> flattenedEventGraph,
+      final List<Pair<byte[], Pair<Integer, SerializedValue>>> flattenedEventGraph,
       final PreparedStatement statement
   ) throws SQLException {
-    for (final Pair<String, Pair<Integer, SerializedValue>> entry : flattenedEventGraph) {
+    for (final Pair<byte[], Pair<Integer, SerializedValue>> entry : flattenedEventGraph) {
       final var causalTime = entry.getLeft();
       final Pair<Integer, SerializedValue> event = entry.getRight();
 
@@ -62,7 +62,7 @@ import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PreparedStatemen
       setTimestamp(statement, 2, simulationStart.plusMicros(duration.in(MICROSECONDS)));
       setTimestamp(statement, 3, simulationStart);
       statement.setInt(4, transactionIndex);
-      statement.setString(5, causalTime);
+      statement.setBytes(5, causalTime);
       statement.setInt(6, event.getLeft());
       statement.setString(7, serializedValueP.unparse(event.getRight()).toString());
 
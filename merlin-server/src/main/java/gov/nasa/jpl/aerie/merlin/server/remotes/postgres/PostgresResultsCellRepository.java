@@ -4,8 +4,10 @@ import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
 import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivity;
 import gov.nasa.jpl.aerie.merlin.driver.SimulatedActivityId;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationProgress;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
 import gov.nasa.jpl.aerie.merlin.driver.UnfinishedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
 import gov.nasa.jpl.aerie.merlin.driver.timeline.EventGraph;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
@@ -330,12 +332,21 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
   private static void postSimulationResults(
       final Connection connection,
       final long datasetId,
-      final SimulationResults results
+      final SimulationResults results,
+      final Map<String, Integer> postedSegmentCounts
   ) throws SQLException, NoSuchSimulationDatasetException
   {
     final var simulationStart = new Timestamp(results.startTime);
-    final var profileSet = ProfileSet.of(results.realProfiles, results.discreteProfiles);
-    ProfileRepository.postResourceProfiles(connection, datasetId, profileSet);
+    if (postedSegmentCounts.isEmpty()) {
+      final var profileSet = ProfileSet.of(results.realProfiles, results.discreteProfiles);
+      ProfileRepository.postResourceProfiles(connection, datasetId, profileSet);
+    } else {
+      // Some segments were already posted with partial results; post only the rest.
+      final var profileSet = ProfileSet.of(
+          unpostedSegments(results.realProfiles, postedSegmentCounts, true),
+          unpostedSegments(results.discreteProfiles, postedSegmentCounts, true));
+      ProfileRepository.appendResourceProfiles(connection, datasetId, profileSet);
+    }
     postActivities(connection, datasetId, results.simulatedActivities, results.unfinishedActivities, simulationStart);
     insertSimulationTopics(connection, datasetId, results.topics);
     insertSimulationEvents(connection, datasetId, results.events, simulationStart);
@@ -345,6 +356,32 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
     }
   }
 
+  /**
+   * Select the segments of each profile which have not yet been posted.
+   *
+   * @param includeLast Whether to include the last segment of each profile, which is only final once simulation is.
+   *   If not, profiles with nothing left to post are left out entirely.
+   */
+  private static <Dynamics> Map<String, Pair<ValueSchema, List<ProfileSegment<Dynamics>>>> unpostedSegments(
+      final Map<String, Pair<ValueSchema, List<ProfileSegment<Dynamics>>>> profiles,
+      final Map<String, Integer> postedSegmentCounts,
+      final boolean includeLast
+  ) {
+    final var unposted = new HashMap<String, Pair<ValueSchema, List<ProfileSegment<Dynamics>>>>(profiles.size());
+    for (final var entry : profiles.entrySet()) {
+      final var segments = entry.getValue().getRight();
+      final var start = postedSegmentCounts.getOrDefault(entry.getKey(), 0);
+      final var end = (includeLast) ? segments.size() : segments.size() - 1;
+
+      if (start < end) {
+        unposted.put(entry.getKey(), Pair.of(entry.getValue().getLeft(), segments.subList(start, end)));
+      } else if (includeLast) {
+        unposted.put(entry.getKey(), Pair.of(entry.getValue().getLeft(), List.of()));
+      }
+    }
+    return unposted;
+  }
+
   private static void insertSimulationTopics(
       Connection connection,
       long datasetId,
@@ -435,6 +472,9 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
     private final SimulationRecord simulation;
     private final long datasetId;
 
+    /** The number of segments of each profile posted so far with partial results. */
+    private final Map<String, Integer> postedSegmentCounts = new HashMap<>();
+
     public PostgresResultsCell(
         final DataSource dataSource,
         final SimulationRecord simulation,
@@ -485,7 +525,7 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
     public void succeedWith(final SimulationResults results) {
       try (final var connection = dataSource.getConnection();
            final var transactionContext = new TransactionContext(connection)) {
-        postSimulationResults(connection, datasetId, results);
+        postSimulationResults(connection, datasetId, results, this.postedSegmentCounts);
         transactionContext.commit();
       } catch (final SQLException ex) {
         throw new DatabaseException("Failed to store simulation results", ex);
@@ -498,8 +538,15 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
 
     @Override
     public void failWith(final SimulationFailure reason) {
-      try (final var connection = dataSource.getConnection()) {
+      // Any profiles posted as partial results would otherwise remain attached to the failed dataset,
+      // indistinguishable from the complete profiles of a successful one.
+      try (final var connection = dataSource.getConnection();
+           final var transactionContext = new TransactionContext(connection);
+           final var deleteProfilesAction = new DeleteProfilesAction(connection)) {
+        deleteProfilesAction.apply(datasetId);
         failSimulation(connection, datasetId, reason);
+        transactionContext.commit();
+        this.postedSegmentCounts.clear();
       } catch (final SQLException ex) {
         throw new DatabaseException("Failed to update simulation state to failure", ex);
       } catch (final NoSuchSimulationDatasetException ex) {
@@ -508,5 +555,42 @@ public final class PostgresResultsCellRepository implements ResultsCellRepositor
         throw new Error("Cell references nonexistent simulation dataset");
       }
     }
+
+    // Progress and partial results are only advisory, so failing to store them should not fail the simulation.
+
+    @Override
+    public void reportProgress(final SimulationProgress progress) {
+      try (final var connection = dataSource.getConnection();
+           final var setSimulationProgressAction = new SetSimulationProgressAction(connection)) {
+        setSimulationProgressAction.apply(datasetId, 100 * progress.fraction());
+      } catch (final SQLException ex) {
+        logger.warn("Failed to update progress of simulation dataset {}", datasetId, ex);
+      } catch (final NoSuchSimulationDatasetException ex) {
+        // A cell should only be created for a valid, existing dataset
+        // A dataset should only be deleted by its cell
+        throw new Error("Cell references nonexistent simulation dataset");
+      }
+    }
+
+    @Override
+    public void publishPartialResults(final SimulationResults partialResults) {
+      // The last segment of each profile may yet be extended, so only the segments before it are posted.
+      final var realProfiles = unpostedSegments(partialResults.realProfiles, this.postedSegmentCounts, false);
+      final var discreteProfiles = unpostedSegments(partialResults.discreteProfiles, this.postedSegmentCounts, false);
+      if (realProfiles.isEmpty() && discreteProfiles.isEmpty()) return;
+
+      try (final var connection = dataSource.getConnection();
+           final var transactionContext = new TransactionContext(connection)) {
+        ProfileRepository.appendResourceProfiles(connection, datasetId, ProfileSet.of(realProfiles, discreteProfiles));
+        transactionContext.commit();
+      } catch (final SQLException ex) {
+        logger.warn("Failed to store partial results of simulation dataset {}", datasetId, ex);
+        return;
+      }
+
+      // Only count the segments as posted once they have been committed.
+      realProfiles.forEach((name, profile) -> this.postedSegmentCounts.merge(name, profile.getRight().size(), Integer::sum));
+      discreteProfiles.forEach((name, profile) -> this.postedSegmentCounts.merge(name, profile.getRight().size(), Integer::sum));
+    }
   }
 }
@@ -0,0 +1,177 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import com.impossibl.postgres.api.jdbc.PGConnection;
+import com.impossibl.postgres.api.jdbc.PGNotificationListener;
+import gov.nasa.jpl.aerie.json.JsonParseResult;
+import gov.nasa.jpl.aerie.json.JsonParser;
+import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
+import gov.nasa.jpl.aerie.merlin.server.services.SimulationStatusBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.json.Json;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParsingException;
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static gov.nasa.jpl.aerie.json.BasicParsers.doubleP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.enumP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.longP;
+import static gov.nasa.jpl.aerie.json.BasicParsers.productP;
+import static gov.nasa.jpl.aerie.json.Uncurry.tuple;
+import static gov.nasa.jpl.aerie.json.Uncurry.untuple;
+
+/**
+ * Publishes every change in the status of a simulation, as announced by the database, to a broadcaster.
+ *
+ * <p>
+ * A single connection listens for all simulations, however many clients are subscribed to them.
+ * If the connection is lost, the listener reconnects in the background; changes made while it was down are not replayed.
+ * </p>
+ */
+public final class PostgresSimulationStatusListener implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(PostgresSimulationStatusListener.class);
+  private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+  private static final JsonParser<SimulationStatusBroadcaster.Event> simulationStatusNotificationP
+      = productP
+      . field("simulation_dataset_id", longP)
+      . field("plan_id", longP)
+      . field("status", enumP(SimulationStateRecord.Status.class, $ -> $.label))
+      . optionalField("progress", doubleP)
+      . map(
+          untuple((datasetId, planId, status, progress) -> new SimulationStatusBroadcaster.Event(
+              new PlanId(planId),
+              datasetId,
+              switch (status) {
+                case PENDING -> SimulationStatusBroadcaster.Status.PENDING;
+                case INCOMPLETE -> SimulationStatusBroadcaster.Status.INCOMPLETE;
+                case FAILED -> SimulationStatusBroadcaster.Status.FAILED;
+                case SUCCESS -> SimulationStatusBroadcaster.Status.COMPLETE;
+              },
+              progress)),
+          $ -> tuple(
+              $.simulationDatasetId(),
+              $.planId().id(),
+              switch ($.status()) {
+                case PENDING -> SimulationStateRecord.Status.PENDING;
+                case INCOMPLETE -> SimulationStateRecord.Status.INCOMPLETE;
+                case FAILED -> SimulationStateRecord.Status.FAILED;
+                case COMPLETE -> SimulationStateRecord.Status.SUCCESS;
+              },
+              $.progress()));
+
+  private final DataSource dataSource;
+  private final SimulationStatusBroadcaster<?> broadcaster;
+  private final ScheduledExecutorService reconnector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    final var thread = new Thread(runnable, "simulation-status-listener");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // The connection as handed out by the data source, which is what must be closed to give it back.
+  // When the data source is a pool, closing the unwrapped driver connection instead would never return it to the pool.
+  private volatile Connection connection = null;
+  private volatile boolean closed = false;
+
+  public PostgresSimulationStatusListener(final DataSource dataSource, final SimulationStatusBroadcaster<?> broadcaster) {
+    this.dataSource = dataSource;
+    this.broadcaster = broadcaster;
+  }
+
+  public void start() {
+    try {
+      this.listen();
+    } catch (final SQLException ex) {
+      throw new DatabaseException("Failed to register as LISTEN to postgres database.", ex);
+    }
+  }
+
+  private void listen() throws SQLException {
+    final var connection = this.dataSource.getConnection();
+    try {
+      final var pgConnection = connection.unwrap(PGConnection.class);
+      pgConnection.addNotificationListener(new SimulationStatusNotificationListener());
+
+      try (final var listenAction = new ListenSimulationStatusChangesAction(pgConnection)) {
+        listenAction.apply();
+      }
+    } catch (final SQLException ex) {
+      connection.close();
+      throw ex;
+    }
+
+    this.connection = connection;
+    // A close racing with the connection being established would otherwise have missed it.
+    if (this.closed) this.releaseConnection();
+  }
+
+  private void reconnect() {
+    if (this.closed) return;
+
+    // The lost connection still counts against the pool until it is closed.
+    this.releaseConnection();
+
+    try {
+      this.listen();
+      logger.info("Resumed listening for simulation status changes");
+    } catch (final SQLException ex) {
+      logger.warn("Failed to resume listening for simulation status changes; retrying", ex);
+      this.reconnector.schedule(this::reconnect, RECONNECT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+    this.reconnector.shutdownNow();
+    this.releaseConnection();
+  }
+
+  private synchronized void releaseConnection() {
+    final var connection = this.connection;
+    if (connection == null) return;
+    this.connection = null;
+
+    try {
+      connection.close();
+    } catch (final SQLException ex) {
+      logger.warn("Failed to close the connection listening for simulation status changes", ex);
+    }
+  }
+
+  private final class SimulationStatusNotificationListener implements PGNotificationListener {
+    @Override
+    public void notification(final int processId, final String channelName, final String payload) {
+      final JsonValue json;
+      try {
+        json = Json.createReader(new StringReader(payload)).readValue();
+      } catch (final JsonParsingException ex) {
+        logger.warn("Ignoring malformed simulation status notification: {}", payload, ex);
+        return;
+      }
+
+      final var result = simulationStatusNotificationP.parse(json);
+      if (!(result instanceof JsonParseResult.Success<SimulationStatusBroadcaster.Event> s)) {
+        logger.warn("Ignoring unrecognized simulation status notification: {}", payload);
+        return;
+      }
+
+      broadcaster.publish(s.result());
+    }
+
+    @Override
+    public void closed() {
+      if (closed) return;
+
+      logger.warn("Lost the connection listening for simulation status changes; reconnecting");
+      reconnector.schedule(PostgresSimulationStatusListener.this::reconnect, RECONNECT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package gov.nasa.jpl.aerie.merlin.server.remotes.postgres;
+
+import org.intellij.lang.annotations.Language;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/*package-local*/ final class SetSimulationProgressAction implements AutoCloseable {
+  private static final @Language("SQL") String sql = """
+        update simulation_dataset
+          set progress = ?
+          where dataset_id = ?
+        """;
+
+  private final PreparedStatement statement;
+
+  public SetSimulationProgressAction(final Connection connection) throws SQLException {
+    this.statement = connection.prepareStatement(sql);
+  }
+
+  public void apply(final long datasetId, final double percentage)
+  throws SQLException, NoSuchSimulationDatasetException
+  {
+    this.statement.setFloat(1, (float) percentage);
+    this.statement.setLong(2, datasetId);
+
+    final var count = this.statement.executeUpdate();
+    if (count < 1) throw new NoSuchSimulationDatasetException(datasetId);
+    if (count > 1) throw new Error("More than one row affected by dataset update by primary key. Is the database corrupted?");
+  }
+
+  @Override
+  public void close() throws SQLException {
+    this.statement.close();
+  }
+}
@@ -25,6 +25,11 @@ public record CachedSimulationService (
     }
   }
 
+  @Override
+  public Optional<ResultsProtocol.State> lookupSimulationResults(final PlanId planId, final RevisionData revisionData) {
+    return this.store.lookup(planId).map(ResultsProtocol.ReaderRole::get);
+  }
+
   @Override
   public Optional<SimulationResults> get(final PlanId planId, final RevisionData revisionData) {
     return this.store.lookup(planId) // Only return results that have already been cached
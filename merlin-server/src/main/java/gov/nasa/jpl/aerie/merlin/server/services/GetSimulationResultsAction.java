@@ -9,8 +9,10 @@ import gov.nasa.jpl.aerie.constraints.model.Violation;
 import gov.nasa.jpl.aerie.constraints.time.Interval;
 import gov.nasa.jpl.aerie.constraints.tree.Expression;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
+import gov.nasa.jpl.aerie.merlin.driver.engine.ProfileSegment;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
 import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
 import gov.nasa.jpl.aerie.merlin.server.exceptions.NoSuchPlanException;
 import gov.nasa.jpl.aerie.merlin.server.models.Constraint;
@@ -22,13 +24,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public final class GetSimulationResultsAction {
   public sealed interface Response {
+    long simulationDatasetId();
+
     record Pending(long simulationDatasetId) implements Response {}
     record Incomplete(long simulationDatasetId) implements Response {}
     record Failed(long simulationDatasetId, SimulationFailure reason) implements Response {}
@@ -57,6 +66,22 @@ public final class GetSimulationResultsAction {
 
     final var response = this.simulationService.getSimulationResults(planId, revisionData);
 
+    return toResponse(response);
+  }
+
+  /**
+   * Get the status of the simulation of a plan as it is now, as {@link #run} would report it,
+   * but without requesting a simulation if none exists for the current revision of the plan.
+   */
+  public Optional<Response> lookup(final PlanId planId) throws NoSuchPlanException {
+    final var revisionData = this.planService.getPlanRevisionData(planId);
+
+    return this.simulationService
+        .lookupSimulationResults(planId, revisionData)
+        .map(GetSimulationResultsAction::toResponse);
+  }
+
+  private static Response toResponse(final ResultsProtocol.State response) {
     if (response instanceof ResultsProtocol.State.Pending r) {
       return new Response.Pending(r.simulationDatasetId());
     } else if (response instanceof ResultsProtocol.State.Incomplete r) {
@@ -70,52 +95,108 @@ public final class GetSimulationResultsAction {
     }
   }
 
-  public Map<String, List<Pair<Duration, SerializedValue>>> getResourceSamples(final PlanId planId)
+  /**
+   * Get the samples of every resource profile of the latest simulation of a plan, alongside the schema of each resource.
+   *
+   * <p>
+   * Samples are produced lazily from the profiles as each resource's samples are iterated, so that callers can write
+   * them out without ever holding all of them at once.
+   * </p>
+   */
+  public Map<String, Pair<ValueSchema, Iterable<Pair<Duration, SerializedValue>>>> getResourceSamples(final PlanId planId)
   throws NoSuchPlanException
+  {
+    return this.getResourceSamples(planId, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+  }
+
+  /**
+   * Get the samples of some resource profiles of the latest simulation of a plan, over a window of time.
+   *
+   * <p>
+   * Only the named resources are sampled, if any are named, and only over the window from {@code start} to {@code end}
+   * (defaulting to the bounds of the simulation). When a number of points is given, the samples of each resource are
+   * decimated down to about that many, keeping the extremes of every part of the window (see {@link SampleDecimation}).
+   * Decimation is computed directly from the profile segments within the window, without materializing the rest.
+   * </p>
+   */
+  public Map<String, Pair<ValueSchema, Iterable<Pair<Duration, SerializedValue>>>> getResourceSamples(
+      final PlanId planId,
+      final Optional<Set<String>> resources,
+      final Optional<Duration> start,
+      final Optional<Duration> end,
+      final Optional<Integer> points
+  ) throws NoSuchPlanException
   {
     final var revisionData = this.planService.getPlanRevisionData(planId);
     final var simulationResults$ = this.simulationService.get(planId, revisionData);
     if (simulationResults$.isEmpty()) return Collections.emptyMap();
     final var simulationResults = simulationResults$.get();
 
-    final var samples = new HashMap<String, List<Pair<Duration, SerializedValue>>>();
+    final var windowStart = start.orElse(Duration.ZERO);
+    final var windowEnd = end.orElse(simulationResults.duration);
+    final var isWindowed = (start.isPresent() || end.isPresent());
 
-    simulationResults.realProfiles.forEach((name, p) -> {
-      var elapsed = Duration.ZERO;
-      var profile = p.getRight();
-
-      final var timeline = new ArrayList<Pair<Duration, SerializedValue>>();
-      for (final var piece : profile) {
-        final var extent = piece.extent();
-        final var dynamics = piece.dynamics();
-
-        timeline.add(Pair.of(elapsed, SerializedValue.of(
-            dynamics.initial)));
-        elapsed = elapsed.plus(extent);
-        timeline.add(Pair.of(elapsed, SerializedValue.of(
-            dynamics.initial + dynamics.rate * extent.ratioOver(Duration.SECONDS))));
+    final var samples = new HashMap<String, Pair<ValueSchema, Iterable<Pair<Duration, SerializedValue>>>>();
+    final BiConsumer<String, Pair<ValueSchema, Iterable<Pair<Duration, SerializedValue>>>> addSamples = (name, profile) -> {
+      if (resources.isPresent() && !resources.get().contains(name)) return;
+
+      final var schema = profile.getLeft();
+      final var profileSamples = profile.getRight();
+      final var windowSamples = (isWindowed) ? SampleDecimation.clip(profileSamples, windowStart, windowEnd) : profileSamples;
+      if (points.isPresent()) {
+        final var count = points.get();
+        samples.put(name, Pair.of(schema, () -> SampleDecimation.decimate(windowSamples, windowStart, windowEnd, count).iterator()));
+      } else {
+        samples.put(name, Pair.of(schema, windowSamples));
       }
+    };
 
-      samples.put(name, timeline);
+    simulationResults.realProfiles.forEach((name, p) -> {
+      addSamples.accept(name, Pair.of(ValueSchema.REAL, sampleProfile(
+          p.getRight(),
+          dynamics -> SerializedValue.of(dynamics.initial),
+          (dynamics, extent) -> SerializedValue.of(dynamics.initial + dynamics.rate * extent.ratioOver(Duration.SECONDS)))));
     });
     simulationResults.discreteProfiles.forEach((name, p) -> {
-      var elapsed = Duration.ZERO;
-      var profile = p.getRight();
+      addSamples.accept(name, Pair.of(p.getLeft(), sampleProfile(
+          p.getRight(),
+          value -> value,
+          (value, extent) -> value)));
+    });
 
-      final var timeline = new ArrayList<Pair<Duration, SerializedValue>>();
-      for (final var piece : profile) {
-        final var extent = piece.extent();
-        final var value = piece.dynamics();
+    return samples;
+  }
 
-        timeline.add(Pair.of(elapsed, value));
-        elapsed = elapsed.plus(extent);
-        timeline.add(Pair.of(elapsed, value));
+  /** Samples each segment of a profile at its start and at its end. */
+  private static <Dynamics> Iterable<Pair<Duration, SerializedValue>> sampleProfile(
+      final List<ProfileSegment<Dynamics>> profile,
+      final Function<Dynamics, SerializedValue> sampleStart,
+      final BiFunction<Dynamics, Duration, SerializedValue> sampleEnd
+  ) {
+    return () -> new Iterator<>() {
+      private final Iterator<ProfileSegment<Dynamics>> segments = profile.iterator();
+      private Duration elapsed = Duration.ZERO;
+      // The segment whose start has been sampled, but not its end.
+      private ProfileSegment<Dynamics> current = null;
+
+      @Override
+      public boolean hasNext() {
+        return (this.current != null) || this.segments.hasNext();
       }
 
-      samples.put(name, timeline);
-    });
-
-    return samples;
+      @Override
+      public Pair<Duration, SerializedValue> next() {
+        if (this.current == null) {
+          this.current = this.segments.next();
+          return Pair.of(this.elapsed, sampleStart.apply(this.current.dynamics()));
+        }
+
+        final var segment = this.current;
+        this.current = null;
+        this.elapsed = this.elapsed.plus(segment.extent());
+        return Pair.of(this.elapsed, sampleEnd.apply(segment.dynamics(), segment.extent()));
+      }
+    };
   }
 
   public List<Violation> getViolations(final PlanId planId)
@@ -133,6 +214,30 @@ public final class GetSimulationResultsAction {
       throw new RuntimeException("Assumption falsified -- mission model for existing plan does not exist");
     }
 
+    // Compile every constraint up front, so that only the resources they reference need to be prepared.
+    final var expressions = new HashMap<Long, Expression<List<Violation>>>(constraintCode.size());
+    final var referencedResources = new HashSet<String>();
+    for (final var entry : constraintCode.entrySet()) {
+      // TODO: cache these results
+      final var constraintCompilationResult = constraintsDSLCompilationService.compileConstraintsDSL(
+          plan.missionModelId,
+          Optional.of(planId),
+          entry.getValue().definition()
+      );
+
+      final Expression<List<Violation>> expression;
+      if (constraintCompilationResult instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Success success) {
+        expression = success.constraintExpression();
+      } else if (constraintCompilationResult instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error error) {
+        throw new Error("Constraint compilation failed: " + error);
+      } else {
+        throw new Error("Unhandled variant of ConstraintsDSLCompilationResult: " + constraintCompilationResult);
+      }
+
+      expressions.put(entry.getKey(), expression);
+      expression.extractResources(referencedResources);
+    }
+
     final var results$ = this.simulationService.get(planId, revisionData);
     final var simStartTime = results$.isPresent() ? results$.get().startTime : plan.startTimestamp.toInstant();
     final var simDuration = results$.isPresent() ?
@@ -163,8 +268,9 @@ public final class GetSimulationResultsAction {
     final var _discreteProfiles = results$
         .map(r -> r.discreteProfiles)
         .orElseGet(Collections::emptyMap);
-    final var discreteProfiles = new HashMap<String, DiscreteProfile>(_discreteProfiles.size());
+    final var discreteProfiles = new HashMap<String, DiscreteProfile>();
     for (final var entry : _discreteProfiles.entrySet()) {
+      if (!referencedResources.contains(entry.getKey())) continue;
       discreteProfiles.put(entry.getKey(), DiscreteProfile.fromSimulatedProfile(entry.getValue().getRight()));
     }
     final var _realProfiles = results$
@@ -172,6 +278,7 @@ public final class GetSimulationResultsAction {
         .orElseGet(Collections::emptyMap);
     final var realProfiles = new HashMap<String, LinearProfile>();
     for (final var entry : _realProfiles.entrySet()) {
+      if (!referencedResources.contains(entry.getKey())) continue;
       realProfiles.put(entry.getKey(), LinearProfile.fromSimulatedProfile(entry.getValue().getRight()));
     }
 
@@ -184,9 +291,11 @@ public final class GetSimulationResultsAction {
       final var profileSet = pair.getRight();
 
       for (final var profile: profileSet.discreteProfiles().entrySet()) {
+        if (!referencedResources.contains(profile.getKey())) continue;
         discreteExternalProfiles.put(profile.getKey(), DiscreteProfile.fromExternalProfile(offsetFromSimulationStart, profile.getValue().getRight()));
       }
       for (final var profile: profileSet.realProfiles().entrySet()) {
+        if (!referencedResources.contains(profile.getKey())) continue;
         realExternalProfiles.put(profile.getKey(), LinearProfile.fromExternalProfile(offsetFromSimulationStart, profile.getValue().getRight()));
       }
     }
@@ -202,27 +311,7 @@ public final class GetSimulationResultsAction {
 
     final var violations = new ArrayList<Violation>();
     for (final var entry : constraintCode.entrySet()) {
-
-      // Pipeline switch
-      // To remove the old constraints pipeline, delete the `useNewConstraintPipeline` variable
-      // and the else branch of this if statement.
-      final var constraint = entry.getValue();
-      final Expression<List<Violation>> expression;
-
-      // TODO: cache these results
-      final var constraintCompilationResult = constraintsDSLCompilationService.compileConstraintsDSL(
-          plan.missionModelId,
-          Optional.of(planId),
-          constraint.definition()
-      );
-
-      if (constraintCompilationResult instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Success success) {
-        expression = success.constraintExpression();
-      } else if (constraintCompilationResult instanceof ConstraintsDSLCompilationService.ConstraintsDSLCompilationResult.Error error) {
-        throw new Error("Constraint compilation failed: " + error);
-      } else {
-        throw new Error("Unhandled variant of ConstraintsDSLCompilationResult: " + constraintCompilationResult);
-      }
+      final var expression = expressions.get(entry.getKey());
 
       final var violationEvents = new ArrayList<Violation>();
       try {
@@ -2,9 +2,11 @@ package gov.nasa.jpl.aerie.merlin.server.services;
 
 import gov.nasa.jpl.aerie.merlin.driver.*;
 import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationInstrumentation;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.ValidationNotice;
 import gov.nasa.jpl.aerie.merlin.protocol.model.ModelType;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.protocol.types.InstantiationException;
 import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
 import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
@@ -21,6 +23,7 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -36,15 +39,54 @@ public final class LocalMissionModelService implements MissionModelService {
   private final Path missionModelDataPath;
   private final MissionModelRepository missionModelRepository;
   private final Instant untruePlanStart;
+  private final boolean instrumentSimulations;
+  private final Optional<Sharding> sharding;
 
+  /**
+   * How to split simulations into shards, to be simulated speculatively in parallel by {@link ShardedSimulationDriver}.
+   *
+   * @param shardDuration The length of simulation time covered by each shard.
+   * @param parallelism The number of shards to simulate at once.
+   */
+  public record Sharding(Duration shardDuration, int parallelism) {
+    public Sharding {
+      Objects.requireNonNull(shardDuration);
+      if (!shardDuration.isPositive()) throw new IllegalArgumentException("Shards must have a positive duration");
+      if (parallelism < 1) throw new IllegalArgumentException("At least one shard must be simulated at a time");
+    }
+  }
+
+  public LocalMissionModelService(
+      final Path missionModelDataPath,
+      final MissionModelRepository missionModelRepository,
+      final Instant untruePlanStart,
+      final boolean instrumentSimulations
+  ) {
+    this(missionModelDataPath, missionModelRepository, untruePlanStart, instrumentSimulations, Optional.empty());
+  }
+
+  /**
+   * @param instrumentSimulations Whether simulations should record what they spend their effort on,
+   *   reporting it in the {@link SimulationResults#metrics} of their results.
+   * @param sharding If present, how to split simulations into shards simulated in parallel. Sharded simulations
+   *   report no progress while they run, and are never instrumented.
+   */
   public LocalMissionModelService(
       final Path missionModelDataPath,
       final MissionModelRepository missionModelRepository,
-      final Instant untruePlanStart
+      final Instant untruePlanStart,
+      final boolean instrumentSimulations,
+      final Optional<Sharding> sharding
   ) {
     this.missionModelDataPath = missionModelDataPath;
     this.missionModelRepository = missionModelRepository;
     this.untruePlanStart = untruePlanStart;
+    this.instrumentSimulations = instrumentSimulations;
+    this.sharding = Objects.requireNonNull(sharding);
+
+    if (instrumentSimulations && sharding.isPresent()) {
+      log.warn("Simulations are sharded, so they will not be instrumented.");
+    }
   }
 
   @Override
@@ -219,6 +261,23 @@ public final class LocalMissionModelService implements MissionModelService {
   @Override
   public SimulationResults runSimulation(final CreateSimulationMessage message)
   throws NoSuchMissionModelException
+  {
+    return this.runSimulation(message, Optional.empty());
+  }
+
+  @Override
+  public SimulationResults runSimulation(
+      final CreateSimulationMessage message,
+      final SimulationProgressListener progressListener
+  ) throws NoSuchMissionModelException
+  {
+    return this.runSimulation(message, Optional.of(progressListener));
+  }
+
+  private SimulationResults runSimulation(
+      final CreateSimulationMessage message,
+      final Optional<SimulationProgressListener> progressListener
+  ) throws NoSuchMissionModelException
   {
     final var config = message.configuration();
     if (config.isEmpty()) {
@@ -227,13 +286,32 @@ public final class LocalMissionModelService implements MissionModelService {
     }
 
     // TODO: [AERIE-1516] Teardown the mission model after use to release any system resources (e.g. threads).
+    final var missionModel =
+        loadAndInstantiateMissionModel(message.missionModelId(), message.simulationStartTime(), SerializedValue.of(config));
+
+    if (this.sharding.isPresent()) {
+      return ShardedSimulationDriver.simulate(
+          missionModel,
+          message.activityDirectives(),
+          message.simulationStartTime(),
+          message.simulationDuration(),
+          message.planStartTime(),
+          message.planDuration(),
+          this.sharding.get().shardDuration(),
+          this.sharding.get().parallelism());
+    }
+
     return SimulationDriver.simulate(
-        loadAndInstantiateMissionModel(message.missionModelId(), message.simulationStartTime(), SerializedValue.of(config)),
+        missionModel,
         message.activityDirectives(),
         message.simulationStartTime(),
         message.simulationDuration(),
         message.planStartTime(),
-        message.planDuration());
+        message.planDuration(),
+        // Plan datasets back every view of the plan, so every resource is profiled.
+        $ -> true,
+        (this.instrumentSimulations) ? Optional.of(new SimulationInstrumentation()) : Optional.empty(),
+        progressListener);
   }
 
   @Override
@@ -3,6 +3,7 @@ package gov.nasa.jpl.aerie.merlin.server.services;
 import gov.nasa.jpl.aerie.merlin.driver.ActivityDirectiveId;
 import gov.nasa.jpl.aerie.merlin.driver.MissionModelLoader;
 import gov.nasa.jpl.aerie.merlin.driver.SerializedActivity;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationProgressListener;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.Parameter;
 import gov.nasa.jpl.aerie.merlin.protocol.model.InputType.ValidationNotice;
@@ -66,6 +67,16 @@ public interface MissionModelService {
   SimulationResults runSimulation(CreateSimulationMessage message)
           throws NoSuchMissionModelException, MissionModelService.NoSuchActivityTypeException;
 
+  /**
+   * Run a simulation, telling the given listener how far it has got as it runs.
+   * Services which cannot observe a running simulation may ignore the listener.
+   */
+  default SimulationResults runSimulation(CreateSimulationMessage message, SimulationProgressListener progressListener)
+          throws NoSuchMissionModelException, MissionModelService.NoSuchActivityTypeException
+  {
+    return this.runSimulation(message);
+  }
+
   void refreshModelParameters(String missionModelId) throws NoSuchMissionModelException;
   void refreshActivityTypes(String missionModelId) throws NoSuchMissionModelException;
   void refreshActivityValidations(String missionModelId, ActivityDirectiveForValidation directive)
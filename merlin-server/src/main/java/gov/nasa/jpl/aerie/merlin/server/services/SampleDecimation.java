@@ -0,0 +1,204 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Reductions over the samples of a resource profile, as produced by
+ * {@link GetSimulationResultsAction#getResourceSamples(gov.nasa.jpl.aerie.merlin.server.models.PlanId)}.
+ *
+ * <p>
+ * Samples come in time order, two per segment, so that connecting consecutive samples by straight lines
+ * reproduces the profile exactly: a linear segment is a line between its two samples, a constant segment is a flat line,
+ * and a change of segment is a vertical jump between two samples at the same time.
+ * </p>
+ */
+/*package-local*/ final class SampleDecimation {
+  private SampleDecimation() {}
+
+  /**
+   * Restrict samples to those within a window, adding samples at its bounds wherever the profile crosses them.
+   *
+   * <p>
+   * The samples are produced lazily as the result is iterated.
+   * </p>
+   */
+  public static Iterable<Pair<Duration, SerializedValue>> clip(
+      final Iterable<Pair<Duration, SerializedValue>> samples,
+      final Duration start,
+      final Duration end
+  ) {
+    return () -> new Iterator<>() {
+      private final Iterator<Pair<Duration, SerializedValue>> iterator = samples.iterator();
+      private Pair<Duration, SerializedValue> previous = null;
+      private Pair<Duration, SerializedValue> pending = null;
+      private Pair<Duration, SerializedValue> lookahead = null;
+      private boolean done = false;
+
+      @Override
+      public boolean hasNext() {
+        while (this.pending == null && !this.done) advance();
+        return (this.pending != null);
+      }
+
+      @Override
+      public Pair<Duration, SerializedValue> next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        final var sample = this.pending;
+        this.pending = null;
+        return sample;
+      }
+
+      private void advance() {
+        final Pair<Duration, SerializedValue> sample;
+        if (this.lookahead != null) {
+          sample = this.lookahead;
+          this.lookahead = null;
+        } else if (this.iterator.hasNext()) {
+          sample = this.iterator.next();
+        } else {
+          this.done = true;
+          return;
+        }
+
+        final var previous = this.previous;
+        this.previous = sample;
+        final var time = sample.getLeft();
+
+        if (time.shorterThan(start)) return;
+
+        if (previous != null && previous.getLeft().shorterThan(start) && time.longerThan(start)) {
+          // The profile enters the window between two samples.
+          this.pending = interpolate(previous, sample, start);
+          this.previous = this.pending;
+          this.lookahead = sample;
+          return;
+        }
+
+        if (time.longerThan(end)) {
+          if (previous != null && previous.getLeft().shorterThan(end) && previous.getLeft().noShorterThan(start)) {
+            // The profile leaves the window between two samples.
+            this.pending = interpolate(previous, sample, end);
+          }
+          this.done = true;
+          return;
+        }
+
+        this.pending = sample;
+      }
+    };
+  }
+
+  /**
+   * Decimate samples into a bounded number of points, preserving the extremes of the profile.
+   *
+   * <p>
+   * This is the M4 aggregation: the window is divided into {@code points / 4} equal buckets (but at least one),
+   * and each bucket keeps only its first, minimum, maximum and last samples, in their original order.
+   * When these are drawn as a line, every bucket spans the same vertical range as the full profile would,
+   * so no peaks are lost at any resolution no finer than the buckets.
+   * Samples that are not numbers have no extremes, so only the first and last of them are kept in each bucket.
+   * </p>
+   *
+   * <p>
+   * The samples must already lie within the window (see {@link #clip}). Only the retained samples are ever held at once.
+   * </p>
+   */
+  public static List<Pair<Duration, SerializedValue>> decimate(
+      final Iterable<Pair<Duration, SerializedValue>> samples,
+      final Duration start,
+      final Duration end,
+      final int points
+  ) {
+    if (points < 1) throw new IllegalArgumentException("Cannot decimate samples to fewer than one point");
+
+    final var bucketCount = Math.max(1, points / 4);
+    // Round the width upward so that the buckets always cover the whole window.
+    final var span = end.minus(start).dividedBy(Duration.EPSILON);
+    final var width = Duration.of(Math.max(1, (span + bucketCount - 1) / bucketCount), Duration.EPSILON);
+
+    final var result = new ArrayList<Pair<Duration, SerializedValue>>(4 * bucketCount);
+    final var bucket = new Bucket();
+    var bucketIndex = -1L;
+
+    for (final var sample : samples) {
+      final var index = Math.min(bucketCount - 1, sample.getLeft().minus(start).dividedBy(width));
+      if (index != bucketIndex) {
+        bucket.flushTo(result);
+        bucketIndex = index;
+      }
+      bucket.add(sample);
+    }
+    bucket.flushTo(result);
+
+    return result;
+  }
+
+  private static Pair<Duration, SerializedValue> interpolate(
+      final Pair<Duration, SerializedValue> from,
+      final Pair<Duration, SerializedValue> to,
+      final Duration time
+  ) {
+    final var x = from.getRight().asReal();
+    final var y = to.getRight().asReal();
+    if (x.isEmpty() || y.isEmpty() || x.get().equals(y.get())) return Pair.of(time, from.getRight());
+
+    final var fraction = time.minus(from.getLeft()).ratioOver(to.getLeft().minus(from.getLeft()));
+    return Pair.of(time, SerializedValue.of(x.get() + (y.get() - x.get()) * fraction));
+  }
+
+  private static final class Bucket {
+    private long count = 0;
+    private Pair<Duration, SerializedValue> first, min, max, last;
+    private long minIndex, maxIndex;
+    private double minValue, maxValue;
+
+    public void add(final Pair<Duration, SerializedValue> sample) {
+      final var index = this.count++;
+      if (index == 0) this.first = sample;
+      this.last = sample;
+
+      final Optional<Double> value = sample.getRight().asReal();
+      if (value.isEmpty()) return;
+
+      if (this.min == null || value.get() < this.minValue) {
+        this.min = sample;
+        this.minIndex = index;
+        this.minValue = value.get();
+      }
+      if (this.max == null || value.get() > this.maxValue) {
+        this.max = sample;
+        this.maxIndex = index;
+        this.maxValue = value.get();
+      }
+    }
+
+    public void flushTo(final List<Pair<Duration, SerializedValue>> result) {
+      if (this.count == 0) return;
+
+      final var lastIndex = this.count - 1;
+      result.add(this.first);
+      if (this.min != null && this.max != null) {
+        // Keep the extremes in the order they occurred, and skip those that coincide with another retained sample.
+        final var lower = (this.minIndex <= this.maxIndex) ? this.min : this.max;
+        final var lowerIndex = Math.min(this.minIndex, this.maxIndex);
+        final var upper = (this.minIndex <= this.maxIndex) ? this.max : this.min;
+        final var upperIndex = Math.max(this.minIndex, this.maxIndex);
+
+        if (lowerIndex != 0 && lowerIndex != lastIndex) result.add(lower);
+        if (upperIndex != 0 && upperIndex != lastIndex && upperIndex != lowerIndex) result.add(upper);
+      }
+      if (lastIndex != 0) result.add(this.last);
+
+      this.count = 0;
+      this.first = this.min = this.max = this.last = null;
+    }
+  }
+}
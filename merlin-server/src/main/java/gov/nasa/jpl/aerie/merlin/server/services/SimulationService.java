@@ -8,5 +8,7 @@ import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
 
 public interface SimulationService {
   ResultsProtocol.State getSimulationResults(PlanId planId, RevisionData revisionData);
+  /** Like {@link #getSimulationResults}, but never requests a simulation if none is known for the given revision. */
+  Optional<ResultsProtocol.State> lookupSimulationResults(PlanId planId, RevisionData revisionData);
   Optional<SimulationResults> get(PlanId planId, RevisionData revisionData);
 }
@@ -0,0 +1,137 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fans out changes in the status of simulations to every party interested in the plan being simulated.
+ *
+ * <p>
+ * A single source (typically one database listener) publishes events, and any number of subscribers receive them.
+ * Each event is first resolved into the update that subscribers receive, once per plan however many subscribers
+ * the plan has, so that any work needed to describe the change (such as reading it back from the database)
+ * is not repeated for every subscriber. An event that resolves to nothing is not delivered.
+ * </p>
+ *
+ * <p>
+ * Publishing never blocks on resolution or on a subscriber: both happen on the given executor, one at a time and in
+ * order. A plan whose resolution falls behind, or a subscriber that falls behind, only ever has the latest event or
+ * update waiting for it, since each status supersedes the ones before it.
+ * </p>
+ *
+ * @param <Update> The update delivered to subscribers.
+ */
+public final class SimulationStatusBroadcaster<Update> {
+  private static final Logger logger = LoggerFactory.getLogger(SimulationStatusBroadcaster.class);
+
+  public enum Status { PENDING, INCOMPLETE, FAILED, COMPLETE }
+
+  public record Event(PlanId planId, long simulationDatasetId, Status status, Optional<Double> progress) {}
+
+  public interface Subscription extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private final Executor executor;
+  private final Function<Event, Optional<Update>> resolver;
+  private final ConcurrentMap<PlanId, Channel> channels = new ConcurrentHashMap<>();
+
+  public SimulationStatusBroadcaster(final Executor executor, final Function<Event, Optional<Update>> resolver) {
+    this.executor = Objects.requireNonNull(executor);
+    this.resolver = Objects.requireNonNull(resolver);
+  }
+
+  public Subscription subscribe(final PlanId planId, final Consumer<Update> listener) {
+    final var subscriber = new Mailbox<>(this.executor, listener);
+
+    // Subscribers are only ever added and removed within an atomic operation on the plan's entry,
+    // so that a subscriber can never be added to a channel which is being dropped for having no subscribers.
+    this.channels.compute(planId, ($, channel) -> {
+      if (channel == null) channel = new Channel(planId);
+      channel.subscribers.add(subscriber);
+      return channel;
+    });
+
+    return () -> this.channels.computeIfPresent(planId, ($, channel) -> {
+      channel.subscribers.remove(subscriber);
+      return (channel.subscribers.isEmpty()) ? null : channel;
+    });
+  }
+
+  public void publish(final Event event) {
+    final var channel = this.channels.get(event.planId());
+    if (channel == null) return;
+
+    channel.events.offer(event);
+  }
+
+  /** The subscribers of one plan, and the events of that plan waiting to be resolved for them. */
+  private final class Channel {
+    private final Set<Mailbox<Update>> subscribers = ConcurrentHashMap.newKeySet();
+    private final Mailbox<Event> events;
+
+    public Channel(final PlanId planId) {
+      this.events = new Mailbox<>(executor, event -> {
+        final Optional<Update> update;
+        try {
+          update = resolver.apply(event);
+        } catch (final RuntimeException ex) {
+          logger.warn("Failed to resolve simulation status for plan {}", planId.id(), ex);
+          return;
+        }
+        if (update.isEmpty()) return;
+
+        for (final var subscriber : this.subscribers) subscriber.offer(update.get());
+      });
+    }
+  }
+
+  /** Hands messages to a consumer on an executor, one at a time and in order, keeping only the latest one waiting. */
+  private static final class Mailbox<Message> {
+    private final Executor executor;
+    private final Consumer<Message> consumer;
+    private final AtomicReference<Message> pending = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public Mailbox(final Executor executor, final Consumer<Message> consumer) {
+      this.executor = executor;
+      this.consumer = consumer;
+    }
+
+    public void offer(final Message message) {
+      this.pending.set(message);
+      if (this.scheduled.compareAndSet(false, true)) this.executor.execute(this::drain);
+    }
+
+    private void drain() {
+      while (true) {
+        final var message = this.pending.getAndSet(null);
+        if (message != null) {
+          try {
+            this.consumer.accept(message);
+          } catch (final RuntimeException ex) {
+            logger.warn("Failed to deliver simulation status", ex);
+          }
+          continue;
+        }
+
+        // Only stop once no message can have slipped in between emptying the slot and releasing the schedule.
+        this.scheduled.set(false);
+        if (this.pending.get() == null || !this.scheduled.compareAndSet(false, true)) return;
+      }
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package gov.nasa.jpl.aerie.merlin.server.services;
 
 import gov.nasa.jpl.aerie.merlin.driver.SimulationException;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationProgress;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationProgressListener;
 import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
 import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
@@ -12,12 +14,16 @@ import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
 import javax.json.Json;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public record SynchronousSimulationAgent (
     PlanService planService,
     MissionModelService missionModelService
 ) implements SimulationAgent {
+  /** The least wall-clock time between publications of partial results, in nanoseconds. */
+  public static final long PARTIAL_RESULTS_INTERVAL_NANOS = 30_000_000_000L;
+
   public sealed interface Response {
     record Failed(String reason) implements Response {}
     record Success(SimulationResults results) implements Response {}
@@ -80,7 +86,8 @@ public record SynchronousSimulationAgent (
           plan.startTimestamp.toInstant(),
           planDuration,
           plan.activityDirectives,
-          plan.configuration));
+          plan.configuration),
+          new ProgressForwarder(writer));
     } catch (SimulationException ex) {
       writer.failWith(b -> b
           .type("SIMULATION_EXCEPTION")
@@ -108,4 +115,27 @@ public record SynchronousSimulationAgent (
 
     writer.succeedWith(results);
   }
+
+  /** Forwards the progress of a simulation to a writer, along with partial results every so often. */
+  private static final class ProgressForwarder implements SimulationProgressListener {
+    private final ResultsProtocol.WriterRole writer;
+    private long lastPublishedNanos = 0;
+
+    public ProgressForwarder(final ResultsProtocol.WriterRole writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void onProgress(final SimulationProgress progress, final Supplier<SimulationResults> partialResults) {
+      this.writer.reportProgress(progress);
+
+      // The complete results will be written soon enough once simulation has finished.
+      if (progress.fraction() >= 1.0) return;
+
+      if (progress.wallClockNanos() - this.lastPublishedNanos >= PARTIAL_RESULTS_INTERVAL_NANOS) {
+        this.writer.publishPartialResults(partialResults.get());
+        this.lastPublishedNanos = progress.wallClockNanos();
+      }
+    }
+  }
 }
@@ -36,6 +36,12 @@ public record UncachedSimulationService (
     return result;
   }
 
+  @Override
+  public Optional<ResultsProtocol.State> lookupSimulationResults(final PlanId planId, final RevisionData revisionData) {
+    // No simulation outlives the request for it.
+    return Optional.empty();
+  }
+
   @Override
   public Optional<SimulationResults> get(final PlanId planId, final RevisionData revisionData) {
     return Optional.ofNullable(
@@ -5,6 +5,7 @@ import gov.nasa.jpl.aerie.merlin.server.mocks.StubPlanService;
 import gov.nasa.jpl.aerie.merlin.server.services.ConstraintsDSLCompilationService;
 import gov.nasa.jpl.aerie.merlin.server.services.GenerateConstraintsLibAction;
 import gov.nasa.jpl.aerie.merlin.server.services.GetSimulationResultsAction;
+import gov.nasa.jpl.aerie.merlin.server.services.SimulationStatusBroadcaster;
 import gov.nasa.jpl.aerie.merlin.server.services.SynchronousSimulationAgent;
 import gov.nasa.jpl.aerie.merlin.server.services.TypescriptCodeGenerationServiceAdapter;
 import gov.nasa.jpl.aerie.merlin.server.services.UncachedSimulationService;
@@ -53,7 +54,12 @@ public final class MerlinBindingsTest {
     SERVER = Javalin.create(config -> {
       config.showJavalinBanner = false;
       config.plugins.enableCors(cors -> cors.add(CorsPluginConfig::anyHost));
-      config.plugins.register(new MerlinBindings(missionModelApp, planApp, simulationAction, generateConstraintsLibAction));
+      config.plugins.register(new MerlinBindings(
+          missionModelApp,
+          planApp,
+          simulationAction,
+          generateConstraintsLibAction,
+          new SimulationStatusBroadcaster<>(Runnable::run, MerlinBindings.resolveSimulationStatus(simulationAction))));
     });
 
     SERVER.start(54321); // Use likely unused port to avoid clash with any currently hosted port 80 services
@@ -0,0 +1,93 @@
+package gov.nasa.jpl.aerie.merlin.server.http;
+
+import gov.nasa.jpl.aerie.merlin.driver.binary.SerializedValueCodec;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.merlin.protocol.types.ValueSchema;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import javax.json.Json;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static gov.nasa.jpl.aerie.merlin.driver.json.SerializedValueJsonParser.serializedValueP;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class ResponseSerializersTest {
+  private static final Map<String, Pair<ValueSchema, Iterable<Pair<Duration, SerializedValue>>>> SAMPLES = Map.of(
+      "/real", Pair.of(ValueSchema.REAL, List.of(
+          Pair.of(Duration.ZERO, SerializedValue.of(1.5)),
+          Pair.of(Duration.of(2, Duration.SECONDS), SerializedValue.of(new BigDecimal("3.250"))))),
+      "/discrete", Pair.of(
+          ValueSchema.ofStruct(Map.of(
+              "mode", ValueSchema.STRING,
+              "flags", ValueSchema.ofSeries(ValueSchema.BOOLEAN))),
+          List.of(
+              Pair.of(Duration.ZERO, SerializedValue.of(Map.of(
+                  "mode", SerializedValue.of("on"),
+                  "flags", SerializedValue.of(List.of(SerializedValue.of(true), SerializedValue.of(false)))))),
+              Pair.of(Duration.of(5, Duration.SECONDS), SerializedValue.of(7)))),
+      "/empty", Pair.of(ValueSchema.BOOLEAN, List.of()));
+
+  @Test
+  public void streamedResourceSamplesMatchSerializedResourceSamples() {
+    final var output = new StringWriter();
+    try (final var generator = Json.createGenerator(output)) {
+      ResponseSerializers.writeResourceSamples(generator, SAMPLES);
+    }
+
+    final var streamed = Json.createReader(new StringReader(output.toString())).readValue();
+    assertThat(streamed).isEqualTo(ResponseSerializers.serializeResourceSamples(SAMPLES));
+  }
+
+  @Test
+  public void binaryResourceSamplesDecodeWithTheSchemaOfEachResource() throws Exception {
+    final var output = new ByteArrayOutputStream();
+    ResponseSerializers.writeResourceSamples(output, SAMPLES);
+
+    final var input = new ByteArrayInputStream(output.toByteArray());
+    final var decoded = new HashMap<String, List<SerializedValue>>();
+    while (true) {
+      final var header$ = SerializedValueCodec.SCHEMALESS.decodeDelimited(input);
+      if (header$.isEmpty()) break;
+      final var header = header$.get().asMap().orElseThrow();
+
+      final var name = header.get("name").asString().orElseThrow();
+      final var schema = header.get("schema");
+      assertThat(schema).isEqualTo(
+          serializedValueP.parse(ResponseSerializers.serializeValueSchema(SAMPLES.get(name).getLeft())).getSuccessOrThrow());
+
+      final var codec = SerializedValueCodec.forSchema(ValueSchema.ofStruct(Map.of(
+          "x", ValueSchema.INT,
+          "y", SAMPLES.get(name).getLeft())));
+      final var samples = new ArrayList<SerializedValue>();
+      while (true) {
+        final var sample = codec.decodeDelimited(input);
+        if (sample.isEmpty()) break;
+        samples.add(sample.get());
+      }
+      decoded.put(name, samples);
+    }
+    assertThat(input.read()).isEqualTo(-1);
+
+    final var expected = new HashMap<String, List<SerializedValue>>();
+    SAMPLES.forEach((name, profile) -> {
+      final var samples = new ArrayList<SerializedValue>();
+      for (final var sample : profile.getRight()) {
+        samples.add(SerializedValue.of(Map.of(
+            "x", SerializedValue.of(sample.getLeft().in(Duration.MICROSECONDS)),
+            "y", sample.getRight())));
+      }
+      expected.put(name, samples);
+    });
+    assertThat(decoded).isEqualTo(expected);
+  }
+}
@@ -7,12 +7,19 @@ import net.jqwik.api.ForAll;
 import net.jqwik.api.Label;
 import net.jqwik.api.Property;
 import net.jqwik.api.Provide;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static gov.nasa.jpl.aerie.merlin.driver.timeline.EffectExpressionDisplay.displayGraph;
 import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.EventGraphFlattener.flatten;
 import static gov.nasa.jpl.aerie.merlin.server.remotes.postgres.EventGraphUnflattener.unflatten;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class EventGraphFlattenerTest {
   @Test
@@ -36,6 +43,56 @@ public final class EventGraphFlattenerTest {
     assertEquals("a | (x; (y | z); w)", unFlattenedLex.toString());
   }
 
+  @Test
+  void testFlattenEncoding() {
+    final var eventGraph =
+        EventGraph.sequentially(
+            EventGraph.atom("x"),
+            EventGraph.concurrently(
+                EventGraph.atom("y"),
+                EventGraph.atom("z")));
+
+    final var flattened = flatten(eventGraph);
+
+    assertEquals(3, flattened.size());
+    assertArrayEquals(new byte[] {1}, flattened.get(0).getKey());
+    assertArrayEquals(new byte[] {2, 1}, flattened.get(1).getKey());
+    assertArrayEquals(new byte[] {2, 2}, flattened.get(2).getKey());
+  }
+
+  @Test
+  void testFlattenWideIndices() throws EventGraphUnflattener.InvalidTagException {
+    // Enough sequential events to need one- and two-byte wide indices.
+    var eventGraph = EventGraph.<String>empty();
+    for (var i = 1000; i > 0; i -= 1) {
+      eventGraph = EventGraph.sequentially(EventGraph.atom(String.valueOf(i)), eventGraph);
+    }
+
+    final var flattened = flatten(eventGraph);
+
+    assertEquals(1000, flattened.size());
+    assertArrayEquals(new byte[] {(byte) 247}, flattened.get(246).getKey());
+    assertArrayEquals(new byte[] {(byte) 248, (byte) 248}, flattened.get(247).getKey());
+    assertArrayEquals(new byte[] {(byte) 249, 3, (byte) 232}, flattened.get(999).getKey());
+    assertEquals(displayGraph(eventGraph), displayGraph(unflatten(flattened)));
+  }
+
+  @Test
+  void testUnflattenRejectsInvalidTags() {
+    // Truncated, non-canonical, and out-of-range indices.
+    final var tags = List.of(
+        new byte[] {},
+        new byte[] {(byte) 249, 3},
+        new byte[] {(byte) 248, 1},
+        new byte[] {(byte) 252, 1, 0, 0, 0, 0});
+
+    for (final var tag : tags) {
+      assertThrows(
+          EventGraphUnflattener.InvalidTagException.class,
+          () -> unflatten(List.of(Pair.of(tag, "x"))));
+    }
+  }
+
   @Property
   @Label("unflatten is a left inverse of flatten")
   public void flattenThenUnflatten(@ForAll("fanout") final EventGraph<String> graph)
@@ -47,6 +104,17 @@ public final class EventGraphFlattenerTest {
     assertEquals(displayGraph(graph), displayGraph(result));
   }
 
+  @Property
+  @Label("flattened causal times are ordered under unsigned byte comparison")
+  public void flattenIsOrdered(@ForAll("fanout") final EventGraph<String> graph) {
+    final var flattened = flatten(graph);
+
+    // Events are flattened in causal order, so every tag must compare strictly after the one before it.
+    for (var i = 1; i < flattened.size(); i += 1) {
+      assertTrue(Arrays.compareUnsigned(flattened.get(i - 1).getKey(), flattened.get(i).getKey()) < 0);
+    }
+  }
+
   // Generates arbitrary graphs with the "fanout" property: no event has a Concurrently node in its past.
   // TaskFrame can't generate graphs with the subgraph `(x | y); z`; events cannot be emitted
   // with two branches in their history. We exclude such graphs from generation.
@@ -0,0 +1,79 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static gov.nasa.jpl.aerie.merlin.protocol.types.Duration.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class SampleDecimationTest {
+  @Test
+  public void clipInterpolatesAtTheBoundsOfTheWindow() {
+    // A ramp from 0 to 10 over ten seconds, then a jump to a constant 20 for ten more seconds.
+    final var samples = List.of(
+        sample(0, 0.0), sample(10, 10.0),
+        sample(10, 20.0), sample(20, 20.0));
+
+    assertThat(SampleDecimation.clip(samples, seconds(5), seconds(15)))
+        .containsExactly(sample(5, 5.0), sample(10, 10.0), sample(10, 20.0), sample(15, 20.0));
+
+    assertThat(SampleDecimation.clip(samples, seconds(2), seconds(4)))
+        .containsExactly(sample(2, 2.0), sample(4, 4.0));
+
+    assertThat(SampleDecimation.clip(samples, seconds(10), seconds(10)))
+        .containsExactly(sample(10, 10.0), sample(10, 20.0));
+
+    assertThat(SampleDecimation.clip(samples, seconds(30), seconds(40)))
+        .isEmpty();
+  }
+
+  @Test
+  public void clipHoldsNonNumericValues() {
+    final var samples = List.of(
+        Pair.of(seconds(0), SerializedValue.of("off")), Pair.of(seconds(10), SerializedValue.of("off")));
+
+    assertThat(SampleDecimation.clip(samples, seconds(3), seconds(7)))
+        .containsExactly(Pair.of(seconds(3), SerializedValue.of("off")), Pair.of(seconds(7), SerializedValue.of("off")));
+  }
+
+  @Test
+  public void decimatePreservesExtremesOfEveryBucket() {
+    // One second per segment, alternating between a spike and a dip, with a larger spike hidden in the middle.
+    final var samples = new ArrayList<Pair<Duration, SerializedValue>>();
+    for (var i = 0; i < 1000; i += 1) {
+      final var value = (i == 517) ? 100.0 : (i % 2 == 0) ? 1.0 : -1.0;
+      samples.add(sample(i, value));
+      samples.add(sample(i + 1, value));
+    }
+
+    final var decimated = SampleDecimation.decimate(samples, seconds(0), seconds(1000), 40);
+
+    assertThat(decimated).hasSizeLessThanOrEqualTo(40);
+    assertThat(decimated).isSortedAccordingTo((x, y) -> x.getLeft().compareTo(y.getLeft()));
+    assertThat(decimated.get(0)).isEqualTo(samples.get(0));
+    assertThat(decimated.get(decimated.size() - 1)).isEqualTo(samples.get(samples.size() - 1));
+    assertThat(decimated).contains(sample(517, 100.0));
+    assertThat(decimated.stream().mapToDouble($ -> $.getRight().asReal().orElseThrow()).min().orElseThrow()).isEqualTo(-1.0);
+  }
+
+  @Test
+  public void decimateKeepsSparseSamples() {
+    final var samples = List.of(sample(0, 1.0), sample(5, 2.0), sample(5, 3.0), sample(10, 3.0));
+
+    assertThat(SampleDecimation.decimate(samples, seconds(0), seconds(10), 100))
+        .containsExactlyElementsOf(samples);
+  }
+
+  private static Duration seconds(final long quantity) {
+    return Duration.of(quantity, SECONDS);
+  }
+
+  private static Pair<Duration, SerializedValue> sample(final long seconds, final double value) {
+    return Pair.of(seconds(seconds), SerializedValue.of(value));
+  }
+}
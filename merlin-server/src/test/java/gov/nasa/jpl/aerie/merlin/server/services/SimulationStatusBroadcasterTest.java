@@ -0,0 +1,119 @@
+package gov.nasa.jpl.aerie.merlin.server.services;
+
+import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class SimulationStatusBroadcasterTest {
+  private static final PlanId PLAN = new PlanId(1);
+  private static final PlanId OTHER_PLAN = new PlanId(2);
+
+  @Test
+  public void eventsReachOnlySubscribersOfTheirPlan() {
+    final var broadcaster = new SimulationStatusBroadcaster<SimulationStatusBroadcaster.Event>(Runnable::run, Optional::of);
+    final var first = new ArrayList<SimulationStatusBroadcaster.Event>();
+    final var second = new ArrayList<SimulationStatusBroadcaster.Event>();
+    final var other = new ArrayList<SimulationStatusBroadcaster.Event>();
+
+    final var subscription = broadcaster.subscribe(PLAN, first::add);
+    broadcaster.subscribe(PLAN, second::add);
+    broadcaster.subscribe(OTHER_PLAN, other::add);
+
+    broadcaster.publish(event(SimulationStatusBroadcaster.Status.PENDING, Optional.empty()));
+    subscription.close();
+    broadcaster.publish(event(SimulationStatusBroadcaster.Status.INCOMPLETE, Optional.of(50.0)));
+
+    assertThat(first).containsExactly(
+        event(SimulationStatusBroadcaster.Status.PENDING, Optional.empty()));
+    assertThat(second).containsExactly(
+        event(SimulationStatusBroadcaster.Status.PENDING, Optional.empty()),
+        event(SimulationStatusBroadcaster.Status.INCOMPLETE, Optional.of(50.0)));
+    assertThat(other).isEmpty();
+  }
+
+  @Test
+  public void slowSubscribersReceiveOnlyTheLatestEvent() {
+    final var tasks = new ArrayDeque<Runnable>();
+    final var broadcaster = new SimulationStatusBroadcaster<SimulationStatusBroadcaster.Event>(tasks::add, Optional::of);
+    final var received = new ArrayList<SimulationStatusBroadcaster.Event>();
+    broadcaster.subscribe(PLAN, received::add);
+
+    broadcaster.publish(event(SimulationStatusBroadcaster.Status.INCOMPLETE, Optional.of(10.0)));
+    broadcaster.publish(event(SimulationStatusBroadcaster.Status.INCOMPLETE, Optional.of(20.0)));
+    broadcaster.publish(event(SimulationStatusBroadcaster.Status.COMPLETE, Optional.of(100.0)));
+
+    // Publishing never resolves or delivers on the publisher's thread, and schedules at most one resolution per plan.
+    assertThat(received).isEmpty();
+    assertThat(tasks).hasSize(1);
+
+    tasks.remove().run();
+    assertThat(tasks).hasSize(1);
+    tasks.remove().run();
+    assertThat(received).containsExactly(event(SimulationStatusBroadcaster.Status.COMPLETE, Optional.of(100.0)));
+    assertThat(tasks).isEmpty();
+  }
+
+  @Test
+  public void eventsAreResolvedOncePerPlan() {
+    final var resolutions = new AtomicInteger(0);
+    final var broadcaster = new SimulationStatusBroadcaster<String>(Runnable::run, event -> {
+      resolutions.incrementAndGet();
+      return (event.status() == SimulationStatusBroadcaster.Status.PENDING)
+          ? Optional.empty()
+          : Optional.of(event.status().name());
+    });
+    final var first = new ArrayList<String>();
+    final var second = new ArrayList<String>();
+    broadcaster.subscribe(PLAN, first::add);
+    broadcaster.subscribe(PLAN, second::add);
+
+    broadcaster.publish(event(SimulationStatusBroadcaster.Status.PENDING, Optional.empty()));
+    broadcaster.publish(event(SimulationStatusBroadcaster.Status.INCOMPLETE, Optional.of(50.0)));
+
+    assertThat(resolutions.get()).isEqualTo(2);
+    assertThat(first).containsExactly("INCOMPLETE");
+    assertThat(second).containsExactly("INCOMPLETE");
+  }
+
+  @Test
+  public void subscribingWhileTheLastSubscriberLeavesStillReceivesEvents() throws InterruptedException {
+    for (var i = 0; i < 1000; i += 1) {
+      final var broadcaster = new SimulationStatusBroadcaster<SimulationStatusBroadcaster.Event>(Runnable::run, Optional::of);
+      final var leaving = broadcaster.subscribe(PLAN, $ -> {});
+      final var received = new CopyOnWriteArrayList<SimulationStatusBroadcaster.Event>();
+
+      final var start = new CountDownLatch(1);
+      final var leaver = new Thread(() -> {
+        try {
+          start.await();
+        } catch (final InterruptedException ex) {
+          throw new RuntimeException(ex);
+        }
+        leaving.close();
+      });
+      leaver.start();
+
+      start.countDown();
+      broadcaster.subscribe(PLAN, received::add);
+      leaver.join();
+
+      broadcaster.publish(event(SimulationStatusBroadcaster.Status.COMPLETE, Optional.of(100.0)));
+      assertThat(received).containsExactly(event(SimulationStatusBroadcaster.Status.COMPLETE, Optional.of(100.0)));
+    }
+  }
+
+  private static SimulationStatusBroadcaster.Event event(
+      final SimulationStatusBroadcaster.Status status,
+      final Optional<Double> progress
+  ) {
+    return new SimulationStatusBroadcaster.Event(PLAN, 7, status, progress);
+  }
+}
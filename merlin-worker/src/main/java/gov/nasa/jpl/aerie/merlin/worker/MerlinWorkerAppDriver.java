@@ -3,9 +3,11 @@ package gov.nasa.jpl.aerie.merlin.worker;
 import com.impossibl.postgres.jdbc.PGDataSource;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import gov.nasa.jpl.aerie.merlin.protocol.types.Duration;
 import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
 import gov.nasa.jpl.aerie.merlin.server.config.PostgresStore;
 import gov.nasa.jpl.aerie.merlin.server.config.Store;
+import gov.nasa.jpl.aerie.merlin.server.http.ResponseSerializers;
 import gov.nasa.jpl.aerie.merlin.server.models.PlanId;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresMissionModelRepository;
 import gov.nasa.jpl.aerie.merlin.server.remotes.postgres.PostgresPlanRepository;
@@ -18,10 +20,13 @@ import gov.nasa.jpl.aerie.merlin.server.services.UnexpectedSubtypeError;
 import gov.nasa.jpl.aerie.merlin.worker.postgres.PostgresSimulationNotificationPayload;
 import io.javalin.Javalin;
 
+import javax.json.Json;
+import javax.json.JsonValue;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class MerlinWorkerAppDriver {
   public static void main(String[] args) throws Exception {
@@ -52,7 +57,9 @@ public final class MerlinWorkerAppDriver {
     final var missionModelController = new LocalMissionModelService(
         configuration.merlinFileStore(),
         stores.missionModels(),
-        configuration.untruePlanStart());
+        configuration.untruePlanStart(),
+        configuration.instrumentSimulations(),
+        configuration.simulationSharding());
     final var planController = new LocalPlanService(stores.plans());
     final var simulationAgent = new SynchronousSimulationAgent(planController, missionModelController);
 
@@ -63,6 +70,10 @@ public final class MerlinWorkerAppDriver {
     final var app = Javalin.create().start(8080);
     app.get("/health", ctx -> ctx.status(200));
 
+    // The metrics of the most recent instrumented simulation, if any.
+    final var latestMetrics = new AtomicReference<JsonValue>(JsonValue.EMPTY_JSON_OBJECT);
+    app.get("/metrics", ctx -> ctx.contentType("application/json").result(latestMetrics.get().toString()));
+
     while (true) {
       final var notification = notificationQueue.take();
       final var planId = new PlanId(notification.planId());
@@ -76,7 +87,12 @@ public final class MerlinWorkerAppDriver {
           notification.planRevision(),
           notification.simulationRevision(),
           notification.simulationTemplateRevision());
-      final ResultsProtocol.WriterRole writer = owner.get();
+      final ResultsProtocol.WriterRole writer = new MetricsRecordingWriter(owner.get(), metrics -> latestMetrics.set(Json
+          .createObjectBuilder()
+          .add("planId", planId.id())
+          .add("simulationDatasetId", datasetId)
+          .add("metrics", ResponseSerializers.serializeSimulationMetrics(metrics))
+          .build()));
       try {
         simulationAgent.simulate(planId, revisionData, writer);
       } catch (final Throwable ex) {
@@ -102,7 +118,21 @@ public final class MerlinWorkerAppDriver {
                           Integer.parseInt(getEnv("MERLIN_WORKER_DB_PORT", "5432")),
                           getEnv("MERLIN_WORKER_DB_PASSWORD", ""),
                           getEnv("MERLIN_WORKER_DB", "aerie_merlin")),
-        Instant.parse(getEnv("UNTRUE_PLAN_START", ""))
+        Instant.parse(getEnv("UNTRUE_PLAN_START", "")),
+        Boolean.parseBoolean(getEnv("MERLIN_WORKER_INSTRUMENT_SIMULATIONS", "false")),
+        loadSimulationSharding()
     );
   }
+
+  private static Optional<LocalMissionModelService.Sharding> loadSimulationSharding() {
+    // Sharding is opt-in: simulations are only sharded if given a shard length.
+    final var shardMinutes = Long.parseLong(getEnv("MERLIN_WORKER_SIMULATION_SHARD_MINUTES", "0"));
+    if (shardMinutes <= 0) return Optional.empty();
+
+    return Optional.of(new LocalMissionModelService.Sharding(
+        Duration.of(shardMinutes, Duration.MINUTES),
+        Integer.parseInt(getEnv(
+            "MERLIN_WORKER_SIMULATION_SHARD_PARALLELISM",
+            String.valueOf(Runtime.getRuntime().availableProcessors())))));
+  }
 }
@@ -0,0 +1,40 @@
+package gov.nasa.jpl.aerie.merlin.worker;
+
+import gov.nasa.jpl.aerie.merlin.driver.SimulationFailure;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationProgress;
+import gov.nasa.jpl.aerie.merlin.driver.SimulationResults;
+import gov.nasa.jpl.aerie.merlin.driver.engine.SimulationMetrics;
+import gov.nasa.jpl.aerie.merlin.server.ResultsProtocol;
+
+import java.util.function.Consumer;
+
+/** A writer which hands the metrics of any results it writes to a listener, before writing them. */
+public record MetricsRecordingWriter(ResultsProtocol.WriterRole writer, Consumer<SimulationMetrics> listener)
+    implements ResultsProtocol.WriterRole
+{
+  @Override
+  public boolean isCanceled() {
+    return this.writer.isCanceled();
+  }
+
+  @Override
+  public void succeedWith(final SimulationResults results) {
+    results.metrics.ifPresent(this.listener);
+    this.writer.succeedWith(results);
+  }
+
+  @Override
+  public void failWith(final SimulationFailure reason) {
+    this.writer.failWith(reason);
+  }
+
+  @Override
+  public void reportProgress(final SimulationProgress progress) {
+    this.writer.reportProgress(progress);
+  }
+
+  @Override
+  public void publishPartialResults(final SimulationResults partialResults) {
+    this.writer.publishPartialResults(partialResults);
+  }
+}
@@ -1,19 +1,24 @@
 package gov.nasa.jpl.aerie.merlin.worker;
 
 import gov.nasa.jpl.aerie.merlin.server.config.Store;
+import gov.nasa.jpl.aerie.merlin.server.services.LocalMissionModelService;
 
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.Optional;
 
 public record WorkerAppConfiguration(
     Path merlinFileStore,
     Store store,
-    Instant untruePlanStart
+    Instant untruePlanStart,
+    boolean instrumentSimulations,
+    Optional<LocalMissionModelService.Sharding> simulationSharding
 ) {
   public WorkerAppConfiguration {
     Objects.requireNonNull(merlinFileStore);
     Objects.requireNonNull(store);
     Objects.requireNonNull(untruePlanStart);
+    Objects.requireNonNull(simulationSharding);
   }
 }
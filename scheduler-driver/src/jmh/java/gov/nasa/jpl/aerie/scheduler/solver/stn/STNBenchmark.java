@@ -0,0 +1,92 @@
+package gov.nasa.jpl.aerie.scheduler.solver.stn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the incremental {@link STN} against the jgrapht-based {@link BellmanFordSTN} it replaced.
+ *
+ * <p>
+ * Each benchmark builds a chain of activities within a horizon, one after the other, and propagates the network after
+ * every activity is added, the way a scheduler inserting activities one at a time would. The small chain is
+ * representative of the single-activity networks built for each activity creation, and the larger ones of networks
+ * relating many activities.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class STNBenchmark {
+  @Param({"1", "10", "50"})
+  public int activities;
+
+  @Benchmark
+  public double incremental() {
+    final var stn = new STN();
+    return buildChain(this.activities, new Network() {
+      @Override public void addTimepoint(final String tp) { stn.addTimepoint(tp); }
+      @Override public void addBeforeCst(final String a, final String b) { stn.addBeforeCst(a, b); }
+      @Override public void addDurCst(final String a, final String b, final double min, final double max) { stn.addDurCst(a, b, min, max); }
+      @Override public boolean update() { return stn.update(); }
+      @Override public double getDist(final String a, final String b) { return stn.getDist(a, b); }
+    });
+  }
+
+  @Benchmark
+  public double bellmanFord() {
+    final var stn = new BellmanFordSTN();
+    return buildChain(this.activities, new Network() {
+      @Override public void addTimepoint(final String tp) { stn.addTimepoint(tp); }
+      @Override public void addBeforeCst(final String a, final String b) { stn.addBeforeCst(a, b); }
+      @Override public void addDurCst(final String a, final String b, final double min, final double max) { stn.addDurCst(a, b, min, max); }
+      @Override public boolean update() { return stn.update(); }
+      @Override public double getDist(final String a, final String b) { return stn.getDist(a, b); }
+    });
+  }
+
+  private static double buildChain(final int activities, final Network stn) {
+    final var horizon = 1000.0 * activities;
+
+    stn.addTimepoint("SI");
+    stn.addTimepoint("EI");
+    stn.addDurCst("SI", "EI", horizon, horizon);
+
+    var total = 0.0;
+    for (var i = 0; i < activities; i++) {
+      final var st = "st" + i;
+      final var et = "et" + i;
+      stn.addTimepoint(st);
+      stn.addTimepoint(et);
+      stn.addBeforeCst(st, et);
+      stn.addBeforeCst("SI", st);
+      stn.addBeforeCst(et, "EI");
+      stn.addDurCst(st, et, 10, 100);
+      if (i > 0) stn.addBeforeCst("et" + (i - 1), st);
+
+      if (!stn.update()) throw new IllegalStateException("Benchmark network should be consistent");
+      total += stn.getDist("SI", st) - stn.getDist(et, "SI");
+    }
+    return total;
+  }
+
+  private interface Network {
+    void addTimepoint(String tp);
+    void addBeforeCst(String a, String b);
+    void addDurCst(String a, String b, double min, double max);
+    boolean update();
+    double getDist(String a, String b);
+  }
+}
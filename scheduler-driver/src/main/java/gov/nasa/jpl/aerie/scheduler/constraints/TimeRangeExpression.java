@@ -42,7 +42,7 @@ public class TimeRangeExpression {
     }
 
     if (actTemplate != null) {
-      Windows actTw = new Windows(false);
+      final var actTw = new Windows(false).toBuilder();
       var minTimepoint = inter.minTrueTimePoint();
       var maxTimepoint = inter.maxTrueTimePoint();
       if(minTimepoint.isPresent() && maxTimepoint.isPresent()) {
@@ -55,10 +55,10 @@ public class TimeRangeExpression {
           if(anchorAct.duration().isZero()){
             endInclusivity = Interval.Inclusivity.Inclusive;
           }
-          actTw = actTw.set(Interval.between(anchorAct.duration(), Interval.Inclusivity.Inclusive, anchorAct.getEndTime(), endInclusivity), true);
+          actTw.set(Interval.between(anchorAct.duration(), Interval.Inclusivity.Inclusive, anchorAct.getEndTime(), endInclusivity), true);
         }
       }
-      inter = inter.and(actTw);
+      inter = inter.and(actTw.build());
       if(inter.stream().noneMatch(Segment::value)) return inter;
     }
 
@@ -175,11 +175,11 @@ public class ActivityExpression implements Expression<Spans> {
      */
     public @NotNull
     B startsOrEndsIn(@Nullable Windows windows) {
-      Windows wins = new Windows(false);
+      final var wins = new Windows(false).toBuilder();
       for(final var win : windows.iterateEqualTo(true)){
-        wins = wins.set(extendUpToAbsoluteError(win, acceptableAbsoluteTimingError), true);
+        wins.set(extendUpToAbsoluteError(win, acceptableAbsoluteTimingError), true);
       }
-      this.startsOrEndsInW = wins;
+      this.startsOrEndsInW = wins.build();
       return getThis();
     }
 
@@ -207,11 +207,11 @@ public class ActivityExpression implements Expression<Spans> {
 
     public @NotNull
     B startsIn(Windows ranges) {
-      Windows wins = new Windows(false);
+      final var wins = new Windows(false).toBuilder();
       for(final var win : ranges.iterateEqualTo(true)) {
-        wins = wins.set(extendUpToAbsoluteError(win, acceptableAbsoluteTimingError), true);
+        wins.set(extendUpToAbsoluteError(win, acceptableAbsoluteTimingError), true);
       }
-      this.startsInR = wins;
+      this.startsInR = wins.build();
       return getThis();
     }
 
@@ -24,19 +24,19 @@ public class FilterLatching implements TimeWindowsFilter {
 
   @Override
   public Windows filter(final SimulationResults simulationResults, final Plan plan, final Windows windows) {
-    Windows ret = windows;
+    final var ret = windows.toBuilder();
     boolean first = true;
     for (final var interval: windows.iterateEqualTo(true)) {
       if (first) {
         if (firstFilter.shouldKeep(simulationResults, plan, interval)) {
           first = false;
         } else {
-          ret = ret.set(interval, false);
+          ret.set(interval, false);
         }
       } else if (!otherFilter.shouldKeep(simulationResults, plan, interval)) {
-        ret = ret.set(interval, false);
+        ret.set(interval, false);
       }
     }
-    return ret;
+    return ret.build();
   }
 }
@@ -26,17 +26,16 @@ public class FilterSequenceMaxGapAfter implements TimeWindowsFilter {
   @Override
   public Windows filter(final SimulationResults simulationResults, final Plan plan, final Windows windows) {
     Interval before = null;
-    var result = windows;
+    final var result = windows.toBuilder();
     for (var interval : windows.iterateEqualTo(true)) {
       if (before != null) {
         if (interval.start.minus(before.end).compareTo(maxDelay) > 0) {
-          result = result.set(before, false);
+          result.set(before, false);
         }
       }
       before = interval;
     }
-    result = result.removeTrueSegment(-1);
-    return result;
+    return result.build().removeTrueSegment(-1);
   }
 
 
@@ -23,14 +23,14 @@ public class FilterSequenceMaxGapBefore implements TimeWindowsFilter {
   @Override
   public Windows filter(final SimulationResults simulationResults, final Plan plan, final Windows windows) {
     Interval before = null;
-    var result = windows;
+    final var result = windows.toBuilder();
     for (var interval : windows.iterateEqualTo(true)) {
       if (before == null || interval.start.minus(before.end).compareTo(delay) > 0) {
-        result = result.set(interval, false);
+        result.set(interval, false);
       }
       before = interval;
     }
-    return result;
+    return result.build();
   }
 
 
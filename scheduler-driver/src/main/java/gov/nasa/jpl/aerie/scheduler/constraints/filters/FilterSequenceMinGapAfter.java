@@ -25,16 +25,16 @@ public class FilterSequenceMinGapAfter implements TimeWindowsFilter {
   @Override
   public Windows filter(final SimulationResults simulationResults, final Plan plan, final Windows windows) {
     Interval before = null;
-    var result = windows;
+    final var result = windows.toBuilder();
     for (final var interval: windows.iterateEqualTo(true)) {
       if (before != null) {
         if (interval.start.minus(before.end).compareTo(minDelay) < 0) {
-          result = result.set(before, false);
+          result.set(before, false);
         }
       }
       before = interval;
     }
-    return result;
+    return result.build();
   }
 
 
@@ -24,7 +24,7 @@ public class FilterWithReset implements TimeWindowsFilter {
 
   @Override
   public Windows filter(final SimulationResults simulationResults, final Plan plan, final Windows windowsToFilter) {
-    Windows ret = new Windows();
+    final var ret = Windows.builder();
     int totalFiltered = 0;
 
     if (!windowsToFilter.stream().noneMatch(Segment::value)) {
@@ -36,7 +36,7 @@ public class FilterWithReset implements TimeWindowsFilter {
         Windows cur = windowsToFilter.trueSubsetContainedIn(window);
         if (!cur.stream().noneMatch(Segment::value)) {
           //apply filter and union result
-          ret = ret.set(filter.filter(simulationResults, plan, cur));
+          ret.set(filter.filter(simulationResults, plan, cur));
           totalFiltered += cur.size();
         }
         //short circuit
@@ -46,6 +46,6 @@ public class FilterWithReset implements TimeWindowsFilter {
       }
     }
 
-    return ret;
+    return ret.build();
   }
 }
@@ -37,7 +37,7 @@ public class StateQueryParam implements VariableArgumentComputer {
       //TODO: improve the profile data structure to allow fast time-keyed query
       //for now we look for the last matching profile segment, if any
       final var profile = simulationResults.realProfiles.get(this.resourceName);
-      final var piece = profile.profilePieces
+      final var piece = profile.profilePieces()
           .stream()
           .filter($ -> $.interval().contains(queryT))
           .findFirst()
@@ -21,11 +21,11 @@ import gov.nasa.jpl.aerie.scheduler.NotNull;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.time.Instant;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class ResumableSimulationDriver<Model> implements AutoCloseable {
@@ -33,7 +33,7 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
   private Duration curTime = Duration.ZERO;
   private SimulationEngine engine = new SimulationEngine();
   private LiveCells cells;
-  private TemporalEventSource timeline = new TemporalEventSource();
+  private TemporalEventSource timeline;
   private final MissionModel<Model> missionModel;
   private final Duration planDuration;
   private JobSchedule.Batch<SimulationEngine.JobId> batch;
@@ -70,7 +70,7 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
     this.engine = new SimulationEngine();
 
     /* The top-level simulation timeline. */
-    this.timeline = new TemporalEventSource();
+    this.timeline = new TemporalEventSource(missionModel.getTopicIds());
     this.cells = new LiveCells(timeline, missionModel.getInitialCells());
     /* The current real time. */
     curTime = Duration.ZERO;
@@ -136,13 +136,7 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
    */
   public void simulateActivity(ActivityDirective activityToSimulate, ActivityDirectiveId activityId)
   {
-    activitiesInserted.put(activityId, activityToSimulate);
-    if(activityToSimulate.startOffset().noLongerThan(curTime)){
-      initSimulation();
-      simulateSchedule(activitiesInserted);
-    } else {
-      simulateSchedule(Map.of(activityId, activityToSimulate));
-    }
+    simulateActivities(Map.of(activityId, activityToSimulate));
   }
 
   public void simulateActivities(@NotNull Map<ActivityDirectiveId, ActivityDirective> activitiesToSimulate) {
@@ -150,15 +144,27 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
 
     activitiesInserted.putAll(activitiesToSimulate);
 
-    final HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolved = new StartOffsetReducer(planDuration, activitiesToSimulate).compute();
-    resolved.get(null).sort(Comparator.comparing(Pair::getRight));
-    final var earliestStartOffset = resolved.get(null).get(0);
-
-    if(earliestStartOffset.getRight().noLongerThan(curTime)){
+    // Only the new activities are reduced, but they may be anchored to activities which have already been simulated.
+    final HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolved = ForkJoinPool.commonPool().invoke(new StartOffsetReducer(
+        planDuration,
+        activitiesToSimulate,
+        activitiesInserted));
+
+    // An activity waiting on the end of one simulated earlier cannot be spawned by it anymore, so start over.
+    final var anchoredToSimulatedActivity = resolved
+        .keySet()
+        .stream()
+        .anyMatch($ -> $ != null && !activitiesToSimulate.containsKey($));
+    final var startsInThePast = resolved
+        .getOrDefault(null, List.of())
+        .stream()
+        .anyMatch($ -> $.getRight().noLongerThan(curTime));
+
+    if(anchoredToSimulatedActivity || startsInThePast){
       initSimulation();
       simulateSchedule(activitiesInserted);
     } else {
-      simulateSchedule(activitiesToSimulate);
+      simulateSchedule(activitiesToSimulate, resolved);
     }
   }
 
@@ -205,16 +211,19 @@ public class ResumableSimulationDriver<Model> implements AutoCloseable {
 
   private void simulateSchedule(final Map<ActivityDirectiveId, ActivityDirective> schedule)
   {
-    if (schedule.isEmpty()) {
-      throw new IllegalArgumentException("simulateSchedule() called with empty schedule, use simulateUntil() instead");
-    }
-
     // Get all activities as close as possible to absolute time, then schedule all activities.
     // Using HashMap explicitly because it allows `null` as a key.
     // `null` key means that an activity is not waiting on another activity to finish to know its start time
-    final HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolved = new StartOffsetReducer(
-        planDuration,
-        schedule).compute();
+    simulateSchedule(schedule, ForkJoinPool.commonPool().invoke(new StartOffsetReducer(planDuration, schedule)));
+  }
+
+  private void simulateSchedule(
+      final Map<ActivityDirectiveId, ActivityDirective> schedule,
+      final HashMap<ActivityDirectiveId, List<Pair<ActivityDirectiveId, Duration>>> resolved)
+  {
+    if (schedule.isEmpty()) {
+      throw new IllegalArgumentException("simulateSchedule() called with empty schedule, use simulateUntil() instead");
+    }
 
     scheduleActivities(
         schedule,
@@ -25,6 +25,8 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +54,14 @@ public class PrioritySolver implements Solver {
    */
   final boolean analysisOnly;
 
+  /**
+   * boolean stating whether the conflicts of independent goals should be detected concurrently
+   *
+   * only honored for analysis-only runs: goals may capture state during their first conflict evaluation, so evaluating
+   * a goal ahead of time is only equivalent to evaluating it in turn when no earlier goal can modify the plan
+   */
+  final boolean parallelConflictDetection;
+
   /**
    * description of the planning problem to solve
    *
@@ -77,6 +87,16 @@ public class PrioritySolver implements Solver {
 
   private final SimulationFacade simulationFacade;
 
+  /**
+   * the outcome of conflict detection for goals evaluated ahead of time, to be consumed when their turn comes
+   */
+  private final Map<Goal, PrecomputedConflicts> precomputedConflicts = new HashMap<>();
+
+  private sealed interface PrecomputedConflicts {
+    record Success(Collection<Conflict> conflicts) implements PrecomputedConflicts {}
+    record Failure(RuntimeException exception) implements PrecomputedConflicts {}
+  }
+
   /**
    * create a new greedy solver for the specified input planning problem
    *
@@ -86,19 +106,51 @@ public class PrioritySolver implements Solver {
    * @param problem IN, STORED description of the planning problem to be
    *     solved, which must not change
    */
-  public PrioritySolver(final Problem problem, final boolean analysisOnly) {
+  /**
+   * observer of how far the solver has got through the goals of its problem
+   */
+  @FunctionalInterface
+  public interface ProgressListener {
+    /**
+     * @param goalsProcessed the number of top-level goals processed so far
+     * @param goalCount the total number of top-level goals to process
+     */
+    void onProgress(int goalsProcessed, int goalCount);
+  }
+
+  /**
+   * notified before the first goal is processed and after each goal is processed
+   */
+  private ProgressListener progressListener = (goalsProcessed, goalCount) -> {};
+
+  public PrioritySolver(final Problem problem, final boolean analysisOnly, final boolean parallelConflictDetection) {
     checkNotNull(problem, "creating solver with null input problem descriptor");
     this.checkSimBeforeInsertingActivities = true;
     this.checkSimBeforeEvaluatingGoal = true;
     this.problem = problem;
     this.simulationFacade = problem.getSimulationFacade();
     this.analysisOnly = analysisOnly;
+    this.parallelConflictDetection = parallelConflictDetection;
+  }
+
+  public PrioritySolver(final Problem problem, final boolean analysisOnly) {
+    this(problem, analysisOnly, false);
   }
 
   public PrioritySolver(final Problem problem) {
     this(problem, false);
   }
 
+  /**
+   * register an observer of how far the solver has got through the goals of its problem, replacing any previous one
+   *
+   * @param listener IN, STORED the observer to notify as goals are processed
+   */
+  public void setProgressListener(final ProgressListener listener) {
+    checkNotNull(listener, "setting solver progress listener to null");
+    this.progressListener = listener;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -307,17 +359,87 @@ public class PrioritySolver implements Solver {
     final var goalQ = getGoalQueue();
     assert goalQ != null;
 
+    if (this.analysisOnly && this.parallelConflictDetection) {
+      precomputeConflicts(goalQ);
+    }
+
     //process each goal independently in that order
+    final var goalCount = goalQ.size();
+    var goalsProcessed = 0;
+    this.progressListener.onProgress(goalsProcessed, goalCount);
     while (!goalQ.isEmpty()) {
       var goal = goalQ.remove();
       assert goal != null;
 
       //update the output solution plan directly to satisfy goal
       satisfyGoal(goal);
+
+      goalsProcessed += 1;
+      this.progressListener.onProgress(goalsProcessed, goalCount);
     }
 
   }
 
+  /**
+   * detects the conflicts of every goal that is certain to be evaluated, concurrently, on a single snapshot of the
+   * simulation results
+   *
+   * the plan is never modified in analysis-only runs, so every goal would see the same plan and simulation results
+   * when its turn comes anyway. any exception raised while detecting a goal's conflicts is held back until that goal's
+   * turn, so that failures surface in the same order as when evaluating goals one at a time
+   *
+   * @param goals IN the goals that will be processed, in order
+   */
+  private void precomputeConflicts(final Collection<Goal> goals) {
+    //a goal appearing more than once must not be evaluated concurrently with itself
+    final var uniqueGoals = new LinkedHashSet<Goal>();
+    for (final var goal : goals) collectEagerlyEvaluatedGoals(goal, uniqueGoals);
+    final var eagerGoals = new ArrayList<>(uniqueGoals);
+    if (eagerGoals.size() < 2) return;
+
+    //make sure the snapshot covers the whole horizon, as the first goal evaluation would have anyway
+    this.simulationFacade.computeSimulationResultsUntil(this.problem.getPlanningHorizon().getEndAerie());
+    final var snapshot = this.simulationFacade.getLatestConstraintSimulationResults();
+
+    //create every goal's evaluation up front, so that the concurrent evaluations only ever read the shared evaluation
+    for (final var goal : eagerGoals) evaluation.forGoal(goal);
+
+    final var results = eagerGoals
+        .parallelStream()
+        .map(goal -> {
+          try {
+            return (PrecomputedConflicts) new PrecomputedConflicts.Success(goal.getConflicts(plan, snapshot));
+          } catch (final RuntimeException ex) {
+            return new PrecomputedConflicts.Failure(ex);
+          }
+        })
+        .toList();
+
+    for (var i = 0; i < eagerGoals.size(); i += 1) {
+      this.precomputedConflicts.putIfAbsent(eagerGoals.get(i), results.get(i));
+    }
+  }
+
+  /**
+   * collects the leaf goals under the given goal that will be evaluated regardless of the outcome of other goals
+   *
+   * @param goal IN the goal to collect leaf goals from
+   * @param out OUT the collection to which collected goals are added
+   */
+  private static void collectEagerlyEvaluatedGoals(final Goal goal, final Collection<Goal> out) {
+    if (goal instanceof CompositeAndGoal compositeGoal) {
+      for (final var subgoal : compositeGoal.getSubgoals()) collectEagerlyEvaluatedGoals(subgoal, out);
+    } else if (goal instanceof OptionGoal optionGoal) {
+      //without an optimizer, evaluation stops at the first satisfied subgoal, so only the first one is certain to run
+      final var subgoals = optionGoal.hasOptimizer()
+          ? optionGoal.getSubgoals()
+          : optionGoal.getSubgoals().stream().limit(1).toList();
+      for (final var subgoal : subgoals) collectEagerlyEvaluatedGoals(subgoal, out);
+    } else {
+      out.add(goal);
+    }
+  }
+
   /**
    * construct a priority sorted queue of goals to process
    *
@@ -578,6 +700,15 @@ public class PrioritySolver implements Solver {
   {
     assert goal != null;
     assert plan != null;
+
+    //a goal's first evaluation may have been done ahead of time; any later ones must see the goal's latest progress
+    final var precomputed = this.precomputedConflicts.remove(goal);
+    if (precomputed instanceof PrecomputedConflicts.Success p) {
+      return p.conflicts();
+    } else if (precomputed instanceof PrecomputedConflicts.Failure p) {
+      throw p.exception();
+    }
+
     //REVIEW: maybe should have way to request only certain kinds of conflicts
     var lastSimResults = this.simulationFacade.getLatestConstraintSimulationResults();
     if (lastSimResults == null || this.checkSimBeforeEvaluatingGoal) {
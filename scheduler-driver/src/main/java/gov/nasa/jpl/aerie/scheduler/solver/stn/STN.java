@@ -1,14 +1,15 @@
 package gov.nasa.jpl.aerie.scheduler.solver.stn;
 
 import org.apache.commons.lang3.tuple.Pair;
-import org.jgrapht.Graph;
-import org.jgrapht.alg.shortestpath.BellmanFordShortestPath;
-import org.jgrapht.alg.shortestpath.NegativeCycleDetectedException;
-import org.jgrapht.graph.DefaultWeightedEdge;
-import org.jgrapht.graph.builder.GraphTypeBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Representation of a simple temporal network (Dechter, Meiri, and Pearl, 1991).
  * Set of timepoint variables with linear constraints between them
@@ -16,32 +17,41 @@ import org.slf4j.LoggerFactory;
  * - Each variable has a domain
  * - We want to propagate the constraints to find a solution to the problem or ensure there is not one
  *
- * To solve the constraints, we use bellman-ford algorithm.
- * if a negative cycle is detected during propagation, the network is infeasible
- * otherwise, the new variable domains are updated and can be queried. Domains here represent the flexibility associated
- * with each timepoint.
+ * Timepoints are mapped to dense integer indices, and the network keeps the all-pairs shortest path distances of its
+ * distance graph in a matrix. Adding a constraint that tightens an edge updates the matrix incrementally in quadratic
+ * time, by only considering paths through the new edge. A negative cycle through the new edge is detected in constant
+ * time, in which case the network is infeasible. Loosening an existing edge may invalidate distances derived from its
+ * previous weight, so it triggers a full recomputation on the next update.
+ * Domains here represent the flexibility associated with each timepoint.
  *
  */
 public class STN {
 
   private static final Logger logger = LoggerFactory.getLogger(STN.class);
 
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Map<String, Integer> indices = new HashMap<>();
+  private final List<String> names = new ArrayList<>();
+
+  /** weights[i][j] is the weight of the edge i --> j in the distance graph, or +inf if there is no such edge */
+  private double[][] weights = new double[0][0];
+
+  /** dist[i][j] is the weight of the shortest path i --> j, valid as long as the network is consistent and not stale */
+  private double[][] dist = new double[0][0];
+
+  private boolean consistent = true;
+  private boolean stale = false;
+  private boolean updateLaunched = false;
+
   public void print(){
-    for(var edge :graph.edgeSet()){
-      logger.info(edge.toString() + " "+graph.getEdgeWeight(edge));
-    }  }
-  private final Graph<String, DefaultWeightedEdge> graph;
-
-  private BellmanFordShortestPath<String, DefaultWeightedEdge> latestComputation;
-
-  public STN() {
-    graph = GraphTypeBuilder
-        .<String, DefaultWeightedEdge>directed()
-        .allowingMultipleEdges(false)
-        .allowingSelfLoops(false)
-        .edgeClass(DefaultWeightedEdge.class)
-        .weighted(true)
-        .buildGraph();
+    for (var i = 0; i < names.size(); i++) {
+      for (var j = 0; j < names.size(); j++) {
+        if (weights[i][j] != Double.POSITIVE_INFINITY) {
+          logger.info("(" + names.get(i) + " : " + names.get(j) + ") " + weights[i][j]);
+        }
+      }
+    }
   }
 
   /**
@@ -55,8 +65,7 @@ public class STN {
    we can remove the first one and keep only the second one
    */
   public void addBeforeCst(String tp1, String tp2){
-    var e1 = getOrCreateEdge(tp2, tp1);
-    graph.setEdgeWeight(e1, -0);
+    setEdge(getIndex(tp2), getIndex(tp1), -0.);
   }
 
   /*
@@ -66,12 +75,11 @@ public class STN {
   i --- b ---> j
   i <--- -a --- j */
   public void addDurCst(String tp1, String tp2, double min, double max) {
-    var e1 = getOrCreateEdge(tp2, tp1);
-    var e2 = getOrCreateEdge(tp1, tp2);
-
-    graph.setEdgeWeight(e1, -min);
-    graph.setEdgeWeight(e2, max);
+    final var i = getIndex(tp1);
+    final var j = getIndex(tp2);
 
+    setEdge(j, i, -min);
+    setEdge(i, j, max);
   }
 
   public Pair<Double, Double> getDurCst(String a, String b){
@@ -82,24 +90,28 @@ public class STN {
   }
 
   public void addTimepoint(String tp){
-    graph.addVertex(tp);
+    if (indices.containsKey(tp)) return;
+
+    final var index = names.size();
+    if (index == weights.length) grow(Math.max(INITIAL_CAPACITY, 2 * weights.length));
+
+    indices.put(tp, index);
+    names.add(tp);
+    dist[index][index] = 0;
   }
 
   public boolean update() {
-    boolean ret = false;
-    BellmanFordShortestPath<String, DefaultWeightedEdge> algo = null;
-    if(graph.vertexSet().isEmpty()){
-      return ret;
+    updateLaunched = true;
+    if (names.isEmpty()) {
+      return false;
     }
-    try {
-      algo = new BellmanFordShortestPath<>(graph);
-      var a = algo.getPaths(graph.vertexSet().iterator().next());
-      ret = true;
-    } catch (NegativeCycleDetectedException e) {
-      logger.debug("Negative cycle ", e); //this is normal behavior, shouldn't be flagged as an error! If debugging is on, drop the stack trace.
+    if (stale) {
+      recompute();
     }
-    latestComputation = algo;
-    return ret;
+    if (!consistent) {
+      logger.debug("Negative cycle detected in temporal network"); //this is normal behavior, shouldn't be flagged as an error!
+    }
+    return consistent;
   }
 
   /**
@@ -107,28 +119,130 @@ public class STN {
    */
   public double getDist(String a, String b){
     failIfUpdateNotLaunched();
-    return latestComputation.getPathWeight(a, b);
+    final var i = getIndex(a);
+    final var j = getIndex(b);
+    if (stale) recompute();
+    return dist[i][j];
   }
 
-  private DefaultWeightedEdge getOrCreateEdge(String a, String b) {
-    failIfTimepointAbsent(a);
-    failIfTimepointAbsent(b);
+  private void setEdge(final int from, final int to, final double weight) {
+    final var previous = weights[from][to];
+    weights[from][to] = weight;
 
-    var edge = graph.getEdge(a, b);
-    if (edge == null) {
-      edge = graph.addEdge(a, b);
+    if (weight > previous) {
+      //loosening an edge can lengthen shortest paths, which cannot be propagated incrementally
+      stale = true;
+    } else if (weight < previous && consistent && !stale) {
+      tighten(from, to, weight);
     }
-    return edge;
   }
 
-  private void failIfTimepointAbsent(String tp){
-    if(!graph.vertexSet().contains(tp)){
+  /**
+   * incrementally updates the shortest path distances after the edge from --> to has been tightened to the given weight
+   *
+   * every shortest path which changes must now go through the new edge, so it is enough to consider, for each pair of
+   * timepoints (i, j), the path i ~~> from --> to ~~> j
+   */
+  private void tighten(final int from, final int to, final double weight) {
+    if (weight + dist[to][from] < 0) {
+      consistent = false;
+      return;
+    }
+    if (weight >= dist[from][to]) return;
+
+    final var n = names.size();
+
+    //only timepoints that can reach `from`, and that `to` can reach, can be affected
+    final var sources = new int[n];
+    var sourceCount = 0;
+    for (var i = 0; i < n; i++) {
+      if (dist[i][from] != Double.POSITIVE_INFINITY) sources[sourceCount++] = i;
+    }
+    final var targets = new int[n];
+    final var toRow = dist[to];
+    var targetCount = 0;
+    for (var j = 0; j < n; j++) {
+      if (toRow[j] != Double.POSITIVE_INFINITY) targets[targetCount++] = j;
+    }
+
+    //copy the row of `to` first, as it may itself be updated along the way
+    final var viaTo = new double[targetCount];
+    for (var k = 0; k < targetCount; k++) viaTo[k] = weight + toRow[targets[k]];
+
+    for (var s = 0; s < sourceCount; s++) {
+      final var row = dist[sources[s]];
+      final var toFrom = row[from];
+      for (var k = 0; k < targetCount; k++) {
+        final var candidate = toFrom + viaTo[k];
+        final var j = targets[k];
+        if (candidate < row[j]) row[j] = candidate;
+      }
+    }
+  }
+
+  /**
+   * recomputes all shortest path distances from scratch, using the Floyd-Warshall algorithm
+   */
+  private void recompute() {
+    final var n = names.size();
+    for (var i = 0; i < n; i++) {
+      System.arraycopy(weights[i], 0, dist[i], 0, n);
+      dist[i][i] = Math.min(0, dist[i][i]);
+    }
+
+    for (var k = 0; k < n; k++) {
+      final var rowK = dist[k];
+      for (var i = 0; i < n; i++) {
+        final var rowI = dist[i];
+        final var ik = rowI[k];
+        if (ik == Double.POSITIVE_INFINITY) continue;
+        for (var j = 0; j < n; j++) {
+          final var candidate = ik + rowK[j];
+          if (candidate < rowI[j]) rowI[j] = candidate;
+        }
+      }
+    }
+
+    consistent = true;
+    for (var i = 0; i < n; i++) {
+      if (dist[i][i] < 0) {
+        consistent = false;
+        break;
+      }
+    }
+    stale = false;
+  }
+
+  private void grow(final int capacity) {
+    final var n = weights.length;
+    final var newWeights = new double[capacity][capacity];
+    final var newDist = new double[capacity][capacity];
+    for (var i = 0; i < capacity; i++) {
+      Arrays.fill(newWeights[i], Double.POSITIVE_INFINITY);
+      Arrays.fill(newDist[i], Double.POSITIVE_INFINITY);
+      if (i < n) {
+        System.arraycopy(weights[i], 0, newWeights[i], 0, n);
+        System.arraycopy(dist[i], 0, newDist[i], 0, n);
+      }
+    }
+    weights = newWeights;
+    dist = newDist;
+  }
+
+  private int getIndex(String tp) {
+    final var index = indices.get(tp);
+    if (index == null) {
       throw new IllegalArgumentException("Timepoint is not present in temporal network, insert it before use");
     }
+    return index;
+  }
+
+  private void failIfTimepointAbsent(String tp){
+    getIndex(tp);
   }
 
   private void failIfUpdateNotLaunched(){
-    if(latestComputation == null){
+    if(!updateLaunched || !consistent){
       throw new IllegalArgumentException("Must call update() before getting results");
     }
   }
@@ -24,6 +24,8 @@ import gov.nasa.jpl.aerie.scheduler.solver.PrioritySolver;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
@@ -232,6 +234,50 @@ public class PrioritySolverTest {
   }
 
 
+  @Test
+  public void getNextSolution_parallelConflictDetectionMatchesSequentialInAnalysisOnly() {
+    assertThat(analyzeCoexistenceAndRecurrence(true)).isEqualTo(analyzeCoexistenceAndRecurrence(false));
+  }
+
+  private static Map<String, Double> analyzeCoexistenceAndRecurrence(final boolean parallelConflictDetection) {
+    final var problem = makeTestMissionAB();
+    problem.setInitialPlan(makePlanA012(problem));
+    final var coexistenceGoal = new CoexistenceGoal.Builder()
+        .named("coexistence")
+        .forAllTimeIn(new WindowsWrapperExpression(new Windows(false).set(h.getHor(), true)))
+        .forEach(new ActivityExpression.Builder()
+                     .ofType(problem.getActivityType("ControllableDurationActivity"))
+                     .build())
+        .thereExistsOne(new ActivityCreationTemplate.Builder()
+                            .ofType(problem.getActivityType("OtherControllableDurationActivity"))
+                            .duration(d1min)
+                            .build())
+        .startsAt(TimeAnchor.START)
+        .build();
+    final var recurrenceGoal = new RecurrenceGoal.Builder()
+        .named("recurrence")
+        .startingAt(t0)
+        .endingAt(t2hr.plus(Duration.of(10, Duration.MINUTE)))
+        .repeatingEvery(d1hr)
+        .thereExistsOne(new ActivityCreationTemplate.Builder()
+                            .ofType(problem.getActivityType("ControllableDurationActivity"))
+                            .duration(d1min)
+                            .build())
+        .build();
+    problem.setGoals(List.of(coexistenceGoal, recurrenceGoal));
+
+    final var plan = new PrioritySolver(problem, true, parallelConflictDetection).getNextSolution().orElseThrow();
+
+    //analysis must not modify the plan
+    assertThat(plan.getActivitiesByTime())
+        .comparingElementsUsing(equalExceptInName)
+        .containsExactlyElementsIn(makePlanA012(problem).getActivitiesByTime());
+
+    return plan.getEvaluation().getGoalEvaluations().entrySet().stream().collect(Collectors.toMap(
+        $ -> $.getKey().getName(),
+        $ -> $.getValue().getScore()));
+  }
+
   @Test
   public void testCardGoalWithApplyWhen(){
     var planningHorizon = h;
@@ -1,10 +1,12 @@
 package gov.nasa.jpl.aerie.scheduler;
 
+import gov.nasa.jpl.aerie.scheduler.solver.stn.STN;
 import gov.nasa.jpl.aerie.scheduler.solver.stn.TaskNetwork;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class STNTest {
@@ -98,4 +100,40 @@ public class STNTest {
     var expD1 = new TaskNetwork.TNActData(Pair.of(3.,6.), Pair.of(4.,7.), Pair.of(1.,4.));
     assertEquals(expD1, d);
   }
+
+  @Test
+  public void detectsNegativeCycle(){
+    var stn = new STN();
+    stn.addTimepoint("a");
+    stn.addTimepoint("b");
+    stn.addTimepoint("c");
+    stn.addDurCst("a", "b", 2, 4);
+    stn.addDurCst("b", "c", 2, 4);
+    assertTrue(stn.update());
+    assertEquals(Pair.of(4., 8.), stn.getDurCst("a", "c"));
+
+    //c cannot be at most 3 after a when it is at least 4 after a
+    stn.addDurCst("a", "c", 0, 3);
+    assertFalse(stn.update());
+  }
+
+  /**
+   * Overriding a constraint with a looser one must lift any restriction derived from the previous one
+   */
+  @Test
+  public void looseningConstraintRestoresDomains(){
+    var stn = new STN();
+    stn.addTimepoint("a");
+    stn.addTimepoint("b");
+    stn.addTimepoint("c");
+    stn.addDurCst("a", "b", 2, 4);
+    stn.addDurCst("b", "c", 2, 4);
+    stn.addDurCst("a", "c", 0, 3);
+    assertFalse(stn.update());
+
+    stn.addDurCst("a", "c", 0, 5);
+    assertTrue(stn.update());
+    assertEquals(Pair.of(4., 5.), stn.getDurCst("a", "c"));
+    assertEquals(Pair.of(2., 3.), stn.getDurCst("a", "b"));
+  }
 }
@@ -102,6 +102,15 @@ public final class ResultsProtocol {
      */
     void failWith(ScheduleFailure reason);
 
+    /**
+     * tell interested parties how far the scheduler has got through its goals; writers which cannot share progress may
+     * ignore it
+     *
+     * @param goalsProcessed the number of goals the scheduler has finished processing so far
+     * @param goalCount the total number of goals the scheduler will process in this run
+     */
+    default void reportProgress(final int goalsProcessed, final int goalCount) {}
+
     default void failWith(final Consumer<ScheduleFailure.Builder> builderConsumer) {
       final var builder = new ScheduleFailure.Builder();
       builderConsumer.accept(builder);
@@ -8,11 +8,25 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Assigns each event in an event graph a causal time: the path through the graph's alternating levels of sequential and
+ * concurrent branches that leads to the event.
+ *
+ * <p>
+ * Causal times are encoded as a sequence of indices, each written as an order-preserving variable-length integer.
+ * Indices below 248 take up a single byte holding the index itself. Larger indices are written as a header byte of
+ * {@code 247 + n}, followed by the {@code n} bytes of the index in big-endian order, using the fewest bytes possible.
+ * Comparing two encoded causal times byte-by-byte (as unsigned bytes) thus orders them exactly as comparing their paths
+ * index-by-index would, with a path ordered before any of its extensions.
+ * </p>
+ */
 public final class EventGraphFlattener {
   private EventGraphFlattener() {}
 
-  public static <T> List<Pair<String, T>> flatten(final EventGraph<T> graph) {
-    final var accumulator = new ArrayList<Pair<String, T>>();
+  private static final int MAX_INLINE_INDEX = 247;
+
+  public static <T> List<Pair<byte[], T>> flatten(final EventGraph<T> graph) {
+    final var accumulator = new ArrayList<Pair<byte[], T>>();
 
     graph.evaluate(new TagLogger.Trait<>(), TagLogger.Atom::new)
          .accept(Tag.origin(), (tag, event) -> accumulator.add(Pair.of(tag.serialize(), event)));
@@ -32,29 +46,60 @@ public final class EventGraphFlattener {
     }
   }
 
-  private record Tag(Optional<Tag> prefix, BranchType branchType, int index) {
+  // `prefixLength` caches the encoded length of the prefix, so that a tag can be serialized into a single array of
+  // exactly the right size without first walking the chain of prefixes.
+  private record Tag(Optional<Tag> prefix, int prefixLength, BranchType branchType, int index) {
     public static Tag origin() {
-      return new Tag(Optional.empty(), BranchType.Sequentially, 1);
+      return new Tag(Optional.empty(), 0, BranchType.Sequentially, 1);
     }
 
     public Tag bump() {
-      return new Tag(this.prefix, this.branchType, this.index + 1);
+      return new Tag(this.prefix, this.prefixLength, this.branchType, this.index + 1);
     }
 
     public Tag descend() {
-      return new Tag(Optional.of(this), this.branchType.opposite(), 1);
+      return new Tag(Optional.of(this), this.length(), this.branchType.opposite(), 1);
+    }
+
+    public int length() {
+      return this.prefixLength + encodedLength(this.index);
+    }
+
+    public byte[] serialize() {
+      final var bytes = new byte[this.length()];
+
+      var tag = this;
+      while (true) {
+        encode(tag.index, bytes, tag.prefixLength);
+        if (tag.prefix.isEmpty()) break;
+        tag = tag.prefix.get();
+      }
+
+      return bytes;
     }
+  }
+
+  private static int encodedLength(final int index) {
+    if (index < 0) throw new IllegalArgumentException("Causal time indices must be non-negative, got " + index);
+    if (index <= MAX_INLINE_INDEX) return 1;
+
+    return 1 + byteWidth(index);
+  }
+
+  private static int byteWidth(final int index) {
+    return (Integer.SIZE - Integer.numberOfLeadingZeros(index) + 7) / 8;
+  }
 
-    public String serialize() {
-      final var builder = new StringBuilder();
-      this.serialize(builder);
-      return builder.toString();
+  private static void encode(final int index, final byte[] bytes, final int offset) {
+    if (index <= MAX_INLINE_INDEX) {
+      bytes[offset] = (byte) index;
+      return;
     }
 
-    public void serialize(final StringBuilder builder) {
-      this.prefix.ifPresent($ -> $.serialize(builder));
-      builder.append('.');
-      builder.append(this.index);
+    final var width = byteWidth(index);
+    bytes[offset] = (byte) (MAX_INLINE_INDEX + width);
+    for (var i = 0; i < width; i += 1) {
+      bytes[offset + 1 + i] = (byte) (index >>> (8 * (width - 1 - i)));
     }
   }
 
@@ -56,6 +56,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -1088,10 +1089,10 @@ public SimulationId getSimulationId(PlanId planId) throws PlanServiceException,
       final long datasetId,
       final Duration duration,
       final int transactionIndex,
-      final List<Pair<String, Pair<Integer, SerializedValue>>> flattenedEventGraph
+      final List<Pair<byte[], Pair<Integer, SerializedValue>>> flattenedEventGraph
   ) {
     final var events = Json.createArrayBuilder();
-    for (final Pair<String, Pair<Integer, SerializedValue>> entry : flattenedEventGraph) {
+    for (final Pair<byte[], Pair<Integer, SerializedValue>> entry : flattenedEventGraph) {
       final var causalTime = entry.getLeft();
       final Pair<Integer, SerializedValue> event = entry.getRight();
       events.add(
@@ -1099,7 +1100,8 @@ public SimulationId getSimulationId(PlanId planId) throws PlanServiceException,
               .add("dataset_id",datasetId)
               .add("real_time", graphQLIntervalFromDuration(duration).toString())
               .add("transaction_index", transactionIndex)
-              .add("causal_time", causalTime)
+              // Hasura accepts `bytea` values in Postgres' hex format.
+              .add("causal_time", "\\x" + HexFormat.of().formatHex(causalTime))
               .add("topic_index", event.getLeft())
               .add("value", serializedValueP.unparse(event.getRight()))
               .build()
@@ -22,6 +22,7 @@ import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleRequest;
 import gov.nasa.jpl.aerie.scheduler.server.services.UnexpectedSubtypeError;
 import gov.nasa.jpl.aerie.scheduler.worker.postgres.PostgresSchedulingRequestNotificationPayload;
 import gov.nasa.jpl.aerie.scheduler.worker.services.SchedulingDSLCompilationService;
+import gov.nasa.jpl.aerie.scheduler.worker.services.SchedulingSessionCache;
 import gov.nasa.jpl.aerie.scheduler.worker.services.SynchronousSchedulerAgent;
 import io.javalin.Javalin;
 
@@ -62,13 +63,18 @@ public final class SchedulerWorkerAppDriver {
       new PostgresResultsCellRepository(hikariDataSource));
 
     final var specificationService = new LocalSpecificationService(stores.specifications());
-    final var scheduleAgent = new SynchronousSchedulerAgent(specificationService,
-        merlinService,
-        merlinService,
-        config.merlinFileStore(),
-        config.missionRuleJarPath(),
-        config.outputMode(),
-        schedulingDSLCompilationService);
+    // Each slot gets its own agent, so the mission models it retains between runs are never shared across slots.
+    final var workerPool = new SchedulingWorkerPool(
+        config.schedulingSlots(),
+        config.schedulingQueueCapacity(),
+        () -> new SynchronousSchedulerAgent(specificationService,
+            merlinService,
+            merlinService,
+            config.merlinFileStore(),
+            config.missionRuleJarPath(),
+            config.outputMode(),
+            schedulingDSLCompilationService,
+            new SchedulingSessionCache()));
 
     final var notificationQueue = new LinkedBlockingQueue<PostgresSchedulingRequestNotificationPayload>();
     final var listenAction = new ListenSchedulerCapability(hikariDataSource, notificationQueue);
@@ -76,6 +82,7 @@ public final class SchedulerWorkerAppDriver {
 
     final var app = Javalin.create().start(8080);
     app.get("/health", ctx -> ctx.status(200));
+    app.get("/metrics", ctx -> ctx.contentType("application/json").result(workerPool.metrics().toJson().toString()));
 
     while (true) {
       final var notification = notificationQueue.take();
@@ -87,15 +94,7 @@ public final class SchedulerWorkerAppDriver {
 
       final var revisionData = new SpecificationRevisionData(specificationRevision);
       final ResultsProtocol.WriterRole writer = owner.get();
-      try {
-        scheduleAgent.schedule(new ScheduleRequest(specificationId, revisionData), writer);
-      } catch (final Throwable ex) {
-        ex.printStackTrace(System.err);
-        writer.failWith(b -> b
-            .type("UNEXPECTED_SCHEDULER_EXCEPTION")
-            .message("Something went wrong while scheduling")
-            .trace(ex));
-      }
+      workerPool.submit(new ScheduleRequest(specificationId, revisionData), writer);
     }
   }
 
@@ -115,7 +114,9 @@ public final class SchedulerWorkerAppDriver {
         Path.of(getEnv("MERLIN_LOCAL_STORE", "/usr/src/app/merlin_file_store")),
         Path.of(getEnv("SCHEDULER_RULES_JAR", "/usr/src/app/merlin_file_store/scheduler_rules.jar")),
         PlanOutputMode.valueOf((getEnv("SCHEDULER_OUTPUT_MODE", "CreateNewOutputPlan"))),
-        getEnv("HASURA_GRAPHQL_ADMIN_SECRET", "")
+        getEnv("HASURA_GRAPHQL_ADMIN_SECRET", ""),
+        Integer.parseInt(getEnv("SCHEDULER_WORKER_SLOTS", "1")),
+        Integer.parseInt(getEnv("SCHEDULER_WORKER_QUEUE_CAPACITY", "64"))
     );
   }
 }
@@ -0,0 +1,288 @@
+package gov.nasa.jpl.aerie.scheduler.worker;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.json.Json;
+import javax.json.JsonValue;
+import gov.nasa.jpl.aerie.scheduler.server.ResultsProtocol;
+import gov.nasa.jpl.aerie.scheduler.server.models.DatasetId;
+import gov.nasa.jpl.aerie.scheduler.server.models.SpecificationId;
+import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleFailure;
+import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleRequest;
+import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleResults;
+import gov.nasa.jpl.aerie.scheduler.server.services.SchedulerAgent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * runs scheduling requests concurrently on a fixed number of scheduling slots
+ *
+ * each slot owns its own scheduler agent, created by the given factory, and runs on its own thread. agents are never
+ * shared between slots, so the mission models (and the class loaders they were loaded through) that an agent retains
+ * between runs are only ever touched by a single slot
+ *
+ * requests wait in a bounded queue until a slot is free; submitting to a full queue blocks the submitter. when a newer
+ * request arrives for a specification that already has a queued or running request, the older request is marked as
+ * canceled through its writer, which the agent observes the next time it checks that its request is current
+ */
+public final class SchedulingWorkerPool implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(SchedulingWorkerPool.class);
+
+  private final BlockingQueue<Job> queue;
+  private final List<Slot> slots;
+  private final Map<SpecificationId, Job> latestJobs = new HashMap<>();
+
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong superseded = new AtomicLong();
+
+  public SchedulingWorkerPool(final int slotCount, final int queueCapacity, final Supplier<SchedulerAgent> agentFactory) {
+    if (slotCount < 1) throw new IllegalArgumentException("slot count must be positive, got " + slotCount);
+    if (queueCapacity < 1) throw new IllegalArgumentException("queue capacity must be positive, got " + queueCapacity);
+
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.slots = new ArrayList<>(slotCount);
+    for (var i = 0; i < slotCount; i += 1) {
+      this.slots.add(new Slot(i, agentFactory.get()));
+    }
+    for (final var slot : this.slots) slot.thread.start();
+  }
+
+  /**
+   * queue a scheduling request to be run on the next free slot
+   *
+   * @param request details of the scheduling request
+   * @param writer object representing the request for scheduling results
+   * @throws InterruptedException when interrupted while waiting for space in the queue
+   */
+  public void submit(final ScheduleRequest request, final ResultsProtocol.WriterRole writer) throws InterruptedException {
+    final var job = new Job(request, writer);
+
+    synchronized (this.latestJobs) {
+      final var previous = this.latestJobs.put(request.specificationId(), job);
+      if (previous != null && !previous.isFinished()) {
+        previous.supersede();
+        this.superseded.incrementAndGet();
+      }
+    }
+
+    this.submitted.incrementAndGet();
+    this.queue.put(job);
+  }
+
+  /**
+   * take a snapshot of the state of the queue and of every slot
+   */
+  public Metrics metrics() {
+    final var slotMetrics = new ArrayList<SlotMetrics>(this.slots.size());
+    for (final var slot : this.slots) slotMetrics.add(slot.metrics());
+    return new Metrics(this.queue.size(), this.submitted.get(), this.superseded.get(), slotMetrics);
+  }
+
+  /**
+   * stop every slot, abandoning any queued requests
+   *
+   * requests currently running are interrupted, but are given the chance to report their outcome
+   */
+  @Override
+  public void close() throws InterruptedException {
+    for (final var slot : this.slots) slot.thread.interrupt();
+    for (final var slot : this.slots) slot.thread.join();
+  }
+
+  private void finish(final Job job) {
+    job.finish();
+    synchronized (this.latestJobs) {
+      this.latestJobs.remove(job.request.specificationId(), job);
+    }
+  }
+
+  public record Metrics(int queued, long submitted, long superseded, List<SlotMetrics> slots) {
+    public JsonValue toJson() {
+      final var slotsJson = Json.createArrayBuilder();
+      for (final var slot : this.slots) slotsJson.add(slot.toJson());
+
+      return Json.createObjectBuilder()
+          .add("queued", this.queued)
+          .add("submitted", this.submitted)
+          .add("superseded", this.superseded)
+          .add("slots", slotsJson)
+          .build();
+    }
+  }
+
+  /**
+   * a snapshot of a slot, including the progress of the request it is running, if any
+   *
+   * @param elapsed how long the current request has been running
+   * @param goalsProcessed how many goals of the current request have been processed, once solving has begun
+   * @param goalCount how many goals the current request will process, once solving has begun
+   */
+  public record SlotMetrics(
+      int slot,
+      Optional<SpecificationId> specificationId,
+      Optional<Instant> startedAt,
+      Optional<Duration> elapsed,
+      OptionalInt goalsProcessed,
+      OptionalInt goalCount,
+      long succeeded,
+      long failed,
+      long superseded)
+  {
+    public JsonValue toJson() {
+      final var builder = Json.createObjectBuilder()
+          .add("slot", this.slot)
+          .add("succeeded", this.succeeded)
+          .add("failed", this.failed)
+          .add("superseded", this.superseded);
+      if (this.specificationId.isPresent() && this.startedAt.isPresent()) {
+        builder
+            .add("specificationId", this.specificationId.get().id())
+            .add("startedAt", this.startedAt.get().toString());
+      } else {
+        builder
+            .addNull("specificationId")
+            .addNull("startedAt");
+      }
+      if (this.elapsed.isPresent()) builder.add("elapsedMillis", this.elapsed.get().toMillis());
+      else builder.addNull("elapsedMillis");
+      if (this.goalsProcessed.isPresent() && this.goalCount.isPresent()) {
+        builder
+            .add("goalsProcessed", this.goalsProcessed.getAsInt())
+            .add("goalCount", this.goalCount.getAsInt());
+      } else {
+        builder
+            .addNull("goalsProcessed")
+            .addNull("goalCount");
+      }
+      return builder.build();
+    }
+  }
+
+  private final class Slot implements Runnable {
+    private final int index;
+    private final SchedulerAgent agent;
+    private final Thread thread;
+
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private volatile Job current = null;
+    private volatile Instant startedAt = null;
+
+    private Slot(final int index, final SchedulerAgent agent) {
+      this.index = index;
+      this.agent = agent;
+      this.thread = new Thread(this, "scheduling-slot-" + index);
+    }
+
+    @Override
+    public void run() {
+      while (!Thread.currentThread().isInterrupted()) {
+        final Job job;
+        try {
+          job = SchedulingWorkerPool.this.queue.take();
+        } catch (final InterruptedException ex) {
+          break;
+        }
+
+        this.startedAt = Instant.now();
+        this.current = job;
+        try {
+          this.agent.schedule(job.request, job);
+        } catch (final InterruptedException ex) {
+          job.failWith(b -> b
+              .type("SCHEDULER_WORKER_SHUTDOWN")
+              .message("Scheduler worker shut down while scheduling")
+              .trace(ex));
+          Thread.currentThread().interrupt();
+        } catch (final Throwable ex) {
+          logger.error("Unexpected exception while scheduling specification {}", job.request.specificationId(), ex);
+          job.failWith(b -> b
+              .type("UNEXPECTED_SCHEDULER_EXCEPTION")
+              .message("Something went wrong while scheduling")
+              .trace(ex));
+        } finally {
+          // a superseded request was given up on deliberately, so it is not counted as a failure
+          if (job.succeeded) this.succeeded.incrementAndGet();
+          else if (job.superseded) this.superseded.incrementAndGet();
+          else this.failed.incrementAndGet();
+
+          this.current = null;
+          this.startedAt = null;
+          SchedulingWorkerPool.this.finish(job);
+        }
+      }
+    }
+
+    private SlotMetrics metrics() {
+      final var job = this.current;
+      final var startedAt = this.startedAt;
+      final var progress = (job != null) ? job.progress : null;
+      return new SlotMetrics(
+          this.index,
+          Optional.ofNullable(job).map($ -> $.request.specificationId()),
+          Optional.ofNullable(startedAt),
+          Optional.ofNullable(startedAt).map($ -> Duration.between($, Instant.now())),
+          (progress != null) ? OptionalInt.of(progress[0]) : OptionalInt.empty(),
+          (progress != null) ? OptionalInt.of(progress[1]) : OptionalInt.empty(),
+          this.succeeded.get(),
+          this.failed.get(),
+          this.superseded.get());
+    }
+  }
+
+  /**
+   * a queued request, which reports as canceled once a newer request for the same specification has been submitted
+   */
+  private static final class Job implements ResultsProtocol.WriterRole {
+    private final ScheduleRequest request;
+    private final ResultsProtocol.WriterRole writer;
+
+    private volatile boolean superseded = false;
+    private volatile boolean finished = false;
+    private boolean succeeded = false;
+    // the goals processed and the goal count most recently reported, replaced as a whole so they are read together
+    private volatile int[] progress = null;
+
+    private Job(final ScheduleRequest request, final ResultsProtocol.WriterRole writer) {
+      this.request = request;
+      this.writer = writer;
+    }
+
+    void supersede() { this.superseded = true; }
+    void finish() { this.finished = true; }
+    boolean isFinished() { return this.finished; }
+
+    @Override
+    public boolean isCanceled() {
+      return this.superseded || this.writer.isCanceled();
+    }
+
+    @Override
+    public void succeedWith(final ScheduleResults results, final Optional<DatasetId> datasetId) {
+      this.succeeded = true;
+      this.writer.succeedWith(results, datasetId);
+    }
+
+    @Override
+    public void failWith(final ScheduleFailure reason) {
+      this.writer.failWith(reason);
+    }
+
+    @Override
+    public void reportProgress(final int goalsProcessed, final int goalCount) {
+      this.progress = new int[] {goalsProcessed, goalCount};
+      this.writer.reportProgress(goalsProcessed, goalCount);
+    }
+  }
+}
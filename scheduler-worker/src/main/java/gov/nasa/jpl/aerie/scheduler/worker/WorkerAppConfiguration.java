@@ -11,5 +11,7 @@ public record WorkerAppConfiguration(
     Path merlinFileStore,
     Path missionRuleJarPath,
     PlanOutputMode outputMode,
-    String hasuraGraphQlAdminSecret
+    String hasuraGraphQlAdminSecret,
+    int schedulingSlots,
+    int schedulingQueueCapacity
 ) { }
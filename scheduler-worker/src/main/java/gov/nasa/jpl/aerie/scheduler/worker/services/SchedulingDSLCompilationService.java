@@ -58,7 +58,7 @@ public class SchedulingDSLCompilationService {
   }
 
   /**
-   * NOTE: This method is not re-entrant (assumes only one call to this method is running at any given time)
+   * NOTE: Compilations are serialized over the single node subprocess, so concurrent callers wait on one another
    */
   public SchedulingDSLCompilationResult<SchedulingDSL.GoalSpecifier> compileSchedulingGoalDSL(final MissionModelService missionModelService, final PlanId planId, final String goalTypescript)
   {
@@ -95,6 +95,13 @@ public class SchedulingDSLCompilationService {
     *   NODE -- stdout --> JAVA: one of "success\n", "error\n", or "panic\n"
     *   NODE -- stdout --> JAVA: payload associated with success, error, or panic, must be exactly one line terminated with \n
     * */
+    // The protocol is strictly request/response, so only one exchange may be in flight on the subprocess at a time.
+    synchronized (this.nodeProcess) {
+      return exchange(messageJson, parser);
+    }
+  }
+
+  private <T> SchedulingDSLCompilationResult<T> exchange(final JsonObject messageJson, final JsonParser<T> parser) {
     final var inputWriter = this.nodeProcess.outputWriter();
     final var outputReader = this.nodeProcess.inputReader();
     try {
@@ -0,0 +1,196 @@
+package gov.nasa.jpl.aerie.scheduler.worker.services;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.scheduler.server.models.PlanId;
+import gov.nasa.jpl.aerie.scheduler.server.models.PlanMetadata;
+import gov.nasa.jpl.aerie.scheduler.server.models.SchedulingDSL;
+import gov.nasa.jpl.aerie.scheduler.server.models.SpecificationId;
+
+/**
+ * retains the state of each specification's most recent scheduling run that can be reused by the next run
+ *
+ * planners tend to re-run the scheduler on the same specification many times while tweaking a few goals, so we keep
+ * the loaded mission model and the compiled goal and condition definitions around between runs. a session stays valid
+ * as long as the plan keeps using the same mission model with the same configuration; any other change to the plan
+ * (eg a new plan revision) only requires work for whatever definitions actually changed
+ *
+ * the mission model itself holds no simulation state between runs (every simulation starts from a duplicate of its
+ * initial cells), so it is safe to share between runs of the same specification
+ *
+ * only the most recently used sessions are retained, to bound the memory held by loaded mission models
+ */
+public final class SchedulingSessionCache {
+  public static final int DEFAULT_CAPACITY = 8;
+
+  private final Map<SpecificationId, Session> sessions;
+
+  public SchedulingSessionCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public SchedulingSessionCache(final int capacity) {
+    if (capacity < 1) throw new IllegalArgumentException("capacity must be positive, got " + capacity);
+
+    this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<SpecificationId, Session> eldest) {
+        return this.size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * get the loaded mission model for a specification's plan, loading it only if the plan's model has changed
+   *
+   * @param specificationId the specification being scheduled
+   * @param planMetadata the current details of the plan targeted by the specification
+   * @param loader loads the mission model from scratch when no compatible one is retained
+   * @return the mission model to schedule the plan against
+   */
+  public SynchronousSchedulerAgent.SchedulerMissionModel getMissionModel(
+      final SpecificationId specificationId,
+      final PlanMetadata planMetadata,
+      final Supplier<SynchronousSchedulerAgent.SchedulerMissionModel> loader)
+  {
+    final var key = ModelKey.of(planMetadata);
+
+    synchronized (this) {
+      final var existing = this.sessions.get(specificationId);
+      if (existing != null && existing.modelKey().equals(key) && existing.planId().equals(planMetadata.planId())) {
+        existing.planRevision = planMetadata.planRev();
+        return existing.missionModel();
+      }
+    }
+
+    // Load outside the lock: loading a model from its jar is slow, and other specifications should not wait on it.
+    final var session = new Session(planMetadata.planId(), key, loader.get());
+    session.planRevision = planMetadata.planRev();
+
+    synchronized (this) {
+      this.sessions.put(specificationId, session);
+    }
+    return session.missionModel();
+  }
+
+  /**
+   * get the compiled form of a goal definition, compiling it only if it was not compiled in a previous run
+   *
+   * failed compilations are not retained, so that they will be reported again on the next run
+   */
+  public SchedulingDSLCompilationService.SchedulingDSLCompilationResult<SchedulingDSL.GoalSpecifier> getCompiledGoal(
+      final SpecificationId specificationId,
+      final String source,
+      final Supplier<SchedulingDSLCompilationService.SchedulingDSLCompilationResult<SchedulingDSL.GoalSpecifier>> compiler)
+  {
+    return getCompiled(specificationId, source, compiler, Session::compiledGoals);
+  }
+
+  /**
+   * get the compiled form of a global scheduling condition, compiling it only if it was not compiled in a previous run
+   *
+   * failed compilations are not retained, so that they will be reported again on the next run
+   */
+  public SchedulingDSLCompilationService.SchedulingDSLCompilationResult<SchedulingDSL.ConditionSpecifier> getCompiledCondition(
+      final SpecificationId specificationId,
+      final String source,
+      final Supplier<SchedulingDSLCompilationService.SchedulingDSLCompilationResult<SchedulingDSL.ConditionSpecifier>> compiler)
+  {
+    return getCompiled(specificationId, source, compiler, Session::compiledConditions);
+  }
+
+  /**
+   * get the plan revision most recently scheduled under the given specification, if it has a retained session
+   */
+  public synchronized Optional<Long> getPlanRevision(final SpecificationId specificationId) {
+    return Optional.ofNullable(this.sessions.get(specificationId)).map(session -> session.planRevision);
+  }
+
+  /**
+   * discard any state retained for the given specification
+   */
+  public synchronized void invalidate(final SpecificationId specificationId) {
+    this.sessions.remove(specificationId);
+  }
+
+  private <T> SchedulingDSLCompilationService.SchedulingDSLCompilationResult<T> getCompiled(
+      final SpecificationId specificationId,
+      final String source,
+      final Supplier<SchedulingDSLCompilationService.SchedulingDSLCompilationResult<T>> compiler,
+      final Function<Session, Map<String, T>> cacheOf)
+  {
+    final Session session;
+    synchronized (this) {
+      session = this.sessions.get(specificationId);
+      if (session != null) {
+        final var compiled = cacheOf.apply(session).get(source);
+        if (compiled != null) return new SchedulingDSLCompilationService.SchedulingDSLCompilationResult.Success<>(compiled);
+      }
+    }
+
+    final var result = compiler.get();
+    if (session != null && result instanceof SchedulingDSLCompilationService.SchedulingDSLCompilationResult.Success<T> r) {
+      synchronized (this) {
+        cacheOf.apply(session).put(source, r.value());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * identifies a particular mission model as loaded for a particular plan
+   *
+   * two plans with equal keys would load observationally equivalent mission models
+   */
+  private record ModelKey(
+      long modelId,
+      Path modelPath,
+      String modelName,
+      String modelVersion,
+      Map<String, SerializedValue> modelConfiguration,
+      Instant planStart)
+  {
+    static ModelKey of(final PlanMetadata planMetadata) {
+      return new ModelKey(
+          planMetadata.modelId(),
+          planMetadata.modelPath(),
+          planMetadata.modelName(),
+          planMetadata.modelVersion(),
+          Map.copyOf(planMetadata.modelConfiguration()),
+          planMetadata.horizon().getStartInstant());
+    }
+  }
+
+  private static final class Session {
+    private final PlanId planId;
+    private final ModelKey modelKey;
+    private final SynchronousSchedulerAgent.SchedulerMissionModel missionModel;
+    private final Map<String, SchedulingDSL.GoalSpecifier> compiledGoals = new HashMap<>();
+    private final Map<String, SchedulingDSL.ConditionSpecifier> compiledConditions = new HashMap<>();
+    private long planRevision;
+
+    private Session(
+        final PlanId planId,
+        final ModelKey modelKey,
+        final SynchronousSchedulerAgent.SchedulerMissionModel missionModel)
+    {
+      this.planId = planId;
+      this.modelKey = modelKey;
+      this.missionModel = missionModel;
+    }
+
+    PlanId planId() { return this.planId; }
+    ModelKey modelKey() { return this.modelKey; }
+    SynchronousSchedulerAgent.SchedulerMissionModel missionModel() { return this.missionModel; }
+    Map<String, SchedulingDSL.GoalSpecifier> compiledGoals() { return this.compiledGoals; }
+    Map<String, SchedulingDSL.ConditionSpecifier> compiledConditions() { return this.compiledConditions; }
+  }
+}
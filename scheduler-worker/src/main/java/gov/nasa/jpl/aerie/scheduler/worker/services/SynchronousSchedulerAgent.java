@@ -84,7 +84,8 @@ public record SynchronousSchedulerAgent(
     Path modelJarsDir,
     Path goalsJarPath,
     PlanOutputMode outputMode,
-    SchedulingDSLCompilationService schedulingDSLCompilationService
+    SchedulingDSLCompilationService schedulingDSLCompilationService,
+    SchedulingSessionCache sessionCache
 )
     implements SchedulerAgent
 {
@@ -94,6 +95,27 @@ public record SynchronousSchedulerAgent(
     Objects.requireNonNull(modelJarsDir);
     Objects.requireNonNull(goalsJarPath);
     Objects.requireNonNull(schedulingDSLCompilationService);
+    Objects.requireNonNull(sessionCache);
+  }
+
+  public SynchronousSchedulerAgent(
+      final SpecificationService specificationService,
+      final PlanService.OwnerRole planService,
+      final MissionModelService missionModelService,
+      final Path modelJarsDir,
+      final Path goalsJarPath,
+      final PlanOutputMode outputMode,
+      final SchedulingDSLCompilationService schedulingDSLCompilationService)
+  {
+    this(
+        specificationService,
+        planService,
+        missionModelService,
+        modelJarsDir,
+        goalsJarPath,
+        outputMode,
+        schedulingDSLCompilationService,
+        new SchedulingSessionCache());
   }
 
   /**
@@ -113,10 +135,14 @@ public record SynchronousSchedulerAgent(
 
       final var specification = specificationService.getSpecification(request.specificationId());
       final var planMetadata = planService.getPlanMetadata(specification.planId());
-      ensureRequestIsCurrent(request);
+      ensureRequestIsCurrent(request, writer);
       ensurePlanRevisionMatch(specification, planMetadata.planRev());
       //create scheduler problem seeded with initial plan
-      final var schedulerMissionModel = loadMissionModel(planMetadata);
+      //reuse the mission model loaded by a previous run of this specification, if the plan's model has not changed
+      final var schedulerMissionModel = sessionCache.getMissionModel(
+          request.specificationId(),
+          planMetadata,
+          () -> loadMissionModel(planMetadata));
       final var planningHorizon = new PlanningHorizon(
           specification.horizonStartTimestamp().toInstant(),
           specification.horizonEndTimestamp().toInstant()
@@ -137,10 +163,13 @@ public record SynchronousSchedulerAgent(
         final var failedGlobalSchedulingConditions = new ArrayList<List<SchedulingCompilationError.UserCodeError>>();
         specification.globalSchedulingConditions().forEach($ -> {
           if (!$.enabled()) return;
-          final var result = schedulingDSLCompilationService.compileGlobalSchedulingCondition(
-              missionModelService,
-              planMetadata.planId(),
-              $.source().source());
+          final var result = sessionCache.getCompiledCondition(
+              request.specificationId(),
+              $.source().source(),
+              () -> schedulingDSLCompilationService.compileGlobalSchedulingCondition(
+                  missionModelService,
+                  planMetadata.planId(),
+                  $.source().source()));
           if (result instanceof SchedulingDSLCompilationService.SchedulingDSLCompilationResult.Success<SchedulingDSL.ConditionSpecifier> r) {
             compiledGlobalSchedulingConditions.addAll(conditionBuilder(r.value(), problem));
           } else if (result instanceof SchedulingDSLCompilationService.SchedulingDSLCompilationResult.Error<SchedulingDSL.ConditionSpecifier> r) {
@@ -170,11 +199,14 @@ public record SynchronousSchedulerAgent(
         final var failedGoals = new ArrayList<Pair<GoalId, List<SchedulingCompilationError.UserCodeError>>>();
         for (final var goalRecord : specification.goalsByPriority()) {
           if (!goalRecord.enabled()) continue;
-          final var result = compileGoalDefinition(
-              missionModelService,
-              planMetadata.planId(),
-              goalRecord.definition(),
-              schedulingDSLCompilationService);
+          final var result = sessionCache.getCompiledGoal(
+              request.specificationId(),
+              goalRecord.definition().source(),
+              () -> compileGoalDefinition(
+                  missionModelService,
+                  planMetadata.planId(),
+                  goalRecord.definition(),
+                  schedulingDSLCompilationService));
           if (result instanceof SchedulingDSLCompilationService.SchedulingDSLCompilationResult.Success<SchedulingDSL.GoalSpecifier> r) {
             compiledGoals.add(Pair.of(goalRecord, r.value()));
           } else if (result instanceof SchedulingDSLCompilationService.SchedulingDSLCompilationResult.Error<SchedulingDSL.GoalSpecifier> r) {
@@ -205,7 +237,10 @@ public record SynchronousSchedulerAgent(
         }
         problem.setGoals(orderedGoals);
 
-        final var scheduler = createScheduler(planMetadata, problem, specification.analysisOnly());
+        //loading and compiling can take a while, so don't start solving for a request that has since been superseded
+        ensureRequestIsCurrent(request, writer);
+
+        final var scheduler = createScheduler(planMetadata, problem, specification.analysisOnly(), writer);
         //run the scheduler to find a solution to the posed problem, if any
         final var solutionPlan = scheduler.getNextSolution().orElseThrow(
             () -> new ResultsProtocolFailure("scheduler returned no solution"));
@@ -218,6 +253,7 @@ public record SynchronousSchedulerAgent(
         }
         //store the solution plan back into merlin (and reconfirm no intervening mods!)
         //TODO: make revision confirmation atomic part of plan mutation (plan might have been modified during scheduling!)
+        ensureRequestIsCurrent(request, writer);
         ensurePlanRevisionMatch(specification, getMerlinPlanRev(specification.planId()));
         final var instancesToIds = storeFinalPlan(
             planMetadata,
@@ -325,12 +361,22 @@ public record SynchronousSchedulerAgent(
     return planService.getPlanRevision(planId);
   }
   /**
-   * confirms that specification revision still matches that expected by the scheduling request
+   * confirms that specification revision still matches that expected by the scheduling request, and that nobody has
+   * lost interest in its results
    *
    * @param request the original request for scheduling, containing an intended starting specification revision
-   * @throws ResultsProtocolFailure when the requested specification revision does not match the actual revision
+   * @param writer the object representing the request for scheduling results
+   * @throws ResultsProtocolFailure when the requested specification revision does not match the actual revision, or
+   *     the request has been canceled (eg superseded by a newer request for the same specification)
    */
-  private void ensureRequestIsCurrent(final ScheduleRequest request) throws NoSuchSpecificationException {
+  private void ensureRequestIsCurrent(final ScheduleRequest request, final ResultsProtocol.WriterRole writer)
+  throws NoSuchSpecificationException
+  {
+    if (writer.isCanceled()) {
+      throw new ResultsProtocolFailure("scheduling request for specification with id %s was canceled".formatted(
+          request.specificationId()));
+    }
+
     final var currentRevisionData = specificationService.getSpecificationRevisionData(request.specificationId());
     if (currentRevisionData.matches(request.specificationRev()) instanceof final RevisionData.MatchResult.Failure failure) {
       throw new ResultsProtocolFailure("schedule specification with id %s is stale: %s".formatted(
@@ -362,10 +408,17 @@ public record SynchronousSchedulerAgent(
    * @param problem specification of the scheduling problem that needs to be solved
    * @return a new scheduler that is set up to begin providing solutions to the problem
    */
-  private Solver createScheduler(final PlanMetadata planMetadata, final Problem problem, final boolean analysisOnly) {
+  private Solver createScheduler(
+      final PlanMetadata planMetadata,
+      final Problem problem,
+      final boolean analysisOnly,
+      final ResultsProtocol.WriterRole writer)
+  {
     //TODO: allow for separate control of windows for constraint analysis vs ability to schedule activities
     //      (eg constraint may need view into immutable past to know how to schedule things in the future)
-    final var solver = new PrioritySolver(problem, analysisOnly);
+    //conflict detection for independent goals can only run concurrently when the plan is not being modified
+    final var solver = new PrioritySolver(problem, analysisOnly, analysisOnly);
+    solver.setProgressListener(writer::reportProgress);
     return solver;
   }
 
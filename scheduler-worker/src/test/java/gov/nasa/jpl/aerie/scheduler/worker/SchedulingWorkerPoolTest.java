@@ -0,0 +1,173 @@
+package gov.nasa.jpl.aerie.scheduler.worker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import gov.nasa.jpl.aerie.scheduler.server.ResultsProtocol;
+import gov.nasa.jpl.aerie.scheduler.server.models.DatasetId;
+import gov.nasa.jpl.aerie.scheduler.server.models.SpecificationId;
+import gov.nasa.jpl.aerie.scheduler.server.services.RevisionData;
+import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleFailure;
+import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleRequest;
+import gov.nasa.jpl.aerie.scheduler.server.services.ScheduleResults;
+import gov.nasa.jpl.aerie.scheduler.server.services.SchedulerAgent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SchedulingWorkerPoolTest {
+  @Test
+  public void runsRequestsConcurrently() throws InterruptedException {
+    final var started = new CountDownLatch(2);
+    final var release = new CountDownLatch(1);
+    final SchedulerAgent agent = (request, writer) -> {
+      started.countDown();
+      release.await();
+      writer.failWith(b -> b.type("DONE").message(""));
+    };
+
+    try (final var pool = new SchedulingWorkerPool(2, 4, () -> agent)) {
+      pool.submit(request(1), new RecordingWriter());
+      pool.submit(request(2), new RecordingWriter());
+
+      // Neither request can finish until both have started, so this only succeeds if they run side by side.
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+
+      final var metrics = pool.metrics();
+      assertEquals(0, metrics.queued());
+      assertEquals(2, metrics.submitted());
+      assertTrue(metrics.slots().stream().allMatch($ -> $.specificationId().isPresent()));
+
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void cancelsSupersededRequests() throws InterruptedException {
+    final var started = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var observedCancellations = new ArrayList<Boolean>();
+    final SchedulerAgent agent = (request, writer) -> {
+      started.countDown();
+      release.await();
+      synchronized (observedCancellations) {
+        observedCancellations.add(writer.isCanceled());
+      }
+      writer.failWith(b -> b.type("DONE").message(""));
+    };
+
+    final var first = new RecordingWriter();
+    final var second = new RecordingWriter();
+    final var pool = new SchedulingWorkerPool(1, 4, () -> agent);
+    try (pool) {
+      pool.submit(request(1), first);
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+
+      pool.submit(request(1), second);
+      assertEquals(1, pool.metrics().superseded());
+
+      release.countDown();
+      assertTrue(second.await());
+    }
+
+    assertEquals(List.of(true, false), observedCancellations);
+    assertTrue(first.await());
+
+    // The superseded request is not counted as a failure.
+    final var slot = pool.metrics().slots().get(0);
+    assertEquals(1, slot.superseded());
+    assertEquals(1, slot.failed());
+  }
+
+  @Test
+  public void reportsProgressOfRunningRequests() throws InterruptedException {
+    final var reported = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final SchedulerAgent agent = (request, writer) -> {
+      writer.reportProgress(2, 5);
+      reported.countDown();
+      release.await();
+      writer.failWith(b -> b.type("DONE").message(""));
+    };
+
+    final var writer = new RecordingWriter();
+    final var pool = new SchedulingWorkerPool(1, 1, () -> agent);
+    try (pool) {
+      pool.submit(request(1), writer);
+      assertTrue(reported.await(10, TimeUnit.SECONDS));
+
+      final var slot = pool.metrics().slots().get(0);
+      assertEquals(OptionalInt.of(2), slot.goalsProcessed());
+      assertEquals(OptionalInt.of(5), slot.goalCount());
+      assertTrue(slot.elapsed().isPresent());
+      assertFalse(slot.elapsed().get().isNegative());
+
+      release.countDown();
+      assertTrue(writer.await());
+    }
+
+    // The progress is passed on to the request's own writer, and is no longer reported once the slot is idle.
+    assertEquals(Optional.of(List.of(2, 5)), writer.progress);
+    final var slot = pool.metrics().slots().get(0);
+    assertEquals(OptionalInt.empty(), slot.goalsProcessed());
+    assertEquals(Optional.empty(), slot.elapsed());
+  }
+
+  @Test
+  public void reportsUnexpectedExceptionsAsFailures() throws InterruptedException {
+    final SchedulerAgent agent = (request, writer) -> {
+      throw new RuntimeException("boom");
+    };
+
+    final var writer = new RecordingWriter();
+    try (final var pool = new SchedulingWorkerPool(1, 1, () -> agent)) {
+      pool.submit(request(1), writer);
+      assertTrue(writer.await());
+    }
+
+    assertEquals(Optional.of("UNEXPECTED_SCHEDULER_EXCEPTION"), writer.failure.map(ScheduleFailure::type));
+    assertFalse(writer.succeeded);
+  }
+
+  private static ScheduleRequest request(final long specificationId) {
+    return new ScheduleRequest(new SpecificationId(specificationId), $ -> RevisionData.MatchResult.success());
+  }
+
+  private static final class RecordingWriter implements ResultsProtocol.WriterRole {
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile Optional<ScheduleFailure> failure = Optional.empty();
+    private volatile boolean succeeded = false;
+    private volatile Optional<List<Integer>> progress = Optional.empty();
+
+    boolean await() throws InterruptedException {
+      return this.done.await(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public boolean isCanceled() {
+      return false;
+    }
+
+    @Override
+    public void succeedWith(final ScheduleResults results, final Optional<DatasetId> datasetId) {
+      this.succeeded = true;
+      this.done.countDown();
+    }
+
+    @Override
+    public void failWith(final ScheduleFailure reason) {
+      this.failure = Optional.of(reason);
+      this.done.countDown();
+    }
+
+    @Override
+    public void reportProgress(final int goalsProcessed, final int goalCount) {
+      this.progress = Optional.of(List.of(goalsProcessed, goalCount));
+    }
+  }
+}
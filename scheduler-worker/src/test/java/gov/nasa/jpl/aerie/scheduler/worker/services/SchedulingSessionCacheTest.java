@@ -0,0 +1,115 @@
+package gov.nasa.jpl.aerie.scheduler.worker.services;
+
+import gov.nasa.jpl.aerie.merlin.protocol.types.SerializedValue;
+import gov.nasa.jpl.aerie.scheduler.model.PlanningHorizon;
+import gov.nasa.jpl.aerie.scheduler.server.models.PlanId;
+import gov.nasa.jpl.aerie.scheduler.server.models.PlanMetadata;
+import gov.nasa.jpl.aerie.scheduler.server.models.SchedulingDSL;
+import gov.nasa.jpl.aerie.scheduler.server.models.SpecificationId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SchedulingSessionCacheTest {
+  private static final SpecificationId SPECIFICATION = new SpecificationId(1L);
+  private static final PlanningHorizon HORIZON =
+      new PlanningHorizon(Instant.parse("2021-01-01T00:00:00Z"), Instant.parse("2021-01-02T00:00:00Z"));
+
+  @Test
+  public void reusesMissionModelAcrossPlanRevisions() {
+    final var cache = new SchedulingSessionCache();
+    final var loads = new AtomicInteger();
+
+    final var first = cache.getMissionModel(SPECIFICATION, plan(1, Map.of()), () -> load(loads));
+    final var second = cache.getMissionModel(SPECIFICATION, plan(2, Map.of()), () -> load(loads));
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+    assertEquals(Optional.of(2L), cache.getPlanRevision(SPECIFICATION));
+  }
+
+  @Test
+  public void reloadsMissionModelWhenConfigurationChanges() {
+    final var cache = new SchedulingSessionCache();
+    final var loads = new AtomicInteger();
+
+    cache.getMissionModel(SPECIFICATION, plan(1, Map.of()), () -> load(loads));
+    cache.getCompiledCondition(SPECIFICATION, "condition", SchedulingSessionCacheTest::compileCondition);
+    cache.getMissionModel(SPECIFICATION, plan(1, Map.of("x", SerializedValue.of(1))), () -> load(loads));
+
+    assertEquals(2, loads.get());
+
+    // The compiled definitions of the previous session must have been discarded along with its model.
+    final var compilations = new AtomicInteger();
+    cache.getCompiledCondition(SPECIFICATION, "condition", () -> {
+      compilations.incrementAndGet();
+      return compileCondition();
+    });
+    assertEquals(1, compilations.get());
+  }
+
+  @Test
+  public void retainsOnlySuccessfulCompilations() {
+    final var cache = new SchedulingSessionCache();
+    cache.getMissionModel(SPECIFICATION, plan(1, Map.of()), () -> load(new AtomicInteger()));
+
+    final var compilations = new AtomicInteger();
+    for (var i = 0; i < 2; i += 1) {
+      cache.getCompiledCondition(SPECIFICATION, "good", () -> {
+        compilations.incrementAndGet();
+        return compileCondition();
+      });
+      final var result = cache.getCompiledGoal(SPECIFICATION, "bad", () -> {
+        compilations.incrementAndGet();
+        return new SchedulingDSLCompilationService.SchedulingDSLCompilationResult.Error<>(List.of());
+      });
+      assertTrue(result instanceof SchedulingDSLCompilationService.SchedulingDSLCompilationResult.Error);
+    }
+
+    assertEquals(3, compilations.get());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedSessions() {
+    final var cache = new SchedulingSessionCache(1);
+    final var loads = new AtomicInteger();
+
+    cache.getMissionModel(SPECIFICATION, plan(1, Map.of()), () -> load(loads));
+    cache.getMissionModel(new SpecificationId(2L), plan(1, Map.of()), () -> load(loads));
+    cache.getMissionModel(SPECIFICATION, plan(1, Map.of()), () -> load(loads));
+
+    assertEquals(3, loads.get());
+  }
+
+  private static PlanMetadata plan(final long revision, final Map<String, SerializedValue> configuration) {
+    return new PlanMetadata(
+        new PlanId(1L),
+        revision,
+        HORIZON,
+        1L,
+        Path.of("model.jar"),
+        "model",
+        "1.0.0",
+        configuration);
+  }
+
+  private static SynchronousSchedulerAgent.SchedulerMissionModel load(final AtomicInteger loads) {
+    loads.incrementAndGet();
+    return new SynchronousSchedulerAgent.SchedulerMissionModel(null, null);
+  }
+
+  private static SchedulingDSLCompilationService.SchedulingDSLCompilationResult<SchedulingDSL.ConditionSpecifier>
+  compileCondition() {
+    return new SchedulingDSLCompilationService.SchedulingDSLCompilationResult.Success<>(
+        new SchedulingDSL.ConditionSpecifier.AndCondition(List.of()));
+  }
+}